@@ -43,13 +43,17 @@ import ch.qos.logback.access.pattern.ServerNameConverter;
 import ch.qos.logback.access.pattern.SessionIDConverter;
 import ch.qos.logback.access.pattern.StatusCodeConverter;
 import ch.qos.logback.access.pattern.ThreadNameConverter;
+import ch.qos.logback.access.spi.AccessEventField;
 import ch.qos.logback.access.spi.IAccessEvent;
+import ch.qos.logback.access.spi.RequiredFieldsAware;
+import ch.qos.logback.access.spi.RequiredFieldsUtil;
 import ch.qos.logback.core.pattern.PatternLayoutBase;
 import ch.qos.logback.core.pattern.color.*;
 import ch.qos.logback.core.pattern.parser.Parser;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * <p>
@@ -66,7 +70,7 @@ import java.util.Map;
  * @author Ceki G&uuml;lc&uuml;
  * @author S&eacute;bastien Pennec
  */
-public class PatternLayout extends PatternLayoutBase<IAccessEvent> {
+public class PatternLayout extends PatternLayoutBase<IAccessEvent> implements RequiredFieldsAware {
 
     public static final Map<String, String> defaultConverterMap = new HashMap<String, String>();
     public static final String HEADER_PREFIX = "#logback.access pattern: ";
@@ -200,6 +204,14 @@ public class PatternLayout extends PatternLayoutBase<IAccessEvent> {
         return writeLoopOnConverters(event);
     }
 
+    @Override
+    public void doLayout(IAccessEvent event, StringBuilder sb) {
+        if (!isStarted()) {
+            return;
+        }
+        writeLoopOnConverters(sb, event);
+    }
+
     @Override
     public void start() {
         if (getPattern().equalsIgnoreCase(CLF_PATTERN_NAME) || getPattern().equalsIgnoreCase(CLF_PATTERN_NAME_2)) {
@@ -210,6 +222,16 @@ public class PatternLayout extends PatternLayoutBase<IAccessEvent> {
         super.start();
     }
 
+    /**
+     * Returns the fields required by the converters of this layout.
+     * 
+     * @since 1.4.5
+     */
+    @Override
+    public Set<AccessEventField> getRequiredFields() {
+        return RequiredFieldsUtil.computeRequiredFields(getHeadConverter());
+    }
+
     @Override
     protected String getPresentationHeaderPrefix() {
         return HEADER_PREFIX;
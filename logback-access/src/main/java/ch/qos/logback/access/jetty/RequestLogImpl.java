@@ -19,10 +19,13 @@ import java.util.EventListener;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import ch.qos.logback.access.joran.JoranConfigurator;
 import ch.qos.logback.access.spi.AccessEvent;
+import ch.qos.logback.access.spi.AccessEventField;
 import ch.qos.logback.access.spi.IAccessEvent;
+import ch.qos.logback.access.spi.RequiredFieldsUtil;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.ContextBase;
 import ch.qos.logback.core.CoreConstants;
@@ -245,6 +248,11 @@ public class RequestLogImpl extends ContextBase implements org.eclipse.jetty.uti
     String resource;
 
     boolean quiet = false;
+    /**
+     * The fields the appenders may read from deferred events, updated whenever
+     * the appender list changes.
+     */
+    volatile Set<AccessEventField> fieldsToPrepare;
 
     public RequestLogImpl() {
         putObject(CoreConstants.EVALUATOR_MAP, new HashMap<String, EventEvaluator<?>>());
@@ -253,7 +261,8 @@ public class RequestLogImpl extends ContextBase implements org.eclipse.jetty.uti
     @Override
     public void log(Request jettyRequest, Response jettyResponse) {
         JettyServerAdapter adapter = makeJettyServerAdapter(jettyRequest, jettyResponse);
-        IAccessEvent accessEvent = new AccessEvent(this, jettyRequest, jettyResponse, adapter);
+        AccessEvent accessEvent = new AccessEvent(this, jettyRequest, jettyResponse, adapter);
+        accessEvent.setFieldsToPrepare(fieldsToPrepare);
         if (getFilterChainDecision(accessEvent) == FilterReply.DENY) {
             return;
         }
@@ -277,6 +286,8 @@ public class RequestLogImpl extends ContextBase implements org.eclipse.jetty.uti
         state = State.STARTING;
         try {
             configure();
+            updateFieldsToPrepare();
+            addInfo("Access events will capture " + fieldsToPrepare + " for deferred processing");
             if (!isQuiet()) {
                 StatusPrinter.print(getStatusManager());
             }
@@ -410,7 +421,10 @@ public class RequestLogImpl extends ContextBase implements org.eclipse.jetty.uti
 
     @Override
     public void addAppender(Appender<IAccessEvent> newAppender) {
+        // events created in the meantime may reach the new appender
+        fieldsToPrepare = AccessEventField.ALL;
         aai.addAppender(newAppender);
+        updateFieldsToPrepare();
     }
 
     @Override
@@ -431,16 +445,25 @@ public class RequestLogImpl extends ContextBase implements org.eclipse.jetty.uti
     @Override
     public void detachAndStopAllAppenders() {
         aai.detachAndStopAllAppenders();
+        updateFieldsToPrepare();
     }
 
     @Override
     public boolean detachAppender(Appender<IAccessEvent> appender) {
-        return aai.detachAppender(appender);
+        boolean result = aai.detachAppender(appender);
+        updateFieldsToPrepare();
+        return result;
     }
 
     @Override
     public boolean detachAppender(String name) {
-        return aai.detachAppender(name);
+        boolean result = aai.detachAppender(name);
+        updateFieldsToPrepare();
+        return result;
+    }
+
+    private void updateFieldsToPrepare() {
+        fieldsToPrepare = RequiredFieldsUtil.computeRequiredFields(this);
     }
 
     @Override
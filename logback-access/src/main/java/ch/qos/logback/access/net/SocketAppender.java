@@ -14,8 +14,10 @@
 // Contributors: Dan MacDonald <dan@redknee.com>
 package ch.qos.logback.access.net;
 
+import ch.qos.logback.access.spi.AccessEventWireCodec;
 import ch.qos.logback.access.spi.IAccessEvent;
 import ch.qos.logback.core.net.AbstractSocketAppender;
+import ch.qos.logback.core.net.WireCodec;
 import ch.qos.logback.core.spi.PreSerializationTransformer;
 
 /**
@@ -45,4 +47,9 @@ public class SocketAppender extends AbstractSocketAppender<IAccessEvent> {
     public PreSerializationTransformer<IAccessEvent> getPST() {
         return pst;
     }
+
+    @Override
+    protected WireCodec<IAccessEvent> getWireCodec() {
+        return new AccessEventWireCodec();
+    }
 }
@@ -18,7 +18,9 @@ import java.io.IOException;
 import java.net.Socket;
 
 import ch.qos.logback.access.spi.AccessContext;
+import ch.qos.logback.access.spi.AccessEventWireCodec;
 import ch.qos.logback.access.spi.IAccessEvent;
+import ch.qos.logback.core.net.BinaryEventReader;
 import ch.qos.logback.core.spi.FilterReply;
 
 // Contributors: Moses Hohman <mmhohman@rainbow.uchicago.edu>
@@ -42,12 +44,18 @@ public class SocketNode implements Runnable {
     Socket socket;
     AccessContext context;
     HardenedAccessEventInputStream hardenedOIS;
+    BinaryEventReader<IAccessEvent> binaryEventReader;
 
     public SocketNode(Socket socket, AccessContext context) {
         this.socket = socket;
         this.context = context;
         try {
-            hardenedOIS = new HardenedAccessEventInputStream(new BufferedInputStream(socket.getInputStream()));
+            BufferedInputStream inputStream = new BufferedInputStream(socket.getInputStream());
+            if (BinaryEventReader.isBinaryStream(inputStream)) {
+                binaryEventReader = new BinaryEventReader<>(inputStream, new AccessEventWireCodec());
+            } else {
+                hardenedOIS = new HardenedAccessEventInputStream(inputStream);
+            }
         } catch (Exception e) {
             System.out.println("Could not open HardenedObjectInputStream to " + socket + e);
         }
@@ -60,7 +68,7 @@ public class SocketNode implements Runnable {
         try {
             while (true) {
                 // read an event from the wire
-                event = (IAccessEvent) hardenedOIS.readObject();
+                event = binaryEventReader != null ? binaryEventReader.read() : (IAccessEvent) hardenedOIS.readObject();
                 // check that the event should be logged
                 if (context.getFilterChainDecision(event) == FilterReply.DENY) {
                     break;
@@ -80,7 +88,11 @@ public class SocketNode implements Runnable {
         }
 
         try {
-            hardenedOIS.close();
+            if (hardenedOIS != null) {
+                hardenedOIS.close();
+            } else {
+                socket.close();
+            }
         } catch (Exception e) {
             System.out.println("Could not close connection." + e);
         }
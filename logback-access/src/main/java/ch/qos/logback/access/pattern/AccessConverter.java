@@ -13,14 +13,20 @@
  */
 package ch.qos.logback.access.pattern;
 
+import java.util.Set;
+
+import ch.qos.logback.access.spi.AccessEventField;
 import ch.qos.logback.access.spi.IAccessEvent;
+import ch.qos.logback.access.spi.RequiredFieldsAware;
+import ch.qos.logback.access.spi.RequiredFieldsUtil;
 import ch.qos.logback.core.Context;
 import ch.qos.logback.core.pattern.DynamicConverter;
 import ch.qos.logback.core.spi.ContextAware;
 import ch.qos.logback.core.spi.ContextAwareBase;
 import ch.qos.logback.core.status.Status;
 
-abstract public class AccessConverter extends DynamicConverter<IAccessEvent> implements ContextAware {
+abstract public class AccessConverter extends DynamicConverter<IAccessEvent>
+        implements ContextAware, RequiredFieldsAware {
 
     public final static char SPACE_CHAR = ' ';
     public final static char QUESTION_CHAR = '?';
@@ -72,4 +78,15 @@ abstract public class AccessConverter extends DynamicConverter<IAccessEvent> imp
         cab.addError(msg, ex);
     }
 
+    /**
+     * Returns the fields read by built-in converters, all fields for other
+     * converters. Derived classes reading only some fields should override this
+     * method so that fewer fields are captured for deferred processing.
+     * 
+     * @since 1.4.5
+     */
+    @Override
+    public Set<AccessEventField> getRequiredFields() {
+        return RequiredFieldsUtil.computeRequiredFields(getClass());
+    }
 }
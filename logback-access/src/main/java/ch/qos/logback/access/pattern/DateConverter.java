@@ -18,11 +18,11 @@ import java.util.List;
 
 import ch.qos.logback.access.spi.IAccessEvent;
 import ch.qos.logback.core.CoreConstants;
-import ch.qos.logback.core.util.CachingDateFormatter;
+import ch.qos.logback.core.util.IncrementalDateFormatter;
 
 public class DateConverter extends AccessConverter {
 
-    CachingDateFormatter cachingDateFormatter = null;
+    IncrementalDateFormatter cachingDateFormatter = null;
 
     @Override
     public void start() {
@@ -45,12 +45,12 @@ public class DateConverter extends AccessConverter {
         }
 
         try {
-            cachingDateFormatter = new CachingDateFormatter(datePattern, zoneId);
+            cachingDateFormatter = new IncrementalDateFormatter(datePattern, zoneId);
             // maximumCacheValidity = CachedDateFormat.getMaximumCacheValidity(pattern);
         } catch (IllegalArgumentException e) {
             addWarn("Could not instantiate SimpleDateFormat with pattern " + datePattern, e);
             addWarn("Defaulting to  " + CoreConstants.CLF_DATE_PATTERN);
-            cachingDateFormatter = new CachingDateFormatter(CoreConstants.CLF_DATE_PATTERN, zoneId);
+            cachingDateFormatter = new IncrementalDateFormatter(CoreConstants.CLF_DATE_PATTERN, zoneId);
         }
 
     }
@@ -60,4 +60,9 @@ public class DateConverter extends AccessConverter {
         long timestamp = accessEvent.getTimeStamp();
         return cachingDateFormatter.format(timestamp);
     }
+
+    @Override
+    protected void writeUnformatted(StringBuilder buf, IAccessEvent accessEvent) {
+        cachingDateFormatter.format(accessEvent.getTimeStamp(), buf);
+    }
 }
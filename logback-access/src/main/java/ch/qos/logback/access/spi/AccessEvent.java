@@ -30,6 +30,7 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.Vector;
 
@@ -81,6 +82,12 @@ public class AccessEvent implements Serializable, IAccessEvent {
 
     transient ServerAdapter serverAdapter;
 
+    /**
+     * The fields captured by {@link #prepareForDeferredProcessing()}, all of them
+     * if null.
+     */
+    transient Set<AccessEventField> fieldsToPrepare;
+
     /**
      * The number of milliseconds elapsed from 1/1/1970 until logging event was
      * created.
@@ -89,6 +96,15 @@ public class AccessEvent implements Serializable, IAccessEvent {
 
     private long sequenceNumber = 0;
 
+    /**
+     * Creates an event detached from any request, to be populated by
+     * {@link AccessEventWireCodec}.
+     */
+    AccessEvent() {
+        this.httpRequest = null;
+        this.httpResponse = null;
+    }
+
     public AccessEvent(Context context, HttpServletRequest httpRequest, HttpServletResponse httpResponse,
             ServerAdapter adapter) {
         this.httpRequest = httpRequest;
@@ -610,27 +626,65 @@ public class AccessEvent implements Serializable, IAccessEvent {
         return new ArrayList<String>(responseHeaderMap.keySet());
     }
 
+    /**
+     * Returns the fields captured by {@link #prepareForDeferredProcessing()}, by
+     * default all of them.
+     * 
+     * @since 1.4.5
+     */
+    public Set<AccessEventField> getFieldsToPrepare() {
+        return fieldsToPrepare == null ? AccessEventField.ALL : fieldsToPrepare;
+    }
+
+    /**
+     * Restrict the fields captured by {@link #prepareForDeferredProcessing()},
+     * typically to those computed by
+     * {@link RequiredFieldsUtil#computeRequiredFields}. Fields left out read the
+     * underlying request or response, if still available, when accessed.
+     * 
+     * @since 1.4.5
+     */
+    public void setFieldsToPrepare(Set<AccessEventField> fieldsToPrepare) {
+        this.fieldsToPrepare = fieldsToPrepare;
+    }
+
     public void prepareForDeferredProcessing() {
-        getRequestHeaderMap();
-        getRequestParameterMap();
-        getResponseHeaderMap();
-        getLocalPort();
-        getMethod();
-        getProtocol();
-        getRemoteAddr();
-        getRemoteHost();
-        getRemoteUser();
-        getRequestURI();
-        getRequestURL();
-        getServerName();
-        getTimeStamp();
-        getElapsedTime();
-
-        getStatusCode();
-        getContentLength();
-        getRequestContent();
-        getResponseContent();
-
-        copyAttributeMap();
+        final Set<AccessEventField> fields = getFieldsToPrepare();
+        if (fields.contains(AccessEventField.REQUEST_HEADERS))
+            getRequestHeaderMap();
+        if (fields.contains(AccessEventField.REQUEST_PARAMETERS))
+            getRequestParameterMap();
+        if (fields.contains(AccessEventField.RESPONSE_HEADERS))
+            getResponseHeaderMap();
+        if (fields.contains(AccessEventField.LOCAL_PORT))
+            getLocalPort();
+        if (fields.contains(AccessEventField.METHOD))
+            getMethod();
+        if (fields.contains(AccessEventField.PROTOCOL))
+            getProtocol();
+        if (fields.contains(AccessEventField.REMOTE_ADDR))
+            getRemoteAddr();
+        if (fields.contains(AccessEventField.REMOTE_HOST))
+            getRemoteHost();
+        if (fields.contains(AccessEventField.REMOTE_USER))
+            getRemoteUser();
+        if (fields.contains(AccessEventField.REQUEST_URI))
+            getRequestURI();
+        if (fields.contains(AccessEventField.REQUEST_URL))
+            getRequestURL();
+        if (fields.contains(AccessEventField.SERVER_NAME))
+            getServerName();
+
+        if (fields.contains(AccessEventField.STATUS_CODE))
+            getStatusCode();
+        if (fields.contains(AccessEventField.CONTENT_LENGTH))
+            getContentLength();
+        if (fields.contains(AccessEventField.REQUEST_CONTENT))
+            getRequestContent();
+        if (fields.contains(AccessEventField.RESPONSE_CONTENT))
+            getResponseContent();
+
+        if (fields.contains(AccessEventField.ATTRIBUTES))
+            copyAttributeMap();
     }
 }
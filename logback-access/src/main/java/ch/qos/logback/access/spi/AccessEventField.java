@@ -0,0 +1,65 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.access.spi;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The fields of an {@link AccessEvent} which
+ * {@link AccessEvent#prepareForDeferredProcessing()} captures from the
+ * underlying request and response. Fields computed when the event is created,
+ * such as the time stamp or the elapsed time, are always available and thus
+ * not listed.
+ * 
+ * @since 1.4.5
+ */
+public enum AccessEventField {
+
+    REQUEST_HEADERS,
+    REQUEST_PARAMETERS,
+    RESPONSE_HEADERS,
+    LOCAL_PORT,
+    METHOD,
+    PROTOCOL,
+    REMOTE_ADDR,
+    REMOTE_HOST,
+    REMOTE_USER,
+    REQUEST_URI,
+    /**
+     * The first line of the request, including the query string.
+     */
+    REQUEST_URL,
+    SERVER_NAME,
+    STATUS_CODE,
+    CONTENT_LENGTH,
+    REQUEST_CONTENT,
+    RESPONSE_CONTENT,
+    /**
+     * The serializable attributes of the request.
+     */
+    ATTRIBUTES;
+
+    /**
+     * All the fields, as required by components which do not declare the fields
+     * they need.
+     */
+    public static final Set<AccessEventField> ALL = Collections.unmodifiableSet(EnumSet.allOf(AccessEventField.class));
+
+    /**
+     * No field at all.
+     */
+    public static final Set<AccessEventField> NONE = Collections.unmodifiableSet(EnumSet.noneOf(AccessEventField.class));
+}
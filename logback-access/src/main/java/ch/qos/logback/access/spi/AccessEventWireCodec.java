@@ -0,0 +1,147 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.access.spi;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import ch.qos.logback.core.net.WireCodec;
+import ch.qos.logback.core.net.WireInput;
+import ch.qos.logback.core.net.WireOutput;
+
+/**
+ * Encodes access events in the binary wire format and decodes them as
+ * {@link AccessEvent} instances detached from any request or response.
+ * 
+ * <p>
+ * Events are expected to have been prepared for deferred processing. As with
+ * Java serialization, request attributes are only sent for
+ * {@link AccessEvent} instances, and then in their string form.
+ * </p>
+ * 
+ * @since 1.4.5
+ */
+public class AccessEventWireCodec implements WireCodec<IAccessEvent> {
+
+    @Override
+    public void encode(IAccessEvent event, WireOutput out) throws IOException {
+        out.writeString(event.getQueryString());
+        out.writeString(event.getRequestURI());
+        out.writeString(event.getRequestURL());
+        out.writeDictionaryString(event.getRemoteHost());
+        out.writeString(event.getRemoteUser());
+        out.writeDictionaryString(event.getRemoteAddr());
+        out.writeDictionaryString(event.getThreadName());
+        out.writeDictionaryString(event.getProtocol());
+        out.writeDictionaryString(event.getMethod());
+        out.writeDictionaryString(event.getServerName());
+        out.writeString(event.getRequestContent());
+        out.writeString(event.getResponseContent());
+        out.writeString(event.getSessionID());
+        out.writeLong(event.getElapsedTime());
+
+        out.writeStringMap(event.getRequestHeaderMap());
+        Map<String, String[]> requestParameterMap = event.getRequestParameterMap();
+        out.writeSize(requestParameterMap == null ? 0 : requestParameterMap.size(), requestParameterMap == null);
+        if (requestParameterMap != null) {
+            for (Map.Entry<String, String[]> entry : requestParameterMap.entrySet()) {
+                out.writeDictionaryString(entry.getKey());
+                String[] values = entry.getValue();
+                out.writeSize(values == null ? 0 : values.length, values == null);
+                if (values != null) {
+                    for (String value : values) {
+                        out.writeString(value);
+                    }
+                }
+            }
+        }
+        out.writeStringMap(event.getResponseHeaderMap());
+
+        Map<String, Object> attributeMap = event instanceof AccessEvent ? ((AccessEvent) event).attributeMap : null;
+        out.writeSize(attributeMap == null ? 0 : attributeMap.size(), attributeMap == null);
+        if (attributeMap != null) {
+            for (Map.Entry<String, Object> entry : attributeMap.entrySet()) {
+                out.writeDictionaryString(entry.getKey());
+                out.writeString(String.valueOf(entry.getValue()));
+            }
+        }
+
+        out.writeLong(event.getContentLength());
+        out.writeInt(event.getStatusCode());
+        out.writeInt(event.getLocalPort());
+        out.writeLong(event.getTimeStamp());
+        out.writeLong(event.getSequenceNumber());
+    }
+
+    @Override
+    public IAccessEvent decode(WireInput in) throws IOException {
+        AccessEvent event = new AccessEvent();
+        event.queryString = in.readString();
+        event.requestURI = in.readString();
+        event.requestURL = in.readString();
+        event.remoteHost = in.readDictionaryString();
+        event.remoteUser = in.readString();
+        event.remoteAddr = in.readDictionaryString();
+        event.threadName = in.readDictionaryString();
+        event.protocol = in.readDictionaryString();
+        event.method = in.readDictionaryString();
+        event.serverName = in.readDictionaryString();
+        event.requestContent = in.readString();
+        event.responseContent = in.readString();
+        event.sessionID = in.readString();
+        event.elapsedTime = in.readLong();
+
+        Map<String, String> requestHeaderMap = in.readStringMap();
+        if (requestHeaderMap != null) {
+            // according to RFC 2616 header names are case-insensitive
+            event.requestHeaderMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            event.requestHeaderMap.putAll(requestHeaderMap);
+        }
+        int parameterCount = in.readSize();
+        if (parameterCount >= 0) {
+            event.requestParameterMap = new HashMap<>();
+            for (int i = 0; i < parameterCount; i++) {
+                String key = in.readDictionaryString();
+                int valueCount = in.readSize();
+                String[] values = null;
+                if (valueCount >= 0) {
+                    values = new String[valueCount];
+                    for (int j = 0; j < valueCount; j++) {
+                        values[j] = in.readString();
+                    }
+                }
+                event.requestParameterMap.put(key, values);
+            }
+        }
+        event.responseHeaderMap = in.readStringMap();
+
+        int attributeCount = in.readSize();
+        if (attributeCount >= 0) {
+            event.attributeMap = new HashMap<>();
+            for (int i = 0; i < attributeCount; i++) {
+                String key = in.readDictionaryString();
+                event.attributeMap.put(key, in.readString());
+            }
+        }
+
+        event.contentLength = in.readLong();
+        event.statusCode = in.readInt();
+        event.localPort = in.readInt();
+        event.setTimeStamp(in.readLong());
+        event.setSequenceNumber(in.readLong());
+        return event;
+    }
+}
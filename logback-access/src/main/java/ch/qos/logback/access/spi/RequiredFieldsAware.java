@@ -0,0 +1,33 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.access.spi;
+
+import java.util.Set;
+
+/**
+ * Implemented by components able to tell which fields of access events they
+ * read, so that {@link AccessEvent#prepareForDeferredProcessing()} can skip
+ * the fields no configured component reads.
+ * 
+ * @see RequiredFieldsUtil
+ * @since 1.4.5
+ */
+public interface RequiredFieldsAware {
+
+    /**
+     * Returns the fields read by this component, in addition to those always
+     * available.
+     */
+    Set<AccessEventField> getRequiredFields();
+}
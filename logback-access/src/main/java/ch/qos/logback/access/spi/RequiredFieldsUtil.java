@@ -0,0 +1,214 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.access.spi;
+
+import static ch.qos.logback.access.spi.AccessEventField.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import ch.qos.logback.access.pattern.AccessConverter;
+import ch.qos.logback.access.pattern.ContentLengthConverter;
+import ch.qos.logback.access.pattern.DateConverter;
+import ch.qos.logback.access.pattern.ElapsedSecondsConverter;
+import ch.qos.logback.access.pattern.ElapsedTimeConverter;
+import ch.qos.logback.access.pattern.FullRequestConverter;
+import ch.qos.logback.access.pattern.FullResponseConverter;
+import ch.qos.logback.access.pattern.LineSeparatorConverter;
+import ch.qos.logback.access.pattern.LocalIPAddressConverter;
+import ch.qos.logback.access.pattern.LocalPortConverter;
+import ch.qos.logback.access.pattern.NAConverter;
+import ch.qos.logback.access.pattern.QueryStringConverter;
+import ch.qos.logback.access.pattern.RemoteHostConverter;
+import ch.qos.logback.access.pattern.RemoteIPAddressConverter;
+import ch.qos.logback.access.pattern.RemoteUserConverter;
+import ch.qos.logback.access.pattern.RequestAttributeConverter;
+import ch.qos.logback.access.pattern.RequestContentConverter;
+import ch.qos.logback.access.pattern.RequestCookieConverter;
+import ch.qos.logback.access.pattern.RequestHeaderConverter;
+import ch.qos.logback.access.pattern.RequestMethodConverter;
+import ch.qos.logback.access.pattern.RequestParameterConverter;
+import ch.qos.logback.access.pattern.RequestProtocolConverter;
+import ch.qos.logback.access.pattern.RequestURIConverter;
+import ch.qos.logback.access.pattern.RequestURLConverter;
+import ch.qos.logback.access.pattern.ResponseContentConverter;
+import ch.qos.logback.access.pattern.ResponseHeaderConverter;
+import ch.qos.logback.access.pattern.ServerNameConverter;
+import ch.qos.logback.access.pattern.SessionIDConverter;
+import ch.qos.logback.access.pattern.StatusCodeConverter;
+import ch.qos.logback.access.pattern.ThreadNameConverter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.pattern.CompositeConverter;
+import ch.qos.logback.core.pattern.Converter;
+import ch.qos.logback.core.pattern.LiteralConverter;
+import ch.qos.logback.core.spi.AppenderAttachable;
+
+/**
+ * Computes the fields of access events which the appenders of a context,
+ * together with their encoders, layouts and filters, may read once an event
+ * has been prepared for deferred processing.
+ * 
+ * <p>
+ * Components implementing {@link RequiredFieldsAware} contribute the fields
+ * they declare. Any other component in a position to read a prepared event,
+ * e.g. an appender sending events over the network, is assumed to read all
+ * fields.
+ * </p>
+ * 
+ * @since 1.4.5
+ */
+public class RequiredFieldsUtil {
+
+    /**
+     * The fields read by the built-in converters. Converters which are absent,
+     * including classes derived from built-in ones, are assumed to read all
+     * fields.
+     */
+    static private final Map<Class<? extends AccessConverter>, Set<AccessEventField>> CONVERTER_FIELDS_MAP = new HashMap<>();
+
+    static {
+        put(ContentLengthConverter.class, CONTENT_LENGTH);
+        put(DateConverter.class);
+        put(ElapsedSecondsConverter.class);
+        put(ElapsedTimeConverter.class);
+        put(FullRequestConverter.class, REQUEST_URL, REQUEST_HEADERS, REQUEST_CONTENT);
+        put(FullResponseConverter.class, STATUS_CODE, RESPONSE_HEADERS, RESPONSE_CONTENT);
+        put(LineSeparatorConverter.class);
+        put(LocalIPAddressConverter.class);
+        put(LocalPortConverter.class, LOCAL_PORT);
+        put(NAConverter.class);
+        put(QueryStringConverter.class, REQUEST_URL);
+        put(RemoteHostConverter.class, REMOTE_HOST);
+        put(RemoteIPAddressConverter.class, REMOTE_ADDR);
+        put(RemoteUserConverter.class, REMOTE_USER);
+        put(RequestAttributeConverter.class, ATTRIBUTES);
+        put(RequestContentConverter.class, REQUEST_CONTENT);
+        put(RequestCookieConverter.class);
+        put(RequestHeaderConverter.class, REQUEST_HEADERS);
+        put(RequestMethodConverter.class, METHOD);
+        put(RequestParameterConverter.class, REQUEST_PARAMETERS);
+        put(RequestProtocolConverter.class, PROTOCOL);
+        put(RequestURIConverter.class, REQUEST_URI);
+        put(RequestURLConverter.class, REQUEST_URL);
+        put(ResponseContentConverter.class, RESPONSE_CONTENT);
+        put(ResponseHeaderConverter.class, RESPONSE_HEADERS);
+        put(ServerNameConverter.class, SERVER_NAME);
+        put(SessionIDConverter.class);
+        put(StatusCodeConverter.class, STATUS_CODE);
+        put(ThreadNameConverter.class);
+    }
+
+    static private void put(Class<? extends AccessConverter> converterClass, AccessEventField... fields) {
+        Set<AccessEventField> fieldSet = EnumSet.noneOf(AccessEventField.class);
+        fieldSet.addAll(Arrays.asList(fields));
+        CONVERTER_FIELDS_MAP.put(converterClass, Collections.unmodifiableSet(fieldSet));
+    }
+
+    private RequiredFieldsUtil() {
+    }
+
+    /**
+     * Returns the fields read by converters of the given class.
+     * 
+     * @see AccessConverter#getRequiredFields()
+     */
+    static public Set<AccessEventField> computeRequiredFields(Class<? extends AccessConverter> converterClass) {
+        return CONVERTER_FIELDS_MAP.getOrDefault(converterClass, AccessEventField.ALL);
+    }
+
+    /**
+     * Returns the union of the fields required by the given appenders.
+     * 
+     * <p>
+     * The filters attached directly to these appenders are not taken into
+     * account as they examine events before these are prepared. Filters attached
+     * to nested appenders, e.g. those of an asynchronous appender, are.
+     * </p>
+     */
+    static public Set<AccessEventField> computeRequiredFields(AppenderAttachable<IAccessEvent> appenderAttachable) {
+        Set<AccessEventField> fields = EnumSet.noneOf(AccessEventField.class);
+        addFieldsOfAppenders(appenderAttachable, false, fields);
+        return fields;
+    }
+
+    /**
+     * Returns the union of the fields required by the given chain of converters,
+     * including the children of composite converters.
+     */
+    static public Set<AccessEventField> computeRequiredFields(Converter<IAccessEvent> head) {
+        Set<AccessEventField> fields = EnumSet.noneOf(AccessEventField.class);
+        addFieldsOfConverters(head, fields);
+        return fields;
+    }
+
+    static private void addFieldsOfConverters(Converter<IAccessEvent> head, Set<AccessEventField> fields) {
+        for (Converter<IAccessEvent> c = head; c != null; c = c.getNext()) {
+            if (c instanceof CompositeConverter) {
+                addFieldsOfConverters(((CompositeConverter<IAccessEvent>) c).getChildConverter(), fields);
+            } else if (!(c instanceof LiteralConverter)) {
+                addFieldsOf(c, fields);
+            }
+        }
+    }
+
+    static private void addFieldsOfAppenders(AppenderAttachable<IAccessEvent> appenderAttachable, boolean nested,
+            Set<AccessEventField> fields) {
+        Iterator<Appender<IAccessEvent>> it = appenderAttachable.iteratorForAppenders();
+        while (it.hasNext()) {
+            addFieldsOfAppender(it.next(), nested, fields);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static private void addFieldsOfAppender(Appender<IAccessEvent> appender, boolean nested,
+            Set<AccessEventField> fields) {
+        if (nested) {
+            for (Filter<IAccessEvent> filter : appender.getCopyOfAttachedFiltersList()) {
+                addFieldsOf(filter, fields);
+            }
+        }
+
+        if (appender instanceof RequiredFieldsAware) {
+            fields.addAll(((RequiredFieldsAware) appender).getRequiredFields());
+        } else if (appender instanceof AppenderAttachable) {
+            addFieldsOfAppenders((AppenderAttachable<IAccessEvent>) appender, true, fields);
+        } else if (appender instanceof OutputStreamAppender) {
+            Encoder<IAccessEvent> encoder = ((OutputStreamAppender<IAccessEvent>) appender).getEncoder();
+            if (encoder instanceof LayoutWrappingEncoder && !(encoder instanceof RequiredFieldsAware)) {
+                addFieldsOf(((LayoutWrappingEncoder<IAccessEvent>) encoder).getLayout(), fields);
+            } else {
+                addFieldsOf(encoder, fields);
+            }
+        } else {
+            fields.addAll(AccessEventField.ALL);
+        }
+    }
+
+    static private void addFieldsOf(Object component, Set<AccessEventField> fields) {
+        if (component instanceof RequiredFieldsAware) {
+            fields.addAll(((RequiredFieldsAware) component).getRequiredFields());
+        } else {
+            fields.addAll(AccessEventField.ALL);
+        }
+    }
+}
@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -39,7 +40,9 @@ import org.apache.catalina.valves.ValveBase;
 import ch.qos.logback.access.AccessConstants;
 import ch.qos.logback.access.joran.JoranConfigurator;
 import ch.qos.logback.access.spi.AccessEvent;
+import ch.qos.logback.access.spi.AccessEventField;
 import ch.qos.logback.access.spi.IAccessEvent;
+import ch.qos.logback.access.spi.RequiredFieldsUtil;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.BasicStatusManager;
 import ch.qos.logback.core.Context;
@@ -110,6 +113,11 @@ public class LogbackValve extends ValveBase
     String filenameOption;
     boolean quiet;
     boolean started;
+    /**
+     * The fields the appenders may read from deferred events, updated whenever
+     * the appender list changes.
+     */
+    volatile Set<AccessEventField> fieldsToPrepare;
     boolean alreadySetLogbackStatusManager = false;
     private SequenceNumberGenerator sequenceNumberGenerator;
 
@@ -156,6 +164,9 @@ public class LogbackValve extends ValveBase
             addWarn("Failed to find valid logback-access configuration file.");
         }
 
+        updateFieldsToPrepare();
+        addInfo("Access events will capture " + fieldsToPrepare + " for deferred processing");
+
         if (!quiet) {
             StatusListenerConfigHelper.addOnConsoleListenerInstance(this, new OnConsoleStatusListener());
         }
@@ -262,7 +273,8 @@ public class LogbackValve extends ValveBase
             getNext().invoke(request, response);
 
             TomcatServerAdapter adapter = new TomcatServerAdapter(request, response);
-            IAccessEvent accessEvent = new AccessEvent(this, request, response, adapter);
+            AccessEvent accessEvent = new AccessEvent(this, request, response, adapter);
+            accessEvent.setFieldsToPrepare(fieldsToPrepare);
 
             addThreadName(accessEvent);
 
@@ -300,7 +312,10 @@ public class LogbackValve extends ValveBase
 
     @Override
     public void addAppender(Appender<IAccessEvent> newAppender) {
+        // events created in the meantime may reach the new appender
+        fieldsToPrepare = AccessEventField.ALL;
         aai.addAppender(newAppender);
+        updateFieldsToPrepare();
     }
 
     @Override
@@ -321,17 +336,25 @@ public class LogbackValve extends ValveBase
     @Override
     public void detachAndStopAllAppenders() {
         aai.detachAndStopAllAppenders();
-
+        updateFieldsToPrepare();
     }
 
     @Override
     public boolean detachAppender(Appender<IAccessEvent> appender) {
-        return aai.detachAppender(appender);
+        boolean result = aai.detachAppender(appender);
+        updateFieldsToPrepare();
+        return result;
     }
 
     @Override
     public boolean detachAppender(String name) {
-        return aai.detachAppender(name);
+        boolean result = aai.detachAppender(name);
+        updateFieldsToPrepare();
+        return result;
+    }
+
+    private void updateFieldsToPrepare() {
+        fieldsToPrepare = RequiredFieldsUtil.computeRequiredFields(this);
     }
 
     public String getInfo() {
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.EnumSet;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -52,4 +53,22 @@ public class AccessEventTest {
 
     }
 
+    @Test
+    public void prepareForDeferredProcessingCapturesOnlySelectedFields() {
+        String key = "key-" + diff;
+
+        AccessEvent ae = (AccessEvent) DummyAccessEventBuilder.buildNewAccessEvent();
+        DummyRequest request = (DummyRequest) ae.getRequest();
+        request.getHeaders().put(key, "val");
+        request.setAttribute(key, "val");
+
+        ae.setFieldsToPrepare(EnumSet.of(AccessEventField.REQUEST_HEADERS));
+        ae.prepareForDeferredProcessing();
+
+        request.getHeaders().put(key, "change");
+        request.setAttribute(key, "change");
+        assertEquals("val", ae.getRequestHeader(key));
+        // attributes were not copied and are thus read from the request
+        assertEquals("change", ae.getAttribute(key));
+    }
 }
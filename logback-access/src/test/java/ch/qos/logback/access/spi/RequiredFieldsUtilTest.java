@@ -0,0 +1,98 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.access.spi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.access.PatternLayoutEncoder;
+import ch.qos.logback.access.pattern.DateConverter;
+import ch.qos.logback.access.pattern.StatusCodeConverter;
+import ch.qos.logback.core.AsyncAppenderBase;
+import ch.qos.logback.core.ConsoleAppender;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.read.ListAppender;
+import ch.qos.logback.core.spi.FilterReply;
+
+public class RequiredFieldsUtilTest {
+
+    AccessContext context = new AccessContext();
+
+    ConsoleAppender<IAccessEvent> buildConsoleAppender(String pattern) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(pattern);
+        encoder.start();
+
+        ConsoleAppender<IAccessEvent> appender = new ConsoleAppender<IAccessEvent>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+
+    Filter<IAccessEvent> buildNeutralFilter() {
+        return new Filter<IAccessEvent>() {
+            @Override
+            public FilterReply decide(IAccessEvent event) {
+                return FilterReply.NEUTRAL;
+            }
+        };
+    }
+
+    @Test
+    public void fieldsOfConverters() {
+        context.addAppender(buildConsoleAppender("%h %red(%r) %s %D %t"));
+        assertEquals(EnumSet.of(AccessEventField.REMOTE_HOST, AccessEventField.REQUEST_URL,
+                AccessEventField.STATUS_CODE), RequiredFieldsUtil.computeRequiredFields(context));
+    }
+
+    @Test
+    public void unknownAppenderRequiresAllFields() {
+        context.addAppender(buildConsoleAppender("%h"));
+        ListAppender<IAccessEvent> listAppender = new ListAppender<IAccessEvent>();
+        listAppender.setContext(context);
+        listAppender.start();
+        context.addAppender(listAppender);
+
+        assertEquals(AccessEventField.ALL, RequiredFieldsUtil.computeRequiredFields(context));
+    }
+
+    @Test
+    public void filtersOfNestedAppendersOnly() {
+        AsyncAppenderBase<IAccessEvent> asyncAppender = new AsyncAppenderBase<IAccessEvent>();
+        asyncAppender.setContext(context);
+        // examines events before they are prepared
+        asyncAppender.addFilter(buildNeutralFilter());
+        ConsoleAppender<IAccessEvent> nestedAppender = buildConsoleAppender("%m");
+        asyncAppender.addAppender(nestedAppender);
+        context.addAppender(asyncAppender);
+
+        assertEquals(EnumSet.of(AccessEventField.METHOD), RequiredFieldsUtil.computeRequiredFields(context));
+
+        nestedAppender.addFilter(buildNeutralFilter());
+        assertEquals(AccessEventField.ALL, RequiredFieldsUtil.computeRequiredFields(context));
+    }
+
+    @Test
+    public void derivedConverterRequiresAllFields() {
+        assertEquals(EnumSet.of(AccessEventField.STATUS_CODE), new StatusCodeConverter().getRequiredFields());
+        assertEquals(AccessEventField.NONE, new DateConverter().getRequiredFields());
+        assertEquals(AccessEventField.ALL, new StatusCodeConverter() {
+        }.getRequiredFields());
+    }
+}
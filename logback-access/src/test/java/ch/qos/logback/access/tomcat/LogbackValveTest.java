@@ -14,6 +14,11 @@
 package ch.qos.logback.access.tomcat;
 
 import ch.qos.logback.access.AccessTestConstants;
+import ch.qos.logback.access.PatternLayoutEncoder;
+import ch.qos.logback.access.spi.AccessEventField;
+import ch.qos.logback.access.spi.IAccessEvent;
+import ch.qos.logback.core.ConsoleAppender;
+import ch.qos.logback.core.read.ListAppender;
 import ch.qos.logback.core.status.Status;
 import ch.qos.logback.core.status.testUtil.StatusChecker;
 import org.apache.catalina.LifecycleException;
@@ -21,6 +26,9 @@ import org.apache.catalina.core.ContainerBase;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 public class LogbackValveTest {
@@ -95,6 +103,29 @@ public class LogbackValveTest {
 
     }
 
+    @Test
+    public void fieldsToPrepareFollowAppenderList() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(valve);
+        encoder.setPattern("%h");
+        encoder.start();
+        ConsoleAppender<IAccessEvent> consoleAppender = new ConsoleAppender<IAccessEvent>();
+        consoleAppender.setContext(valve);
+        consoleAppender.setEncoder(encoder);
+        consoleAppender.start();
+        valve.addAppender(consoleAppender);
+        assertEquals(EnumSet.of(AccessEventField.REMOTE_HOST), valve.fieldsToPrepare);
+
+        ListAppender<IAccessEvent> listAppender = new ListAppender<IAccessEvent>();
+        listAppender.setContext(valve);
+        listAppender.start();
+        valve.addAppender(listAppender);
+        assertEquals(AccessEventField.ALL, valve.fieldsToPrepare);
+
+        valve.detachAppender(listAppender);
+        assertEquals(EnumSet.of(AccessEventField.REMOTE_HOST), valve.fieldsToPrepare);
+    }
+
     private void setupValve(final String resourceName) {
         valve.setFilename(resourceName);
         valve.setName("test");
@@ -0,0 +1,75 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+/**
+ * Fixtures shared by the various benchmarks.
+ * 
+ * @since 1.4.5
+ */
+public class BenchmarkSupport {
+
+    /**
+     * A pattern similar to the one found in most configuration files.
+     */
+    static public final String TYPICAL_PATTERN = "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n";
+
+    static public final String LOGGER_NAME = "ch.qos.logback.benchmarks.SomeComponent";
+
+    static public LoggerContext newLoggerContext() {
+        LoggerContext loggerContext = new LoggerContext();
+        loggerContext.setName("benchmark");
+        loggerContext.start();
+        return loggerContext;
+    }
+
+    static public PatternLayoutEncoder newEncoder(LoggerContext loggerContext, String pattern) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(pattern);
+        encoder.start();
+        return encoder;
+    }
+
+    static public ILoggingEvent newEvent(LoggerContext loggerContext, Object arg) {
+        Logger logger = loggerContext.getLogger(LOGGER_NAME);
+        return new LoggingEvent(Logger.class.getName(), logger, Level.WARN, "Processed request {}", null,
+                new Object[] { arg });
+    }
+
+    static public File newTempDir() throws IOException {
+        return Files.createTempDirectory("logback-benchmarks").toFile();
+    }
+
+    static public void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
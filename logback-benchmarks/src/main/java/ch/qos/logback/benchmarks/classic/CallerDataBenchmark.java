@@ -0,0 +1,99 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks.classic;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.spi.CallerData;
+
+/**
+ * Compares caller data extraction based on {@link Throwable#getStackTrace()}
+ * with extraction based on {@link StackWalker}, for callers located at various
+ * stack depths. The latter is the default, see
+ * {@link ch.qos.logback.classic.LoggerContext#setStackWalkerCallerDataEnabled(boolean)}.
+ * 
+ * @since 1.4.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallerDataBenchmark {
+
+    // plays the part of Logger.FQCN
+    static final String FQCN = FakeLogger.class.getName();
+
+    @Param({ "10", "100" })
+    public int stackDepth;
+
+    @Param({ "1", "8" })
+    public int maxCallerDataDepth;
+
+    final List<String> frameworkPackages = List.of();
+
+    Extraction throwableExtraction;
+    Extraction stackWalkerExtraction;
+
+    @Setup
+    public void setUp() {
+        throwableExtraction = () -> CallerData.extract(new Throwable(), FQCN, maxCallerDataDepth, frameworkPackages);
+        stackWalkerExtraction = () -> CallerData.extract(FQCN, maxCallerDataDepth, frameworkPackages);
+    }
+
+    @Benchmark
+    public StackTraceElement[] throwable() {
+        return recurse(stackDepth, throwableExtraction);
+    }
+
+    @Benchmark
+    public StackTraceElement[] stackWalker() {
+        return recurse(stackDepth, stackWalkerExtraction);
+    }
+
+    StackTraceElement[] recurse(int depth, Extraction extraction) {
+        if (depth > 0) {
+            return recurse(depth - 1, extraction);
+        }
+        return FakeLogger.log(extraction);
+    }
+
+    interface Extraction {
+        StackTraceElement[] extract();
+    }
+
+    /**
+     * Stands for {@link ch.qos.logback.classic.Logger}, i.e. the frames located
+     * between the caller and the extraction.
+     */
+    static class FakeLogger {
+        static StackTraceElement[] log(Extraction extraction) {
+            return extraction.extract();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks.classic;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.benchmarks.BenchmarkSupport;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.DuplicateMessageFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Measures {@link DuplicateMessageFilter} when logging a few messages over and
+ * over again, which are all cached, and when logging mostly distinct messages,
+ * where nearly every call evicts a message from the full cache.
+ * 
+ * @since 1.4.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DuplicateMessageFilterBenchmark {
+
+    static final int MESSAGE_COUNT = 1 << 16;
+
+    @Param({ "100", "10000" })
+    public int cacheSize;
+
+    @Param({ "repeated", "distinct" })
+    public String messages;
+
+    LoggerContext loggerContext;
+    Logger logger;
+    DuplicateMessageFilter filter;
+    String[] formats;
+
+    @Setup
+    public void setUp() {
+        loggerContext = BenchmarkSupport.newLoggerContext();
+        logger = loggerContext.getLogger(BenchmarkSupport.LOGGER_NAME);
+
+        filter = new DuplicateMessageFilter();
+        filter.setContext(loggerContext);
+        filter.setCacheSize(cacheSize);
+        filter.start();
+
+        // repeated messages fit in the smallest cache
+        int distinctCount = "distinct".equals(messages) ? MESSAGE_COUNT : 16;
+        formats = new String[MESSAGE_COUNT];
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            formats[i] = "Processed request " + (i % distinctCount) + " {}";
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        filter.stop();
+        loggerContext.stop();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    FilterReply decide(Cursor cursor) {
+        String format = formats[cursor.next++ & (MESSAGE_COUNT - 1)];
+        return filter.decide(null, logger, Level.INFO, format, (Object[]) null, null);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public FilterReply threads01(Cursor cursor) {
+        return decide(cursor);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public FilterReply threads08(Cursor cursor) {
+        return decide(cursor);
+    }
+}
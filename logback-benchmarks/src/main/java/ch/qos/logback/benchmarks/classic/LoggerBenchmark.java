@@ -0,0 +1,131 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks.classic;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Marker;
+
+import ch.qos.logback.benchmarks.BenchmarkSupport;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.helpers.NOPAppender;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Measures the cost of the various printing methods of {@link Logger}, that is
+ * the filterAndLog_0_Or3Plus, filterAndLog_1 and filterAndLog_2 paths, for
+ * enabled as well as disabled levels, with and without a turbo filter
+ * installed. Appending is done by a {@link NOPAppender} so that only the
+ * logger side is measured.
+ * 
+ * @since 1.4.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerBenchmark {
+
+    @Param({ "enabled", "disabled" })
+    public String level;
+
+    @Param({ "false", "true" })
+    public boolean turboFilter;
+
+    LoggerContext loggerContext;
+    Logger logger;
+
+    final Object arg1 = "arg1";
+    final Object arg2 = Integer.valueOf(2);
+    final Object arg3 = Long.valueOf(3L);
+
+    @Setup
+    public void setUp() {
+        loggerContext = BenchmarkSupport.newLoggerContext();
+
+        NOPAppender<ILoggingEvent> nopAppender = new NOPAppender<>();
+        nopAppender.setContext(loggerContext);
+        nopAppender.setName("NOP");
+        nopAppender.start();
+
+        Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.addAppender(nopAppender);
+        root.setLevel("enabled".equals(level) ? Level.DEBUG : Level.INFO);
+
+        if (turboFilter) {
+            TurboFilter neutralFilter = new NeutralTurboFilter();
+            neutralFilter.setContext(loggerContext);
+            neutralFilter.start();
+            loggerContext.addTurboFilter(neutralFilter);
+        }
+
+        logger = loggerContext.getLogger(BenchmarkSupport.LOGGER_NAME);
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public void debug0() {
+        logger.debug("Processed request");
+    }
+
+    @Benchmark
+    public void debug1() {
+        logger.debug("Processed request {}", arg1);
+    }
+
+    @Benchmark
+    public void debug2() {
+        logger.debug("Processed request {} in {} ms", arg1, arg2);
+    }
+
+    @Benchmark
+    public void debug3Plus() {
+        logger.debug("Processed request {} in {} ms, {} bytes", arg1, arg2, arg3);
+    }
+
+    /**
+     * A turbo filter which never takes a decision, i.e. the cheapest filter which
+     * still forces the logger through the turbo filter chain.
+     */
+    static public class NeutralTurboFilter extends TurboFilter {
+        @Override
+        public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                Throwable t) {
+            return FilterReply.NEUTRAL;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks.classic;
+
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import ch.qos.logback.benchmarks.BenchmarkSupport;
+import ch.qos.logback.classic.ClassicConstants;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+
+/**
+ * Measures logging from 1,000,000 short lived threads, each of which sets an
+ * MDC value, logs a single event and removes the value, as a thread handling a
+ * request would. Virtual threads are compared with a pool of platform threads,
+ * with the default as well as the persistent MDC adapter. Results are given per
+ * thread, the "gc" profiler shows the memory allocated per thread.
+ * 
+ * <p>
+ * The "virtual" thread type requires JDK 21 or later.
+ * </p>
+ * 
+ * @since 1.4.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    static final int THREAD_COUNT = 1_000_000;
+
+    static final String PATTERN = "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} %X{requestId} - %msg%n";
+
+    @Param({ "virtual", "platform" })
+    public String threadType;
+
+    @Param({ "LogbackMDCAdapter", "PersistentMDCAdapter" })
+    public String mdcAdapter;
+
+    LoggerContext loggerContext;
+    Logger logger;
+    ExecutorService executor;
+
+    @Setup
+    public void setUp() throws Exception {
+        // each fork initializes SLF4J anew, the property must be set beforehand
+        System.setProperty(ClassicConstants.MDC_ADAPTER_CLASS_PROPERTY, "ch.qos.logback.classic.util." + mdcAdapter);
+        String actualAdapter = MDC.getMDCAdapter().getClass().getSimpleName();
+        if (!mdcAdapter.equals(actualAdapter)) {
+            throw new IllegalStateException("Expected " + mdcAdapter + " but SLF4J uses " + actualAdapter);
+        }
+
+        loggerContext = BenchmarkSupport.newLoggerContext();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(loggerContext);
+        appender.setName("NULL");
+        appender.setEncoder(BenchmarkSupport.newEncoder(loggerContext, PATTERN));
+        appender.setImmediateFlush(false);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+
+        Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.addAppender(appender);
+
+        logger = loggerContext.getLogger(BenchmarkSupport.LOGGER_NAME);
+        executor = newExecutor();
+    }
+
+    ExecutorService newExecutor() throws Exception {
+        if ("virtual".equals(threadType)) {
+            // invoked reflectively as the benchmarks are compiled for Java 11
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } else {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(THREAD_COUNT)
+    public void logOncePerThread() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(THREAD_COUNT);
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            final String requestId = Integer.toString(i);
+            executor.execute(() -> {
+                try {
+                    MDC.put("requestId", requestId);
+                    logger.info("Processed request {}", requestId);
+                    MDC.remove("requestId");
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks.core;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.Threads;
+
+import ch.qos.logback.benchmarks.BenchmarkSupport;
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AsyncAppenderBase;
+import ch.qos.logback.core.OutputStreamAppender;
+
+/**
+ * Measures {@link AsyncAppenderBase#doAppend} with 1 to 64
+ * producer threads. The attached appender writes into an {@link OutputStream}
+ * which discards all bytes so that the results reflect queue contention
+ * rather than I/O.
+ * 
+ * <p>
+ * Events are created anew on each invocation, as would be the case in real
+ * applications.
+ * 
+ * @since 1.4.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncAppenderBenchmark {
+
+    @Param({ "256", "8192" })
+    public int queueSize;
+
+    @Param({ "false", "true" })
+    public boolean neverBlock;
+
+    @Param({ AsyncAppenderBase.ARRAY_BLOCKING_QUEUE_TYPE, AsyncAppenderBase.RING_BUFFER_QUEUE_TYPE })
+    public String queueType;
+
+    LoggerContext loggerContext;
+    AsyncAppender asyncAppender;
+
+    @Setup
+    public void setUp() {
+        loggerContext = BenchmarkSupport.newLoggerContext();
+
+        OutputStreamAppender<ILoggingEvent> delegate = new OutputStreamAppender<>();
+        delegate.setContext(loggerContext);
+        delegate.setName("DELEGATE");
+        delegate.setEncoder(BenchmarkSupport.newEncoder(loggerContext, BenchmarkSupport.TYPICAL_PATTERN));
+        delegate.setImmediateFlush(false);
+        delegate.setOutputStream(OutputStream.nullOutputStream());
+        delegate.start();
+
+        asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(loggerContext);
+        asyncAppender.setName("ASYNC");
+        asyncAppender.setQueueSize(queueSize);
+        asyncAppender.setNeverBlock(neverBlock);
+        asyncAppender.setQueueType(queueType);
+        asyncAppender.addAppender(delegate);
+        asyncAppender.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        asyncAppender.stop();
+        loggerContext.stop();
+    }
+
+    void append() {
+        asyncAppender.doAppend(BenchmarkSupport.newEvent(loggerContext, "GET /index.html"));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void producers01() {
+        append();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void producers04() {
+        append();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void producers16() {
+        append();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void producers64() {
+        append();
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.benchmarks.BenchmarkSupport;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.boolex.OnErrorEvaluator;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.util.Duration;
+import ch.qos.logback.core.util.FileSize;
+
+/**
+ * Measures {@link FileAppender#doAppend} writing into a file located in a
+ * temporary directory. The flushPolicy parameter compares flushing after every
+ * event, never flushing and group commit flushing.
+ * 
+ * @since 1.4.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileAppenderBenchmark {
+
+    @Param({ "immediate", "none", "groupCommit" })
+    public String flushPolicy;
+
+    File dir;
+    LoggerContext loggerContext;
+    FileAppender<ILoggingEvent> appender;
+    ILoggingEvent event;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = BenchmarkSupport.newTempDir();
+        loggerContext = BenchmarkSupport.newLoggerContext();
+        appender = new FileAppender<>();
+        appender.setContext(loggerContext);
+        appender.setName("FILE");
+        appender.setFile(new File(dir, "benchmark.log").getAbsolutePath());
+        appender.setAppend(false);
+        appender.setEncoder(BenchmarkSupport.newEncoder(loggerContext, BenchmarkSupport.TYPICAL_PATTERN));
+        appender.setImmediateFlush("immediate".equals(flushPolicy));
+        if ("groupCommit".equals(flushPolicy)) {
+            appender.setFlushBufferSize(new FileSize(64 * FileSize.KB_COEFFICIENT));
+            appender.setMaxFlushLatency(Duration.buildByMilliseconds(5));
+            OnErrorEvaluator onError = new OnErrorEvaluator();
+            onError.setContext(loggerContext);
+            onError.start();
+            appender.setFlushEvaluator(onError);
+        }
+        appender.start();
+
+        event = BenchmarkSupport.newEvent(loggerContext, "GET /index.html");
+    }
+
+    @TearDown
+    public void tearDown() {
+        appender.stop();
+        loggerContext.stop();
+        BenchmarkSupport.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public void doAppend() {
+        appender.doAppend(event);
+    }
+}
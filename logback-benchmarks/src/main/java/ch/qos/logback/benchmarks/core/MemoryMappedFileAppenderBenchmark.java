@@ -0,0 +1,89 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.benchmarks.BenchmarkSupport;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.MemoryMappedFileAppender;
+import ch.qos.logback.core.util.FileSize;
+
+/**
+ * Measures {@link MemoryMappedFileAppender#doAppend} writing into a file
+ * located in a temporary directory, to be compared with
+ * {@link FileAppenderBenchmark}.
+ * 
+ * @since 1.4.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoryMappedFileAppenderBenchmark {
+
+    @Param({ "1MB", "32MB" })
+    public String regionLength;
+
+    File dir;
+    LoggerContext loggerContext;
+    MemoryMappedFileAppender<ILoggingEvent> appender;
+    ILoggingEvent event;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = BenchmarkSupport.newTempDir();
+        loggerContext = BenchmarkSupport.newLoggerContext();
+        appender = new MemoryMappedFileAppender<>();
+        appender.setContext(loggerContext);
+        appender.setName("MMAP");
+        appender.setFile(new File(dir, "benchmark.log").getAbsolutePath());
+        appender.setAppend(false);
+        appender.setRegionLength(FileSize.valueOf(regionLength));
+        appender.setEncoder(BenchmarkSupport.newEncoder(loggerContext, BenchmarkSupport.TYPICAL_PATTERN));
+        appender.start();
+
+        event = BenchmarkSupport.newEvent(loggerContext, "GET /index.html");
+    }
+
+    @TearDown
+    public void tearDown() {
+        appender.stop();
+        loggerContext.stop();
+        BenchmarkSupport.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public void doAppend() {
+        appender.doAppend(event);
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks.core;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.benchmarks.BenchmarkSupport;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+
+/**
+ * Measures {@link OutputStreamAppender#doAppend} writing into an
+ * {@link OutputStream} which discards all bytes. This isolates the cost of
+ * encoding, locking and flushing from actual I/O.
+ * 
+ * @since 1.4.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutputStreamAppenderBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean immediateFlush;
+
+    LoggerContext loggerContext;
+    OutputStreamAppender<ILoggingEvent> appender;
+    ILoggingEvent event;
+
+    @Setup
+    public void setUp() {
+        loggerContext = BenchmarkSupport.newLoggerContext();
+        appender = new OutputStreamAppender<>();
+        appender.setContext(loggerContext);
+        appender.setName("OUTPUT_STREAM");
+        appender.setEncoder(BenchmarkSupport.newEncoder(loggerContext, BenchmarkSupport.TYPICAL_PATTERN));
+        appender.setImmediateFlush(immediateFlush);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+
+        event = BenchmarkSupport.newEvent(loggerContext, "GET /index.html");
+    }
+
+    @TearDown
+    public void tearDown() {
+        appender.stop();
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public void doAppend() {
+        appender.doAppend(event);
+    }
+}
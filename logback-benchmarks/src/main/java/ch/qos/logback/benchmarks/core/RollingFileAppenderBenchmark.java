@@ -0,0 +1,103 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.benchmarks.BenchmarkSupport;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.rolling.SizeAndTimeBasedRollingPolicy;
+import ch.qos.logback.core.util.FileSize;
+
+/**
+ * Measures {@link RollingFileAppender#doAppend} with a
+ * {@link SizeAndTimeBasedRollingPolicy}, including the per event triggering
+ * policy check and the rollovers occurring during the measurement.
+ * 
+ * @since 1.4.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RollingFileAppenderBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean immediateFlush;
+
+    @Param({ "10MB" })
+    public String maxFileSize;
+
+    File dir;
+    LoggerContext loggerContext;
+    RollingFileAppender<ILoggingEvent> appender;
+    ILoggingEvent event;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = BenchmarkSupport.newTempDir();
+        loggerContext = BenchmarkSupport.newLoggerContext();
+
+        appender = new RollingFileAppender<>();
+        appender.setContext(loggerContext);
+        appender.setName("ROLLING");
+        appender.setFile(new File(dir, "benchmark.log").getAbsolutePath());
+        appender.setEncoder(BenchmarkSupport.newEncoder(loggerContext, BenchmarkSupport.TYPICAL_PATTERN));
+        appender.setImmediateFlush(immediateFlush);
+
+        SizeAndTimeBasedRollingPolicy<ILoggingEvent> rollingPolicy = new SizeAndTimeBasedRollingPolicy<>();
+        rollingPolicy.setContext(loggerContext);
+        rollingPolicy.setParent(appender);
+        rollingPolicy.setFileNamePattern(new File(dir, "benchmark-%d{yyyy-MM-dd}.%i.log").getAbsolutePath());
+        rollingPolicy.setMaxFileSize(FileSize.valueOf(maxFileSize));
+        rollingPolicy.setMaxHistory(2);
+        rollingPolicy.start();
+
+        appender.setRollingPolicy(rollingPolicy);
+        appender.start();
+
+        event = BenchmarkSupport.newEvent(loggerContext, "GET /index.html");
+    }
+
+    @TearDown
+    public void tearDown() {
+        appender.stop();
+        loggerContext.stop();
+        BenchmarkSupport.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public void doAppend() {
+        appender.doAppend(event);
+    }
+}
@@ -23,6 +23,7 @@ public class ClassicConstants {
 
     public static final String LOGBACK_CONTEXT_SELECTOR = "logback.ContextSelector";
     public static final String CONFIG_FILE_PROPERTY = "logback.configurationFile";
+    public static final String MDC_ADAPTER_CLASS_PROPERTY = "logback.mdcAdapterClass";
 
     public static final String JNDI_CONFIGURATION_RESOURCE = JNDI_JAVA_NAMESPACE
             + "comp/env/logback/configuration-resource";
@@ -29,6 +29,7 @@ import org.slf4j.spi.LoggingEventBuilder;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.spi.ReusableLoggingEvent;
 import ch.qos.logback.classic.util.LoggerNameUtil;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.CoreConstants;
@@ -372,6 +373,10 @@ public final class Logger
     private void filterAndLog_0_Or3Plus(final String localFQCN, final Marker marker, final Level level,
             final String msg, final Object[] params, final Throwable t) {
 
+        if (isDisabledAndNotAcceptable(level)) {
+            return;
+        }
+
         final FilterReply decision = loggerContext.getTurboFilterChainDecision_0_3OrMore(marker, this, level, msg,
                 params, t);
 
@@ -383,12 +388,21 @@ public final class Logger
             return;
         }
 
-        buildLoggingEventAndAppend(localFQCN, marker, level, msg, params, t);
+        final ReusableLoggingEvent rle = loggerContext.acquireReusableEvent();
+        if (rle != null) {
+            appendReusableEvent(rle, localFQCN, marker, level, msg, params, t);
+        } else {
+            buildLoggingEventAndAppend(localFQCN, marker, level, msg, params, t);
+        }
     }
 
     private void filterAndLog_1(final String localFQCN, final Marker marker, final Level level, final String msg,
             final Object param, final Throwable t) {
 
+        if (isDisabledAndNotAcceptable(level)) {
+            return;
+        }
+
         final FilterReply decision = loggerContext.getTurboFilterChainDecision_1(marker, this, level, msg, param, t);
 
         if (decision == FilterReply.NEUTRAL) {
@@ -399,12 +413,21 @@ public final class Logger
             return;
         }
 
-        buildLoggingEventAndAppend(localFQCN, marker, level, msg, new Object[] { param }, t);
+        final ReusableLoggingEvent rle = loggerContext.acquireReusableEvent();
+        if (rle != null) {
+            appendReusableEvent(rle, localFQCN, marker, level, msg, rle.argumentArray(param), t);
+        } else {
+            buildLoggingEventAndAppend(localFQCN, marker, level, msg, new Object[] { param }, t);
+        }
     }
 
     private void filterAndLog_2(final String localFQCN, final Marker marker, final Level level, final String msg,
             final Object param1, final Object param2, final Throwable t) {
 
+        if (isDisabledAndNotAcceptable(level)) {
+            return;
+        }
+
         final FilterReply decision = loggerContext.getTurboFilterChainDecision_2(marker, this, level, msg, param1,
                 param2, t);
 
@@ -416,7 +439,21 @@ public final class Logger
             return;
         }
 
-        buildLoggingEventAndAppend(localFQCN, marker, level, msg, new Object[] { param1, param2 }, t);
+        final ReusableLoggingEvent rle = loggerContext.acquireReusableEvent();
+        if (rle != null) {
+            appendReusableEvent(rle, localFQCN, marker, level, msg, rle.argumentArray(param1, param2), t);
+        } else {
+            buildLoggingEventAndAppend(localFQCN, marker, level, msg, new Object[] { param1, param2 }, t);
+        }
+    }
+
+    /**
+     * Requests below the effective level are discarded unless a turbo filter
+     * accepts them. If no turbo filter may accept, such requests are discarded
+     * right away, without consulting turbo filters nor allocating anything.
+     */
+    private boolean isDisabledAndNotAcceptable(final Level level) {
+        return effectiveLevelInt > level.levelInt && !loggerContext.isTurboFilterAcceptPossible();
     }
 
     private void buildLoggingEventAndAppend(final String localFQCN, final Marker marker, final Level level,
@@ -426,6 +463,17 @@ public final class Logger
         callAppenders(le);
     }
 
+    private void appendReusableEvent(final ReusableLoggingEvent rle, final String localFQCN, final Marker marker,
+            final Level level, final String msg, final Object[] params, final Throwable t) {
+        try {
+            rle.reinit(localFQCN, this, level, msg, t, params);
+            rle.addMarker(marker);
+            callAppenders(rle);
+        } finally {
+            rle.release();
+        }
+    }
+
     public void trace(String msg) {
         filterAndLog_0_Or3Plus(FQCN, null, Level.TRACE, msg, null, null);
     }
@@ -471,6 +519,9 @@ public final class Logger
     }
 
     public boolean isDebugEnabled(Marker marker) {
+        if (isDisabledAndNotAcceptable(Level.DEBUG)) {
+            return false;
+        }
         final FilterReply decision = callTurboFilters(marker, Level.DEBUG);
         if (decision == FilterReply.NEUTRAL) {
             return effectiveLevelInt <= Level.DEBUG_INT;
@@ -568,6 +619,9 @@ public final class Logger
     }
 
     public boolean isInfoEnabled(Marker marker) {
+        if (isDisabledAndNotAcceptable(Level.INFO)) {
+            return false;
+        }
         FilterReply decision = callTurboFilters(marker, Level.INFO);
         if (decision == FilterReply.NEUTRAL) {
             return effectiveLevelInt <= Level.INFO_INT;
@@ -625,6 +679,9 @@ public final class Logger
     }
 
     public boolean isTraceEnabled(Marker marker) {
+        if (isDisabledAndNotAcceptable(Level.TRACE)) {
+            return false;
+        }
         final FilterReply decision = callTurboFilters(marker, Level.TRACE);
         if (decision == FilterReply.NEUTRAL) {
             return effectiveLevelInt <= Level.TRACE_INT;
@@ -642,6 +699,9 @@ public final class Logger
     }
 
     public boolean isErrorEnabled(Marker marker) {
+        if (isDisabledAndNotAcceptable(Level.ERROR)) {
+            return false;
+        }
         FilterReply decision = callTurboFilters(marker, Level.ERROR);
         if (decision == FilterReply.NEUTRAL) {
             return effectiveLevelInt <= Level.ERROR_INT;
@@ -659,6 +719,9 @@ public final class Logger
     }
 
     public boolean isWarnEnabled(Marker marker) {
+        if (isDisabledAndNotAcceptable(Level.WARN)) {
+            return false;
+        }
         FilterReply decision = callTurboFilters(marker, Level.WARN);
         if (decision == FilterReply.NEUTRAL) {
             return effectiveLevelInt <= Level.WARN_INT;
@@ -673,6 +736,9 @@ public final class Logger
     }
 
     public boolean isEnabledFor(Marker marker, Level level) {
+        if (isDisabledAndNotAcceptable(level)) {
+            return false;
+        }
         FilterReply decision = callTurboFilters(marker, level);
         if (decision == FilterReply.NEUTRAL) {
             return effectiveLevelInt <= level.levelInt;
@@ -30,6 +30,8 @@ import org.slf4j.Marker;
 import ch.qos.logback.classic.spi.LoggerComparator;
 import ch.qos.logback.classic.spi.LoggerContextListener;
 import ch.qos.logback.classic.spi.LoggerContextVO;
+import ch.qos.logback.classic.spi.ReusableLoggingEvent;
+import ch.qos.logback.classic.spi.StackTraceElementProxyCache;
 import ch.qos.logback.classic.spi.TurboFilterList;
 import ch.qos.logback.classic.turbo.TurboFilter;
 import ch.qos.logback.classic.util.LoggerNameUtil;
@@ -41,6 +43,7 @@ import ch.qos.logback.core.spi.SequenceNumberGenerator;
 import ch.qos.logback.core.status.StatusListener;
 import ch.qos.logback.core.status.StatusManager;
 import ch.qos.logback.core.status.WarnStatus;
+import ch.qos.logback.core.util.EnvUtil;
 
 /**
  * LoggerContext glues many of the logback-classic components together. In
@@ -55,6 +58,8 @@ public class LoggerContext extends ContextBase implements ILoggerFactory, LifeCy
 
     /** Default setting of packaging data in stack traces */
     public static final boolean DEFAULT_PACKAGING_DATA = false;
+    public static final boolean DEFAULT_EVENT_REUSE = false;
+    public static final boolean DEFAULT_STACK_WALKER_CALLER_DATA = true;
 
     final Logger root;
     private int size;
@@ -66,9 +71,15 @@ public class LoggerContext extends ContextBase implements ILoggerFactory, LifeCy
     private LoggerContextVO loggerContextRemoteView;
     private final TurboFilterList turboFilterList = new TurboFilterList();
     private boolean packagingDataEnabled = DEFAULT_PACKAGING_DATA;
+    private boolean eventReuseEnabled = DEFAULT_EVENT_REUSE;
+    private final ThreadLocal<ReusableLoggingEvent> reusableEvents = ThreadLocal
+            .withInitial(ReusableLoggingEvent::new);
     SequenceNumberGenerator sequenceNumberGenerator = null; // by default there is no SequenceNumberGenerator
 
     private int maxCallerDataDepth = ClassicConstants.DEFAULT_MAX_CALLEDER_DATA_DEPTH;
+    private boolean stackWalkerCallerDataEnabled = DEFAULT_STACK_WALKER_CALLER_DATA;
+    private volatile StackTraceElementProxyCache stackTraceElementProxyCache = new StackTraceElementProxyCache(
+            StackTraceElementProxyCache.DEFAULT_CACHE_SIZE);
 
     int resetCount = 0;
     private List<String> frameworkPackages;
@@ -210,6 +221,42 @@ public class LoggerContext extends ContextBase implements ILoggerFactory, LifeCy
         return packagingDataEnabled;
     }
 
+    /**
+     * When enabled, loggers reuse one {@link ReusableLoggingEvent} instance per
+     * thread instead of creating a new event for each logging request. Appenders
+     * retaining events, see
+     * {@link ch.qos.logback.core.Appender#isRetainingEvents()}, receive a copy.
+     * Reuse only pays off when most appenders process events synchronously, e.g.
+     * console or file appenders.
+     * 
+     * @param eventReuseEnabled
+     * @since 1.4.5
+     */
+    public void setEventReuseEnabled(boolean eventReuseEnabled) {
+        this.eventReuseEnabled = eventReuseEnabled;
+    }
+
+    /**
+     * @since 1.4.5
+     */
+    public boolean isEventReuseEnabled() {
+        return eventReuseEnabled;
+    }
+
+    /**
+     * Returns the reusable event of the calling thread, marked as in use, or
+     * null if event reuse is disabled, the calling thread's event is in use
+     * already or the calling thread is virtual. Virtual threads seldom log often
+     * enough to amortize a thread local event.
+     */
+    final ReusableLoggingEvent acquireReusableEvent() {
+        if (!eventReuseEnabled || EnvUtil.isVirtual(Thread.currentThread())) {
+            return null;
+        }
+        ReusableLoggingEvent rle = reusableEvents.get();
+        return rle.acquire() ? rle : null;
+    }
+
     private void cancelScheduledTasks() {
         for (ScheduledFuture<?> sf : scheduledFutures) {
             sf.cancel(false);
@@ -243,6 +290,14 @@ public class LoggerContext extends ContextBase implements ILoggerFactory, LifeCy
         turboFilterList.clear();
     }
 
+    /**
+     * Whether some turbo filter may accept a request below the effective level of
+     * its logger.
+     */
+    final boolean isTurboFilterAcceptPossible() {
+        return turboFilterList.isAcceptPossible();
+    }
+
     final FilterReply getTurboFilterChainDecision_0_3OrMore(final Marker marker, final Logger logger, final Level level,
             final String format, final Object[] params, final Throwable t) {
         if (turboFilterList.size() == 0) {
@@ -256,7 +311,7 @@ public class LoggerContext extends ContextBase implements ILoggerFactory, LifeCy
         if (turboFilterList.size() == 0) {
             return FilterReply.NEUTRAL;
         }
-        return turboFilterList.getTurboFilterChainDecision(marker, logger, level, format, new Object[] { param }, t);
+        return turboFilterList.getTurboFilterChainDecision(marker, logger, level, format, param, t);
     }
 
     final FilterReply getTurboFilterChainDecision_2(final Marker marker, final Logger logger, final Level level,
@@ -264,8 +319,7 @@ public class LoggerContext extends ContextBase implements ILoggerFactory, LifeCy
         if (turboFilterList.size() == 0) {
             return FilterReply.NEUTRAL;
         }
-        return turboFilterList.getTurboFilterChainDecision(marker, logger, level, format,
-                new Object[] { param1, param2 }, t);
+        return turboFilterList.getTurboFilterChainDecision(marker, logger, level, format, param1, param2, t);
     }
 
     // === start listeners ==============================================
@@ -351,6 +405,10 @@ public class LoggerContext extends ContextBase implements ILoggerFactory, LifeCy
         initCollisionMaps();
         root.recursiveReset();
         resetTurboFilterList();
+        StackTraceElementProxyCache steCache = stackTraceElementProxyCache;
+        if (steCache != null) {
+            steCache.clear();
+        }
         cancelScheduledTasks();
         fireOnReset();
         resetListenersExceptResetResistant();
@@ -370,6 +428,65 @@ public class LoggerContext extends ContextBase implements ILoggerFactory, LifeCy
         this.maxCallerDataDepth = maxCallerDataDepth;
     }
 
+    /**
+     * When enabled, caller data is extracted by walking the stack lazily with a
+     * {@link StackWalker}, instead of capturing the whole stack trace of a
+     * {@link Throwable}. Only the frames up to the caller and
+     * {@link #setMaxCallerDataDepth(int) maxCallerDataDepth} frames past it are
+     * materialized, which pays off at the stack depths typical of application
+     * servers and frameworks. Enabled by default, see also the
+     * <code>stackWalkerCallerData</code> attribute of the
+     * <code>&lt;configuration&gt;</code> element.
+     * 
+     * @param stackWalkerCallerDataEnabled
+     * @since 1.4.5
+     */
+    public void setStackWalkerCallerDataEnabled(boolean stackWalkerCallerDataEnabled) {
+        this.stackWalkerCallerDataEnabled = stackWalkerCallerDataEnabled;
+    }
+
+    /**
+     * @since 1.4.5
+     */
+    public boolean isStackWalkerCallerDataEnabled() {
+        return stackWalkerCallerDataEnabled;
+    }
+
+    /**
+     * Set the number of distinct stack traces whose frames are shared between the
+     * logging events of this context, see {@link StackTraceElementProxyCache}.
+     * Zero disables sharing. The default is
+     * {@link StackTraceElementProxyCache#DEFAULT_CACHE_SIZE}.
+     * 
+     * @param stackTraceCacheSize
+     * @since 1.4.5
+     */
+    public void setStackTraceCacheSize(int stackTraceCacheSize) {
+        if (stackTraceCacheSize < 0) {
+            throw new IllegalArgumentException("Stack trace cache size cannot be negative");
+        }
+        this.stackTraceElementProxyCache = stackTraceCacheSize == 0 ? null
+                : new StackTraceElementProxyCache(stackTraceCacheSize);
+    }
+
+    /**
+     * @since 1.4.5
+     */
+    public int getStackTraceCacheSize() {
+        StackTraceElementProxyCache steCache = stackTraceElementProxyCache;
+        return steCache == null ? 0 : steCache.getCacheSize();
+    }
+
+    /**
+     * Returns the cache sharing the frames of identical stack traces between the
+     * logging events of this context, null if sharing is disabled.
+     * 
+     * @since 1.4.5
+     */
+    public StackTraceElementProxyCache getStackTraceElementProxyCache() {
+        return stackTraceElementProxyCache;
+    }
+
     /**
      * List of packages considered part of the logging framework such that they are
      * never considered as callers of the logging framework. This list used to
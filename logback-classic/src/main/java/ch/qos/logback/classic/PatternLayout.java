@@ -176,6 +176,14 @@ public class PatternLayout extends PatternLayoutBase<ILoggingEvent> {
         return writeLoopOnConverters(event);
     }
 
+    @Override
+    public void doLayout(ILoggingEvent event, StringBuilder sb) {
+        if (!isStarted()) {
+            return;
+        }
+        writeLoopOnConverters(sb, event);
+    }
+
     @Override
     protected String getPresentationHeaderPrefix() {
         return HEADER_PREFIX;
@@ -25,6 +25,8 @@ public class ConfigurationAction extends BaseModelAction {
     static final String SCAN_ATTR = "scan";
     static final String SCAN_PERIOD_ATTR = "scanPeriod";
     static final String PACKAGING_DATA_ATTR = "packagingData";
+    static final String EVENT_REUSE_ATTR = "eventReuse";
+    static final String STACK_WALKER_CALLER_DATA_ATTR = "stackWalkerCallerData";
 
     @Override
     protected Model buildCurrentModel(SaxEventInterpretationContext interpretationContext, String name,
@@ -34,6 +36,8 @@ public class ConfigurationAction extends BaseModelAction {
         configurationModel.setScanStr(attributes.getValue(SCAN_ATTR));
         configurationModel.setScanPeriodStr(attributes.getValue(SCAN_PERIOD_ATTR));
         configurationModel.setPackagingDataStr(attributes.getValue(PACKAGING_DATA_ATTR));
+        configurationModel.setEventReuseStr(attributes.getValue(EVENT_REUSE_ATTR));
+        configurationModel.setStackWalkerCallerDataStr(attributes.getValue(STACK_WALKER_CALLER_DATA_ATTR));
         return configurationModel;
     }
 
@@ -5,7 +5,7 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.IThrowableProxy;
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.LayoutBase;
-import ch.qos.logback.core.util.CachingDateFormatter;
+import ch.qos.logback.core.util.IncrementalDateFormatter;
 
 /**
  * A layout with a fixed format. The output is equivalent to that produced by
@@ -34,7 +34,7 @@ import ch.qos.logback.core.util.CachingDateFormatter;
  */
 public class TTLLLayout extends LayoutBase<ILoggingEvent> {
 
-    CachingDateFormatter cachingDateFormatter = new CachingDateFormatter("HH:mm:ss.SSS");
+    IncrementalDateFormatter cachingDateFormatter = new IncrementalDateFormatter("HH:mm:ss.SSS");
     ThrowableProxyConverter tpc = new ThrowableProxyConverter();
 
     @Override
@@ -52,7 +52,7 @@ public class TTLLLayout extends LayoutBase<ILoggingEvent> {
 
         long timestamp = event.getTimeStamp();
 
-        sb.append(cachingDateFormatter.format(timestamp));
+        cachingDateFormatter.format(timestamp, sb);
         sb.append(" [");
         sb.append(event.getThreadName());
         sb.append("] ");
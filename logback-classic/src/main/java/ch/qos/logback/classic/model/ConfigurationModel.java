@@ -15,6 +15,8 @@ public class ConfigurationModel extends Model {
     String scanStr;
     String scanPeriodStr;
     String packagingDataStr;
+    String eventReuseStr;
+    String stackWalkerCallerDataStr;
     
     @Override
     protected ConfigurationModel makeNewInstance() {
@@ -28,6 +30,8 @@ public class ConfigurationModel extends Model {
         this.scanStr = actual.scanStr;
         this.scanPeriodStr = actual.scanPeriodStr;
         this.packagingDataStr = actual.packagingDataStr;
+        this.eventReuseStr = actual.eventReuseStr;
+        this.stackWalkerCallerDataStr = actual.stackWalkerCallerDataStr;
     }
     
     public String getDebugStr() {
@@ -61,12 +65,29 @@ public class ConfigurationModel extends Model {
     public void setPackagingDataStr(String packagingDataStr) {
         this.packagingDataStr = packagingDataStr;
     }
+
+    public String getEventReuseStr() {
+        return eventReuseStr;
+    }
+
+    public void setEventReuseStr(String eventReuseStr) {
+        this.eventReuseStr = eventReuseStr;
+    }
+
+    public String getStackWalkerCallerDataStr() {
+        return stackWalkerCallerDataStr;
+    }
+
+    public void setStackWalkerCallerDataStr(String stackWalkerCallerDataStr) {
+        this.stackWalkerCallerDataStr = stackWalkerCallerDataStr;
+    }
     
     @Override
     public int hashCode() {
         final int prime = 31;
         int result = super.hashCode();
-        result = prime * result + Objects.hash(debugStr, packagingDataStr, scanPeriodStr, scanStr);
+        result = prime * result + Objects.hash(debugStr, packagingDataStr, eventReuseStr, stackWalkerCallerDataStr,
+                scanPeriodStr, scanStr);
         return result;
     }
 
@@ -80,6 +101,8 @@ public class ConfigurationModel extends Model {
             return false;
         ConfigurationModel other = (ConfigurationModel) obj;
         return Objects.equals(debugStr, other.debugStr) && Objects.equals(packagingDataStr, other.packagingDataStr)
+                && Objects.equals(eventReuseStr, other.eventReuseStr)
+                && Objects.equals(stackWalkerCallerDataStr, other.stackWalkerCallerDataStr)
                 && Objects.equals(scanPeriodStr, other.scanPeriodStr) && Objects.equals(scanStr, other.scanStr);
     }
 
@@ -79,6 +79,13 @@ public class ConfigurationModelHandler extends ModelHandlerBase {
         boolean packagingData = OptionHelper.toBoolean(mic.subst(configurationModel.getPackagingDataStr()),
                 LoggerContext.DEFAULT_PACKAGING_DATA);
         lc.setPackagingDataEnabled(packagingData);
+        boolean eventReuse = OptionHelper.toBoolean(mic.subst(configurationModel.getEventReuseStr()),
+                LoggerContext.DEFAULT_EVENT_REUSE);
+        lc.setEventReuseEnabled(eventReuse);
+        boolean stackWalkerCallerData = OptionHelper.toBoolean(
+                mic.subst(configurationModel.getStackWalkerCallerDataStr()),
+                LoggerContext.DEFAULT_STACK_WALKER_CALLER_DATA);
+        lc.setStackWalkerCallerDataEnabled(stackWalkerCallerData);
 
         ContextUtil contextUtil = new ContextUtil(context);
         contextUtil.addGroovyPackages(lc.getFrameworkPackages());
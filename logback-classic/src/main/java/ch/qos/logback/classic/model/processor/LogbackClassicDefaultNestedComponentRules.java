@@ -18,8 +18,10 @@ import java.util.List;
 
 import ch.qos.logback.classic.PatternLayout;
 import ch.qos.logback.classic.boolex.JaninoEventEvaluator;
+import ch.qos.logback.classic.boolex.OnErrorEvaluator;
 import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
 import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.OutputStreamAppender;
 import ch.qos.logback.core.UnsynchronizedAppenderBase;
 import ch.qos.logback.core.filter.EvaluatorFilter;
 import ch.qos.logback.core.joran.spi.DefaultNestedComponentRegistry;
@@ -51,6 +53,7 @@ public class LogbackClassicDefaultNestedComponentRules {
         registry.add(UnsynchronizedAppenderBase.class, "encoder", PatternLayoutEncoder.class);
 
         registry.add(EvaluatorFilter.class, "evaluator", JaninoEventEvaluator.class);
+        registry.add(OutputStreamAppender.class, "flushEvaluator", OnErrorEvaluator.class);
 
         SSLNestedComponentRegistryRules.addDefaultNestedComponentRegistryRules(registry);
     }
@@ -61,6 +64,7 @@ public class LogbackClassicDefaultNestedComponentRules {
 
         tupleList.add(new ParentTag_Tag_Class_Tuple("appender", "encoder", PatternLayoutEncoder.class.getName()));
         tupleList.add(new ParentTag_Tag_Class_Tuple("appender", "layout", PatternLayout.class.getName()));
+        tupleList.add(new ParentTag_Tag_Class_Tuple("appender", "flushEvaluator", OnErrorEvaluator.class.getName()));
         tupleList.add(new ParentTag_Tag_Class_Tuple("receiver", "ssl", SSLConfiguration.class.getName()));
         tupleList.add(new ParentTag_Tag_Class_Tuple("ssl", "parameters", SSLParametersConfiguration.class.getName()));
         tupleList.add(new ParentTag_Tag_Class_Tuple("ssl", "keyStore", KeyStoreFactoryBean.class.getName()));
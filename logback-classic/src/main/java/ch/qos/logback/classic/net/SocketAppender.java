@@ -15,7 +15,9 @@
 package ch.qos.logback.classic.net;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEventWireCodec;
 import ch.qos.logback.core.net.AbstractSocketAppender;
+import ch.qos.logback.core.net.WireCodec;
 import ch.qos.logback.core.spi.PreSerializationTransformer;
 
 /**
@@ -53,4 +55,9 @@ public class SocketAppender extends AbstractSocketAppender<ILoggingEvent> {
         return pst;
     }
 
+    @Override
+    protected WireCodec<ILoggingEvent> getWireCodec() {
+        return new LoggingEventWireCodec();
+    }
+
 }
@@ -22,6 +22,9 @@ import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.net.server.HardenedLoggingEventInputStream;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEventWireCodec;
+import ch.qos.logback.core.net.BinaryEventReader;
+import ch.qos.logback.core.util.CloseUtil;
 
 // Contributors: Moses Hohman <mmhohman@rainbow.uchicago.edu>
 
@@ -44,6 +47,7 @@ public class SocketNode implements Runnable {
     Socket socket;
     LoggerContext context;
     HardenedLoggingEventInputStream hardenedLoggingEventInputStream;
+    BinaryEventReader<ILoggingEvent> binaryEventReader;
     SocketAddress remoteSocketAddress;
 
     Logger logger;
@@ -67,8 +71,12 @@ public class SocketNode implements Runnable {
     public void run() {
 
         try {
-            hardenedLoggingEventInputStream = new HardenedLoggingEventInputStream(
-                    new BufferedInputStream(socket.getInputStream()));
+            BufferedInputStream inputStream = new BufferedInputStream(socket.getInputStream());
+            if (BinaryEventReader.isBinaryStream(inputStream)) {
+                binaryEventReader = new BinaryEventReader<>(inputStream, new LoggingEventWireCodec());
+            } else {
+                hardenedLoggingEventInputStream = new HardenedLoggingEventInputStream(inputStream);
+            }
         } catch (Exception e) {
             logger.error("Could not open ObjectInputStream to " + socket, e);
             closed = true;
@@ -80,7 +88,8 @@ public class SocketNode implements Runnable {
         try {
             while (!closed) {
                 // read an event from the wire
-                event = (ILoggingEvent) hardenedLoggingEventInputStream.readObject();
+                event = binaryEventReader != null ? binaryEventReader.read()
+                        : (ILoggingEvent) hardenedLoggingEventInputStream.readObject();
                 // get a logger from the hierarchy. The name of the logger is taken to
                 // be the name contained in the event.
                 remoteLogger = context.getLogger(event.getLoggerName());
@@ -119,6 +128,10 @@ public class SocketNode implements Runnable {
                 hardenedLoggingEventInputStream = null;
             }
         }
+        if (binaryEventReader != null) {
+            CloseUtil.closeQuietly(socket);
+            binaryEventReader = null;
+        }
     }
 
     @Override
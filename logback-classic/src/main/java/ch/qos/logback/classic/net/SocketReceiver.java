@@ -13,8 +13,10 @@
  */
 package ch.qos.logback.classic.net;
 
+import java.io.BufferedInputStream;
 import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.net.ConnectException;
 import java.net.InetAddress;
@@ -30,6 +32,8 @@ import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.net.server.HardenedLoggingEventInputStream;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEventWireCodec;
+import ch.qos.logback.core.net.BinaryEventReader;
 import ch.qos.logback.core.net.DefaultSocketConnector;
 import ch.qos.logback.core.net.AbstractSocketAppender;
 import ch.qos.logback.core.net.SocketConnector;
@@ -155,14 +159,22 @@ public class SocketReceiver extends ReceiverBase implements Runnable, SocketConn
     }
 
     private void dispatchEvents(LoggerContext lc) {
+        InputStream inputStream = null;
         ObjectInputStream ois = null;
+        BinaryEventReader<ILoggingEvent> binaryEventReader = null;
         try {
             socket.setSoTimeout(acceptConnectionTimeout);
-            ois = new HardenedLoggingEventInputStream(socket.getInputStream());
+            inputStream = new BufferedInputStream(socket.getInputStream());
+            if (BinaryEventReader.isBinaryStream(inputStream)) {
+                binaryEventReader = new BinaryEventReader<>(inputStream, new LoggingEventWireCodec());
+            } else {
+                ois = new HardenedLoggingEventInputStream(inputStream);
+            }
             socket.setSoTimeout(0);
             addInfo(receiverId + "connection established");
             while (true) {
-                ILoggingEvent event = (ILoggingEvent) ois.readObject();
+                ILoggingEvent event = binaryEventReader != null ? binaryEventReader.read()
+                        : (ILoggingEvent) ois.readObject();
                 Logger remoteLogger = lc.getLogger(event.getLoggerName());
                 if (remoteLogger.isEnabledFor(event.getLevel())) {
                     remoteLogger.callAppenders(event);
@@ -176,6 +188,7 @@ public class SocketReceiver extends ReceiverBase implements Runnable, SocketConn
             addInfo(receiverId + "unknown event class: " + ex);
         } finally {
             CloseUtil.closeQuietly(ois);
+            CloseUtil.closeQuietly(inputStream);
             CloseUtil.closeQuietly(socket);
             socket = null;
             addInfo(receiverId + "connection closed");
@@ -19,10 +19,7 @@ import java.net.SocketException;
 import java.net.UnknownHostException;
 
 import ch.qos.logback.classic.PatternLayout;
-import ch.qos.logback.classic.pattern.SyslogStartConverter;
 import ch.qos.logback.classic.spi.ILoggingEvent;
-import ch.qos.logback.classic.spi.IThrowableProxy;
-import ch.qos.logback.classic.spi.StackTraceElementProxy;
 import ch.qos.logback.classic.util.LevelToSyslogSeverity;
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.Layout;
@@ -53,7 +50,7 @@ public class SyslogAppender extends SyslogAppenderBase<ILoggingEvent> {
     }
 
     String getPrefixPattern() {
-        return "%syslogStart{" + getFacility() + "}%nopex{}";
+        return SyslogLayoutHelper.getPrefixPattern(getFacility());
     }
 
     @Override
@@ -78,68 +75,30 @@ public class SyslogAppender extends SyslogAppenderBase<ILoggingEvent> {
         if (throwableExcluded)
             return;
 
-        ILoggingEvent event = (ILoggingEvent) eventObject;
-        IThrowableProxy tp = event.getThrowableProxy();
-
-        if (tp == null)
-            return;
-
-        String stackTracePrefix = stackTraceLayout.doLayout(event);
-        boolean isRootException = true;
-        while (tp != null) {
-            StackTraceElementProxy[] stepArray = tp.getStackTraceElementProxyArray();
-            try {
-                handleThrowableFirstLine(sw, tp, stackTracePrefix, isRootException);
-                isRootException = false;
-                for (StackTraceElementProxy step : stepArray) {
-                    StringBuilder sb = new StringBuilder();
-                    sb.append(stackTracePrefix).append(step);
-                    sw.write(sb.toString().getBytes());
-                    sw.flush();
-                }
-            } catch (IOException e) {
-                break;
-            }
-            tp = tp.getCause();
+        try {
+            SyslogLayoutHelper.sendStackTrace((ILoggingEvent) eventObject, stackTraceLayout, line -> {
+                sw.write(line.getBytes());
+                sw.flush();
+            });
+        } catch (IOException e) {
+            // give up on the remaining lines
         }
     }
 
-    // LOGBACK-411 and LOGBACK-750
-    private void handleThrowableFirstLine(OutputStream sw, IThrowableProxy tp, String stackTracePrefix,
-            boolean isRootException) throws IOException {
-        StringBuilder sb = new StringBuilder().append(stackTracePrefix);
-
-        if (!isRootException) {
-            sb.append(CoreConstants.CAUSED_BY);
-        }
-        sb.append(tp.getClassName()).append(": ").append(tp.getMessage());
-        sw.write(sb.toString().getBytes());
-        sw.flush();
-    }
-
     boolean stackTraceHeaderLine(StringBuilder sb, boolean topException) {
 
         return false;
     }
 
     public Layout<ILoggingEvent> buildLayout() {
-        PatternLayout layout = new PatternLayout();
-        layout.getInstanceConverterMap().put("syslogStart", SyslogStartConverter.class.getName());
         if (suffixPattern == null) {
             suffixPattern = DEFAULT_SUFFIX_PATTERN;
         }
-        layout.setPattern(getPrefixPattern() + suffixPattern);
-        layout.setContext(getContext());
-        layout.start();
-        return layout;
+        return SyslogLayoutHelper.buildLayout(getContext(), getFacility(), suffixPattern);
     }
 
     private void setupStackTraceLayout() {
-        stackTraceLayout.getInstanceConverterMap().put("syslogStart", SyslogStartConverter.class.getName());
-
-        stackTraceLayout.setPattern(getPrefixPattern() + stackTracePattern);
-        stackTraceLayout.setContext(getContext());
-        stackTraceLayout.start();
+        SyslogLayoutHelper.setUpLayout(stackTraceLayout, getContext(), getFacility(), stackTracePattern);
     }
 
     public boolean isThrowableExcluded() {
@@ -0,0 +1,108 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.net;
+
+import java.io.IOException;
+
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LevelToSyslogSeverity;
+import ch.qos.logback.core.Layout;
+import ch.qos.logback.core.net.SyslogChannelAppenderBase;
+
+/**
+ * A {@link SyslogAppender} alternative for high message rates. Logging threads
+ * are not serialized on the appender, messages are encoded into pooled direct
+ * buffers and sent over a non-blocking datagram channel or, with
+ * <code>transport</code> set to "tcp", in octet-counted batches over a TCP
+ * connection. Messages which cannot be sent immediately are dropped and
+ * counted. See {@link SyslogChannelAppenderBase} for details.
+ * 
+ * <p>
+ * As with {@link SyslogAppender}, stack trace lines are sent as separate
+ * messages unless <code>throwableExcluded</code> is set.
+ * </p>
+ * 
+ * @since 1.4.5
+ */
+public class SyslogChannelAppender extends SyslogChannelAppenderBase<ILoggingEvent> {
+
+    PatternLayout stackTraceLayout = new PatternLayout();
+    String stackTracePattern = SyslogAppender.DEFAULT_STACKTRACE_PATTERN;
+
+    boolean throwableExcluded = false;
+
+    @Override
+    public void start() {
+        setupStackTraceLayout();
+        super.start();
+    }
+
+    String getPrefixPattern() {
+        return SyslogLayoutHelper.getPrefixPattern(getFacility());
+    }
+
+    @Override
+    public int getSeverityForEvent(Object eventObject) {
+        ILoggingEvent event = (ILoggingEvent) eventObject;
+        return LevelToSyslogSeverity.convert(event);
+    }
+
+    @Override
+    protected void postProcess(ILoggingEvent event) {
+        if (throwableExcluded)
+            return;
+
+        try {
+            SyslogLayoutHelper.sendStackTrace(event, stackTraceLayout, this::send);
+        } catch (IOException e) {
+            // send() drops and counts failed messages instead of throwing
+        }
+    }
+
+    @Override
+    public Layout<ILoggingEvent> buildLayout() {
+        if (suffixPattern == null) {
+            suffixPattern = SyslogAppender.DEFAULT_SUFFIX_PATTERN;
+        }
+        return SyslogLayoutHelper.buildLayout(getContext(), getFacility(), suffixPattern);
+    }
+
+    private void setupStackTraceLayout() {
+        SyslogLayoutHelper.setUpLayout(stackTraceLayout, getContext(), getFacility(), stackTracePattern);
+    }
+
+    public boolean isThrowableExcluded() {
+        return throwableExcluded;
+    }
+
+    /**
+     * Setting throwableExcluded to true causes no Throwable's stack trace data to
+     * be sent to the syslog daemon.
+     */
+    public void setThrowableExcluded(boolean throwableExcluded) {
+        this.throwableExcluded = throwableExcluded;
+    }
+
+    public String getStackTracePattern() {
+        return stackTracePattern;
+    }
+
+    /**
+     * See {@link SyslogAppender#setStackTracePattern(String)}.
+     */
+    public void setStackTracePattern(String stackTracePattern) {
+        this.stackTracePattern = stackTracePattern;
+    }
+}
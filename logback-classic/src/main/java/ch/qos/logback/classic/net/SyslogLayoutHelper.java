@@ -0,0 +1,90 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.net;
+
+import java.io.IOException;
+
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.pattern.SyslogStartConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.StackTraceElementProxy;
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.CoreConstants;
+
+/**
+ * Layout and stack trace handling shared by {@link SyslogAppender} and
+ * {@link SyslogChannelAppender}.
+ * 
+ * @since 1.4.5
+ */
+class SyslogLayoutHelper {
+
+    interface LineSender {
+        void send(String line) throws IOException;
+    }
+
+    static String getPrefixPattern(String facility) {
+        return "%syslogStart{" + facility + "}%nopex{}";
+    }
+
+    /**
+     * Build and start a layout prefixing the given pattern with the syslog
+     * header.
+     */
+    static PatternLayout buildLayout(Context context, String facility, String pattern) {
+        return setUpLayout(new PatternLayout(), context, facility, pattern);
+    }
+
+    static PatternLayout setUpLayout(PatternLayout layout, Context context, String facility, String pattern) {
+        layout.getInstanceConverterMap().put("syslogStart", SyslogStartConverter.class.getName());
+        layout.setPattern(getPrefixPattern(facility) + pattern);
+        layout.setContext(context);
+        layout.start();
+        return layout;
+    }
+
+    /**
+     * Send the stack trace of the given event, if any, one line per message.
+     * 
+     * @param stackTraceLayout the layout of the prefix of each line
+     */
+    static void sendStackTrace(ILoggingEvent event, PatternLayout stackTraceLayout, LineSender sender)
+            throws IOException {
+        IThrowableProxy tp = event.getThrowableProxy();
+        if (tp == null)
+            return;
+
+        String stackTracePrefix = stackTraceLayout.doLayout(event);
+        boolean isRootException = true;
+        StringBuilder sb = new StringBuilder(stackTracePrefix.length() + 128);
+        while (tp != null) {
+            // LOGBACK-411 and LOGBACK-750
+            sb.setLength(0);
+            sb.append(stackTracePrefix);
+            if (!isRootException) {
+                sb.append(CoreConstants.CAUSED_BY);
+            }
+            sb.append(tp.getClassName()).append(": ").append(tp.getMessage());
+            sender.send(sb.toString());
+            isRootException = false;
+            for (StackTraceElementProxy step : tp.getStackTraceElementProxyArray()) {
+                sb.setLength(0);
+                sb.append(stackTracePrefix).append(step);
+                sender.send(sb.toString());
+            }
+            tp = tp.getCause();
+        }
+    }
+}
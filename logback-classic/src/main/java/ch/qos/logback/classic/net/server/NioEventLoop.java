@@ -0,0 +1,230 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.net.server;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import ch.qos.logback.core.util.CloseUtil;
+
+/**
+ * Multiplexes the connections of many remote appenders on a single thread.
+ * <p>
+ * Decoded events are offered to a bounded queue shared by all event loops.
+ * When the queue is full, reading from the client stops until its pending
+ * events could be handed over, so that TCP flow control pushes back on the
+ * remote appender instead of events piling up in memory.
+ *
+ * @since 1.4.5
+ */
+class NioEventLoop extends ContextAwareBase implements Runnable {
+
+    static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * How often clients blocked on a full queue are retried, in milliseconds.
+     */
+    static final long BLOCKED_RETRY_DELAY = 10;
+
+    /**
+     * How long accepting connections is suspended after a failure, for instance
+     * when running out of file descriptors, in milliseconds.
+     */
+    static final long ACCEPT_RETRY_DELAY = 1000;
+
+    private final Selector selector;
+    private final BlockingQueue<ILoggingEvent> queue;
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private final Queue<SocketChannel> newChannels = new ConcurrentLinkedQueue<>();
+    private final Set<NioRemoteAppenderClient> clients = ConcurrentHashMap.newKeySet();
+    private final List<NioRemoteAppenderClient> blockedClients = new ArrayList<>();
+
+    private ServerSocketChannel serverChannel;
+    private NioEventLoop[] eventLoops;
+    private int nextEventLoop;
+    private SelectionKey acceptKey;
+    private long acceptResumeTime;
+
+    private volatile boolean running = true;
+
+    NioEventLoop(BlockingQueue<ILoggingEvent> queue) throws IOException {
+        this.queue = queue;
+        this.selector = Selector.open();
+    }
+
+    /**
+     * Make this event loop accept new connections, distributing them among the
+     * given event loops in turn. Must be called before the loop is started.
+     */
+    void acceptConnections(ServerSocketChannel serverChannel, NioEventLoop[] eventLoops) throws IOException {
+        this.serverChannel = serverChannel;
+        this.eventLoops = eventLoops;
+        acceptKey = serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    void addChannel(SocketChannel channel) {
+        newChannels.add(channel);
+        selector.wakeup();
+    }
+
+    Set<NioRemoteAppenderClient> getClients() {
+        return clients;
+    }
+
+    void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select(selectTimeout());
+                registerNewChannels();
+                resumeAccepting();
+                Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+                while (iterator.hasNext()) {
+                    SelectionKey key = iterator.next();
+                    iterator.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isReadable()) {
+                        read((NioRemoteAppenderClient) key.attachment());
+                    }
+                }
+                retryBlockedClients();
+            }
+        } catch (IOException | ClosedSelectorException ex) {
+            if (running) {
+                addError("event loop failure: " + ex, ex);
+            }
+        } finally {
+            for (NioRemoteAppenderClient client : clients) {
+                client.close();
+            }
+            clients.clear();
+            SocketChannel channel;
+            while ((channel = newChannels.poll()) != null) {
+                CloseUtil.closeQuietly(channel);
+            }
+            CloseUtil.closeQuietly(selector);
+        }
+    }
+
+    private long selectTimeout() {
+        long timeout = blockedClients.isEmpty() ? 0 : BLOCKED_RETRY_DELAY;
+        if (acceptResumeTime != 0) {
+            long acceptDelay = Math.max(1, acceptResumeTime - System.currentTimeMillis());
+            timeout = timeout == 0 ? acceptDelay : Math.min(timeout, acceptDelay);
+        }
+        return timeout;
+    }
+
+    private void accept() {
+        SocketChannel channel;
+        try {
+            while ((channel = serverChannel.accept()) != null) {
+                eventLoops[nextEventLoop].addChannel(channel);
+                nextEventLoop = (nextEventLoop + 1) % eventLoops.length;
+            }
+        } catch (IOException ex) {
+            // the condition is likely to persist, do not spin on it
+            addError("accept failure, retrying in " + ACCEPT_RETRY_DELAY + " ms: " + ex, ex);
+            acceptKey.interestOps(0);
+            acceptResumeTime = System.currentTimeMillis() + ACCEPT_RETRY_DELAY;
+        }
+    }
+
+    private void resumeAccepting() {
+        if (acceptResumeTime != 0 && System.currentTimeMillis() >= acceptResumeTime) {
+            acceptResumeTime = 0;
+            acceptKey.interestOps(SelectionKey.OP_ACCEPT);
+        }
+    }
+
+    private void registerNewChannels() {
+        SocketChannel channel;
+        while ((channel = newChannels.poll()) != null) {
+            String id = "client ";
+            try {
+                SocketAddress remoteAddress = channel.getRemoteAddress();
+                id += remoteAddress;
+                channel.configureBlocking(false);
+                NioRemoteAppenderClient client = new NioRemoteAppenderClient(id, channel);
+                client.selectionKey = channel.register(selector, SelectionKey.OP_READ, client);
+                clients.add(client);
+                addInfo(client + ": connected");
+            } catch (IOException ex) {
+                addError(id + ": connection dropped: " + ex);
+                CloseUtil.closeQuietly(channel);
+            }
+        }
+    }
+
+    private void read(NioRemoteAppenderClient client) {
+        try {
+            if (client.read(readBuffer) < 0) {
+                closeClient(client, "end-of-stream detected");
+                return;
+            }
+        } catch (Exception e) {
+            // whatever a client sends, it must not take down the other clients
+            closeClient(client, e.toString());
+            return;
+        }
+        if (!client.handOff(queue)) {
+            client.selectionKey.interestOps(0);
+            blockedClients.add(client);
+        }
+    }
+
+    private void retryBlockedClients() {
+        Iterator<NioRemoteAppenderClient> iterator = blockedClients.iterator();
+        while (iterator.hasNext()) {
+            NioRemoteAppenderClient client = iterator.next();
+            if (client.handOff(queue)) {
+                iterator.remove();
+                if (client.selectionKey.isValid()) {
+                    client.selectionKey.interestOps(SelectionKey.OP_READ);
+                }
+            }
+        }
+    }
+
+    private void closeClient(NioRemoteAppenderClient client, String reason) {
+        clients.remove(client);
+        client.close();
+        addInfo(client + ": " + reason + ", connection closed after " + client.getEventCount() + " events");
+    }
+}
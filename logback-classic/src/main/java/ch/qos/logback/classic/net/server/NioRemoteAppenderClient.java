@@ -0,0 +1,109 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.net.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.BlockingQueue;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEventWireCodec;
+import ch.qos.logback.core.net.BinaryFrameDecoder;
+import ch.qos.logback.core.util.CloseUtil;
+
+/**
+ * The state of a remote appender connected to a {@link NioServerSocketReceiver}.
+ * Only the event loop owning the client reads from it, the counters may be read
+ * from any thread.
+ *
+ * @since 1.4.5
+ */
+class NioRemoteAppenderClient {
+
+    private final String id;
+    private final SocketChannel channel;
+    private final BinaryFrameDecoder<ILoggingEvent> decoder = new BinaryFrameDecoder<>(new LoggingEventWireCodec());
+    private final Deque<ILoggingEvent> pendingEvents = new ArrayDeque<>();
+    private final long connectionTime = System.currentTimeMillis();
+
+    private volatile long eventCount;
+    private volatile long byteCount;
+    private volatile int backlog;
+
+    SelectionKey selectionKey;
+
+    NioRemoteAppenderClient(String id, SocketChannel channel) {
+        this.id = id;
+        this.channel = channel;
+    }
+
+    /**
+     * Read available bytes and decode the events they complete.
+     * 
+     * @return the number of bytes read, or -1 at the end of the stream
+     */
+    int read(ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        int n = channel.read(buffer);
+        if (n > 0) {
+            byteCount += n;
+            buffer.flip();
+            decoder.decode(buffer, pendingEvents::add);
+            backlog = pendingEvents.size();
+        }
+        return n;
+    }
+
+    /**
+     * Move decoded events to the given queue, as long as it has room.
+     * 
+     * @return true if no decoded event is left
+     */
+    boolean handOff(BlockingQueue<ILoggingEvent> queue) {
+        ILoggingEvent event;
+        while ((event = pendingEvents.peek()) != null) {
+            if (!queue.offer(event)) {
+                break;
+            }
+            pendingEvents.poll();
+            eventCount++;
+        }
+        backlog = pendingEvents.size();
+        return backlog == 0;
+    }
+
+    RemoteClientMetrics getMetrics() {
+        return new RemoteClientMetrics(id, connectionTime, eventCount, byteCount, backlog);
+    }
+
+    long getEventCount() {
+        return eventCount;
+    }
+
+    void close() {
+        if (selectionKey != null) {
+            selectionKey.cancel();
+        }
+        CloseUtil.closeQuietly(channel);
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
@@ -0,0 +1,213 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.net.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.util.CloseUtil;
+
+/**
+ * A {@link ServerSocketReceiver} which serves all connected clients from a
+ * small number of event loop threads using non-blocking I/O, instead of
+ * dedicating a thread to each client.
+ * <p>
+ * Clients must send events in the binary wire format, that is, remote
+ * appenders must be configured with {@code <wireFormat>binary</wireFormat>}.
+ * Decoded events are handed over to a single dispatching thread through a
+ * bounded queue of {@link #setQueueSize(int) queueSize} events. When the queue
+ * is full, the receiver stops reading from the clients whose events cannot be
+ * handed over until room becomes available.
+ * <p>
+ * Per-client activity is available through {@link #getClientMetrics()}.
+ *
+ * @since 1.4.5
+ */
+public class NioServerSocketReceiver extends ServerSocketReceiver {
+
+    public static final int DEFAULT_EVENT_LOOP_COUNT = 2;
+    public static final int DEFAULT_QUEUE_SIZE = 8192;
+
+    static final int JOIN_TIMEOUT = 1000;
+    static final long DISPATCH_POLL_DELAY = 100;
+
+    private int eventLoopCount = DEFAULT_EVENT_LOOP_COUNT;
+    private int queueSize = DEFAULT_QUEUE_SIZE;
+
+    private ServerSocketChannel serverChannel;
+    private NioEventLoop[] eventLoops;
+    private Thread[] eventLoopThreads;
+    private BlockingQueue<ILoggingEvent> queue;
+    private volatile boolean dispatching;
+
+    @Override
+    protected boolean shouldStart() {
+        if (eventLoopCount < 1) {
+            addError("eventLoopCount must be at least 1");
+            return false;
+        }
+        if (queueSize < 1) {
+            addError("queueSize must be at least 1");
+            return false;
+        }
+        try {
+            queue = new ArrayBlockingQueue<>(queueSize);
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(getInetAddress(), getPort()), getBacklog());
+            serverChannel.configureBlocking(false);
+
+            eventLoops = new NioEventLoop[eventLoopCount];
+            for (int i = 0; i < eventLoopCount; i++) {
+                eventLoops[i] = new NioEventLoop(queue);
+                eventLoops[i].setContext(getContext());
+            }
+            eventLoops[0].acceptConnections(serverChannel, eventLoops);
+
+            eventLoopThreads = new Thread[eventLoopCount];
+            for (int i = 0; i < eventLoopCount; i++) {
+                eventLoopThreads[i] = new Thread(eventLoops[i], "NioServerSocketReceiver-" + i);
+                eventLoopThreads[i].setDaemon(true);
+                eventLoopThreads[i].start();
+            }
+            dispatching = true;
+            addInfo("listening on " + serverChannel.getLocalAddress());
+            return true;
+        } catch (Exception ex) {
+            addError("server startup error: " + ex, ex);
+            stopEventLoops();
+            return false;
+        }
+    }
+
+    @Override
+    protected Runnable getRunnableTask() {
+        return new Dispatcher();
+    }
+
+    @Override
+    protected void onStop() {
+        dispatching = false;
+        stopEventLoops();
+    }
+
+    private void stopEventLoops() {
+        CloseUtil.closeQuietly(serverChannel);
+        if (eventLoops == null) {
+            return;
+        }
+        for (NioEventLoop eventLoop : eventLoops) {
+            if (eventLoop != null) {
+                eventLoop.stop();
+            }
+        }
+        if (eventLoopThreads != null) {
+            for (Thread thread : eventLoopThreads) {
+                if (thread == null) {
+                    continue;
+                }
+                try {
+                    thread.join(JOIN_TIMEOUT);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        eventLoops = null;
+        eventLoopThreads = null;
+    }
+
+    /**
+     * Returns a snapshot of the activity of each connected client.
+     */
+    public List<RemoteClientMetrics> getClientMetrics() {
+        List<RemoteClientMetrics> metrics = new ArrayList<>();
+        NioEventLoop[] loops = eventLoops;
+        if (loops != null) {
+            for (NioEventLoop eventLoop : loops) {
+                for (NioRemoteAppenderClient client : eventLoop.getClients()) {
+                    metrics.add(client.getMetrics());
+                }
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Returns the number of decoded events waiting to be dispatched.
+     */
+    public int getNumberOfElementsInQueue() {
+        BlockingQueue<ILoggingEvent> q = queue;
+        return q == null ? 0 : q.size();
+    }
+
+    /**
+     * The number of threads serving client connections. The default is
+     * {@value #DEFAULT_EVENT_LOOP_COUNT}.
+     */
+    public int getEventLoopCount() {
+        return eventLoopCount;
+    }
+
+    public void setEventLoopCount(int eventLoopCount) {
+        this.eventLoopCount = eventLoopCount;
+    }
+
+    /**
+     * The maximum number of decoded events waiting to be dispatched. The default
+     * is {@value #DEFAULT_QUEUE_SIZE}.
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * Logs the events decoded by the event loops as if they were generated
+     * locally.
+     */
+    private class Dispatcher implements Runnable {
+
+        @Override
+        public void run() {
+            LoggerContext lc = (LoggerContext) getContext();
+            try {
+                while (dispatching) {
+                    ILoggingEvent event = queue.poll(DISPATCH_POLL_DELAY, TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        continue;
+                    }
+                    Logger remoteLogger = lc.getLogger(event.getLoggerName());
+                    if (remoteLogger.isEnabledFor(event.getLevel())) {
+                        remoteLogger.callAppenders(event);
+                    }
+                }
+            } catch (InterruptedException ex) {
+                assert true; // ok... we'll shut down
+            }
+        }
+    }
+}
@@ -13,6 +13,7 @@
  */
 package ch.qos.logback.classic.net.server;
 
+import java.io.BufferedInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -21,6 +22,8 @@ import java.net.Socket;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEventWireCodec;
+import ch.qos.logback.core.net.BinaryEventReader;
 import ch.qos.logback.core.net.HardenedObjectInputStream;
 import ch.qos.logback.core.util.CloseUtil;
 
@@ -88,12 +91,20 @@ class RemoteAppenderStreamClient implements RemoteAppenderClient {
      */
     public void run() {
         logger.info(this + ": connected");
+        InputStream in = null;
         HardenedObjectInputStream ois = null;
+        BinaryEventReader<ILoggingEvent> binaryEventReader = null;
         try {
-            ois = createObjectInputStream();
+            in = new BufferedInputStream(inputStream != null ? inputStream : socket.getInputStream());
+            if (BinaryEventReader.isBinaryStream(in)) {
+                binaryEventReader = new BinaryEventReader<>(in, new LoggingEventWireCodec());
+            } else {
+                ois = new HardenedLoggingEventInputStream(in);
+            }
             while (true) {
                 // read an event from the wire
-                ILoggingEvent event = (ILoggingEvent) ois.readObject();
+                ILoggingEvent event = binaryEventReader != null ? binaryEventReader.read()
+                        : (ILoggingEvent) ois.readObject();
                 // get a logger from the hierarchy. The name of the logger is taken to
                 // be the name contained in the event.
                 Logger remoteLogger = lc.getLogger(event.getLoggerName());
@@ -116,18 +127,14 @@ class RemoteAppenderStreamClient implements RemoteAppenderClient {
             if (ois != null) {
                 CloseUtil.closeQuietly(ois);
             }
+            if (in != null) {
+                CloseUtil.closeQuietly(in);
+            }
             close();
             logger.info(this + ": connection closed");
         }
     }
 
-    private HardenedObjectInputStream createObjectInputStream() throws IOException {
-        if (inputStream != null) {
-            return new HardenedLoggingEventInputStream(inputStream);
-        }
-        return new HardenedLoggingEventInputStream(socket.getInputStream());
-    }
-
     /**
      * {@inheritDoc}
      */
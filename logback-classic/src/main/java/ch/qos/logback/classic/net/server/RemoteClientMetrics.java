@@ -0,0 +1,88 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.net.server;
+
+/**
+ * A snapshot of the activity of a client connected to a
+ * {@link NioServerSocketReceiver}.
+ *
+ * @since 1.4.5
+ */
+public class RemoteClientMetrics {
+
+    private final String clientId;
+    private final long connectionTime;
+    private final long eventCount;
+    private final long byteCount;
+    private final int backlog;
+
+    RemoteClientMetrics(String clientId, long connectionTime, long eventCount, long byteCount, int backlog) {
+        this.clientId = clientId;
+        this.connectionTime = connectionTime;
+        this.eventCount = eventCount;
+        this.byteCount = byteCount;
+        this.backlog = backlog;
+    }
+
+    /**
+     * Identifies the client by its remote address.
+     */
+    public String getClientId() {
+        return clientId;
+    }
+
+    /**
+     * The time the client connected, in milliseconds since the epoch.
+     */
+    public long getConnectionTime() {
+        return connectionTime;
+    }
+
+    /**
+     * The number of events received from the client and handed over for
+     * dispatching.
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * The number of bytes read from the client.
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    /**
+     * The number of decoded events waiting for room in the receiver's queue.
+     * Reading from a client stops while its backlog is not empty.
+     */
+    public int getBacklog() {
+        return backlog;
+    }
+
+    /**
+     * The average number of events received per second since the client
+     * connected.
+     */
+    public double getEventsPerSecond() {
+        long elapsed = Math.max(1, System.currentTimeMillis() - connectionTime);
+        return eventCount * 1000.0 / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return clientId + " [events=" + eventCount + ", bytes=" + byteCount + ", backlog=" + backlog + "]";
+    }
+}
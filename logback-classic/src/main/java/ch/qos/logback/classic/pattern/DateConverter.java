@@ -18,13 +18,13 @@ import java.util.List;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.CoreConstants;
-import ch.qos.logback.core.util.CachingDateFormatter;
+import ch.qos.logback.core.util.IncrementalDateFormatter;
 
 public class DateConverter extends ClassicConverter {
 
     long lastTimestamp = -1;
     String timestampStrCache = null;
-    CachingDateFormatter cachingDateFormatter = null;
+    IncrementalDateFormatter cachingDateFormatter = null;
 
     public void start() {
 
@@ -46,11 +46,11 @@ public class DateConverter extends ClassicConverter {
         }
 
         try {
-            cachingDateFormatter = new CachingDateFormatter(datePattern, zoneId);
+            cachingDateFormatter = new IncrementalDateFormatter(datePattern, zoneId);
         } catch (IllegalArgumentException e) {
             addWarn("Could not instantiate SimpleDateFormat with pattern " + datePattern, e);
             // default to the ISO8601 format
-            cachingDateFormatter = new CachingDateFormatter(CoreConstants.ISO8601_PATTERN, zoneId);
+            cachingDateFormatter = new IncrementalDateFormatter(CoreConstants.ISO8601_PATTERN, zoneId);
         }
 
         super.start();
@@ -60,4 +60,9 @@ public class DateConverter extends ClassicConverter {
         long timestamp = le.getTimeStamp();
         return cachingDateFormatter.format(timestamp);
     }
+
+    @Override
+    protected void writeUnformatted(StringBuilder buf, ILoggingEvent le) {
+        cachingDateFormatter.format(le.getTimeStamp(), buf);
+    }
 }
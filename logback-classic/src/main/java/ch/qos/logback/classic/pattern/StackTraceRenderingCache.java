@@ -0,0 +1,121 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.pattern;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.StackTraceElementProxy;
+
+/**
+ * A least recently used cache of rendered stack traces, used by
+ * {@link ThrowableProxyConverter}.
+ * 
+ * <p>
+ * Entries are keyed by the shape of the throwable proxy tree: class names,
+ * messages, common frame counts and the identity of the
+ * {@link StackTraceElementProxy} arrays. Since
+ * {@link ch.qos.logback.classic.spi.ThrowableProxy ThrowableProxy} shares the
+ * proxy arrays of identical stack traces, repeated exceptions map to the same
+ * key. The converter options are not part of the key as each converter has its
+ * own cache.
+ * </p>
+ * 
+ * @since 1.4.5
+ */
+class StackTraceRenderingCache {
+
+    final int cacheSize;
+    private final LinkedHashMap<List<Object>, String> map;
+
+    private long hitCount;
+    private long missCount;
+
+    StackTraceRenderingCache(int cacheSize) {
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Cache size cannot be smaller than 1");
+        }
+        this.cacheSize = cacheSize;
+        this.map = new LinkedHashMap<List<Object>, String>((int) (cacheSize * (4.0f / 3)), 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, String> eldest) {
+                return size() > StackTraceRenderingCache.this.cacheSize;
+            }
+        };
+    }
+
+    static List<Object> keyOf(IThrowableProxy tp) {
+        List<Object> key = new ArrayList<>();
+        StackTraceElementProxy[] stepArray = tp.getStackTraceElementProxyArray();
+        // packaging data may be computed for shared frames after a first rendering
+        key.add(stepArray != null && stepArray.length > 0 && stepArray[0].getClassPackagingData() != null);
+        appendShape(key, tp);
+        return key;
+    }
+
+    private static void appendShape(List<Object> key, IThrowableProxy tp) {
+        if (tp == null) {
+            key.add(null);
+            return;
+        }
+        key.add(tp.getClassName());
+        key.add(tp.getMessage());
+        key.add(tp.isCyclic());
+        key.add(tp.getCommonFrames());
+        // arrays are compared by identity
+        key.add(tp.getStackTraceElementProxyArray());
+        IThrowableProxy[] suppressed = tp.getSuppressed();
+        int suppressedCount = suppressed == null ? 0 : suppressed.length;
+        key.add(suppressedCount);
+        for (int i = 0; i < suppressedCount; i++) {
+            appendShape(key, suppressed[i]);
+        }
+        appendShape(key, tp.getCause());
+    }
+
+    synchronized String get(List<Object> key) {
+        String rendered = map.get(key);
+        if (rendered == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return rendered;
+    }
+
+    synchronized void put(List<Object> key, String rendered) {
+        map.put(key, rendered);
+    }
+
+    synchronized int size() {
+        return map.size();
+    }
+
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    synchronized void clear() {
+        map.clear();
+    }
+}
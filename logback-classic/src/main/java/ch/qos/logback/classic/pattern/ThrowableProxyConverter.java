@@ -29,6 +29,14 @@ import ch.qos.logback.core.status.ErrorStatus;
 
 /**
  * Add a stack trace in case the event contains a Throwable.
+ * 
+ * <p>
+ * The first option is the length of the stack trace. Further options are
+ * either evaluator names, lines to ignore or, as of version 1.4.5,
+ * "renderCacheSize=n" which enables an LRU cache of the <em>n</em> most
+ * recently rendered stack traces. The cache pays off when the same exception
+ * is logged repeatedly.
+ * </p>
  *
  * @author Ceki G&uuml;lc&uuml;
  */
@@ -36,9 +44,15 @@ public class ThrowableProxyConverter extends ThrowableHandlingConverter {
 
     protected static final int BUILDER_CAPACITY = 2048;
 
+    /**
+     * @since 1.4.5
+     */
+    public static final String RENDER_CACHE_SIZE_OPTION_PREFIX = "renderCacheSize=";
+
     int lengthOption;
     List<EventEvaluator<ILoggingEvent>> evaluatorList = null;
     List<String> ignoredStackTraceLines = null;
+    StackTraceRenderingCache renderingCache = null;
 
     int errorCount = 0;
 
@@ -71,6 +85,11 @@ public class ThrowableProxyConverter extends ThrowableHandlingConverter {
             final int optionListSize = optionList.size();
             for (int i = 1; i < optionListSize; i++) {
                 String evaluatorOrIgnoredStackTraceLine = (String) optionList.get(i);
+                if (evaluatorOrIgnoredStackTraceLine.startsWith(RENDER_CACHE_SIZE_OPTION_PREFIX)) {
+                    createRenderingCache(
+                            evaluatorOrIgnoredStackTraceLine.substring(RENDER_CACHE_SIZE_OPTION_PREFIX.length()));
+                    continue;
+                }
                 Context context = getContext();
                 Map<String, EventEvaluator<?>> evaluatorMap = (Map<String, EventEvaluator<?>>) context
                         .getObject(CoreConstants.EVALUATOR_MAP);
@@ -86,6 +105,17 @@ public class ThrowableProxyConverter extends ThrowableHandlingConverter {
         super.start();
     }
 
+    private void createRenderingCache(String cacheSizeStr) {
+        try {
+            int cacheSize = Integer.parseInt(cacheSizeStr.trim());
+            if (cacheSize > 0) {
+                renderingCache = new StackTraceRenderingCache(cacheSize);
+            }
+        } catch (NumberFormatException nfe) {
+            addError("Could not parse [" + cacheSizeStr + "] as a rendering cache size");
+        }
+    }
+
     private void addEvaluator(EventEvaluator<ILoggingEvent> ee) {
         if (evaluatorList == null) {
             evaluatorList = new ArrayList<EventEvaluator<ILoggingEvent>>();
@@ -102,6 +132,11 @@ public class ThrowableProxyConverter extends ThrowableHandlingConverter {
 
     public void stop() {
         evaluatorList = null;
+        if (renderingCache != null) {
+            addInfo("Stack trace rendering cache had " + renderingCache.getHitCount() + " hits and "
+                    + renderingCache.getMissCount() + " misses");
+            renderingCache.clear();
+        }
         super.stop();
     }
 
@@ -145,7 +180,40 @@ public class ThrowableProxyConverter extends ThrowableHandlingConverter {
             }
         }
 
-        return throwableProxyToString(tp);
+        if (renderingCache == null) {
+            return throwableProxyToString(tp);
+        }
+        return cachedThrowableProxyToString(tp);
+    }
+
+    private String cachedThrowableProxyToString(IThrowableProxy tp) {
+        List<Object> key = StackTraceRenderingCache.keyOf(tp);
+        String rendered = renderingCache.get(key);
+        if (rendered == null) {
+            rendered = throwableProxyToString(tp);
+            renderingCache.put(key, rendered);
+        }
+        return rendered;
+    }
+
+    /**
+     * @return the number of stack traces served from the rendering cache, 0 if the
+     *         cache is not enabled
+     * @since 1.4.5
+     */
+    public long getRenderCacheHitCount() {
+        StackTraceRenderingCache cache = renderingCache;
+        return cache == null ? 0 : cache.getHitCount();
+    }
+
+    /**
+     * @return the number of stack traces rendered because they were not found in
+     *         the rendering cache, 0 if the cache is not enabled
+     * @since 1.4.5
+     */
+    public long getRenderCacheMissCount() {
+        StackTraceRenderingCache cache = renderingCache;
+        return cache == null ? 0 : cache.getMissCount();
     }
 
     protected String throwableProxyToString(IThrowableProxy tp) {
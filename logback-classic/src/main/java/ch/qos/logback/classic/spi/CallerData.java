@@ -15,7 +15,10 @@ package ch.qos.logback.classic.spi;
 
 import ch.qos.logback.core.CoreConstants;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static ch.qos.logback.core.CoreConstants.NA;
 
@@ -27,6 +30,8 @@ import static ch.qos.logback.core.CoreConstants.NA;
  */
 public class CallerData {
 
+    // reflection frames are shown so as to match Throwable.getStackTrace()
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.SHOW_REFLECT_FRAMES);
 
     // All logger call's in log4j-over-slf4j use the Category class
     private static final String LOG4J_CATEGORY = "org.apache.log4j.Category";
@@ -85,6 +90,49 @@ public class CallerData {
         return callerDataArray;
     }
 
+    /**
+     * Extract caller data information of the current thread. Unlike
+     * {@link #extract(Throwable, String, int, List)}, the stack is walked lazily
+     * by a {@link StackWalker}, stopping once <code>maxDepth</code> frames past
+     * the logging framework are collected.
+     * 
+     * @since 1.4.5
+     */
+    public static StackTraceElement[] extract(String fqnOfInvokingClass, final int maxDepth,
+            List<String> frameworkPackageList) {
+        return STACK_WALKER.walk(frames -> extract(frames, fqnOfInvokingClass, maxDepth, frameworkPackageList));
+    }
+
+    private static StackTraceElement[] extract(Stream<StackWalker.StackFrame> frames, String fqnOfInvokingClass,
+            final int maxDepth, List<String> frameworkPackageList) {
+        Iterator<StackWalker.StackFrame> iterator = frames.iterator();
+
+        boolean inFrameworkSpace = false;
+        StackWalker.StackFrame caller = null;
+        while (iterator.hasNext()) {
+            StackWalker.StackFrame frame = iterator.next();
+            if (isInFrameworkSpace(frame.getClassName(), fqnOfInvokingClass, frameworkPackageList)) {
+                inFrameworkSpace = true;
+            } else if (inFrameworkSpace) {
+                // the caller is the first frame past the framework frames
+                caller = frame;
+                break;
+            }
+        }
+
+        // we failed to extract caller data
+        if (caller == null || maxDepth <= 0) {
+            return EMPTY_CALLER_DATA_ARRAY;
+        }
+
+        List<StackTraceElement> callerDataList = new ArrayList<>(Math.min(maxDepth, 8));
+        callerDataList.add(caller.toStackTraceElement());
+        while (callerDataList.size() < maxDepth && iterator.hasNext()) {
+            callerDataList.add(iterator.next().toStackTraceElement());
+        }
+        return callerDataList.toArray(new StackTraceElement[callerDataList.size()]);
+    }
+
     static boolean isInFrameworkSpace(String currentClass, String fqnOfInvokingClass,
             List<String> frameworkPackageList) {
         // the check for org.apache.log4j.Category class is intended to support
@@ -7,12 +7,14 @@ import org.slf4j.helpers.Util;
 import org.slf4j.spi.MDCAdapter;
 import org.slf4j.spi.SLF4JServiceProvider;
 
+import ch.qos.logback.classic.ClassicConstants;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.util.ContextInitializer;
 import ch.qos.logback.classic.util.LogbackMDCAdapter;
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.joran.spi.JoranException;
 import ch.qos.logback.core.status.StatusUtil;
+import ch.qos.logback.core.util.OptionHelper;
 import ch.qos.logback.core.util.StatusPrinter;
 
 public class LogbackServiceProvider implements SLF4JServiceProvider {
@@ -41,7 +43,21 @@ public class LogbackServiceProvider implements SLF4JServiceProvider {
         initializeLoggerContext();
         defaultLoggerContext.start();
         markerFactory = new BasicMarkerFactory();
-        mdcAdapter = new LogbackMDCAdapter();
+        mdcAdapter = createMDCAdapter();
+    }
+
+    private MDCAdapter createMDCAdapter() {
+        String adapterClassName = OptionHelper.getSystemProperty(ClassicConstants.MDC_ADAPTER_CLASS_PROPERTY);
+        if (OptionHelper.isNullOrEmpty(adapterClassName)) {
+            return new LogbackMDCAdapter();
+        }
+        try {
+            return (MDCAdapter) OptionHelper.instantiateByClassName(adapterClassName, MDCAdapter.class,
+                    defaultLoggerContext);
+        } catch (Exception e) {
+            Util.report("Failed to instantiate MDC adapter [" + adapterClassName + "]", e);
+            return new LogbackMDCAdapter();
+        }
     }
 
     private void initializeLoggerContext() {
@@ -32,6 +32,7 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.classic.util.PersistentMDCAdapter;
 import ch.qos.logback.core.spi.SequenceNumberGenerator;
 
 /**
@@ -118,6 +119,35 @@ public class LoggingEvent implements ILoggingEvent {
 
     public LoggingEvent(String fqcn, Logger logger, Level level, String message, Throwable throwable,
             Object[] argArray) {
+        init(fqcn, logger, level, message, throwable, argArray);
+    }
+
+    /**
+     * Copy the given event, capturing the fields it initializes lazily on the
+     * current thread.
+     */
+    LoggingEvent(LoggingEvent original) {
+        this.fqnOfLoggerClass = original.fqnOfLoggerClass;
+        this.threadName = original.getThreadName();
+        this.mdcPropertyMap = original.getMDCPropertyMap();
+        this.loggerName = original.loggerName;
+        this.loggerContext = original.loggerContext;
+        this.loggerContextVO = original.loggerContextVO;
+        this.level = original.level;
+        this.message = original.message;
+        this.formattedMessage = original.formattedMessage;
+        this.argumentArray = original.argumentArray == null ? null : original.argumentArray.clone();
+        this.throwableProxy = original.throwableProxy;
+        this.callerDataArray = original.callerDataArray;
+        this.markerList = original.markerList == null ? null : new ArrayList<>(original.markerList);
+        this.keyValuePairs = original.keyValuePairs == null ? null : new ArrayList<>(original.keyValuePairs);
+        this.instant = original.instant;
+        this.timeStamp = original.timeStamp;
+        this.nanoseconds = original.nanoseconds;
+        this.sequenceNumber = original.sequenceNumber;
+    }
+
+    void init(String fqcn, Logger logger, Level level, String message, Throwable throwable, Object[] argArray) {
         this.fqnOfLoggerClass = fqcn;
         this.loggerName = logger.getName();
         this.loggerContext = logger.getLoggerContext();
@@ -141,7 +171,8 @@ public class LoggingEvent implements ILoggingEvent {
         }
 
         if (throwable != null) {
-            this.throwableProxy = new ThrowableProxy(throwable);
+            this.throwableProxy = new ThrowableProxy(throwable,
+                    loggerContext == null ? null : loggerContext.getStackTraceElementProxyCache());
 
             if (loggerContext != null && loggerContext.isPackagingDataEnabled()) {
                 this.throwableProxy.calculatePackagingData();
@@ -149,6 +180,31 @@ public class LoggingEvent implements ILoggingEvent {
         }
     }
 
+    /**
+     * Clear all fields, as if this instance had just been created by
+     * {@link #LoggingEvent()}.
+     */
+    void reset() {
+        fqnOfLoggerClass = null;
+        threadName = null;
+        loggerName = null;
+        loggerContext = null;
+        loggerContextVO = null;
+        level = null;
+        message = null;
+        formattedMessage = null;
+        argumentArray = null;
+        throwableProxy = null;
+        callerDataArray = null;
+        markerList = null;
+        mdcPropertyMap = null;
+        keyValuePairs = null;
+        instant = null;
+        timeStamp = 0;
+        nanoseconds = 0;
+        sequenceNumber = 0;
+    }
+
     void initTmestampFields(Instant instant) {
         this.instant = instant;
         long epochSecond = instant.getEpochSecond();
@@ -254,6 +310,9 @@ public class LoggingEvent implements ILoggingEvent {
         this.getThreadName();
         // fixes http://jira.qos.ch/browse/LBCLASSIC-104
         this.getMDCPropertyMap();
+        if (throwableProxy != null) {
+            throwableProxy.materialize();
+        }
     }
 
     public void setLoggerContext(LoggerContext lc) {
@@ -356,8 +415,13 @@ public class LoggingEvent implements ILoggingEvent {
      */
     public StackTraceElement[] getCallerData() {
         if (callerDataArray == null) {
-            callerDataArray = CallerData.extract(new Throwable(), fqnOfLoggerClass,
-                    loggerContext.getMaxCallerDataDepth(), loggerContext.getFrameworkPackages());
+            if (loggerContext.isStackWalkerCallerDataEnabled()) {
+                callerDataArray = CallerData.extract(fqnOfLoggerClass, loggerContext.getMaxCallerDataDepth(),
+                        loggerContext.getFrameworkPackages());
+            } else {
+                callerDataArray = CallerData.extract(new Throwable(), fqnOfLoggerClass,
+                        loggerContext.getMaxCallerDataDepth(), loggerContext.getFrameworkPackages());
+            }
         }
         return callerDataArray;
     }
@@ -374,6 +438,10 @@ public class LoggingEvent implements ILoggingEvent {
         return markerList;
     }
 
+    void setMarkerList(List<Marker> markerList) {
+        this.markerList = markerList;
+    }
+
     public void addMarker(Marker marker) {
         if (marker == null) {
             return;
@@ -408,6 +476,8 @@ public class LoggingEvent implements ILoggingEvent {
             MDCAdapter mdc = MDC.getMDCAdapter();
             if (mdc instanceof LogbackMDCAdapter)
                 mdcPropertyMap = ((LogbackMDCAdapter) mdc).getPropertyMap();
+            else if (mdc instanceof PersistentMDCAdapter)
+                mdcPropertyMap = ((PersistentMDCAdapter) mdc).getPropertyMap();
             else
                 mdcPropertyMap = mdc.getCopyOfContextMap();
         }
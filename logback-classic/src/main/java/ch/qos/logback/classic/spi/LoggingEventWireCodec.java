@@ -0,0 +1,345 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.slf4j.Marker;
+import org.slf4j.event.KeyValuePair;
+import org.slf4j.helpers.BasicMarkerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.core.net.WireCodec;
+import ch.qos.logback.core.net.WireInput;
+import ch.qos.logback.core.net.WireOutput;
+
+/**
+ * Encodes logging events in the binary wire format and decodes them as
+ * {@link LoggingEventVO} instances.
+ * 
+ * <p>
+ * As with Java serialization of {@link LoggingEventVO}, arguments and key value
+ * pair values are sent in their string form. Logger, thread, marker, class and
+ * method names as well as MDC keys are sent as dictionary strings. The logger
+ * context view is only sent when it differs from the one of the previous event.
+ * An instance keeps per-connection state and must not be shared between
+ * connections.
+ * </p>
+ * 
+ * <p>
+ * Causes, suppressed throwables and marker references are nested at most
+ * {@value #MAX_NESTING_DEPTH} levels deep. Deeper levels are dropped when
+ * encoding, and rejected when decoding.
+ * </p>
+ * 
+ * @since 1.4.5
+ */
+public class LoggingEventWireCodec implements WireCodec<ILoggingEvent> {
+
+    private static final int NO_CONTEXT = 0;
+    private static final int SAME_CONTEXT = 1;
+    private static final int NEW_CONTEXT = 2;
+
+    public static final int MAX_NESTING_DEPTH = 64;
+
+    private LoggerContextVO lastLoggerContextVO;
+    private final BasicMarkerFactory markerFactory = new BasicMarkerFactory();
+
+    @Override
+    public void encode(ILoggingEvent event, WireOutput out) throws IOException {
+        out.writeDictionaryString(event.getLoggerName());
+        out.writeDictionaryString(event.getThreadName());
+        writeLoggerContextVO(event.getLoggerContextVO(), out);
+        out.writeInt(event.getLevel().levelInt);
+        out.writeString(event.getMessage());
+
+        Object[] argumentArray = event.getArgumentArray();
+        out.writeSize(argumentArray == null ? 0 : argumentArray.length, argumentArray == null);
+        if (argumentArray != null) {
+            for (Object argument : argumentArray) {
+                out.writeString(safeToString(argument));
+            }
+        }
+
+        writeThrowableProxy(event.getThrowableProxy(), out, 0);
+
+        StackTraceElement[] callerData = event.hasCallerData() ? event.getCallerData() : null;
+        out.writeSize(callerData == null ? 0 : callerData.length, callerData == null);
+        if (callerData != null) {
+            for (StackTraceElement ste : callerData) {
+                writeStackTraceElement(ste, out);
+            }
+        }
+
+        List<Marker> markerList = event.getMarkerList();
+        out.writeSize(markerList == null ? 0 : markerList.size(), markerList == null);
+        if (markerList != null) {
+            for (Marker marker : markerList) {
+                writeMarker(marker, out, 0);
+            }
+        }
+
+        List<KeyValuePair> keyValuePairs = event.getKeyValuePairs();
+        out.writeSize(keyValuePairs == null ? 0 : keyValuePairs.size(), keyValuePairs == null);
+        if (keyValuePairs != null) {
+            for (KeyValuePair kvp : keyValuePairs) {
+                out.writeDictionaryString(kvp.key);
+                out.writeString(safeToString(kvp.value));
+            }
+        }
+
+        out.writeStringMap(event.getMDCPropertyMap());
+        out.writeLong(event.getTimeStamp());
+        out.writeInt(event.getNanoseconds());
+        out.writeLong(event.getSequenceNumber());
+    }
+
+    @Override
+    public ILoggingEvent decode(WireInput in) throws IOException {
+        LoggingEventVO ledo = new LoggingEventVO();
+        ledo.loggerName = in.readDictionaryString();
+        ledo.threadName = in.readDictionaryString();
+        ledo.loggerContextVO = readLoggerContextVO(in);
+        ledo.level = Level.toLevel(in.readInt());
+        ledo.message = in.readString();
+
+        int argumentCount = in.readSize();
+        if (argumentCount >= 0) {
+            ledo.argumentArray = new String[argumentCount];
+            for (int i = 0; i < argumentCount; i++) {
+                ledo.argumentArray[i] = in.readString();
+            }
+        }
+
+        ledo.throwableProxy = readThrowableProxy(in, 0);
+
+        int callerDataCount = in.readSize();
+        if (callerDataCount >= 0) {
+            ledo.callerDataArray = new StackTraceElement[callerDataCount];
+            for (int i = 0; i < callerDataCount; i++) {
+                ledo.callerDataArray[i] = readStackTraceElement(in);
+            }
+        }
+
+        int markerCount = in.readSize();
+        if (markerCount >= 0) {
+            ledo.markerList = new ArrayList<>(markerCount);
+            for (int i = 0; i < markerCount; i++) {
+                ledo.markerList.add(readMarker(in, 0));
+            }
+        }
+
+        int keyValuePairCount = in.readSize();
+        if (keyValuePairCount >= 0) {
+            ledo.keyValuePairList = new ArrayList<>(keyValuePairCount);
+            for (int i = 0; i < keyValuePairCount; i++) {
+                String key = in.readDictionaryString();
+                ledo.keyValuePairList.add(new KeyValuePair(key, in.readString()));
+            }
+        }
+
+        ledo.mdcPropertyMap = in.readStringMap();
+        ledo.timestamp = in.readLong();
+        ledo.nanoseconds = in.readInt();
+        ledo.sequenceNumber = in.readLong();
+        return ledo;
+    }
+
+    private void writeLoggerContextVO(LoggerContextVO loggerContextVO, WireOutput out) {
+        if (loggerContextVO == null) {
+            out.writeByte(NO_CONTEXT);
+        } else if (loggerContextVO == lastLoggerContextVO) {
+            out.writeByte(SAME_CONTEXT);
+        } else {
+            out.writeByte(NEW_CONTEXT);
+            out.writeDictionaryString(loggerContextVO.getName());
+            out.writeStringMap(loggerContextVO.getPropertyMap());
+            out.writeLong(loggerContextVO.getBirthTime());
+            lastLoggerContextVO = loggerContextVO;
+        }
+    }
+
+    private LoggerContextVO readLoggerContextVO(WireInput in) throws IOException {
+        int tag = in.readByte();
+        switch (tag) {
+        case NO_CONTEXT:
+            return null;
+        case SAME_CONTEXT:
+            if (lastLoggerContextVO == null) {
+                throw new StreamCorruptedException("Reference to unknown logger context");
+            }
+            return lastLoggerContextVO;
+        case NEW_CONTEXT:
+            String name = in.readDictionaryString();
+            lastLoggerContextVO = new LoggerContextVO(name, in.readStringMap(), in.readLong());
+            return lastLoggerContextVO;
+        default:
+            throw new StreamCorruptedException("Unexpected logger context tag " + tag);
+        }
+    }
+
+    private void writeThrowableProxy(IThrowableProxy tp, WireOutput out, int depth) {
+        if (depth > MAX_NESTING_DEPTH) {
+            tp = null;
+        }
+        out.writeBoolean(tp != null);
+        if (tp == null) {
+            return;
+        }
+        out.writeDictionaryString(tp.getClassName());
+        out.writeString(tp.getMessage());
+        out.writeVarInt(Math.max(0, tp.getCommonFrames()));
+        out.writeBoolean(tp.isCyclic());
+
+        StackTraceElementProxy[] stepArray = tp.getStackTraceElementProxyArray();
+        out.writeSize(stepArray == null ? 0 : stepArray.length, stepArray == null);
+        if (stepArray != null) {
+            for (StackTraceElementProxy step : stepArray) {
+                writeStackTraceElement(step.getStackTraceElement(), out);
+                ClassPackagingData cpd = step.getClassPackagingData();
+                out.writeBoolean(cpd != null);
+                if (cpd != null) {
+                    out.writeDictionaryString(cpd.getCodeLocation());
+                    out.writeDictionaryString(cpd.getVersion());
+                    out.writeBoolean(cpd.isExact());
+                }
+            }
+        }
+
+        IThrowableProxy[] suppressed = tp.getSuppressed();
+        out.writeSize(suppressed == null ? 0 : suppressed.length, suppressed == null);
+        if (suppressed != null) {
+            for (IThrowableProxy s : suppressed) {
+                writeThrowableProxy(s, out, depth + 1);
+            }
+        }
+        writeThrowableProxy(tp.getCause(), out, depth + 1);
+    }
+
+    private ThrowableProxyVO readThrowableProxy(WireInput in, int depth) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        checkDepth(depth, "throwable");
+        ThrowableProxyVO tpvo = new ThrowableProxyVO();
+        tpvo.className = in.readDictionaryString();
+        tpvo.message = in.readString();
+        tpvo.commonFramesCount = in.readVarInt();
+        tpvo.cyclic = in.readBoolean();
+
+        int stepCount = in.readSize();
+        if (stepCount >= 0) {
+            tpvo.stackTraceElementProxyArray = new StackTraceElementProxy[stepCount];
+            for (int i = 0; i < stepCount; i++) {
+                StackTraceElementProxy step = new StackTraceElementProxy(readStackTraceElement(in));
+                if (in.readBoolean()) {
+                    String codeLocation = in.readDictionaryString();
+                    String version = in.readDictionaryString();
+                    step.setClassPackagingData(new ClassPackagingData(codeLocation, version, in.readBoolean()));
+                }
+                tpvo.stackTraceElementProxyArray[i] = step;
+            }
+        }
+
+        int suppressedCount = in.readSize();
+        if (suppressedCount >= 0) {
+            tpvo.suppressed = new IThrowableProxy[suppressedCount];
+            for (int i = 0; i < suppressedCount; i++) {
+                tpvo.suppressed[i] = readThrowableProxy(in, depth + 1);
+            }
+        }
+        tpvo.cause = readThrowableProxy(in, depth + 1);
+        return tpvo;
+    }
+
+    private void writeStackTraceElement(StackTraceElement ste, WireOutput out) {
+        // StackTraceElement.toString() omits the names of built-in class loaders and
+        // the versions of JDK modules, using flags which cannot be set on a
+        // reconstructed element. Omit them from the encoding instead.
+        String classLoaderName = ste.getClassLoaderName();
+        String moduleName = ste.getModuleName();
+        boolean builtinClassLoader = "app".equals(classLoaderName) || "platform".equals(classLoaderName);
+        boolean jdkModule = moduleName != null && (moduleName.startsWith("java.") || moduleName.startsWith("jdk."));
+        out.writeDictionaryString(builtinClassLoader ? null : classLoaderName);
+        out.writeDictionaryString(moduleName);
+        out.writeDictionaryString(jdkModule ? null : ste.getModuleVersion());
+        out.writeDictionaryString(ste.getClassName());
+        out.writeDictionaryString(ste.getMethodName());
+        out.writeDictionaryString(ste.getFileName());
+        out.writeInt(ste.getLineNumber());
+    }
+
+    private StackTraceElement readStackTraceElement(WireInput in) throws IOException {
+        String classLoaderName = in.readDictionaryString();
+        String moduleName = in.readDictionaryString();
+        String moduleVersion = in.readDictionaryString();
+        String className = in.readDictionaryString();
+        String methodName = in.readDictionaryString();
+        String fileName = in.readDictionaryString();
+        int lineNumber = in.readInt();
+        if (className == null || methodName == null) {
+            throw new StreamCorruptedException("Missing class or method name in stack trace element");
+        }
+        return new StackTraceElement(classLoaderName, moduleName, moduleVersion, className, methodName, fileName,
+                lineNumber);
+    }
+
+    private void writeMarker(Marker marker, WireOutput out, int depth) {
+        out.writeDictionaryString(marker.getName());
+        List<Marker> references = new ArrayList<>();
+        Iterator<Marker> iterator = marker.iterator();
+        while (depth < MAX_NESTING_DEPTH && iterator.hasNext()) {
+            references.add(iterator.next());
+        }
+        out.writeVarInt(references.size());
+        for (Marker reference : references) {
+            writeMarker(reference, out, depth + 1);
+        }
+    }
+
+    private Marker readMarker(WireInput in, int depth) throws IOException {
+        checkDepth(depth, "marker");
+        String name = in.readDictionaryString();
+        if (name == null) {
+            throw new StreamCorruptedException("Missing marker name");
+        }
+        Marker marker = markerFactory.getDetachedMarker(name);
+        int referenceCount = in.readVarInt();
+        for (int i = 0; i < referenceCount; i++) {
+            marker.add(readMarker(in, depth + 1));
+        }
+        return marker;
+    }
+
+    private static void checkDepth(int depth, String what) throws StreamCorruptedException {
+        if (depth > MAX_NESTING_DEPTH) {
+            throw new StreamCorruptedException("Nesting of " + what + " exceeds " + MAX_NESTING_DEPTH + " levels");
+        }
+    }
+
+    private static String safeToString(Object o) {
+        if (o == null) {
+            return null;
+        }
+        try {
+            return o.toString();
+        } catch (RuntimeException e) {
+            return "[FAILED toString()]";
+        }
+    }
+}
@@ -55,17 +55,25 @@ public class PackagingDataCalculator {
 
     public void calculate(IThrowableProxy tp) {
         while (tp != null) {
-            populateFrames(tp.getStackTraceElementProxyArray());
+            populateSharedFrames(tp.getStackTraceElementProxyArray());
             IThrowableProxy[] suppressed = tp.getSuppressed();
             if (suppressed != null) {
                 for (IThrowableProxy current : suppressed) {
-                    populateFrames(current.getStackTraceElementProxyArray());
+                    populateSharedFrames(current.getStackTraceElementProxyArray());
                 }
             }
             tp = tp.getCause();
         }
     }
 
+    // proxy arrays of identical stack traces may be shared between threads, see
+    // StackTraceElementProxyCache
+    private void populateSharedFrames(StackTraceElementProxy[] stepArray) {
+        synchronized (stepArray) {
+            populateFrames(stepArray);
+        }
+    }
+
     @SuppressWarnings("unused")
     void populateFrames(StackTraceElementProxy[] stepArray) {
         // in the initial part of this method we populate package information for
@@ -87,6 +95,10 @@ public class PackagingDataCalculator {
                 // + 1);
             }
             StackTraceElementProxy step = stepArray[stepFirstCommon + i];
+            if (step.getClassPackagingData() != null) {
+                // frames of identical stack traces are shared
+                continue;
+            }
             String stepClassname = step.ste.getClassName();
 
             if (callerClass != null && stepClassname.equals(callerClass.getName())) {
@@ -111,6 +123,9 @@ public class PackagingDataCalculator {
         int uncommonFrames = stepArray.length - commonFrames;
         for (int i = 0; i < uncommonFrames; i++) {
             StackTraceElementProxy step = stepArray[i];
+            if (step.getClassPackagingData() != null) {
+                continue;
+            }
             ClassPackagingData pi = computeBySTEP(step, firstExactClassLoader);
             step.setClassPackagingData(pi);
         }
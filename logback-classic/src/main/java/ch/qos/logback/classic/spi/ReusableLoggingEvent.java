@@ -0,0 +1,130 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import java.util.List;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.RecyclableEvent;
+
+/**
+ * A {@link LoggingEvent} which is reused for successive logging requests made
+ * on the same thread, see {@link LoggerContext#setEventReuseEnabled(boolean)}.
+ * 
+ * <p>
+ * An instance is only valid while it is being dispatched to appenders.
+ * Appenders which keep references to events, as reported by
+ * {@link ch.qos.logback.core.Appender#isRetainingEvents()}, are handed an
+ * immutable copy obtained from {@link #getRetainableCopy()}.
+ * </p>
+ * 
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ * 
+ * @since 1.4.5
+ */
+public class ReusableLoggingEvent extends LoggingEvent implements RecyclableEvent<ILoggingEvent> {
+
+    private final Object[] oneArgument = new Object[1];
+    private final Object[] twoArguments = new Object[2];
+    private List<Marker> spareMarkerList;
+
+    private boolean inUse = false;
+    private LoggingEvent retainableCopy;
+
+    /**
+     * Mark this instance as in use.
+     * 
+     * @return false if this instance is in use already, e.g. by a logging request
+     *         made while appending a previous one
+     */
+    public boolean acquire() {
+        if (inUse) {
+            return false;
+        }
+        inUse = true;
+        return true;
+    }
+
+    /**
+     * Initialize this instance for a new logging request, see
+     * {@link LoggingEvent#LoggingEvent(String, Logger, Level, String, Throwable, Object[])}.
+     */
+    public void reinit(String fqcn, Logger logger, Level level, String message, Throwable throwable,
+            Object[] argArray) {
+        init(fqcn, logger, level, message, throwable, argArray);
+    }
+
+    /**
+     * @return an argument array holding the given argument, owned by this instance
+     */
+    public Object[] argumentArray(Object arg) {
+        oneArgument[0] = arg;
+        return oneArgument;
+    }
+
+    /**
+     * @return an argument array holding the given arguments, owned by this
+     *         instance
+     */
+    public Object[] argumentArray(Object arg1, Object arg2) {
+        twoArguments[0] = arg1;
+        twoArguments[1] = arg2;
+        return twoArguments;
+    }
+
+    /**
+     * Forget the current logging request and make this instance available again.
+     */
+    public void release() {
+        List<Marker> markerList = getMarkerList();
+        if (markerList != null) {
+            markerList.clear();
+            spareMarkerList = markerList;
+        }
+        reset();
+        oneArgument[0] = null;
+        twoArguments[0] = null;
+        twoArguments[1] = null;
+        retainableCopy = null;
+        inUse = false;
+    }
+
+    @Override
+    public boolean isRecyclable() {
+        return inUse;
+    }
+
+    @Override
+    public ILoggingEvent getRetainableCopy() {
+        if (retainableCopy == null) {
+            retainableCopy = new LoggingEvent(this);
+        }
+        return retainableCopy;
+    }
+
+    @Override
+    public void addMarker(Marker marker) {
+        if (marker != null && getMarkerList() == null && spareMarkerList != null) {
+            setMarkerList(spareMarkerList);
+            spareMarkerList = null;
+        }
+        super.addMarker(marker);
+    }
+}
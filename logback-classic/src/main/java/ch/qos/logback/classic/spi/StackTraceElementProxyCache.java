@@ -0,0 +1,167 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A bounded cache of {@link StackTraceElementProxy} arrays keyed by the stack
+ * trace they were built from. Each {@link ch.qos.logback.classic.LoggerContext}
+ * has its own cache.
+ * 
+ * <p>
+ * When the same exception shape is logged over and over again, all the
+ * corresponding {@link ThrowableProxy} instances share a single proxy array,
+ * including the string representation each {@link StackTraceElementProxy}
+ * caches.
+ * </p>
+ * 
+ * <p>
+ * Lookups do not lock. Adding an entry to a full cache evicts another one
+ * according to the CLOCK algorithm: entries looked up since the clock hand
+ * last passed them get a second chance, the first other entry is evicted.
+ * </p>
+ * 
+ * @since 1.4.5
+ */
+public class StackTraceElementProxyCache {
+
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    /**
+     * Number of innermost frames taken into account by the hash of a stack
+     * trace. These frames tell most stack traces apart, hashing all frames would
+     * cost as much as building the proxies.
+     */
+    static final int HASHED_FRAME_COUNT = 16;
+
+    final int cacheSize;
+    private final Map<StackShape, Entry> map;
+    // guarded by this
+    private final Entry[] ring;
+    private int used;
+    private int hand;
+
+    public StackTraceElementProxyCache(int cacheSize) {
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Cache size cannot be smaller than 1");
+        }
+        this.cacheSize = cacheSize;
+        this.map = new ConcurrentHashMap<>((int) (cacheSize * (4.0f / 3)));
+        this.ring = new Entry[cacheSize];
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Return the proxy array previously built for an identical stack trace, or
+     * build and remember a new one.
+     */
+    StackTraceElementProxy[] intern(StackTraceElement[] steArray) {
+        if (steArray == null || steArray.length == 0) {
+            return ThrowableProxy.EMPTY_STEP;
+        }
+        StackShape shape = new StackShape(steArray);
+        Entry entry = map.get(shape);
+        if (entry != null) {
+            // avoid writing to a shared cache line when already set
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            return entry.stepArray;
+        }
+        StackTraceElementProxy[] stepArray = ThrowableProxyUtil.steArrayToStepArray(steArray);
+        synchronized (this) {
+            entry = map.get(shape);
+            if (entry != null) {
+                return entry.stepArray;
+            }
+            insert(new Entry(shape, stepArray));
+        }
+        return stepArray;
+    }
+
+    private void insert(Entry entry) {
+        int slot;
+        if (used < cacheSize) {
+            slot = used++;
+        } else {
+            while (ring[hand].referenced) {
+                ring[hand].referenced = false;
+                hand = (hand + 1) % cacheSize;
+            }
+            map.remove(ring[hand].shape, ring[hand]);
+            slot = hand;
+            hand = (hand + 1) % cacheSize;
+        }
+        ring[slot] = entry;
+        map.put(entry.shape, entry);
+    }
+
+    int size() {
+        return map.size();
+    }
+
+    public synchronized void clear() {
+        map.clear();
+        Arrays.fill(ring, null);
+        used = 0;
+        hand = 0;
+    }
+
+    static final class Entry {
+        final StackShape shape;
+        final StackTraceElementProxy[] stepArray;
+        // set when looked up, cleared by the clock hand
+        volatile boolean referenced;
+
+        Entry(StackShape shape, StackTraceElementProxy[] stepArray) {
+            this.shape = shape;
+            this.stepArray = stepArray;
+        }
+    }
+
+    static final class StackShape {
+        final StackTraceElement[] steArray;
+        final int hash;
+
+        StackShape(StackTraceElement[] steArray) {
+            this.steArray = steArray;
+            int h = steArray.length;
+            for (int i = 0; i < steArray.length && i < HASHED_FRAME_COUNT; i++) {
+                h = 31 * h + steArray[i].hashCode();
+            }
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof StackShape))
+                return false;
+            StackShape other = (StackShape) obj;
+            return hash == other.hash && Arrays.equals(steArray, other.steArray);
+        }
+    }
+}
@@ -22,6 +22,16 @@ import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
 
+/**
+ * An {@link IThrowableProxy} wrapping a {@link Throwable}.
+ * 
+ * <p>
+ * Stack frames, the cause chain and suppressed exceptions are only
+ * materialized on first access, or when the enclosing event is prepared for
+ * deferred processing. Given a {@link StackTraceElementProxyCache}, identical
+ * stack traces share the same {@link StackTraceElementProxy} array.
+ * </p>
+ */
 public class ThrowableProxy implements IThrowableProxy {
 
     static final StackTraceElementProxy[] EMPTY_STEP = new StackTraceElementProxy[0];
@@ -38,34 +48,84 @@ public class ThrowableProxy implements IThrowableProxy {
 
     // private final Set<Throwable> alreadyProcessedSet;
 
+    // null if proxy arrays are not shared
+    private final StackTraceElementProxyCache stackTraceElementProxyCache;
+
     private transient PackagingDataCalculator packagingDataCalculator;
     private boolean calculatedPackageData = false;
 
     private boolean circular;
 
+    private volatile boolean materialized;
+
     private static final ThrowableProxy[] NO_SUPPRESSED = new ThrowableProxy[0];
 
     public ThrowableProxy(Throwable throwable) {
-        // use an identity set to detect cycles in the throwable chain
-        this(throwable, Collections.newSetFromMap(new IdentityHashMap<>()));
+        this(throwable, (StackTraceElementProxyCache) null);
+    }
+
+    /**
+     * @param throwable
+     * @param stackTraceElementProxyCache where to share the proxy arrays of
+     *                                    identical stack traces, may be null
+     * @since 1.4.5
+     */
+    public ThrowableProxy(Throwable throwable, StackTraceElementProxyCache stackTraceElementProxyCache) {
+        this.throwable = throwable;
+        this.className = throwable.getClass().getName();
+        this.message = throwable.getMessage();
+        this.circular = false;
+        this.stackTraceElementProxyCache = stackTraceElementProxyCache;
+        // the remaining fields are computed by materialize()
     }
 
     // used for circular exceptions
     private ThrowableProxy(Throwable circular, boolean isCircular) {
+        this.stackTraceElementProxyCache = null;
         this.throwable = circular;
         this.className = circular.getClass().getName();
         this.message = circular.getMessage();
         this.stackTraceElementProxyArray = EMPTY_STEP;
         this.circular = true;
+        this.materialized = true;
     }
 
     public ThrowableProxy(Throwable throwable, Set<Throwable> alreadyProcessedSet) {
+        this(throwable, alreadyProcessedSet, null);
+    }
 
+    private ThrowableProxy(Throwable throwable, Set<Throwable> alreadyProcessedSet,
+            StackTraceElementProxyCache stackTraceElementProxyCache) {
         this.throwable = throwable;
         this.className = throwable.getClass().getName();
         this.message = throwable.getMessage();
-        this.stackTraceElementProxyArray = ThrowableProxyUtil.steArrayToStepArray(throwable.getStackTrace());
         this.circular = false;
+        this.stackTraceElementProxyCache = stackTraceElementProxyCache;
+        materialize(alreadyProcessedSet);
+    }
+
+    /**
+     * Compute stack frames, cause and suppressed exceptions unless already done.
+     */
+    void materialize() {
+        if (materialized) {
+            return;
+        }
+        synchronized (this) {
+            if (!materialized) {
+                // use an identity set to detect cycles in the throwable chain
+                materialize(Collections.newSetFromMap(new IdentityHashMap<>()));
+            }
+        }
+    }
+
+    private void materialize(Set<Throwable> alreadyProcessedSet) {
+        StackTraceElement[] steArray = throwable.getStackTrace();
+        if (stackTraceElementProxyCache != null) {
+            this.stackTraceElementProxyArray = stackTraceElementProxyCache.intern(steArray);
+        } else {
+            this.stackTraceElementProxyArray = ThrowableProxyUtil.steArrayToStepArray(steArray);
+        }
 
         alreadyProcessedSet.add(throwable);
 
@@ -74,9 +134,9 @@ public class ThrowableProxy implements IThrowableProxy {
             if (alreadyProcessedSet.contains(nested)) {
                 this.cause = new ThrowableProxy(nested, true);
             } else {
-                this.cause = new ThrowableProxy(nested, alreadyProcessedSet);
-                this.cause.commonFrames = ThrowableProxyUtil.findNumberOfCommonFrames(nested.getStackTrace(),
-                        stackTraceElementProxyArray);
+                this.cause = new ThrowableProxy(nested, alreadyProcessedSet, stackTraceElementProxyCache);
+                this.cause.commonFrames = ThrowableProxyUtil.findNumberOfCommonFrames(
+                        cause.stackTraceElementProxyArray, stackTraceElementProxyArray);
             }
         }
 
@@ -90,14 +150,16 @@ public class ThrowableProxy implements IThrowableProxy {
                     ThrowableProxy throwableProxy = new ThrowableProxy(sup, true);
                     suppressedList.add(throwableProxy);
                 } else {
-                    ThrowableProxy throwableProxy = new ThrowableProxy(sup, alreadyProcessedSet);
-                    throwableProxy.commonFrames = ThrowableProxyUtil.findNumberOfCommonFrames(sup.getStackTrace(),
-                            stackTraceElementProxyArray);
+                    ThrowableProxy throwableProxy = new ThrowableProxy(sup, alreadyProcessedSet,
+                            stackTraceElementProxyCache);
+                    throwableProxy.commonFrames = ThrowableProxyUtil.findNumberOfCommonFrames(
+                            throwableProxy.stackTraceElementProxyArray, stackTraceElementProxyArray);
                     suppressedList.add(throwableProxy);
                 }
             }
             this.suppressed = suppressedList.toArray(new ThrowableProxy[suppressedList.size()]);
         }
+        this.materialized = true;
     }
 
     public Throwable getThrowable() {
@@ -118,6 +180,7 @@ public class ThrowableProxy implements IThrowableProxy {
     }
 
     public StackTraceElementProxy[] getStackTraceElementProxyArray() {
+        materialize();
         return stackTraceElementProxyArray;
     }
 
@@ -127,6 +190,7 @@ public class ThrowableProxy implements IThrowableProxy {
     }
 
     public int getCommonFrames() {
+        materialize();
         return commonFrames;
     }
 
@@ -136,10 +200,12 @@ public class ThrowableProxy implements IThrowableProxy {
      * @see ch.qos.logback.classic.spi.IThrowableProxy#getCause()
      */
     public IThrowableProxy getCause() {
+        materialize();
         return cause;
     }
 
     public IThrowableProxy[] getSuppressed() {
+        materialize();
         return suppressed;
     }
 
@@ -166,7 +232,7 @@ public class ThrowableProxy implements IThrowableProxy {
 
     public void fullDump() {
         StringBuilder builder = new StringBuilder();
-        for (StackTraceElementProxy step : stackTraceElementProxyArray) {
+        for (StackTraceElementProxy step : getStackTraceElementProxyArray()) {
             String string = step.toString();
             builder.append(CoreConstants.TAB).append(string);
             ThrowableProxyUtil.subjoinPackagingData(builder, step);
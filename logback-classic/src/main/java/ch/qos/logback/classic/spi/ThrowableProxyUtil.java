@@ -29,6 +29,7 @@ public class ThrowableProxyUtil {
 
     public static void build(ThrowableProxy nestedTP, Throwable nestedThrowable, ThrowableProxy parentTP) {
 
+        nestedTP.materialize();
         StackTraceElement[] nestedSTE = nestedThrowable.getStackTrace();
 
         int commonFramesCount = -1;
@@ -51,6 +52,27 @@ public class ThrowableProxyUtil {
         return stepa;
     }
 
+    static int findNumberOfCommonFrames(StackTraceElementProxy[] stepArray,
+            StackTraceElementProxy[] parentSTEPArray) {
+        if (parentSTEPArray == null || stepArray == null) {
+            return 0;
+        }
+
+        int stepIndex = stepArray.length - 1;
+        int parentIndex = parentSTEPArray.length - 1;
+        int count = 0;
+        while (stepIndex >= 0 && parentIndex >= 0) {
+            if (stepArray[stepIndex].ste.equals(parentSTEPArray[parentIndex].ste)) {
+                count++;
+            } else {
+                break;
+            }
+            stepIndex--;
+            parentIndex--;
+        }
+        return count;
+    }
+
     static int findNumberOfCommonFrames(StackTraceElement[] steArray, StackTraceElementProxy[] parentSTEPArray) {
         if (parentSTEPArray == null || steArray == null) {
             return 0;
@@ -20,13 +20,13 @@ public class ThrowableProxyVO implements IThrowableProxy, Serializable {
 
     private static final long serialVersionUID = -773438177285807139L;
 
-    private String className;
-    private String message;
-    private int commonFramesCount;
-    private StackTraceElementProxy[] stackTraceElementProxyArray;
-    private IThrowableProxy cause;
-    private IThrowableProxy[] suppressed;
-    private boolean cyclic;
+    String className;
+    String message;
+    int commonFramesCount;
+    StackTraceElementProxy[] stackTraceElementProxyArray;
+    IThrowableProxy cause;
+    IThrowableProxy[] suppressed;
+    boolean cyclic;
 
     public String getMessage() {
         return message;
@@ -65,6 +65,85 @@ final public class TurboFilterList extends CopyOnWriteArrayList<TurboFilter> {
         return FilterReply.NEUTRAL;
     }
 
+    /**
+     * Same as {@link #getTurboFilterChainDecision(Marker, Logger, Level, String, Object[], Throwable)}
+     * for a single parameter, without wrapping it in an array.
+     * 
+     * @since 1.4.5
+     */
+    public FilterReply getTurboFilterChainDecision(final Marker marker, final Logger logger, final Level level,
+            final String format, final Object param, final Throwable t) {
+
+        final int size = size();
+        if (size == 1) {
+            try {
+                TurboFilter tf = get(0);
+                return tf.decide(marker, logger, level, format, param, t);
+            } catch (IndexOutOfBoundsException iobe) {
+                return FilterReply.NEUTRAL;
+            }
+        }
+
+        Object[] tfa = toArray();
+        final int len = tfa.length;
+        for (int i = 0; i < len; i++) {
+            final TurboFilter tf = (TurboFilter) tfa[i];
+            final FilterReply r = tf.decide(marker, logger, level, format, param, t);
+            if (r == FilterReply.DENY || r == FilterReply.ACCEPT) {
+                return r;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    /**
+     * Same as {@link #getTurboFilterChainDecision(Marker, Logger, Level, String, Object[], Throwable)}
+     * for two parameters, without wrapping them in an array.
+     * 
+     * @since 1.4.5
+     */
+    public FilterReply getTurboFilterChainDecision(final Marker marker, final Logger logger, final Level level,
+            final String format, final Object param1, final Object param2, final Throwable t) {
+
+        final int size = size();
+        if (size == 1) {
+            try {
+                TurboFilter tf = get(0);
+                return tf.decide(marker, logger, level, format, param1, param2, t);
+            } catch (IndexOutOfBoundsException iobe) {
+                return FilterReply.NEUTRAL;
+            }
+        }
+
+        Object[] tfa = toArray();
+        final int len = tfa.length;
+        for (int i = 0; i < len; i++) {
+            final TurboFilter tf = (TurboFilter) tfa[i];
+            final FilterReply r = tf.decide(marker, logger, level, format, param1, param2, t);
+            if (r == FilterReply.DENY || r == FilterReply.ACCEPT) {
+                return r;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    /**
+     * Whether some filter in this list may return {@link FilterReply#ACCEPT}, as
+     * currently reported by {@link TurboFilter#mayAccept()}. If not, requests
+     * below the effective level of their logger can be discarded without
+     * consulting the filters.
+     * 
+     * @since 1.4.5
+     */
+    public boolean isAcceptPossible() {
+        for (TurboFilter tf : this) {
+            if (tf.mayAccept()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     // public boolean remove(TurboFilter turboFilter) {
     // return tfList.remove(turboFilter);
     // }
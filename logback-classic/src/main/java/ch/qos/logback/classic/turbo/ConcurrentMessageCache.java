@@ -0,0 +1,235 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.turbo;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache counting message occurrences which does not serialize
+ * callers on a single lock.
+ * 
+ * <p>
+ * Caches smaller than twice {@link #MIN_SHARD_CAPACITY} consist of a single
+ * shard which evicts the least recently counted message. Finding it takes a
+ * scan of the shard, which is cheap at that size.
+ * </p>
+ * 
+ * <p>
+ * Larger caches are split in shards, each holding an equal part of the
+ * capacity. Counting a message which is already cached does not take any lock
+ * and only writes to the message's own counter. Adding a message locks its
+ * shard only and, once the shard is full, evicts a message according to the
+ * CLOCK algorithm: messages counted since the clock hand last passed them get a
+ * second chance, the first other message is evicted. This approximates
+ * least-recently-used order at a constant amortized cost per eviction.
+ * </p>
+ * 
+ * @since 1.4.5
+ */
+class ConcurrentMessageCache {
+
+    /**
+     * Caches are only split if each shard can hold at least this many messages.
+     */
+    static final int MIN_SHARD_CAPACITY = 16;
+    static final int MAX_SHARD_COUNT = 16;
+
+    private final Shard[] shards;
+    private final int shardMask;
+
+    ConcurrentMessageCache(int cacheSize) {
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Cache size cannot be smaller than 1");
+        }
+        int shardCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_SHARD_COUNT, cacheSize / MIN_SHARD_CAPACITY)));
+        shards = new Shard[shardCount];
+        shardMask = shardCount - 1;
+        if (shardCount == 1) {
+            shards[0] = new LruShard(cacheSize);
+        } else {
+            for (int i = 0; i < shardCount; i++) {
+                shards[i] = new ClockShard(cacheSize / shardCount + (i < cacheSize % shardCount ? 1 : 0));
+            }
+        }
+    }
+
+    /**
+     * Returns the number of times the message was counted before, then counts it.
+     * 
+     * @param msg the message, or any object identifying it
+     * @return 0 on the first occurrence of the message
+     */
+    int getMessageCountAndThenIncrement(Object msg) {
+        // don't insert null elements
+        if (msg == null) {
+            return 0;
+        }
+        int h = msg.hashCode();
+        h ^= (h >>> 16);
+        return shards[h & shardMask].getCountAndThenIncrement(msg);
+    }
+
+    void clear() {
+        for (Shard shard : shards) {
+            shard.clear();
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.map.size();
+        }
+        return size;
+    }
+
+    static class Counter {
+        final Object msg;
+        final AtomicInteger count = new AtomicInteger();
+        // set when counted, cleared by the clock hand
+        volatile boolean referenced;
+        // used by LruShard only
+        volatile long lastAccess;
+
+        Counter(Object msg) {
+            this.msg = msg;
+        }
+    }
+
+    abstract static class Shard {
+        final int capacity;
+        final Map<Object, Counter> map = new ConcurrentHashMap<>();
+
+        Shard(int capacity) {
+            this.capacity = capacity;
+        }
+
+        int getCountAndThenIncrement(Object msg) {
+            Counter counter = map.get(msg);
+            if (counter == null) {
+                synchronized (this) {
+                    counter = map.get(msg);
+                    if (counter == null) {
+                        insert(new Counter(msg));
+                        return 0;
+                    }
+                }
+            }
+            touch(counter);
+            return counter.count.incrementAndGet();
+        }
+
+        /**
+         * Record that the counter was counted.
+         */
+        abstract void touch(Counter counter);
+
+        /**
+         * Add the counter, evicting another one if the shard is full. Called while
+         * holding the lock on this shard.
+         */
+        abstract void insert(Counter counter);
+
+        abstract void clear();
+    }
+
+    /**
+     * Evicts the least recently counted message.
+     */
+    static class LruShard extends Shard {
+        final AtomicLong clock = new AtomicLong();
+
+        LruShard(int capacity) {
+            super(capacity);
+        }
+
+        @Override
+        void touch(Counter counter) {
+            counter.lastAccess = clock.incrementAndGet();
+        }
+
+        @Override
+        void insert(Counter counter) {
+            if (map.size() >= capacity) {
+                Counter eldest = null;
+                for (Counter c : map.values()) {
+                    if (eldest == null || c.lastAccess < eldest.lastAccess) {
+                        eldest = c;
+                    }
+                }
+                map.remove(eldest.msg, eldest);
+            }
+            touch(counter);
+            map.put(counter.msg, counter);
+        }
+
+        @Override
+        synchronized void clear() {
+            map.clear();
+        }
+    }
+
+    /**
+     * Evicts messages according to the CLOCK algorithm.
+     */
+    static class ClockShard extends Shard {
+        // guarded by this
+        final Counter[] ring;
+        int used;
+        int hand;
+
+        ClockShard(int capacity) {
+            super(capacity);
+            this.ring = new Counter[capacity];
+        }
+
+        @Override
+        void touch(Counter counter) {
+            // avoid writing to a shared cache line when already set
+            if (!counter.referenced) {
+                counter.referenced = true;
+            }
+        }
+
+        @Override
+        void insert(Counter counter) {
+            int slot;
+            if (used < capacity) {
+                slot = used++;
+            } else {
+                while (ring[hand].referenced) {
+                    ring[hand].referenced = false;
+                    hand = (hand + 1) % capacity;
+                }
+                map.remove(ring[hand].msg, ring[hand]);
+                slot = hand;
+                hand = (hand + 1) % capacity;
+            }
+            ring[slot] = counter;
+            map.put(counter.msg, counter);
+        }
+
+        @Override
+        synchronized void clear() {
+            map.clear();
+            Arrays.fill(ring, null);
+            used = 0;
+            hand = 0;
+        }
+    }
+}
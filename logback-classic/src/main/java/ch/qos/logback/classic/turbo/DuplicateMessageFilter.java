@@ -40,12 +40,13 @@ public class DuplicateMessageFilter extends TurboFilter {
 
     public int allowedRepetitions = DEFAULT_ALLOWED_REPETITIONS;
     public int cacheSize = DEFAULT_CACHE_SIZE;
+    boolean includeLoggerName = false;
 
-    private LRUMessageCache msgCache;
+    private ConcurrentMessageCache msgCache;
 
     @Override
     public void start() {
-        msgCache = new LRUMessageCache(cacheSize);
+        msgCache = new ConcurrentMessageCache(cacheSize);
         super.start();
     }
 
@@ -58,7 +59,11 @@ public class DuplicateMessageFilter extends TurboFilter {
 
     @Override
     public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
-        int count = msgCache.getMessageCountAndThenIncrement(format);
+        Object key = format;
+        if (includeLoggerName && format != null && logger != null) {
+            key = new MessageKey(logger.getName(), format);
+        }
+        int count = msgCache.getMessageCountAndThenIncrement(key);
         if (count <= allowedRepetitions) {
             return FilterReply.NEUTRAL;
         } else {
@@ -66,6 +71,23 @@ public class DuplicateMessageFilter extends TurboFilter {
         }
     }
 
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object param, Throwable t) {
+        // parameters are not used, no need to wrap them in an array
+        return decide(marker, logger, level, format, (Object[]) null, t);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object param1, Object param2,
+            Throwable t) {
+        return decide(marker, logger, level, format, (Object[]) null, t);
+    }
+
+    @Override
+    public boolean mayAccept() {
+        return false;
+    }
+
     public int getAllowedRepetitions() {
         return allowedRepetitions;
     }
@@ -87,4 +109,45 @@ public class DuplicateMessageFilter extends TurboFilter {
         this.cacheSize = cacheSize;
     }
 
+    public boolean isIncludeLoggerName() {
+        return includeLoggerName;
+    }
+
+    /**
+     * When true, a message is identified by its format and the name of its
+     * logger, so that the same format logged by different loggers is counted
+     * separately. Default is false, the format alone identifies the message.
+     * 
+     * @param includeLoggerName
+     * @since 1.4.5
+     */
+    public void setIncludeLoggerName(boolean includeLoggerName) {
+        this.includeLoggerName = includeLoggerName;
+    }
+
+    static final class MessageKey {
+        final String loggerName;
+        final String format;
+
+        MessageKey(String loggerName, String format) {
+            this.loggerName = loggerName;
+            this.format = format;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * loggerName.hashCode() + format.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof MessageKey))
+                return false;
+            MessageKey other = (MessageKey) obj;
+            return loggerName.equals(other.loggerName) && format.equals(other.format);
+        }
+    }
+
 }
@@ -256,4 +256,21 @@ public class DynamicThresholdFilter extends TurboFilter {
             return onLower;
         }
     }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object param, Throwable t) {
+        // parameters are not used, no need to wrap them in an array
+        return decide(marker, logger, level, format, (Object[]) null, t);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object param1, Object param2,
+            Throwable t) {
+        return decide(marker, logger, level, format, (Object[]) null, t);
+    }
+
+    @Override
+    public boolean mayAccept() {
+        return onHigherOrEqual == FilterReply.ACCEPT || onLower == FilterReply.ACCEPT;
+    }
 }
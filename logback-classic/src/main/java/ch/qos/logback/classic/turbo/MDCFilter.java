@@ -75,6 +75,26 @@ public class MDCFilter extends MatchingFilter {
         return onMismatch;
     }
 
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object param, Throwable t) {
+        // parameters are not used, no need to wrap them in an array
+        return decide(marker, logger, level, format, (Object[]) null, t);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object param1, Object param2,
+            Throwable t) {
+        return decide(marker, logger, level, format, (Object[]) null, t);
+    }
+
+    /**
+     * This filter only ever replies with onMatch or onMismatch.
+     */
+    @Override
+    public boolean mayAccept() {
+        return onMatch == FilterReply.ACCEPT || onMismatch == FilterReply.ACCEPT;
+    }
+
     public void setValue(String value) {
         this.value = value;
     }
@@ -54,6 +54,26 @@ public class MarkerFilter extends MatchingFilter {
         }
     }
 
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object param, Throwable t) {
+        // parameters are not used, no need to wrap them in an array
+        return decide(marker, logger, level, format, (Object[]) null, t);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object param1, Object param2,
+            Throwable t) {
+        return decide(marker, logger, level, format, (Object[]) null, t);
+    }
+
+    /**
+     * This filter only ever replies with onMatch or onMismatch.
+     */
+    @Override
+    public boolean mayAccept() {
+        return onMatch == FilterReply.ACCEPT || onMismatch == FilterReply.ACCEPT;
+    }
+
     /**
      * The marker to match in the event.
      * 
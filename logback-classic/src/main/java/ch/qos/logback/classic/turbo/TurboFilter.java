@@ -53,6 +53,48 @@ public abstract class TurboFilter extends ContextAwareBase implements LifeCycle
     public abstract FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
             Throwable t);
 
+    /**
+     * Variant of {@link #decide(Marker, Logger, Level, String, Object[], Throwable)}
+     * for requests with a single parameter. The default implementation wraps the
+     * parameter in an array. Filters which do not look at parameters should
+     * override this method so that no array is allocated.
+     * 
+     * @since 1.4.5
+     */
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object param, Throwable t) {
+        return decide(marker, logger, level, format, new Object[] { param }, t);
+    }
+
+    /**
+     * Variant of {@link #decide(Marker, Logger, Level, String, Object[], Throwable)}
+     * for requests with two parameters. The default implementation wraps the
+     * parameters in an array. Filters which do not look at parameters should
+     * override this method so that no array is allocated.
+     * 
+     * @since 1.4.5
+     */
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object param1, Object param2,
+            Throwable t) {
+        return decide(marker, logger, level, format, new Object[] { param1, param2 }, t);
+    }
+
+    /**
+     * Whether this filter may ever return {@link FilterReply#ACCEPT}.
+     * 
+     * <p>
+     * When no turbo filter may accept, requests below a logger's effective level
+     * are discarded without consulting turbo filters at all. The default is
+     * conservatively true. As this method is invoked for every such request, it
+     * should be cheap. It may reflect changes made to the filter's properties at
+     * any time.
+     * </p>
+     * 
+     * @since 1.4.5
+     */
+    public boolean mayAccept() {
+        return true;
+    }
+
     public void start() {
         this.start = true;
     }
@@ -0,0 +1,288 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.util;
+
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import org.slf4j.helpers.ThreadLocalMapOfStacks;
+import org.slf4j.spi.MDCAdapter;
+
+/**
+ * An {@link MDCAdapter} keeping the MDC of each thread in an immutable map
+ * with structural sharing. Modifying the MDC costs O(log n) whereas
+ * {@link #getPropertyMap()}, invoked once per logging event, returns the
+ * current map as is, without any copying.
+ * 
+ * <p>
+ * This benefits applications modifying the MDC between most logging calls,
+ * e.g. to set a span id, in which case {@link LogbackMDCAdapter} copies the
+ * whole map for nearly every event.
+ * </p>
+ * 
+ * <p>
+ * In the manner of <code>java.lang.ScopedValue</code>, values can also be
+ * bound for the duration of a task with {@link #where(String, String)}, and the
+ * current MDC can be propagated to tasks run by other threads with
+ * {@link #wrap(Runnable)}. Bindings are undone when the task completes, leaving
+ * no thread local entry behind on threads which had no MDC beforehand. This
+ * suits virtual threads, which are typically too numerous and short lived to
+ * each retain an MDC.
+ * </p>
+ * 
+ * <p>
+ * To use this adapter, set the "logback.mdcAdapterClass" system property to
+ * the name of this class.
+ * </p>
+ * 
+ * @since 1.4.5
+ */
+public class PersistentMDCAdapter implements MDCAdapter {
+
+    final ThreadLocal<PersistentMDCMap> threadLocalMap = new ThreadLocal<PersistentMDCMap>();
+    private final ThreadLocalMapOfStacks threadLocalMapOfDeques = new ThreadLocalMapOfStacks();
+
+    /**
+     * Put a context value (the <code>val</code> parameter) as identified with the
+     * <code>key</code> parameter into the current thread's context map. Note that
+     * contrary to log4j, the <code>val</code> parameter can be null.
+     *
+     * @throws IllegalArgumentException in case the "key" parameter is null
+     */
+    @Override
+    public void put(String key, String val) throws IllegalArgumentException {
+        if (key == null) {
+            throw new IllegalArgumentException("key cannot be null");
+        }
+        PersistentMDCMap current = threadLocalMap.get();
+        if (current == null) {
+            current = PersistentMDCMap.EMPTY;
+        }
+        threadLocalMap.set(current.with(key, val));
+    }
+
+    @Override
+    public String get(String key) {
+        PersistentMDCMap current = threadLocalMap.get();
+        if (current != null && key != null) {
+            return current.get(key);
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        PersistentMDCMap current = threadLocalMap.get();
+        if (current != null && key != null) {
+            PersistentMDCMap updated = current.without(key);
+            if (updated != current) {
+                threadLocalMap.set(updated);
+            }
+        }
+    }
+
+    /**
+     * Clear all entries in the MDC.
+     */
+    @Override
+    public void clear() {
+        threadLocalMap.remove();
+    }
+
+    /**
+     * Get the current thread's MDC as an unmodifiable map. The returned map is
+     * not affected by subsequent modifications of the MDC. This method is
+     * intended to be used internally.
+     * 
+     * @return the current MDC, possibly null
+     */
+    public Map<String, String> getPropertyMap() {
+        return threadLocalMap.get();
+    }
+
+    /**
+     * Return a copy of the current thread's context map. Returned value may be
+     * null.
+     */
+    @Override
+    public Map<String, String> getCopyOfContextMap() {
+        PersistentMDCMap current = threadLocalMap.get();
+        if (current == null) {
+            return null;
+        } else {
+            return new HashMap<String, String>(current);
+        }
+    }
+
+    /**
+     * Returns the keys in the MDC as a {@link Set}. The returned value can be
+     * null.
+     */
+    public Set<String> getKeys() {
+        PersistentMDCMap current = threadLocalMap.get();
+        if (current != null) {
+            return current.keySet();
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public void setContextMap(Map<String, String> contextMap) {
+        if (contextMap != null) {
+            threadLocalMap.set(PersistentMDCMap.copyOf(contextMap));
+        } else {
+            threadLocalMap.remove();
+        }
+    }
+
+    /**
+     * Returns a carrier binding <code>key</code> to <code>val</code> in the MDC
+     * for the duration of the tasks it runs. Further bindings can be added with
+     * {@link Carrier#where(String, String)}.
+     *
+     * @throws IllegalArgumentException in case the "key" parameter is null
+     */
+    public Carrier where(String key, String val) throws IllegalArgumentException {
+        return new Carrier(PersistentMDCMap.EMPTY).where(key, val);
+    }
+
+    /**
+     * Returns a task running the given task with the MDC of the calling thread,
+     * as it is at the time of this call.
+     */
+    public Runnable wrap(Runnable task) {
+        final PersistentMDCMap captured = threadLocalMap.get();
+        return () -> {
+            PersistentMDCMap previous = bind(captured);
+            try {
+                task.run();
+            } finally {
+                bind(previous);
+            }
+        };
+    }
+
+    /**
+     * Returns a task calling the given task with the MDC of the calling thread,
+     * as it is at the time of this call.
+     */
+    public <V> Callable<V> wrap(Callable<V> task) {
+        final PersistentMDCMap captured = threadLocalMap.get();
+        return () -> {
+            PersistentMDCMap previous = bind(captured);
+            try {
+                return task.call();
+            } finally {
+                bind(previous);
+            }
+        };
+    }
+
+    /**
+     * Make the given map the MDC of the current thread, removing the thread local
+     * entry altogether if the map is null.
+     * 
+     * @return the previous MDC, possibly null
+     */
+    private PersistentMDCMap bind(PersistentMDCMap map) {
+        PersistentMDCMap previous = threadLocalMap.get();
+        if (map == null) {
+            threadLocalMap.remove();
+        } else {
+            threadLocalMap.set(map);
+        }
+        return previous;
+    }
+
+    /**
+     * A set of MDC bindings in effect while the tasks passed to
+     * {@link #run(Runnable)} or {@link #call(Callable)} execute. Modifications of
+     * the MDC made by these tasks are discarded when they complete. Instances are
+     * immutable and may be shared between threads.
+     */
+    public final class Carrier {
+
+        private final PersistentMDCMap bindings;
+
+        private Carrier(PersistentMDCMap bindings) {
+            this.bindings = bindings;
+        }
+
+        /**
+         * Returns a new carrier with the bindings of this carrier plus the given one.
+         * 
+         * @throws IllegalArgumentException in case the "key" parameter is null
+         */
+        public Carrier where(String key, String val) throws IllegalArgumentException {
+            if (key == null) {
+                throw new IllegalArgumentException("key cannot be null");
+            }
+            return new Carrier(bindings.with(key, val));
+        }
+
+        public void run(Runnable task) {
+            PersistentMDCMap previous = bind(boundOnto(threadLocalMap.get()));
+            try {
+                task.run();
+            } finally {
+                bind(previous);
+            }
+        }
+
+        public <V> V call(Callable<V> task) throws Exception {
+            PersistentMDCMap previous = bind(boundOnto(threadLocalMap.get()));
+            try {
+                return task.call();
+            } finally {
+                bind(previous);
+            }
+        }
+
+        private PersistentMDCMap boundOnto(PersistentMDCMap current) {
+            if (current == null || current.isEmpty()) {
+                return bindings;
+            }
+            PersistentMDCMap result = current;
+            for (Map.Entry<String, String> entry : bindings.entrySet()) {
+                result = result.with(entry.getKey(), entry.getValue());
+            }
+            return result;
+        }
+    }
+
+    @Override
+    public void pushByKey(String key, String value) {
+        threadLocalMapOfDeques.pushByKey(key, value);
+    }
+
+    @Override
+    public String popByKey(String key) {
+        return threadLocalMapOfDeques.popByKey(key);
+    }
+
+    @Override
+    public Deque<String> getCopyOfDequeByKey(String key) {
+        return threadLocalMapOfDeques.getCopyOfDequeByKey(key);
+    }
+
+    @Override
+    public void clearDequeByKey(String key) {
+        threadLocalMapOfDeques.clearDequeByKey(key);
+    }
+}
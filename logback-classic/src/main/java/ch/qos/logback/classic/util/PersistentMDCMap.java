@@ -0,0 +1,368 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable map of MDC entries, implemented as a hash array mapped trie. A
+ * modified version of the map is obtained with {@link #with(String, String)} or
+ * {@link #without(String)} in O(log n) time, sharing most of its structure with
+ * the original map. The map itself can thus be handed out as a snapshot of the
+ * MDC without any copying.
+ * 
+ * <p>
+ * Keys cannot be null whereas values can.
+ * </p>
+ * 
+ * @since 1.4.5
+ */
+final class PersistentMDCMap extends AbstractMap<String, String> implements Serializable {
+
+    private static final long serialVersionUID = 7467935441633040470L;
+
+    static final PersistentMDCMap EMPTY = new PersistentMDCMap(null, 0);
+
+    static final int BITS = 5;
+    static final int MASK = (1 << BITS) - 1;
+    static final Object NOT_FOUND = new Object();
+
+    final transient Node root;
+    final int size;
+    // computed lazily, racy initialization is harmless
+    transient List<Map.Entry<String, String>> entryList;
+
+    private PersistentMDCMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    static PersistentMDCMap copyOf(Map<String, String> map) {
+        PersistentMDCMap result = EMPTY;
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            result = result.with(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Return a map with the given key mapped to the given value.
+     */
+    PersistentMDCMap with(String key, String value) {
+        Objects.requireNonNull(key);
+        boolean[] added = new boolean[1];
+        Node newRoot = (root == null ? BitmapNode.EMPTY : root).put(0, hash(key), key, value, added);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentMDCMap(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Return a map without the given key.
+     */
+    PersistentMDCMap without(String key) {
+        if (root == null || key == null) {
+            return this;
+        }
+        Node newRoot = root.remove(0, hash(key), key);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? EMPTY : new PersistentMDCMap(newRoot, size - 1);
+    }
+
+    @Override
+    public String get(Object key) {
+        if (root == null || !(key instanceof String)) {
+            return null;
+        }
+        Object value = root.find(0, hash(key), (String) key);
+        return value == NOT_FOUND ? null : (String) value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (root == null || !(key instanceof String)) {
+            return false;
+        }
+        return root.find(0, hash(key), (String) key) != NOT_FOUND;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        return new AbstractSet<Map.Entry<String, String>>() {
+            @Override
+            public Iterator<Map.Entry<String, String>> iterator() {
+                return getEntryList().iterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private List<Map.Entry<String, String>> getEntryList() {
+        List<Map.Entry<String, String>> list = entryList;
+        if (list == null) {
+            list = new ArrayList<>(size);
+            if (root != null) {
+                root.collect(list);
+            }
+            list = Collections.unmodifiableList(list);
+            entryList = list;
+        }
+        return list;
+    }
+
+    // replaced by a plain map so that deserialization requires no logback class
+    private Object writeReplace() {
+        return new HashMap<String, String>(this);
+    }
+
+    abstract static class Node {
+
+        /**
+         * @return the value, possibly null, or {@link #NOT_FOUND}
+         */
+        abstract Object find(int shift, int hash, String key);
+
+        abstract Node put(int shift, int hash, String key, String value, boolean[] added);
+
+        /**
+         * @return this node if the key is absent, null if the resulting node is
+         *         empty
+         */
+        abstract Node remove(int shift, int hash, String key);
+
+        abstract void collect(List<Map.Entry<String, String>> list);
+    }
+
+    /**
+     * A node with up to 32 slots, the occupied ones being indicated by a bitmap.
+     * Each occupied slot holds a key and its value or, if the key is null, a
+     * sub-node.
+     */
+    static final class BitmapNode extends Node {
+
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        final int bitmap;
+        final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int shift, int hash, String key) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int i = 2 * index(bit);
+            Object k = array[i];
+            if (k == null) {
+                return ((Node) array[i + 1]).find(shift + BITS, hash, key);
+            }
+            return key.equals(k) ? array[i + 1] : NOT_FOUND;
+        }
+
+        @Override
+        Node put(int shift, int hash, String key, String value, boolean[] added) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int i = 2 * index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, i);
+                newArray[i] = key;
+                newArray[i + 1] = value;
+                System.arraycopy(array, i, newArray, i + 2, array.length - i);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == null) {
+                Node subNode = (Node) v;
+                Node newSubNode = subNode.put(shift + BITS, hash, key, value, added);
+                return newSubNode == subNode ? this : withSlot(i, null, newSubNode);
+            }
+            if (key.equals(k)) {
+                return Objects.equals(v, value) ? this : withSlot(i, k, value);
+            }
+            added[0] = true;
+            Node subNode = createNode(shift + BITS, (String) k, (String) v, hash, key, value);
+            return withSlot(i, null, subNode);
+        }
+
+        private BitmapNode withSlot(int i, Object k, Object v) {
+            Object[] newArray = array.clone();
+            newArray[i] = k;
+            newArray[i + 1] = v;
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        private Node withoutSlot(int bit, int i) {
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+            return new BitmapNode(bitmap & ~bit, newArray);
+        }
+
+        private static Node createNode(int shift, String k1, String v1, int h2, String k2, String v2) {
+            int h1 = hash(k1);
+            if (h1 == h2) {
+                return new CollisionNode(h1, new Object[] { k1, v1, k2, v2 });
+            }
+            boolean[] ignored = new boolean[1];
+            return EMPTY.put(shift, h1, k1, v1, ignored).put(shift, h2, k2, v2, ignored);
+        }
+
+        @Override
+        Node remove(int shift, int hash, String key) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = 2 * index(bit);
+            Object k = array[i];
+            if (k == null) {
+                Node subNode = (Node) array[i + 1];
+                Node newSubNode = subNode.remove(shift + BITS, hash, key);
+                if (newSubNode == subNode) {
+                    return this;
+                }
+                return newSubNode == null ? withoutSlot(bit, i) : withSlot(i, null, newSubNode);
+            }
+            return key.equals(k) ? withoutSlot(bit, i) : this;
+        }
+
+        @Override
+        void collect(List<Map.Entry<String, String>> list) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).collect(list);
+                } else {
+                    list.add(new SimpleImmutableEntry<>((String) array[i], (String) array[i + 1]));
+                }
+            }
+        }
+    }
+
+    /**
+     * A node holding keys which share the same hash.
+     */
+    static final class CollisionNode extends Node {
+
+        final int hash;
+        final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(String key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int shift, int hash, String key) {
+            int i = indexOf(key);
+            return i == -1 ? NOT_FOUND : array[i + 1];
+        }
+
+        @Override
+        Node put(int shift, int hash, String key, String value, boolean[] added) {
+            if (hash != this.hash) {
+                // nest this node in a bitmap node
+                int bit = 1 << ((this.hash >>> shift) & MASK);
+                return new BitmapNode(bit, new Object[] { null, this }).put(shift, hash, key, value, added);
+            }
+            int i = indexOf(key);
+            if (i != -1) {
+                if (Objects.equals(array[i + 1], value)) {
+                    return this;
+                }
+                Object[] newArray = array.clone();
+                newArray[i + 1] = value;
+                return new CollisionNode(hash, newArray);
+            }
+            Object[] newArray = Arrays.copyOf(array, array.length + 2);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        Node remove(int shift, int hash, String key) {
+            int i = indexOf(key);
+            if (i == -1) {
+                return this;
+            }
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        void collect(List<Map.Entry<String, String>> list) {
+            for (int i = 0; i < array.length; i += 2) {
+                list.add(new SimpleImmutableEntry<>((String) array[i], (String) array[i + 1]));
+            }
+        }
+    }
+}
@@ -14,6 +14,7 @@
 package ch.qos.logback.classic;
 
 import ch.qos.logback.classic.turbo.MarkerFilter;
+import ch.qos.logback.classic.turbo.MatchingFilter;
 import ch.qos.logback.classic.turbo.TurboFilter;
 import ch.qos.logback.core.spi.FilterReply;
 import org.junit.jupiter.api.BeforeEach;
@@ -153,6 +154,84 @@ public class TurboFilteringInLoggerTest {
         assertFalse(logger.isDebugEnabled(blueMarker));
     }
 
+    @Test
+    public void disabledRequestsSkipFiltersWhichNeverAccept() {
+        CountingNeutralFilter filter = new CountingNeutralFilter(false);
+        filter.start();
+        context.addTurboFilter(filter);
+        logger.setLevel(Level.INFO);
+
+        logger.debug("x");
+        logger.debug("x {}", 1);
+        logger.debug("x {} {}", 1, 2);
+        assertFalse(logger.isDebugEnabled());
+        assertEquals(0, filter.arrayCalls + filter.oneParamCalls + filter.twoParamCalls);
+
+        logger.info("x");
+        assertEquals(1, filter.arrayCalls);
+    }
+
+    @Test
+    public void disabledRequestsAreSubmittedToFiltersWhichMayAccept() {
+        CountingNeutralFilter filter = new CountingNeutralFilter(true);
+        filter.start();
+        context.addTurboFilter(filter);
+        logger.setLevel(Level.INFO);
+
+        logger.debug("x");
+        logger.debug("x {}", 1);
+        logger.debug("x {} {}", 1, 2);
+        assertEquals(1, filter.arrayCalls);
+        assertEquals(1, filter.oneParamCalls);
+        assertEquals(1, filter.twoParamCalls);
+    }
+
+    @Test
+    public void acceptPossibleFollowsFilterList() {
+        assertFalse(context.getTurboFilterList().isAcceptPossible());
+        addDenyBLUEFilter();
+        assertFalse(context.getTurboFilterList().isAcceptPossible());
+        addAcceptBLUEFilter();
+        assertTrue(context.getTurboFilterList().isAcceptPossible());
+        context.getTurboFilterList().remove(1);
+        assertFalse(context.getTurboFilterList().isAcceptPossible());
+
+        logger.setLevel(Level.INFO);
+        addYesFilter();
+        assertTrue(logger.isDebugEnabled());
+        context.resetTurboFilterList();
+        assertFalse(logger.isDebugEnabled());
+    }
+
+    @Test
+    public void acceptPossibleFollowsFilterProperties() {
+        MarkerFilter filter = new MarkerFilter();
+        filter.setMarker(BLUE);
+        filter.setOnMatch("DENY");
+        filter.start();
+        context.addTurboFilter(filter);
+        assertFalse(context.getTurboFilterList().isAcceptPossible());
+
+        filter.setOnMatch("ACCEPT");
+        assertTrue(context.getTurboFilterList().isAcceptPossible());
+        logger.setLevel(Level.INFO);
+        assertTrue(logger.isDebugEnabled(blueMarker));
+    }
+
+    @Test
+    public void derivedMatchingFiltersMayAcceptByDefault() {
+        MatchingFilter filter = new MatchingFilter() {
+            @Override
+            public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                    Throwable t) {
+                return FilterReply.ACCEPT;
+            }
+        };
+        filter.start();
+        context.addTurboFilter(filter);
+        assertTrue(context.getTurboFilterList().isAcceptPossible());
+    }
+
     @Test
     public void testLoggingContextReset() {
         addYesFilter();
@@ -175,4 +254,39 @@ class NoFilter extends TurboFilter {
     public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
         return FilterReply.DENY;
     }
-}
\ No newline at end of file
+}
+
+class CountingNeutralFilter extends TurboFilter {
+    final boolean mayAccept;
+    int arrayCalls;
+    int oneParamCalls;
+    int twoParamCalls;
+
+    CountingNeutralFilter(boolean mayAccept) {
+        this.mayAccept = mayAccept;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        arrayCalls++;
+        return FilterReply.NEUTRAL;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object param, Throwable t) {
+        oneParamCalls++;
+        return FilterReply.NEUTRAL;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object param1, Object param2,
+            Throwable t) {
+        twoParamCalls++;
+        return FilterReply.NEUTRAL;
+    }
+
+    @Override
+    public boolean mayAccept() {
+        return mayAccept;
+    }
+}
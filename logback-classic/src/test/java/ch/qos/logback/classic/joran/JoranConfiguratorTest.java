@@ -507,6 +507,13 @@ public class JoranConfiguratorTest {
         assertTrue(loggerContext.isPackagingDataEnabled());
     }
 
+    @Test
+    public void stackWalkerCallerDataDisabledByConfigAttribute() throws JoranException {
+        assertTrue(loggerContext.isStackWalkerCallerDataEnabled());
+        configure(ClassicTestConstants.JORAN_INPUT_PREFIX + "stackWalkerCallerDataDisabled.xml");
+        assertFalse(loggerContext.isStackWalkerCallerDataEnabled());
+    }
+
     @Test
     public void valueOfConvention() throws JoranException {
         String configFileAsStr = ClassicTestConstants.JORAN_INPUT_PREFIX + "valueOfConvention.xml";
@@ -0,0 +1,185 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.net;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.net.SyslogConstants;
+import ch.qos.logback.core.util.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SyslogChannelAppenderTest {
+
+    private static final String SYSLOG_PREFIX_REGEX = "<\\d{2}>\\w{3} [\\d ]\\d \\d{2}(:\\d{2}){2} [\\w.-]* ";
+
+    LoggerContext lc = new LoggerContext();
+    SyslogChannelAppender sca = new SyslogChannelAppender();
+    String loggerName = this.getClass().getName();
+    Logger logger = lc.getLogger(loggerName);
+    DatagramChannel udpServer;
+    ServerSocket tcpServer;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        lc.setName("test");
+        sca.setContext(lc);
+        sca.setSyslogHost("localhost");
+        sca.setFacility("MAIL");
+        sca.setSuffixPattern("[%thread] %logger %msg");
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        sca.stop();
+        if (udpServer != null) {
+            udpServer.close();
+        }
+        if (tcpServer != null) {
+            tcpServer.close();
+        }
+    }
+
+    void startUdp() throws IOException {
+        udpServer = DatagramChannel.open();
+        udpServer.bind(new InetSocketAddress("localhost", 0));
+        sca.setPort(((InetSocketAddress) udpServer.getLocalAddress()).getPort());
+        sca.start();
+        assertTrue(sca.isStarted());
+        logger.addAppender(sca);
+    }
+
+    String receiveDatagram() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(65536);
+        udpServer.receive(buffer);
+        buffer.flip();
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    @Test
+    public void udp() throws IOException {
+        startUdp();
+        logger.debug("hello");
+
+        String msg = receiveDatagram();
+        String expected = "<" + (SyslogConstants.LOG_MAIL + SyslogConstants.DEBUG_SEVERITY) + ">";
+        assertTrue(msg.startsWith(expected));
+        String threadName = Thread.currentThread().getName();
+        assertTrue(msg.matches(SYSLOG_PREFIX_REGEX + "\\[" + threadName + "\\] " + loggerName + " hello"), msg);
+        assertEquals(1, sca.getSentMessageCount());
+        assertEquals(0, sca.getDroppedMessageCount());
+    }
+
+    @Test
+    public void udpTruncation() throws IOException {
+        sca.setMaxMessageSize(10);
+        startUdp();
+        logger.debug("hello");
+        assertEquals(10, receiveDatagram().length());
+    }
+
+    @Test
+    public void udpStackTrace() throws IOException {
+        sca.setStackTracePattern("st ");
+        startUdp();
+        Exception ex = new Exception("boom");
+        ex.setStackTrace(new StackTraceElement[] { new StackTraceElement("a.B", "m", "B.java", 12) });
+        logger.debug("hello", ex);
+
+        assertTrue(receiveDatagram().endsWith("hello"));
+        assertTrue(receiveDatagram().endsWith("st java.lang.Exception: boom"));
+        assertTrue(receiveDatagram().endsWith("st at a.B.m(B.java:12)"));
+        assertEquals(3, sca.getSentMessageCount());
+    }
+
+    @Test
+    public void tcpOctetCounting() throws Exception {
+        tcpServer = new ServerSocket(0);
+        sca.setTransport("tcp");
+        sca.setPort(tcpServer.getLocalPort());
+        sca.setSuffixPattern("%msg");
+        sca.setCharset(StandardCharsets.UTF_8);
+        sca.start();
+        assertTrue(sca.isStarted());
+        logger.addAppender(sca);
+
+        List<String> sent = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String msg = "héllo " + i;
+            sent.add(msg);
+            logger.info(msg);
+        }
+
+        try (Socket socket = tcpServer.accept()) {
+            DataInputStream dis = new DataInputStream(socket.getInputStream());
+            for (String expected : sent) {
+                int length = 0;
+                int b;
+                while ((b = dis.read()) != ' ') {
+                    length = length * 10 + (b - '0');
+                }
+                byte[] frame = new byte[length];
+                dis.readFully(frame);
+                String msg = new String(frame, StandardCharsets.UTF_8);
+                assertTrue(msg.endsWith(expected), msg);
+            }
+        }
+        sca.stop();
+        assertEquals(20, sca.getSentMessageCount());
+    }
+
+    @Test
+    public void tcpMessagesAreDroppedWhileDisconnected() throws Exception {
+        int port;
+        try (ServerSocket closed = new ServerSocket(0)) {
+            port = closed.getLocalPort();
+        }
+        sca.setTransport("tcp");
+        sca.setPort(port);
+        sca.setReconnectionDelay(Duration.buildBySeconds(60));
+        sca.start();
+        logger.addAppender(sca);
+
+        logger.info("lost");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (sca.getDroppedMessageCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, sca.getDroppedMessageCount());
+        assertEquals(0, sca.getSentMessageCount());
+    }
+
+    @Test
+    public void unknownTransport() {
+        sca.setTransport("carrier-pigeon");
+        sca.start();
+        assertTrue(!sca.isStarted());
+    }
+}
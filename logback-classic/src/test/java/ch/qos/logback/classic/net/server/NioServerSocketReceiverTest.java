@@ -0,0 +1,166 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.net.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.net.mock.MockAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEventWireCodec;
+import ch.qos.logback.core.net.BinaryEventWriter;
+import ch.qos.logback.core.net.server.test.ServerSocketUtil;
+
+public class NioServerSocketReceiverTest {
+
+    private static final int DELAY = 10000;
+
+    private LoggerContext lc;
+    private Logger logger;
+    private MockAppender appender;
+    private NioServerSocketReceiver receiver;
+    private int port;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        lc = new LoggerContext();
+        appender = new MockAppender();
+        appender.start();
+        logger = lc.getLogger(getClass());
+        logger.addAppender(appender);
+
+        ServerSocket serverSocket = ServerSocketUtil.createServerSocket();
+        port = serverSocket.getLocalPort();
+        serverSocket.close();
+
+        receiver = new NioServerSocketReceiver();
+        receiver.setContext(lc);
+        receiver.setPort(port);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        receiver.stop();
+        ExecutorService executor = lc.getScheduledExecutorService();
+        executor.shutdownNow();
+        executor.awaitTermination(DELAY, TimeUnit.MILLISECONDS);
+        assertTrue(executor.isTerminated());
+    }
+
+    private LoggingEvent newEvent(String message, Level level) {
+        return new LoggingEvent(logger.getName(), logger, level, message, null, null);
+    }
+
+    @Test
+    public void eventsFromSeveralClients() throws Exception {
+        receiver.start();
+        assertTrue(receiver.isStarted());
+
+        int clientCount = 5;
+        int eventCount = 100;
+        Socket[] sockets = new Socket[clientCount];
+        for (int c = 0; c < clientCount; c++) {
+            sockets[c] = new Socket(InetAddress.getLoopbackAddress(), port);
+            BinaryEventWriter<ILoggingEvent> writer = new BinaryEventWriter<>(sockets[c].getOutputStream(),
+                    new LoggingEventWireCodec());
+            for (int i = 0; i < eventCount; i++) {
+                writer.write(newEvent("client " + c + " event " + i, Level.INFO));
+            }
+            writer.flush();
+        }
+
+        for (int i = 0; i < clientCount * eventCount; i++) {
+            ILoggingEvent event = appender.awaitAppend(DELAY);
+            assertNotNull(event);
+        }
+
+        List<RemoteClientMetrics> metrics = receiver.getClientMetrics();
+        assertEquals(clientCount, metrics.size());
+        for (RemoteClientMetrics m : metrics) {
+            assertEquals(eventCount, m.getEventCount());
+            assertEquals(0, m.getBacklog());
+            assertTrue(m.getByteCount() > 0);
+        }
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void disabledLevelIsNotDispatched() throws Exception {
+        receiver.start();
+        logger.setLevel(Level.WARN);
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            BinaryEventWriter<ILoggingEvent> writer = new BinaryEventWriter<>(socket.getOutputStream(),
+                    new LoggingEventWireCodec());
+            writer.write(newEvent("debug", Level.DEBUG));
+            writer.write(newEvent("error", Level.ERROR));
+            writer.flush();
+
+            ILoggingEvent event = appender.awaitAppend(DELAY);
+            assertEquals("error", event.getMessage());
+        }
+    }
+
+    @Test
+    public void fullQueueSuspendsReading() throws Exception {
+        receiver.setQueueSize(1);
+        receiver.setEventLoopCount(1);
+        receiver.start();
+
+        int eventCount = 5000;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            BinaryEventWriter<ILoggingEvent> writer = new BinaryEventWriter<>(socket.getOutputStream(),
+                    new LoggingEventWireCodec());
+            for (int i = 0; i < eventCount; i++) {
+                writer.write(newEvent("event " + i, Level.INFO));
+            }
+            writer.flush();
+
+            for (int i = 0; i < eventCount; i++) {
+                ILoggingEvent event = appender.awaitAppend(DELAY);
+                assertEquals("event " + i, event.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void javaSerializationClientIsDropped() throws Exception {
+        receiver.start();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            ObjectOutputStream oos = new ObjectOutputStream(socket.getOutputStream());
+            oos.flush();
+            socket.setSoTimeout(DELAY);
+            assertEquals(-1, socket.getInputStream().read());
+        }
+        assertTrue(receiver.getClientMetrics().isEmpty());
+    }
+}
@@ -234,6 +234,31 @@ public class ThrowableProxyConverterTest {
         throw new Exception("someMethod");
     }
 
+    @Test
+    public void renderCacheServesRepeatedExceptions() {
+        ThrowableProxyConverter cachingConverter = new ThrowableProxyConverter();
+        cachingConverter.setContext(lc);
+        cachingConverter.setOptionList(Arrays.asList("full", "renderCacheSize=16"));
+        cachingConverter.start();
+
+        String[] results = new String[3];
+        for (int i = 0; i < results.length; i++) {
+            try {
+                someMethod();
+            } catch (Exception e) {
+                Exception ex = new Exception(i < 2 ? "Wrapper" : "Other wrapper", e);
+                ILoggingEvent le = createLoggingEvent(ex);
+                results[i] = cachingConverter.convert(le);
+                assertEquals(tpc.convert(le), results[i]);
+            }
+        }
+        assertTrue(results[0] == results[1]);
+        assertTrue(results[2].contains("Other wrapper"));
+        assertEquals(1, cachingConverter.getRenderCacheHitCount());
+        assertEquals(2, cachingConverter.getRenderCacheMissCount());
+        assertEquals(0, tpc.getRenderCacheHitCount());
+    }
+
     void verify(Throwable t) {
         t.printStackTrace(pw);
 
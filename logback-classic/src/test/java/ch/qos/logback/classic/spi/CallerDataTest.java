@@ -17,7 +17,9 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -47,4 +49,35 @@ public class CallerDataTest {
         assertEquals(0, cda.length);
     }
 
+    @Test
+    public void stackWalkerMatchesThrowableBasedExtraction() {
+        StackTraceElement[] expected = CallerData.extract(new Throwable(), CallerDataTest.class.getName(), 100, null);
+        StackTraceElement[] cda = CallerData.extract(CallerDataTest.class.getName(), 100, null);
+        assertEquals(expected.length, cda.length);
+        // the frames differ only by the line number of the caller
+        assertEquals(expected[0].getMethodName(), cda[0].getMethodName());
+        assertArrayEquals(Arrays.copyOfRange(expected, 1, expected.length), Arrays.copyOfRange(cda, 1, cda.length));
+    }
+
+    @Test
+    public void stackWalkerStopsAtMaxDepth() {
+        StackTraceElement[] cda = CallerData.extract(CallerDataTest.class.getName(), 2, null);
+        assertEquals(2, cda.length);
+    }
+
+    @Test
+    public void stackWalkerRespectsFrameworkPackages() {
+        StackTraceElement[] cda = CallerData.extract(CallerDataTest.class.getName(), 1,
+                Arrays.asList("java.", "jdk.", "org.junit."));
+        assertEquals(1, cda.length);
+        assertFalse(cda[0].getClassName().startsWith("java."));
+        assertFalse(cda[0].getClassName().startsWith("org.junit."));
+    }
+
+    @Test
+    public void stackWalkerWithoutFrameworkFrames() {
+        StackTraceElement[] cda = CallerData.extract("com.inexistent.foo", 10, null);
+        assertEquals(0, cda.length);
+    }
+
 }
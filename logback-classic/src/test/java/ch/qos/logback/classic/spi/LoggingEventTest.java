@@ -20,7 +20,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class LoggingEventTest {
 
@@ -72,4 +75,49 @@ public class LoggingEventTest {
         assertNull(event.formattedMessage);
         assertEquals(message, event.getFormattedMessage());
     }
+
+    @Test
+    public void callerDataWithAndWithoutStackWalker() {
+        assertTrue(loggerContext.isStackWalkerCallerDataEnabled());
+        LoggingEvent walkedEvent = new LoggingEvent(LoggingEventTest.class.getName(), logger, Level.INFO, "x", null,
+                null);
+        StackTraceElement[] walkedCda = walkedEvent.getCallerData();
+
+        loggerContext.setStackWalkerCallerDataEnabled(false);
+        LoggingEvent event = new LoggingEvent(LoggingEventTest.class.getName(), logger, Level.INFO, "x", null, null);
+        StackTraceElement[] cda = event.getCallerData();
+
+        assertEquals(cda.length, walkedCda.length);
+        assertEquals(cda[0].getClassName(), walkedCda[0].getClassName());
+        assertEquals(cda[0].getMethodName(), walkedCda[0].getMethodName());
+    }
+
+    @Test
+    public void stackTraceCacheIsScopedToTheContext() {
+        LoggerContext otherContext = new LoggerContext();
+        Logger otherLogger = otherContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        LoggingEvent[] events = new LoggingEvent[3];
+        for (int i = 0; i < events.length; i++) {
+            Exception e = new Exception("x");
+            Logger l = i < 2 ? logger : otherLogger;
+            events[i] = new LoggingEvent("", l, Level.INFO, "x", e, null);
+        }
+        assertSame(events[0].getThrowableProxy().getStackTraceElementProxyArray(),
+                events[1].getThrowableProxy().getStackTraceElementProxyArray());
+        assertNotSame(events[0].getThrowableProxy().getStackTraceElementProxyArray(),
+                events[2].getThrowableProxy().getStackTraceElementProxyArray());
+
+    }
+
+    @Test
+    public void stackTraceCacheCanBeDisabled() {
+        loggerContext.setStackTraceCacheSize(0);
+        assertNull(loggerContext.getStackTraceElementProxyCache());
+        LoggingEvent[] events = new LoggingEvent[2];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new LoggingEvent("", logger, Level.INFO, "x", new Exception("x"), null);
+        }
+        assertNotSame(events[0].getThrowableProxy().getStackTraceElementProxyArray(),
+                events[1].getThrowableProxy().getStackTraceElementProxyArray());
+    }
 }
@@ -0,0 +1,232 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+import org.slf4j.event.KeyValuePair;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.net.BinaryEventReader;
+import ch.qos.logback.core.net.BinaryEventWriter;
+import ch.qos.logback.core.net.WireCodec;
+import ch.qos.logback.core.net.WireInput;
+import ch.qos.logback.core.net.WireOutput;
+
+public class LoggingEventWireCodecTest {
+
+    LoggerContext loggerContext = new LoggerContext();
+    Logger logger = loggerContext.getLogger(LoggingEventWireCodecTest.class);
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+
+    @BeforeEach
+    public void setUp() {
+        loggerContext.setName("testContext");
+        loggerContext.putProperty("key", "value");
+    }
+
+    List<ILoggingEvent> roundTrip(ILoggingEvent... events) throws IOException {
+        BinaryEventWriter<ILoggingEvent> writer = new BinaryEventWriter<>(bos, new LoggingEventWireCodec());
+        for (ILoggingEvent event : events) {
+            writer.write(event);
+        }
+        writer.flush();
+        BinaryEventReader<ILoggingEvent> reader = new BinaryEventReader<>(
+                new ByteArrayInputStream(bos.toByteArray()), new LoggingEventWireCodec());
+        List<ILoggingEvent> result = new ArrayList<>();
+        for (int i = 0; i < events.length; i++) {
+            result.add(reader.read());
+        }
+        return result;
+    }
+
+    @Test
+    public void smoke() throws IOException {
+        LoggingEvent event = new LoggingEvent(getClass().getName(), logger, Level.INFO, "x={}, y={}", null,
+                new Object[] { 1, null });
+        event.setThreadName("main");
+        event.setMDCPropertyMap(Map.of("mdcKey", "mdcValue"));
+        event.setKeyValuePairs(List.of(new KeyValuePair("k", 42)));
+
+        ILoggingEvent decoded = roundTrip(event).get(0);
+        assertTrue(decoded instanceof LoggingEventVO);
+        assertEquals(event.getLoggerName(), decoded.getLoggerName());
+        assertEquals("main", decoded.getThreadName());
+        assertEquals(Level.INFO, decoded.getLevel());
+        assertEquals("x={}, y={}", decoded.getMessage());
+        assertArrayEquals(new Object[] { "1", null }, decoded.getArgumentArray());
+        assertEquals("x=1, y=null", decoded.getFormattedMessage());
+        assertEquals("mdcValue", decoded.getMDCPropertyMap().get("mdcKey"));
+        assertEquals("k", decoded.getKeyValuePairs().get(0).key);
+        assertEquals("42", decoded.getKeyValuePairs().get(0).value);
+        assertEquals("testContext", decoded.getLoggerContextVO().getName());
+        assertEquals("value", decoded.getLoggerContextVO().getPropertyMap().get("key"));
+        assertEquals(event.getTimeStamp(), decoded.getTimeStamp());
+        assertEquals(event.getNanoseconds(), decoded.getNanoseconds());
+        assertEquals(event.getSequenceNumber(), decoded.getSequenceNumber());
+        assertNull(decoded.getThrowableProxy());
+        assertNull(decoded.getMarkerList());
+    }
+
+    @Test
+    public void throwableAndCallerData() throws IOException {
+        Exception cause = new IllegalStateException("cause");
+        Exception e = new RuntimeException("top", cause);
+        e.addSuppressed(new IOException("suppressed"));
+        LoggingEvent event = new LoggingEvent(getClass().getName(), logger, Level.ERROR, "failure", e, null);
+        event.getCallerData();
+
+        ILoggingEvent decoded = roundTrip(event).get(0);
+        assertEquals(ThrowableProxyUtil.asString(event.getThrowableProxy()),
+                ThrowableProxyUtil.asString(decoded.getThrowableProxy()));
+        assertEquals(1, decoded.getThrowableProxy().getSuppressed().length);
+        assertEquals(Arrays.toString(event.getCallerData()), Arrays.toString(decoded.getCallerData()));
+    }
+
+    @Test
+    public void markers() throws IOException {
+        Marker marker = MarkerFactory.getDetachedMarker("parent");
+        marker.add(MarkerFactory.getDetachedMarker("child"));
+        LoggingEvent event = new LoggingEvent(getClass().getName(), logger, Level.WARN, "msg", null, null);
+        event.addMarker(marker);
+
+        ILoggingEvent decoded = roundTrip(event).get(0);
+        Marker decodedMarker = decoded.getMarkerList().get(0);
+        assertEquals("parent", decodedMarker.getName());
+        assertTrue(decodedMarker.contains("child"));
+    }
+
+    @Test
+    public void loggerContextIsSentOnce() throws IOException {
+        LoggingEvent e0 = new LoggingEvent(getClass().getName(), logger, Level.INFO, "0", null, null);
+        LoggingEvent e1 = new LoggingEvent(getClass().getName(), logger, Level.DEBUG, "1", null, null);
+        e0.setMDCPropertyMap(new HashMap<>());
+        e1.setMDCPropertyMap(new HashMap<>());
+
+        List<ILoggingEvent> decoded = roundTrip(e0, e1);
+        assertSame(decoded.get(0).getLoggerContextVO(), decoded.get(1).getLoggerContextVO());
+        assertEquals(Level.DEBUG, decoded.get(1).getLevel());
+        assertEquals("1", decoded.get(1).getMessage());
+    }
+
+    @Test
+    public void deepCauseChainIsTruncated() throws IOException {
+        Throwable t = new RuntimeException("0");
+        for (int i = 1; i < 2 * LoggingEventWireCodec.MAX_NESTING_DEPTH; i++) {
+            t = new RuntimeException(Integer.toString(i), t);
+        }
+        LoggingEvent event = new LoggingEvent(getClass().getName(), logger, Level.ERROR, "deep", t, null);
+
+        IThrowableProxy tp = roundTrip(event).get(0).getThrowableProxy();
+        int depth = 0;
+        while (tp.getCause() != null) {
+            tp = tp.getCause();
+            depth++;
+        }
+        assertEquals(LoggingEventWireCodec.MAX_NESTING_DEPTH, depth);
+    }
+
+    @Test
+    public void deeplyNestedCausesAreRejected() throws IOException {
+        int depth = 200_000;
+        writeHandcraftedEvent(out -> {
+            for (int i = 0; i < depth; i++) {
+                out.writeBoolean(true);
+                out.writeDictionaryString("java.lang.RuntimeException");
+                out.writeString(null);
+                out.writeVarInt(0);
+                out.writeBoolean(false);
+                out.writeSize(0, true);
+                out.writeSize(0, true);
+            }
+            out.writeBoolean(false);
+        }, out -> out.writeSize(0, true));
+        assertThrows(StreamCorruptedException.class, () -> readHandcraftedEvent());
+    }
+
+    @Test
+    public void deeplyNestedMarkersAreRejected() throws IOException {
+        int depth = 200_000;
+        writeHandcraftedEvent(out -> out.writeBoolean(false), out -> {
+            out.writeSize(1, false);
+            for (int i = 0; i < depth; i++) {
+                out.writeDictionaryString("m");
+                out.writeVarInt(1);
+            }
+            out.writeDictionaryString("m");
+            out.writeVarInt(0);
+        });
+        assertThrows(StreamCorruptedException.class, () -> readHandcraftedEvent());
+    }
+
+    interface Section {
+        void write(WireOutput out);
+    }
+
+    // writes an event field by field, as a malicious client would
+    void writeHandcraftedEvent(Section throwableProxy, Section markerList) throws IOException {
+        BinaryEventWriter<Void> writer = new BinaryEventWriter<>(bos, new WireCodec<Void>() {
+            @Override
+            public void encode(Void event, WireOutput out) {
+                out.writeDictionaryString("logger");
+                out.writeDictionaryString("thread");
+                out.writeByte(0);
+                out.writeInt(Level.INFO_INT);
+                out.writeString("message");
+                out.writeSize(0, true);
+                throwableProxy.write(out);
+                out.writeSize(0, true);
+                markerList.write(out);
+                out.writeSize(0, true);
+                out.writeStringMap(null);
+                out.writeLong(0);
+                out.writeInt(0);
+                out.writeLong(0);
+            }
+
+            @Override
+            public Void decode(WireInput in) {
+                throw new UnsupportedOperationException();
+            }
+        });
+        writer.write(null);
+        writer.flush();
+    }
+
+    ILoggingEvent readHandcraftedEvent() throws IOException {
+        return new BinaryEventReader<>(new ByteArrayInputStream(bos.toByteArray()), new LoggingEventWireCodec())
+                .read();
+    }
+}
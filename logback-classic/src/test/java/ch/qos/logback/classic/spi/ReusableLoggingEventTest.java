@@ -0,0 +1,164 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ReusableLoggingEventTest {
+
+    LoggerContext loggerContext = new LoggerContext();
+    Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+    Logger logger = loggerContext.getLogger(ReusableLoggingEventTest.class);
+    ListAppender<ILoggingEvent> listAppender = new ListAppender<>();
+    SnapshotAppender snapshotAppender = new SnapshotAppender();
+
+    @BeforeEach
+    public void setUp() {
+        loggerContext.setEventReuseEnabled(true);
+        listAppender.setContext(loggerContext);
+        listAppender.start();
+        snapshotAppender.setContext(loggerContext);
+        snapshotAppender.start();
+        root.addAppender(listAppender);
+        root.addAppender(snapshotAppender);
+    }
+
+    @Test
+    public void nonRetainingAppenderSeesTheSameInstance() {
+        logger.info("a");
+        logger.info("b={}", 1);
+        logger.info("c={} {}", 1, 2);
+
+        assertEquals(3, snapshotAppender.events.size());
+        assertSame(snapshotAppender.events.get(0), snapshotAppender.events.get(1));
+        assertSame(snapshotAppender.events.get(1), snapshotAppender.events.get(2));
+        assertEquals(List.of("a", "b=1", "c=1 2"), snapshotAppender.messages);
+    }
+
+    @Test
+    public void retainingAppenderGetsCopies() {
+        Marker marker = MarkerFactory.getMarker("M");
+        logger.info(marker, "a={}", "x");
+        logger.warn("b={} {}", 1, 2);
+
+        assertEquals(2, listAppender.list.size());
+        ILoggingEvent first = listAppender.list.get(0);
+        ILoggingEvent second = listAppender.list.get(1);
+        assertNotSame(first, second);
+        assertFalse(first instanceof ReusableLoggingEvent);
+
+        assertEquals("a=x", first.getFormattedMessage());
+        assertArrayEquals(new Object[] { "x" }, first.getArgumentArray());
+        assertEquals(List.of(marker), first.getMarkerList());
+        assertEquals(first.getTimeStamp(), first.getInstant().toEpochMilli());
+        assertEquals(first.getInstant().getNano(), first.getNanoseconds());
+
+        assertEquals("b=1 2", second.getFormattedMessage());
+        assertArrayEquals(new Object[] { 1, 2 }, second.getArgumentArray());
+        assertEquals(null, second.getMarkerList());
+    }
+
+    @Test
+    public void reentrantRequestGetsAnotherEvent() {
+        Logger inner = loggerContext.getLogger("inner");
+        inner.setAdditive(false);
+        ListAppender<ILoggingEvent> innerAppender = new ListAppender<>();
+        innerAppender.start();
+        inner.addAppender(innerAppender);
+        snapshotAppender.onAppend = () -> inner.info("inner");
+
+        logger.info("outer");
+
+        assertEquals(List.of("outer"), snapshotAppender.messages);
+        assertEquals(1, innerAppender.list.size());
+        assertEquals("inner", innerAppender.list.get(0).getFormattedMessage());
+        assertEquals("outer", listAppender.list.get(0).getFormattedMessage());
+    }
+
+    @Test
+    public void instantIsConsistentWithTimeStamp() {
+        logger.info("a");
+        ReusableLoggingEvent event = (ReusableLoggingEvent) snapshotAppender.events.get(0);
+        assertTrue(snapshotAppender.timeStampMatchedInstant);
+        assertFalse(event.isRecyclable());
+    }
+
+    @Test
+    public void timeStampsHaveTheClockPrecision() {
+        // as precise as those of regular events, provided the clock is
+        boolean subMillisecondClock = false;
+        for (int i = 0; i < 100 && !subMillisecondClock; i++) {
+            subMillisecondClock = Clock.systemUTC().instant().getNano() % 1000_000 != 0;
+        }
+        assumeTrue(subMillisecondClock);
+
+        for (int i = 0; i < 100; i++) {
+            logger.info("a");
+        }
+        assertTrue(snapshotAppender.nanosecondsBelowMillisecond.stream().anyMatch(n -> n != 0));
+    }
+
+    @Test
+    public void eventsAreNotReusedWhenDisabled() {
+        loggerContext.setEventReuseEnabled(false);
+        logger.info("a");
+        logger.info("b");
+        assertNotSame(snapshotAppender.events.get(0), snapshotAppender.events.get(1));
+        assertFalse(snapshotAppender.events.get(0) instanceof ReusableLoggingEvent);
+    }
+
+    static class SnapshotAppender extends AppenderBase<ILoggingEvent> {
+        List<ILoggingEvent> events = new ArrayList<>();
+        List<String> messages = new ArrayList<>();
+        boolean timeStampMatchedInstant = true;
+        List<Integer> nanosecondsBelowMillisecond = new ArrayList<>();
+        Runnable onAppend;
+
+        @Override
+        public boolean isRetainingEvents() {
+            return false;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            events.add(event);
+            messages.add(event.getFormattedMessage());
+            timeStampMatchedInstant &= event.getTimeStamp() == event.getInstant().toEpochMilli();
+            nanosecondsBelowMillisecond.add(event.getNanoseconds() % 1000_000);
+            if (onAppend != null) {
+                onAppend.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StackTraceElementProxyCacheTest {
+
+    StackTraceElementProxyCache cache = new StackTraceElementProxyCache(2);
+
+    StackTraceElement[] stackTrace(int line) {
+        return new StackTraceElement[] { new StackTraceElement("a.B", "m", "B.java", line),
+                new StackTraceElement("a.C", "main", "C.java", 1) };
+    }
+
+    @Test
+    public void equalStackTracesAreInterned() {
+        StackTraceElementProxy[] first = cache.intern(stackTrace(10));
+        StackTraceElementProxy[] second = cache.intern(stackTrace(10));
+        assertSame(first, second);
+        assertNotSame(first, cache.intern(stackTrace(11)));
+    }
+
+    @Test
+    public void sizeIsBounded() {
+        for (int i = 0; i < 10; i++) {
+            cache.intern(stackTrace(i));
+            assertTrue(cache.size() <= 2);
+        }
+        StackTraceElementProxy[] last = cache.intern(stackTrace(9));
+        assertSame(last, cache.intern(stackTrace(9)));
+    }
+
+    @Test
+    public void recentlyLookedUpEntriesSurviveEviction() {
+        StackTraceElementProxyCache cache = new StackTraceElementProxyCache(3);
+        StackTraceElementProxy[] hot = cache.intern(stackTrace(0));
+        for (int i = 1; i < 100; i++) {
+            assertSame(hot, cache.intern(stackTrace(0)));
+            cache.intern(stackTrace(i));
+        }
+        assertSame(hot, cache.intern(stackTrace(0)));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void stackTracesDifferingBeyondHashedFramesAreDistinct() {
+        int length = StackTraceElementProxyCache.HASHED_FRAME_COUNT + 2;
+        StackTraceElement[] a = new StackTraceElement[length];
+        StackTraceElement[] b = new StackTraceElement[length];
+        for (int i = 0; i < length; i++) {
+            a[i] = new StackTraceElement("a.B", "m", "B.java", i);
+            b[i] = new StackTraceElement("a.B", "m", "B.java", i == length - 1 ? -1 : i);
+        }
+        StackTraceElementProxy[] aStepArray = cache.intern(a);
+        StackTraceElementProxy[] bStepArray = cache.intern(b);
+        assertNotSame(aStepArray, bStepArray);
+        assertEquals(b[length - 1], bStepArray[length - 1].getStackTraceElement());
+    }
+
+    @Test
+    public void emptyStackTrace() {
+        assertSame(ThrowableProxy.EMPTY_STEP, cache.intern(null));
+        assertSame(ThrowableProxy.EMPTY_STEP, cache.intern(new StackTraceElement[0]));
+        assertEquals(0, cache.size());
+    }
+}
@@ -23,6 +23,8 @@ import java.io.StringWriter;
 import java.lang.reflect.InvocationTargetException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class ThrowableProxyTest {
 
@@ -180,6 +182,56 @@ public class ThrowableProxyTest {
         verify(e);
     }
 
+    @Test
+    public void stackTraceIsMaterializedLazily() {
+        StackTraceCountingException e = new StackTraceCountingException(new Exception("cause"));
+        ThrowableProxy tp = new ThrowableProxy(e);
+        assertEquals(0, e.getStackTraceCount);
+
+        assertEquals("cause", tp.getCause().getMessage());
+        assertEquals(1, e.getStackTraceCount);
+        tp.getStackTraceElementProxyArray();
+        tp.getSuppressed();
+        assertEquals(1, e.getStackTraceCount);
+    }
+
+    @Test
+    public void identicalStackTracesShareProxyArrays() {
+        StackTraceElementProxyCache cache = new StackTraceElementProxyCache(8);
+        ThrowableProxy[] tps = new ThrowableProxy[2];
+        for (int i = 0; i < tps.length; i++) {
+            try {
+                someOtherMethod();
+            } catch (Exception e) {
+                tps[i] = new ThrowableProxy(e, cache);
+            }
+        }
+        assertSame(tps[0].getStackTraceElementProxyArray(), tps[1].getStackTraceElementProxyArray());
+        assertSame(tps[0].getCause().getStackTraceElementProxyArray(),
+                tps[1].getCause().getStackTraceElementProxyArray());
+        assertEquals(ThrowableProxyUtil.asString(tps[0]), ThrowableProxyUtil.asString(tps[1]));
+
+        // packaging data is computed once for shared frames
+        tps[0].calculatePackagingData();
+        tps[1].calculatePackagingData();
+        assertNotNull(tps[1].getStackTraceElementProxyArray()[0].getClassPackagingData());
+    }
+
+    static class StackTraceCountingException extends Exception {
+        private static final long serialVersionUID = 1L;
+        int getStackTraceCount;
+
+        StackTraceCountingException(Throwable cause) {
+            super("counting", cause);
+        }
+
+        @Override
+        public StackTraceElement[] getStackTrace() {
+            getStackTraceCount++;
+            return super.getStackTrace();
+        }
+    }
+
     void someMethod() throws Exception {
         throw new Exception("someMethod");
     }
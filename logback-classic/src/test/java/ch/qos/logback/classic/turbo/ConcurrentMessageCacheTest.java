@@ -0,0 +1,137 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.turbo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentMessageCacheTest {
+
+    @Test
+    public void testEldestEntriesRemoval() {
+        final ConcurrentMessageCache cache = new ConcurrentMessageCache(2);
+        assertEquals(0, cache.getMessageCountAndThenIncrement("0"));
+        assertEquals(1, cache.getMessageCountAndThenIncrement("0"));
+        assertEquals(0, cache.getMessageCountAndThenIncrement("1"));
+        assertEquals(1, cache.getMessageCountAndThenIncrement("1"));
+        // 0 entry should have been removed.
+        assertEquals(0, cache.getMessageCountAndThenIncrement("2"));
+        // 1 entry should have been removed.
+        assertEquals(0, cache.getMessageCountAndThenIncrement("0"));
+        // 2 entry should have been removed.
+        assertEquals(0, cache.getMessageCountAndThenIncrement("1"));
+        assertEquals(0, cache.getMessageCountAndThenIncrement("2"));
+    }
+
+    @Test
+    public void recentlyCountedMessagesAreKept() {
+        final ConcurrentMessageCache cache = new ConcurrentMessageCache(2);
+        cache.getMessageCountAndThenIncrement("0");
+        cache.getMessageCountAndThenIncrement("1");
+        cache.getMessageCountAndThenIncrement("0");
+        // 1 is the least recently counted
+        cache.getMessageCountAndThenIncrement("2");
+        assertEquals(2, cache.getMessageCountAndThenIncrement("0"));
+        assertEquals(0, cache.getMessageCountAndThenIncrement("1"));
+    }
+
+    @Test
+    public void smallCachesEvictInExactLruOrder() {
+        int cacheSize = 5;
+        ConcurrentMessageCache cache = new ConcurrentMessageCache(cacheSize);
+        // reference model, an access ordered map
+        Map<String, Integer> lru = new LinkedHashMap<String, Integer>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        Random random = new Random(1234);
+        for (int i = 0; i < 10000; i++) {
+            String msg = "msg" + random.nextInt(2 * cacheSize);
+            Integer previous = lru.get(msg);
+            int expected = previous == null ? 0 : previous + 1;
+            lru.put(msg, expected);
+            assertEquals(expected, cache.getMessageCountAndThenIncrement(msg));
+        }
+    }
+
+    @Test
+    public void shardsOfLargeCachesEvictInClockOrder() {
+        ConcurrentMessageCache.Shard shard = new ConcurrentMessageCache.ClockShard(3);
+        shard.getCountAndThenIncrement("a");
+        shard.getCountAndThenIncrement("b");
+        shard.getCountAndThenIncrement("c");
+        shard.getCountAndThenIncrement("a");
+        // the hand clears a and evicts b
+        shard.getCountAndThenIncrement("d");
+        shard.getCountAndThenIncrement("a");
+        // the hand evicts c, the least recently counted
+        shard.getCountAndThenIncrement("e");
+        shard.getCountAndThenIncrement("d");
+        // a is the least recently counted, but like d it was counted since the hand
+        // last passed it, whereas e was not
+        shard.getCountAndThenIncrement("f");
+        assertEquals(3, shard.getCountAndThenIncrement("a"));
+        assertEquals(2, shard.getCountAndThenIncrement("d"));
+        assertEquals(0, shard.getCountAndThenIncrement("e"));
+    }
+
+    @Test
+    public void largeCachesAreBounded() {
+        int cacheSize = 1000;
+        ConcurrentMessageCache cache = new ConcurrentMessageCache(cacheSize);
+        for (int i = 0; i < 10 * cacheSize; i++) {
+            cache.getMessageCountAndThenIncrement("msg" + i);
+        }
+        assertEquals(cacheSize, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void concurrentCountsAreNotLost() throws InterruptedException {
+        ConcurrentMessageCache cache = new ConcurrentMessageCache(100);
+        int threadCount = 4;
+        int loopLength = 10000;
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < loopLength; i++) {
+                    cache.getMessageCountAndThenIncrement("msg" + (i % 10));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int i = 0; i < 10; i++) {
+            int count = cache.getMessageCountAndThenIncrement("msg" + i);
+            assertEquals(threadCount * loopLength / 10, count);
+        }
+        assertTrue(cache.size() <= 100);
+    }
+}
@@ -13,6 +13,8 @@
  */
 package ch.qos.logback.classic.turbo;
 
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.core.spi.FilterReply;
 import org.junit.jupiter.api.Test;
 
@@ -61,6 +63,21 @@ public class DuplicateMessageFilterTest {
         }
     }
 
+    @Test
+    public void includeLoggerName() {
+        LoggerContext lc = new LoggerContext();
+        Logger a = lc.getLogger("a");
+        Logger b = lc.getLogger("b");
+        DuplicateMessageFilter dmf = new DuplicateMessageFilter();
+        dmf.setAllowedRepetitions(0);
+        dmf.setIncludeLoggerName(true);
+        dmf.start();
+        assertEquals(FilterReply.NEUTRAL, dmf.decide(null, a, null, "x {}", "1", null));
+        assertEquals(FilterReply.NEUTRAL, dmf.decide(null, b, null, "x {}", "2", null));
+        assertEquals(FilterReply.DENY, dmf.decide(null, a, null, "x {}", "3", null));
+        assertEquals(FilterReply.DENY, dmf.decide(null, b, null, "x {}", "4", null));
+    }
+
     @Test
     // isXXXEnabled invokes decide with a null format
     // http://jira.qos.ch/browse/LBCLASSIC-134
@@ -0,0 +1,114 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+public class PersistentMDCAdapterTest {
+
+    PersistentMDCAdapter mdcAdapter = new PersistentMDCAdapter();
+
+    @Test
+    public void snapshotsAreNotAffectedByLaterChanges() {
+        mdcAdapter.put("a", "1");
+        mdcAdapter.put("span", "s1");
+        Map<String, String> snapshot1 = mdcAdapter.getPropertyMap();
+        // no copy as long as the MDC is unchanged
+        assertSame(snapshot1, mdcAdapter.getPropertyMap());
+
+        mdcAdapter.put("span", "s2");
+        Map<String, String> snapshot2 = mdcAdapter.getPropertyMap();
+        mdcAdapter.remove("a");
+
+        assertEquals("s1", snapshot1.get("span"));
+        assertEquals("s2", snapshot2.get("span"));
+        assertEquals("1", snapshot2.get("a"));
+        assertNull(mdcAdapter.get("a"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot2.put("x", "y"));
+    }
+
+    @Test
+    public void contextMapRoundTrip() {
+        assertNull(mdcAdapter.getPropertyMap());
+        assertNull(mdcAdapter.getCopyOfContextMap());
+
+        Map<String, String> contextMap = new HashMap<>();
+        contextMap.put("a", "1");
+        contextMap.put("b", null);
+        mdcAdapter.setContextMap(contextMap);
+        assertEquals(contextMap, mdcAdapter.getCopyOfContextMap());
+        assertEquals(contextMap.keySet(), mdcAdapter.getKeys());
+
+        mdcAdapter.clear();
+        assertNull(mdcAdapter.getPropertyMap());
+    }
+
+    @Test
+    public void nullKey() {
+        assertThrows(IllegalArgumentException.class, () -> mdcAdapter.put(null, "x"));
+        mdcAdapter.remove(null);
+        assertNull(mdcAdapter.get(null));
+    }
+
+    @Test
+    public void whereBindsForTheDurationOfTheTask() throws Exception {
+        mdcAdapter.put("a", "1");
+        PersistentMDCAdapter.Carrier carrier = mdcAdapter.where("span", "s1").where("a", "2");
+
+        carrier.run(() -> {
+            assertEquals("s1", mdcAdapter.get("span"));
+            assertEquals("2", mdcAdapter.get("a"));
+            // discarded when the task completes
+            mdcAdapter.put("b", "x");
+        });
+        assertEquals("1", mdcAdapter.get("a"));
+        assertNull(mdcAdapter.get("span"));
+        assertNull(mdcAdapter.get("b"));
+
+        mdcAdapter.clear();
+        assertEquals("s1", carrier.call(() -> mdcAdapter.get("span")));
+        assertNull(mdcAdapter.getPropertyMap());
+    }
+
+    @Test
+    public void wrapPropagatesCurrentContext() throws Exception {
+        mdcAdapter.put("requestId", "r1");
+        Runnable runnable = mdcAdapter.wrap(() -> assertEquals("r1", mdcAdapter.get("requestId")));
+        Callable<String> callable = mdcAdapter.wrap(() -> mdcAdapter.get("requestId"));
+        mdcAdapter.put("requestId", "r2");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(runnable).get();
+            assertEquals("r1", executor.submit(callable).get());
+            // the worker thread is left without MDC
+            assertFalse(executor.submit(() -> mdcAdapter.getPropertyMap() != null).get());
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals("r2", mdcAdapter.get("requestId"));
+    }
+}
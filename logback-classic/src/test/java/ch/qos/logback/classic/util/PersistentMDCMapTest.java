@@ -0,0 +1,112 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class PersistentMDCMapTest {
+
+    @Test
+    public void smoke() {
+        PersistentMDCMap m0 = PersistentMDCMap.EMPTY;
+        PersistentMDCMap m1 = m0.with("a", "1");
+        PersistentMDCMap m2 = m1.with("b", null);
+
+        assertTrue(m0.isEmpty());
+        assertEquals("1", m1.get("a"));
+        assertEquals(1, m1.size());
+        assertEquals(2, m2.size());
+        assertNull(m2.get("b"));
+        assertTrue(m2.containsKey("b"));
+        assertFalse(m1.containsKey("b"));
+
+        assertSame(m2, m2.with("a", "1"));
+        assertSame(m2, m2.without("x"));
+        assertSame(PersistentMDCMap.EMPTY, m1.without("a"));
+        assertThrows(UnsupportedOperationException.class, () -> m2.put("c", "3"));
+    }
+
+    @Test
+    public void randomOperationsMatchHashMap() {
+        Random random = new Random(123);
+        Map<String, String> witness = new HashMap<>();
+        PersistentMDCMap map = PersistentMDCMap.EMPTY;
+        for (int i = 0; i < 20000; i++) {
+            String key = "k" + random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                witness.remove(key);
+                map = map.without(key);
+            } else {
+                String value = "v" + i;
+                witness.put(key, value);
+                map = map.with(key, value);
+            }
+            if (i % 500 == 0) {
+                assertEquals(witness, map);
+                assertEquals(witness.hashCode(), map.hashCode());
+            }
+        }
+        assertEquals(witness, map);
+    }
+
+    @Test
+    public void keysWithCollidingHashes() {
+        // "Aa" and "BB" have the same hash code, so do their concatenations
+        String[] keys = { "AaAa", "AaBB", "BBAa", "BBBB" };
+        PersistentMDCMap map = PersistentMDCMap.EMPTY;
+        for (String key : keys) {
+            map = map.with(key, key.toLowerCase());
+        }
+        map = map.with("other", "x");
+        assertEquals(5, map.size());
+        for (String key : keys) {
+            assertEquals(key.toLowerCase(), map.get(key));
+        }
+        map = map.without("AaBB").without("BBBB");
+        assertEquals(3, map.size());
+        assertNull(map.get("AaBB"));
+        assertEquals("bbaa", map.get("BBAa"));
+        assertEquals("x", map.get("other"));
+    }
+
+    @Test
+    public void serializedAsPlainMap() throws IOException, ClassNotFoundException {
+        PersistentMDCMap map = PersistentMDCMap.EMPTY.with("a", "1").with("b", "2");
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(map);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+            Object copy = ois.readObject();
+            assertEquals(HashMap.class, copy.getClass());
+            assertEquals(map, copy);
+        }
+    }
+}
@@ -13,6 +13,8 @@
  */
 package ch.qos.logback.core;
 
+import java.util.List;
+
 import ch.qos.logback.core.spi.ContextAware;
 import ch.qos.logback.core.spi.FilterAttachable;
 import ch.qos.logback.core.spi.LifeCycle;
@@ -32,6 +34,42 @@ public interface Appender<E> extends LifeCycle, ContextAware, FilterAttachable<E
      */
     void doAppend(E event) throws LogbackException;
 
+    /**
+     * Append a batch of events. The default implementation invokes
+     * {@link #doAppend(Object)} for each event in turn. Appenders capable of
+     * handling several events at once, e.g. with a single write, can override
+     * this method.
+     * 
+     * <p>
+     * Implementations must not retain a reference to the list after this method
+     * returns as callers are free to reuse it.
+     * 
+     * @param events
+     * @since 1.4.5
+     */
+    default void doAppendBatch(List<E> events) throws LogbackException {
+        for (E event : events) {
+            doAppend(event);
+        }
+    }
+
+    /**
+     * Whether this appender may keep references to events after
+     * {@link #doAppend(Object)} returns, e.g. to process them asynchronously or
+     * to buffer them. Appenders which handle events synchronously should return
+     * false, allowing callers to reuse event instances.
+     * 
+     * <p>
+     * The default is conservatively true.
+     * </p>
+     * 
+     * @see ch.qos.logback.core.spi.RecyclableEvent
+     * @since 1.4.5
+     */
+    default boolean isRetainingEvents() {
+        return true;
+    }
+
     /**
      * Set the name of this appender. The name is used by other components to
      * identify this appender.
@@ -16,6 +16,8 @@ package ch.qos.logback.core;
 import ch.qos.logback.core.spi.AppenderAttachable;
 import ch.qos.logback.core.spi.AppenderAttachableImpl;
 import ch.qos.logback.core.util.InterruptUtil;
+import ch.qos.logback.core.util.RingBufferQueue;
+import ch.qos.logback.core.util.WaitStrategy;
 
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -31,7 +33,16 @@ import java.util.concurrent.BlockingQueue;
  * <p>
  * This appender buffers events in a {@link BlockingQueue}. {@link Worker}
  * thread created by this appender takes events from the head of the queue, and
- * dispatches them to the single appender attached to this appender.
+ * dispatches them to the single appender attached to this appender. Events
+ * found in the queue at the same time are dispatched together as a batch via
+ * {@link Appender#doAppendBatch(List)}.
+ * <p>
+ * By default, the queue is an {@link ArrayBlockingQueue}. Setting the
+ * <b>queueType</b> property to "ringBuffer" selects a lock-free
+ * {@link RingBufferQueue} instead, which scales better with many producer
+ * threads. In that case, the <b>waitStrategy</b> property, one of "spin",
+ * "yield" or "park", determines how producers wait on a full queue and how the
+ * worker waits on an empty one.
  * <p>
  * Please refer to the
  * <a href="http://logback.qos.ch/manual/appenders.html#AsyncAppender">logback
@@ -70,6 +81,13 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
     public static final int DEFAULT_MAX_FLUSH_TIME = 1000;
     int maxFlushTime = DEFAULT_MAX_FLUSH_TIME;
 
+    public static final String ARRAY_BLOCKING_QUEUE_TYPE = "arrayBlocking";
+    public static final String RING_BUFFER_QUEUE_TYPE = "ringBuffer";
+    String queueType = ARRAY_BLOCKING_QUEUE_TYPE;
+
+    public static final String DEFAULT_WAIT_STRATEGY = WaitStrategy.PARK.getName();
+    String waitStrategy = DEFAULT_WAIT_STRATEGY;
+
     /**
      * Is the eventObject passed as parameter discardable? The base class's
      * implementation of this method always returns 'false' but sub-classes may (and
@@ -106,7 +124,10 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
             addError("Invalid queue size [" + queueSize + "]");
             return;
         }
-        blockingQueue = new ArrayBlockingQueue<E>(queueSize);
+        blockingQueue = buildQueue();
+        if (blockingQueue == null) {
+            return;
+        }
 
         if (discardingThreshold == UNDEFINED)
             discardingThreshold = queueSize / 5;
@@ -119,6 +140,24 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
         worker.start();
     }
 
+    private BlockingQueue<E> buildQueue() {
+        if (ARRAY_BLOCKING_QUEUE_TYPE.equalsIgnoreCase(queueType)) {
+            return new ArrayBlockingQueue<E>(queueSize);
+        }
+        if (RING_BUFFER_QUEUE_TYPE.equalsIgnoreCase(queueType)) {
+            WaitStrategy strategy = WaitStrategy.findByName(waitStrategy);
+            if (strategy == null) {
+                addError("Unknown waitStrategy [" + waitStrategy + "]. Expected one of spin, yield or park.");
+                return null;
+            }
+            addInfo("Using a ring buffer queue with [" + strategy.getName() + "] wait strategy");
+            return new RingBufferQueue<E>(queueSize, strategy);
+        }
+        addError("Unknown queueType [" + queueType + "]. Expected " + ARRAY_BLOCKING_QUEUE_TYPE + " or "
+                + RING_BUFFER_QUEUE_TYPE + ".");
+        return null;
+    }
+
     @Override
     public void stop() {
         if (!isStarted())
@@ -229,6 +268,36 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
         return blockingQueue.size();
     }
 
+    public String getQueueType() {
+        return queueType;
+    }
+
+    /**
+     * The type of queue buffering events, either "arrayBlocking" (the default) or
+     * "ringBuffer".
+     * 
+     * @param queueType
+     * @since 1.4.5
+     */
+    public void setQueueType(String queueType) {
+        this.queueType = queueType;
+    }
+
+    public String getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * How threads wait on the "ringBuffer" queue, one of "spin", "yield" or "park"
+     * (the default). Ignored for other queue types.
+     * 
+     * @param waitStrategy
+     * @since 1.4.5
+     */
+    public void setWaitStrategy(String waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
     public void setNeverBlock(boolean neverBlock) {
         this.neverBlock = neverBlock;
     }
@@ -290,17 +359,16 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
         public void run() {
             AsyncAppenderBase<E> parent = AsyncAppenderBase.this;
             AppenderAttachableImpl<E> aai = parent.aai;
+            List<E> elements = new ArrayList<E>();
 
             // loop while the parent is started
             while (parent.isStarted()) {
                 try {
-                    List<E> elements = new ArrayList<E>();
                     E e0 = parent.blockingQueue.take();
                     elements.add(e0);
                     parent.blockingQueue.drainTo(elements);
-                    for (E e : elements) {
-                        aai.appendLoopOnAppenders(e);
-                    }
+                    aai.appendBatchLoopOnAppenders(elements);
+                    elements.clear();
                 } catch (InterruptedException e1) {
                     // exit if interrupted
                     break;
@@ -309,9 +377,10 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
 
             addInfo("Worker thread will flush remaining events before exiting. ");
 
-            for (E e : parent.blockingQueue) {
-                aai.appendLoopOnAppenders(e);
-                parent.blockingQueue.remove(e);
+            parent.blockingQueue.drainTo(elements);
+            if (!elements.isEmpty()) {
+                aai.appendBatchLoopOnAppenders(elements);
+                elements.clear();
             }
 
             aai.detachAndStopAllAppenders();
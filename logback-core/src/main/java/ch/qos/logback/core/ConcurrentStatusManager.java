@@ -0,0 +1,397 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core;
+
+import static ch.qos.logback.core.BasicStatusManager.MAX_HEADER_COUNT;
+import static ch.qos.logback.core.BasicStatusManager.TAIL_SIZE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import ch.qos.logback.core.status.ErrorStatus;
+import ch.qos.logback.core.status.InfoStatus;
+import ch.qos.logback.core.status.OnConsoleStatusListener;
+import ch.qos.logback.core.status.Status;
+import ch.qos.logback.core.status.StatusListener;
+import ch.qos.logback.core.status.StatusManager;
+import ch.qos.logback.core.status.WarnStatus;
+import ch.qos.logback.core.util.RingBufferQueue;
+import ch.qos.logback.core.util.WaitStrategy;
+
+/**
+ * A {@link StatusManager} suited for components emitting statuses on hot
+ * paths, e.g. an appender reporting dropped events under load.
+ * 
+ * <p>
+ * Like {@link BasicStatusManager}, the first {@link BasicStatusManager#MAX_HEADER_COUNT}
+ * statuses are retained as well as the last {@link BasicStatusManager#TAIL_SIZE}
+ * ones. However, adding a status does not take any lock: header and tail slots
+ * are claimed with atomic counters. As a consequence, the list returned by
+ * {@link #getCopyOfStatusList()} is a weakly consistent snapshot when statuses
+ * are added concurrently.
+ * </p>
+ * 
+ * <p>
+ * A status identical to one added less than {@link #getRepeatWindow() repeat
+ * window} milliseconds earlier, i.e. with the same level, message and origin,
+ * is counted but neither retained nor delivered to listeners. Once the window
+ * is over, a single status reports how many times the original one was
+ * repeated.
+ * </p>
+ * 
+ * <p>
+ * Statuses are delivered to {@link StatusListener}s asynchronously, in the
+ * order they were added, by a daemon thread which exits when idle. If
+ * listeners cannot keep up, statuses which do not fit in a queue of
+ * {@link #LISTENER_QUEUE_SIZE} are not delivered and a warning reports their
+ * number.
+ * </p>
+ * 
+ * <p>
+ * The status manager of a context can be set by invoking
+ * {@link ContextBase#setStatusManager(StatusManager)} or, for the default
+ * context, by setting the "logback.statusManagerClass" system property to the
+ * name of this class.
+ * </p>
+ * 
+ * @since 1.4.5
+ */
+public class ConcurrentStatusManager implements StatusManager {
+
+    public static final long DEFAULT_REPEAT_WINDOW = 1000;
+    public static final int LISTENER_QUEUE_SIZE = 1024;
+    static final int MAX_TRACKED_REPEATS = 256;
+
+    volatile Buffers buffers = new Buffers();
+    final AtomicInteger count = new AtomicInteger();
+    final AtomicInteger level = new AtomicInteger(Status.INFO);
+
+    long repeatWindow = DEFAULT_REPEAT_WINDOW;
+    final Map<RepeatKey, Repeat> repeats = new ConcurrentHashMap<>();
+
+    final List<StatusListener> statusListenerList = new CopyOnWriteArrayList<>();
+    final RingBufferQueue<Status> listenerQueue = new RingBufferQueue<>(LISTENER_QUEUE_SIZE, WaitStrategy.PARK);
+    final AtomicInteger undeliveredCount = new AtomicInteger();
+    final AtomicBoolean dispatcherRunning = new AtomicBoolean();
+
+    /**
+     * Add a new status object.
+     * 
+     * @param newStatus the status message to add
+     */
+    public void add(Status newStatus) {
+        count.incrementAndGet();
+        int newLevel = newStatus.getLevel();
+        int currentLevel;
+        while (newLevel > (currentLevel = level.get())) {
+            level.compareAndSet(currentLevel, newLevel);
+        }
+
+        if (isRepeat(newStatus)) {
+            return;
+        }
+        retain(newStatus);
+        fireStatusAddEvent(newStatus);
+    }
+
+    private void retain(Status status) {
+        Buffers b = buffers;
+        if (b.headerIndex.get() < MAX_HEADER_COUNT) {
+            int index = b.headerIndex.getAndIncrement();
+            if (index < MAX_HEADER_COUNT) {
+                b.header.set(index, status);
+                return;
+            }
+        }
+        long position = b.tailIndex.getAndIncrement();
+        b.tail.set((int) (position % TAIL_SIZE), status);
+    }
+
+    private boolean isRepeat(Status status) {
+        if (repeatWindow <= 0) {
+            return false;
+        }
+        long now = status.getDate();
+        RepeatKey key = new RepeatKey(status);
+        while (true) {
+            Repeat repeat = repeats.get(key);
+            if (repeat == null) {
+                if (repeats.size() >= MAX_TRACKED_REPEATS) {
+                    reportExpiredRepeats(now);
+                    if (repeats.size() >= MAX_TRACKED_REPEATS) {
+                        return false;
+                    }
+                }
+                if (repeats.putIfAbsent(key, new Repeat(status)) == null) {
+                    return false;
+                }
+            } else if (now - repeat.windowStart < repeatWindow) {
+                repeat.repeatCount.incrementAndGet();
+                return true;
+            } else if (repeats.replace(key, repeat, new Repeat(status))) {
+                reportRepeat(repeat);
+                return false;
+            }
+            // else another thread changed the entry, try again
+        }
+    }
+
+    /**
+     * Report the repeats whose window is over and stop tracking them.
+     */
+    void reportExpiredRepeats(long now) {
+        for (Map.Entry<RepeatKey, Repeat> entry : repeats.entrySet()) {
+            Repeat repeat = entry.getValue();
+            if (now - repeat.windowStart >= repeatWindow && repeats.remove(entry.getKey(), repeat)) {
+                reportRepeat(repeat);
+            }
+        }
+    }
+
+    private void reportRepeat(Repeat repeat) {
+        int repeatCount = repeat.repeatCount.getAndSet(0);
+        if (repeatCount == 0) {
+            return;
+        }
+        Status first = repeat.first;
+        String message = "Previous status repeated " + repeatCount + " more times within " + repeatWindow
+                + " ms: " + first.getMessage();
+        Status summary = newStatus(first.getLevel(), message, first.getOrigin());
+        retain(summary);
+        fireStatusAddEvent(summary);
+    }
+
+    private boolean hasPendingRepeats() {
+        for (Repeat repeat : repeats.values()) {
+            if (repeat.repeatCount.get() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Status newStatus(int level, String message, Object origin) {
+        switch (level) {
+        case Status.ERROR:
+            return new ErrorStatus(message, origin);
+        case Status.WARN:
+            return new WarnStatus(message, origin);
+        default:
+            return new InfoStatus(message, origin);
+        }
+    }
+
+    public List<Status> getCopyOfStatusList() {
+        if (repeatWindow > 0) {
+            reportExpiredRepeats(System.currentTimeMillis());
+        }
+        Buffers b = buffers;
+        List<Status> tList = new ArrayList<Status>(MAX_HEADER_COUNT + TAIL_SIZE);
+        int headerCount = Math.min(b.headerIndex.get(), MAX_HEADER_COUNT);
+        for (int i = 0; i < headerCount; i++) {
+            Status s = b.header.get(i);
+            // null if the slot was claimed but is not yet written
+            if (s != null) {
+                tList.add(s);
+            }
+        }
+        long end = b.tailIndex.get();
+        for (long position = Math.max(0, end - TAIL_SIZE); position < end; position++) {
+            Status s = b.tail.get((int) (position % TAIL_SIZE));
+            if (s != null) {
+                tList.add(s);
+            }
+        }
+        return tList;
+    }
+
+    private void fireStatusAddEvent(Status status) {
+        if (statusListenerList.isEmpty()) {
+            return;
+        }
+        if (!listenerQueue.offer(status)) {
+            undeliveredCount.incrementAndGet();
+        }
+        startDispatcherIfNeeded();
+    }
+
+    private void startDispatcherIfNeeded() {
+        if (dispatcherRunning.compareAndSet(false, true)) {
+            Thread dispatcher = new Thread(new Dispatcher(), "logback-status-dispatcher");
+            dispatcher.setDaemon(true);
+            dispatcher.start();
+        }
+    }
+
+    public void clear() {
+        count.set(0);
+        buffers = new Buffers();
+        repeats.clear();
+    }
+
+    public int getLevel() {
+        return level.get();
+    }
+
+    public int getCount() {
+        return count.get();
+    }
+
+    /**
+     * The period in milliseconds during which identical statuses are counted
+     * instead of being retained. A value of zero or less disables the
+     * aggregation of repeated statuses.
+     */
+    public long getRepeatWindow() {
+        return repeatWindow;
+    }
+
+    public void setRepeatWindow(long repeatWindow) {
+        this.repeatWindow = repeatWindow;
+    }
+
+    /**
+     * This implementation does not allow duplicate installations of
+     * OnConsoleStatusListener
+     * 
+     * @param listener
+     */
+    public boolean add(StatusListener listener) {
+        synchronized (statusListenerList) {
+            if (listener instanceof OnConsoleStatusListener) {
+                for (StatusListener e : statusListenerList) {
+                    if (e.getClass() == listener.getClass())
+                        return false;
+                }
+            }
+            statusListenerList.add(listener);
+        }
+        return true;
+    }
+
+    public void remove(StatusListener listener) {
+        statusListenerList.remove(listener);
+    }
+
+    public List<StatusListener> getCopyOfStatusListenerList() {
+        return new ArrayList<StatusListener>(statusListenerList);
+    }
+
+    static class Buffers {
+        final AtomicReferenceArray<Status> header = new AtomicReferenceArray<>(MAX_HEADER_COUNT);
+        final AtomicInteger headerIndex = new AtomicInteger();
+        final AtomicReferenceArray<Status> tail = new AtomicReferenceArray<>(TAIL_SIZE);
+        final AtomicLong tailIndex = new AtomicLong();
+    }
+
+    static class Repeat {
+        final Status first;
+        final long windowStart;
+        final AtomicInteger repeatCount = new AtomicInteger();
+
+        Repeat(Status first) {
+            this.first = first;
+            this.windowStart = first.getDate();
+        }
+    }
+
+    static class RepeatKey {
+        final int level;
+        final String message;
+        final Object origin;
+
+        RepeatKey(Status status) {
+            this.level = status.getLevel();
+            this.message = status.getMessage();
+            this.origin = status.getOrigin();
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * level + (message == null ? 0 : message.hashCode()))
+                    + System.identityHashCode(origin);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof RepeatKey)) {
+                return false;
+            }
+            RepeatKey other = (RepeatKey) obj;
+            return level == other.level && origin == other.origin
+                    && (message == null ? other.message == null : message.equals(other.message));
+        }
+    }
+
+    /**
+     * Delivers queued statuses to listeners. Also reports repeats once their
+     * window is over so that listeners eventually learn about them.
+     */
+    class Dispatcher implements Runnable {
+
+        public void run() {
+            long idleTimeout = Math.max(repeatWindow, 100);
+            try {
+                while (true) {
+                    Status status = listenerQueue.poll(idleTimeout, TimeUnit.MILLISECONDS);
+                    if (status != null) {
+                        reportUndelivered();
+                        deliver(status);
+                        continue;
+                    }
+                    if (repeatWindow > 0) {
+                        reportExpiredRepeats(System.currentTimeMillis());
+                    }
+                    if (listenerQueue.isEmpty() && !hasPendingRepeats()) {
+                        dispatcherRunning.set(false);
+                        // a status may have been queued before the flag was cleared
+                        if (listenerQueue.isEmpty() || !dispatcherRunning.compareAndSet(false, true)) {
+                            return;
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                dispatcherRunning.set(false);
+            }
+        }
+
+        private void reportUndelivered() {
+            int undelivered = undeliveredCount.get();
+            if (undelivered > 0 && undeliveredCount.compareAndSet(undelivered, 0)) {
+                Status warning = new WarnStatus(undelivered + " statuses were not delivered to listeners",
+                        ConcurrentStatusManager.this);
+                retain(warning);
+                deliver(warning);
+            }
+        }
+
+        private void deliver(Status status) {
+            for (StatusListener sl : statusListenerList) {
+                try {
+                    sl.addStatusEvent(status);
+                } catch (RuntimeException e) {
+                    // a faulty listener must not prevent delivery to the others
+                }
+            }
+        }
+    }
+}
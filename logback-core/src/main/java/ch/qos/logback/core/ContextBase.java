@@ -31,17 +31,19 @@ import ch.qos.logback.core.rolling.helper.FileNamePattern;
 import ch.qos.logback.core.spi.LifeCycle;
 import ch.qos.logback.core.spi.LogbackLock;
 import ch.qos.logback.core.spi.SequenceNumberGenerator;
+import ch.qos.logback.core.status.ErrorStatus;
 import ch.qos.logback.core.status.InfoStatus;
 import ch.qos.logback.core.status.StatusManager;
 import ch.qos.logback.core.util.ExecutorServiceUtil;
 import ch.qos.logback.core.util.NetworkAddressUtil;
+import ch.qos.logback.core.util.OptionHelper;
 
 public class ContextBase implements Context, LifeCycle {
 
     private long birthTime = System.currentTimeMillis();
 
     private String name;
-    private StatusManager sm = new BasicStatusManager();
+    private StatusManager sm = newStatusManager();
     // TODO propertyMap should be observable so that we can be notified
     // when it changes so that a new instance of propertyMap can be
     // serialized. For the time being, we ignore this shortcoming.
@@ -61,6 +63,25 @@ public class ContextBase implements Context, LifeCycle {
         initCollisionMaps();
     }
 
+    /**
+     * Create a {@link BasicStatusManager} unless another {@link StatusManager}
+     * class is named by the {@link CoreConstants#STATUS_MANAGER_CLASS_KEY} system
+     * property.
+     */
+    private StatusManager newStatusManager() {
+        String smClass = OptionHelper.getSystemProperty(CoreConstants.STATUS_MANAGER_CLASS_KEY);
+        if (OptionHelper.isNullOrEmpty(smClass)) {
+            return new BasicStatusManager();
+        }
+        try {
+            return (StatusManager) OptionHelper.instantiateByClassName(smClass, StatusManager.class, this);
+        } catch (Exception e) {
+            StatusManager basicStatusManager = new BasicStatusManager();
+            basicStatusManager.add(new ErrorStatus("Failed to instantiate status manager [" + smClass + "]", this, e));
+            return basicStatusManager;
+        }
+    }
+
     public StatusManager getStatusManager() {
         return sm;
     }
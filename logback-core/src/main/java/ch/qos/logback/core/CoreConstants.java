@@ -17,6 +17,8 @@ public class CoreConstants {
 
     final public static String DISABLE_SERVLET_CONTAINER_INITIALIZER_KEY = "logbackDisableServletContainerInitializer";
     final public static String STATUS_LISTENER_CLASS_KEY = "logback.statusListenerClass";
+    final public static String STATUS_MANAGER_CLASS_KEY = "logback.statusManagerClass";
+    final public static String MODEL_CACHE_FILE_KEY = "logback.modelCacheFile";
     final public static String SYSOUT = "SYSOUT";
 
     /**
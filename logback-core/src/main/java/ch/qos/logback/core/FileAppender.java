@@ -18,6 +18,7 @@ import static ch.qos.logback.core.CoreConstants.MORE_INFO_PREFIX;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.util.Map;
@@ -203,14 +204,25 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
                 addError("Failed to create parent directories for [" + file.getAbsolutePath() + "]");
             }
 
-            ResilientFileOutputStream resilientFos = new ResilientFileOutputStream(file, append, bufferSize.getSize());
-            resilientFos.setContext(context);
-            setOutputStream(resilientFos);
+            setOutputStream(createOutputStream(file));
         } finally {
             lock.unlock();
         }
     }
 
+    /**
+     * Create the stream writing into <code>file</code>, honoring the
+     * <b>Append</b> property. By default, a buffered
+     * {@link ResilientFileOutputStream} is returned.
+     * 
+     * @since 1.4.5
+     */
+    protected OutputStream createOutputStream(File file) throws IOException {
+        ResilientFileOutputStream resilientFos = new ResilientFileOutputStream(file, append, bufferSize.getSize());
+        resilientFos.setContext(context);
+        return resilientFos;
+    }
+
     /**
      * @see #setPrudent(boolean)
      * 
@@ -239,7 +251,15 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
         this.bufferSize = bufferSize;
     }
 
-    private void safeWrite(E event) throws IOException {
+    /**
+     * A write to the output stream, performed by {@link #safeWrite(PrudentWrite)}
+     * while holding the file lock.
+     */
+    private interface PrudentWrite {
+        void write() throws IOException;
+    }
+
+    private void safeWrite(PrudentWrite prudentWrite) throws IOException {
         ResilientFileOutputStream resilientFOS = (ResilientFileOutputStream) getOutputStream();
         FileChannel fileChannel = resilientFOS.getChannel();
         if (fileChannel == null) {
@@ -257,7 +277,7 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
             if (size != position) {
                 fileChannel.position(size);
             }
-            super.writeOut(event);
+            prudentWrite.write();
         } catch (IOException e) {
             // Mainly to catch FileLockInterruptionExceptions (see LOGBACK-875)
             resilientFOS.postIOFailure(e);
@@ -276,9 +296,21 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
     @Override
     protected void writeOut(E event) throws IOException {
         if (prudent) {
-            safeWrite(event);
+            safeWrite(() -> super.writeOut(event));
         } else {
             super.writeOut(event);
         }
     }
+
+    /**
+     * In prudent mode, the file lock is acquired once for the whole batch.
+     */
+    @Override
+    protected void writeBatch(byte[] byteArray, int offset, int length) throws IOException {
+        if (prudent) {
+            safeWrite(() -> super.writeBatch(byteArray, offset, length));
+        } else {
+            super.writeBatch(byteArray, offset, length);
+        }
+    }
 }
@@ -32,6 +32,29 @@ public interface Layout<E> extends ContextAware, LifeCycle {
      */
     String doLayout(E event);
 
+    /**
+     * Format the event and append the result to the {@link StringBuilder} passed
+     * as parameter.
+     * 
+     * <p>
+     * The default implementation appends the value returned by
+     * {@link #doLayout(Object)}. Layouts capable of writing directly into a
+     * caller supplied buffer should override this method so as to avoid creating
+     * an intermediary String. Note that a derived class overriding
+     * {@link #doLayout(Object)} should override this method as well.
+     * </p>
+     * 
+     * @param event The event to format
+     * @param sb    the buffer to append to
+     * @since 1.4.5
+     */
+    default void doLayout(E event, StringBuilder sb) {
+        String txt = doLayout(event);
+        if (txt != null) {
+            sb.append(txt);
+        }
+    }
+
     /**
      * Return the file header for this layout. The returned value may be null.
      * 
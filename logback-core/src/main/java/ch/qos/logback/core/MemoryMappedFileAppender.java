@@ -0,0 +1,89 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import ch.qos.logback.core.util.FileSize;
+import ch.qos.logback.core.util.MappedFileOutputStream;
+
+/**
+ * A {@link FileAppender} writing into memory mapped regions of the file, see
+ * {@link MappedFileOutputStream}. Appending an event then amounts to a memory
+ * copy, flushing being a no-op. The length of the regions is set by the
+ * <b>regionLength</b> property. The file is truncated to its actual length when
+ * the appender is stopped, or, if the appender could not be stopped, when the
+ * file is opened again in append mode.
+ * 
+ * <p>
+ * Prudent mode is not supported.
+ * 
+ * @since 1.4.5
+ */
+public class MemoryMappedFileAppender<E> extends FileAppender<E> {
+
+    public static final long DEFAULT_REGION_LENGTH = 32 * FileSize.MB_COEFFICIENT;
+
+    private FileSize regionLength = new FileSize(DEFAULT_REGION_LENGTH);
+
+    @Override
+    public void start() {
+        if (!checkMemoryMappingConstraints(this, regionLength)) {
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    protected OutputStream createOutputStream(File file) throws IOException {
+        return new MappedFileOutputStream(file, append, regionLength.getSize());
+    }
+
+    public FileSize getRegionLength() {
+        return regionLength;
+    }
+
+    /**
+     * The length of each memory mapped region of the file. Defaults to 32MB.
+     */
+    public void setRegionLength(FileSize regionLength) {
+        this.regionLength = regionLength;
+    }
+
+    /**
+     * Checks the properties of a file appender writing into memory mapped regions.
+     * Errors are reported via the appender's status.
+     * 
+     * @return true if the appender can be started
+     */
+    public static boolean checkMemoryMappingConstraints(FileAppender<?> appender, FileSize regionLength) {
+        int errors = 0;
+        if (appender.isPrudent()) {
+            appender.addError("Prudent mode is not supported by memory mapped appender named [" + appender.getName() + "].");
+            errors++;
+        }
+        if (regionLength == null || regionLength.getSize() <= 0 || regionLength.getSize() > Integer.MAX_VALUE) {
+            appender.addError("Invalid regionLength [" + regionLength + "] for appender named [" + appender.getName()
+                    + "]. It must be positive and less than 2GB.");
+            errors++;
+        }
+        if (!MappedFileOutputStream.isUnmappingSupported()) {
+            appender.addWarn("Mapped regions cannot be released eagerly, sun.misc.Unsafe is not accessible. Regions of ["
+                    + appender.getName() + "] will be released by the garbage collector, and rolling over may fail on some platforms.");
+        }
+        return errors == 0;
+    }
+}
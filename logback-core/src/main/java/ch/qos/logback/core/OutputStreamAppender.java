@@ -15,19 +15,40 @@ package ch.qos.logback.core;
 
 import static ch.qos.logback.core.CoreConstants.CODES_URL;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
+import ch.qos.logback.core.boolex.EvaluationException;
+import ch.qos.logback.core.boolex.EventEvaluator;
 import ch.qos.logback.core.encoder.Encoder;
 import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+import ch.qos.logback.core.encoder.StreamingEncoder;
 import ch.qos.logback.core.spi.DeferredProcessingAware;
 import ch.qos.logback.core.status.ErrorStatus;
+import ch.qos.logback.core.util.Duration;
+import ch.qos.logback.core.util.FileSize;
+import ch.qos.logback.core.util.ReflectionUtil;
 
 /**
  * OutputStreamAppender appends events to a {@link OutputStream}. This class
  * provides basic services that other appenders build upon.
  * 
+ * <p>
+ * When <b>immediateFlush</b> is false, a group commit flush policy can be set
+ * with the <b>flushBufferSize</b>, <b>maxFlushLatency</b> and
+ * <b>flushEvaluator</b> properties. The output stream is then flushed once
+ * <b>flushBufferSize</b> bytes were written since the last flush, at most
+ * <b>maxFlushLatency</b> after unflushed bytes were written, and right after
+ * writing an event for which <b>flushEvaluator</b> evaluates to true, whichever
+ * comes first. This bounds the amount of data at risk in case of a crash at a
+ * fraction of the cost of flushing after every event.
+ * 
  * For more information about this appender, please refer to the online manual
  * at http://logback.qos.ch/manual/appenders.html#OutputStreamAppender
  * 
@@ -53,6 +74,54 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
 
     boolean immediateFlush = true;
 
+    private FileSize flushBufferSize;
+    private Duration maxFlushLatency;
+    private EventEvaluator<E> flushEvaluator;
+    private int flushEvaluatorErrorCount = 0;
+
+    /**
+     * True if the group commit flush policy is in effect. The fields below it are
+     * guarded by the lock.
+     */
+    private boolean groupCommit;
+    private long unflushedBytes;
+    private ScheduledExecutorService flushScheduler;
+    private ScheduledFuture<?> pendingFlush;
+    private final Runnable timedFlushTask = this::timedFlush;
+
+    /**
+     * Initial and maximal retained capacity of the per thread buffers used for
+     * batches.
+     */
+    static final int INITIAL_BATCH_BUFFER_SIZE = 8 * 1024;
+    static final int MAX_RETAINED_BATCH_BUFFER_SIZE = 256 * 1024;
+
+    private final ThreadLocal<BatchBuffer> threadLocalBatchBuffer = ThreadLocal.withInitial(BatchBuffer::new);
+
+    /**
+     * False if a derived class overrides a per event method such as
+     * {@link #subAppend(Object)} without overriding its batch counterpart, in which
+     * case batches are appended one event at a time.
+     */
+    private boolean batchWriteSupported;
+
+    /**
+     * Bytes written into this stream by a {@link StreamingEncoder} are handed over
+     * to {@link #writeBytes(byte[], int, int)}, i.e. written under the protection
+     * of the lock.
+     */
+    private final OutputStream encoderSink = new OutputStream() {
+        @Override
+        public void write(int b) throws IOException {
+            writeBytes(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            writeBytes(b, off, len);
+        }
+    };
+
     /**
      * The underlying output stream used by this appender.
      * 
@@ -79,10 +148,46 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
         }
         // only error free appenders should be activated
         if (errors == 0) {
+            batchWriteSupported = isBatchWriteSupported();
+            startGroupCommit();
             super.start();
         }
     }
 
+    private void startGroupCommit() {
+        groupCommit = false;
+        if (flushBufferSize == null && maxFlushLatency == null && flushEvaluator == null) {
+            return;
+        }
+        if (immediateFlush) {
+            addWarn("The flushBufferSize, maxFlushLatency and flushEvaluator properties of appender named [" + name
+                    + "] have no effect unless immediateFlush is set to false.");
+            return;
+        }
+        flushScheduler = (maxFlushLatency != null && maxFlushLatency.getMilliseconds() > 0)
+                ? context.getScheduledExecutorService()
+                : null;
+        groupCommit = true;
+        addInfo("Group commit flushing in effect, flushBufferSize=" + flushBufferSize + ", maxFlushLatency="
+                + maxFlushLatency + ", flushEvaluator=" + (flushEvaluator == null ? null : flushEvaluator.getName()));
+    }
+
+    private boolean isBatchWriteSupported() {
+        return !isOverriddenWithoutBatchCounterpart("append", "appendBatch", 1)
+                && !isOverriddenWithoutBatchCounterpart("subAppend", "subAppendBatch", 1)
+                && !isOverriddenWithoutBatchCounterpart("writeOut", "writeBatch", 3);
+    }
+
+    private boolean isOverriddenWithoutBatchCounterpart(String methodName, String batchMethodName,
+            int batchParamCount) {
+        for (Class<?> c = getClass(); c != null; c = c.getSuperclass()) {
+            if (ReflectionUtil.declaresMethod(c, batchMethodName, batchParamCount)) {
+                return ReflectionUtil.isOverriddenBelow(getClass(), c, methodName, 1);
+            }
+        }
+        return true;
+    }
+
     public void setLayout(Layout<E> layout) {
         addWarn("This appender no longer admits a layout as a sub-component, set an encoder instead.");
         addWarn("To ensure compatibility, wrapping your layout in LayoutWrappingEncoder.");
@@ -102,6 +207,25 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
         subAppend(eventObject);
     }
 
+    /**
+     * Appends the whole batch with a single write to the output stream, and hence
+     * a single acquisition of the lock and a single flush.
+     * 
+     * @since 1.4.5
+     */
+    @Override
+    protected void appendBatch(List<E> events) {
+        if (!isStarted()) {
+            return;
+        }
+
+        if (batchWriteSupported) {
+            subAppendBatch(events);
+        } else {
+            super.appendBatch(events);
+        }
+    }
+
     /**
      * Stop this appender instance. The underlying stream or writer is also closed.
      * 
@@ -114,6 +238,10 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
 
         lock.lock();
         try {
+            if (pendingFlush != null) {
+                pendingFlush.cancel(false);
+                pendingFlush = null;
+            }
             closeOutputStream();
             super.stop();
         } finally {
@@ -131,6 +259,7 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
                 encoderClose();
                 this.outputStream.close();
                 this.outputStream = null;
+                this.unflushedBytes = 0;
             } catch (IOException e) {
                 addStatus(new ErrorStatus("Could not close output stream for OutputStreamAppender.", this, e));
             }
@@ -188,7 +317,12 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
         }
     }
 
+    @SuppressWarnings("unchecked")
     protected void writeOut(E event) throws IOException {
+        if (this.encoder instanceof StreamingEncoder) {
+            ((StreamingEncoder<E>) this.encoder).encode(event, encoderSink);
+            return;
+        }
         byte[] byteArray = this.encoder.encode(event);
         writeBytes(byteArray);
     }
@@ -196,18 +330,96 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
     private void writeBytes(byte[] byteArray) throws IOException {
         if (byteArray == null || byteArray.length == 0)
             return;
+        writeBytes(byteArray, 0, byteArray.length);
+    }
+
+    private void writeBytes(byte[] byteArray, int offset, int length) throws IOException {
+        if (length == 0)
+            return;
 
         lock.lock();
         try {
-            this.outputStream.write(byteArray);
+            this.outputStream.write(byteArray, offset, length);
             if (immediateFlush) {
                 this.outputStream.flush();
+            } else if (groupCommit) {
+                groupCommitAfterWrite(length);
             }
         } finally {
             lock.unlock();
         }
     }
 
+    /**
+     * Must be called while holding the lock.
+     */
+    private void groupCommitAfterWrite(int length) throws IOException {
+        unflushedBytes += length;
+        if (flushBufferSize != null && unflushedBytes >= flushBufferSize.getSize()) {
+            this.outputStream.flush();
+            unflushedBytes = 0;
+        } else if (flushScheduler != null && pendingFlush == null) {
+            pendingFlush = flushScheduler.schedule(timedFlushTask, maxFlushLatency.getMilliseconds(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void timedFlush() {
+        lock.lock();
+        try {
+            pendingFlush = null;
+            flushUnflushedBytes();
+        } catch (IOException ioe) {
+            addStatus(new ErrorStatus("Failed to flush appender named [" + name + "].", this, ioe));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Must be called while holding the lock.
+     */
+    private void flushUnflushedBytes() throws IOException {
+        if (unflushedBytes > 0 && this.outputStream != null) {
+            this.outputStream.flush();
+            unflushedBytes = 0;
+        }
+    }
+
+    private void flushAfterTriggeringEvent() throws IOException {
+        lock.lock();
+        try {
+            flushUnflushedBytes();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isFlushTriggeringEvent(E event) {
+        if (!groupCommit || flushEvaluator == null) {
+            return false;
+        }
+        try {
+            return flushEvaluator.evaluate(event);
+        } catch (EvaluationException ex) {
+            if (flushEvaluatorErrorCount++ < CoreConstants.MAX_ERROR_COUNT) {
+                addError("Flush evaluator of appender named [" + name + "] threw an exception.", ex);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Write the bytes of an encoded batch of events. Derived classes overriding
+     * {@link #writeOut(Object)} need to override this method as well for batches
+     * to be written at once.
+     * 
+     * @since 1.4.5
+     */
+    protected void writeBatch(byte[] byteArray, int offset, int length) throws IOException {
+        writeBytes(byteArray, offset, length);
+    }
+
     /**
      * Actual writing occurs here.
      * <p>
@@ -226,12 +438,63 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
                 ((DeferredProcessingAware) event).prepareForDeferredProcessing();
             }
             writeOut(event);
+            if (isFlushTriggeringEvent(event)) {
+                flushAfterTriggeringEvent();
+            }
+
+        } catch (IOException ioe) {
+            // as soon as an exception occurs, move to non-started state
+            // and add a single ErrorStatus to the SM.
+            this.started = false;
+            addStatus(new ErrorStatus("IO failure in appender", this, ioe));
+        }
+    }
 
+    /**
+     * Encode all the events of the batch into a single buffer, then write it at
+     * once. Derived classes overriding {@link #subAppend(Object)} need to override
+     * this method as well for batches to be written at once.
+     * 
+     * @since 1.4.5
+     */
+    @SuppressWarnings("unchecked")
+    protected void subAppendBatch(List<E> events) {
+        if (!isStarted()) {
+            return;
+        }
+        BatchBuffer buffer = threadLocalBatchBuffer.get();
+        try {
+            boolean flushTriggered = false;
+            for (E event : events) {
+                // this step avoids LBCLASSIC-139
+                if (event instanceof DeferredProcessingAware) {
+                    ((DeferredProcessingAware) event).prepareForDeferredProcessing();
+                }
+                if (this.encoder instanceof StreamingEncoder) {
+                    ((StreamingEncoder<E>) this.encoder).encode(event, buffer);
+                } else {
+                    byte[] byteArray = this.encoder.encode(event);
+                    if (byteArray != null) {
+                        buffer.write(byteArray, 0, byteArray.length);
+                    }
+                }
+                flushTriggered |= isFlushTriggeringEvent(event);
+            }
+            writeBatch(buffer.array(), 0, buffer.size());
+            if (flushTriggered) {
+                flushAfterTriggeringEvent();
+            }
         } catch (IOException ioe) {
             // as soon as an exception occurs, move to non-started state
             // and add a single ErrorStatus to the SM.
             this.started = false;
             addStatus(new ErrorStatus("IO failure in appender", this, ioe));
+        } finally {
+            if (buffer.array().length > MAX_RETAINED_BATCH_BUFFER_SIZE) {
+                threadLocalBatchBuffer.remove();
+            } else {
+                buffer.reset();
+            }
         }
     }
 
@@ -251,4 +514,80 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
         this.immediateFlush = immediateFlush;
     }
 
+    /**
+     * Events are encoded, and thus no longer needed, by the time
+     * {@link #doAppend(Object)} returns.
+     * 
+     * @since 1.4.5
+     */
+    @Override
+    public boolean isRetainingEvents() {
+        return false;
+    }
+
+    /**
+     * @since 1.4.5
+     */
+    public FileSize getFlushBufferSize() {
+        return flushBufferSize;
+    }
+
+    /**
+     * The output stream is flushed once this many bytes were written since the
+     * last flush. Only in effect when immediateFlush is false.
+     * 
+     * @since 1.4.5
+     */
+    public void setFlushBufferSize(FileSize flushBufferSize) {
+        this.flushBufferSize = flushBufferSize;
+    }
+
+    /**
+     * @since 1.4.5
+     */
+    public Duration getMaxFlushLatency() {
+        return maxFlushLatency;
+    }
+
+    /**
+     * The output stream is flushed at most this long after unflushed bytes were
+     * written. The flush is performed by a task submitted to the context's
+     * scheduled executor service. Only in effect when immediateFlush is false.
+     * 
+     * @since 1.4.5
+     */
+    public void setMaxFlushLatency(Duration maxFlushLatency) {
+        this.maxFlushLatency = maxFlushLatency;
+    }
+
+    /**
+     * @since 1.4.5
+     */
+    public EventEvaluator<E> getFlushEvaluator() {
+        return flushEvaluator;
+    }
+
+    /**
+     * The output stream is flushed right after writing events for which this
+     * evaluator evaluates to true, e.g. events of level ERROR. Only in effect when
+     * immediateFlush is false.
+     * 
+     * @since 1.4.5
+     */
+    public void setFlushEvaluator(EventEvaluator<E> flushEvaluator) {
+        this.flushEvaluator = flushEvaluator;
+    }
+
+    /**
+     * A {@link ByteArrayOutputStream} giving access to its internal array.
+     */
+    static class BatchBuffer extends ByteArrayOutputStream {
+        BatchBuffer() {
+            super(INITIAL_BATCH_BUFFER_SIZE);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
 }
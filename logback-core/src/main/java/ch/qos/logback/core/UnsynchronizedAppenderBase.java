@@ -13,6 +13,7 @@
  */
 package ch.qos.logback.core;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import ch.qos.logback.core.filter.Filter;
@@ -20,6 +21,7 @@ import ch.qos.logback.core.spi.ContextAwareBase;
 import ch.qos.logback.core.spi.FilterAttachableImpl;
 import ch.qos.logback.core.spi.FilterReply;
 import ch.qos.logback.core.status.WarnStatus;
+import ch.qos.logback.core.util.ReentryGuard;
 
 /**
  * Similar to AppenderBase except that derived appenders need to handle thread
@@ -32,15 +34,11 @@ abstract public class UnsynchronizedAppenderBase<E> extends ContextAwareBase imp
 
     protected boolean started = false;
 
-    // using a ThreadLocal instead of a boolean add 75 nanoseconds per
-    // doAppend invocation. This is tolerable as doAppend takes at least a few
-    // microseconds
-    // on a real appender
     /**
      * The guard prevents an appender from repeatedly calling its own doAppend
-     * method.
+     * method, see {@link ReentryGuard} for how threads are tracked.
      */
-    private ThreadLocal<Boolean> guard = new ThreadLocal<Boolean>();
+    private final ReentryGuard guard = new ReentryGuard();
 
     /**
      * Appenders are named.
@@ -63,12 +61,11 @@ abstract public class UnsynchronizedAppenderBase<E> extends ContextAwareBase imp
         // doAppend() method.
 
         // prevent re-entry.
-        if (Boolean.TRUE.equals(guard.get())) {
+        if (!guard.enter()) {
             return;
         }
 
         try {
-            guard.set(Boolean.TRUE);
 
             if (!this.started) {
                 if (statusRepeatCount++ < ALLOWED_REPEATS) {
@@ -85,16 +82,92 @@ abstract public class UnsynchronizedAppenderBase<E> extends ContextAwareBase imp
             this.append(eventObject);
 
         } catch (Exception e) {
-            if (exceptionCount++ < ALLOWED_REPEATS) {
-                addError("Appender [" + name + "] failed to append.", e);
+            reportAppendFailure(e);
+        } finally {
+            guard.exit();
+        }
+    }
+
+    /**
+     * Same as {@link #doAppend(Object)} but for a batch of events. The guard and
+     * the started state are checked once per batch. Events denied by the filter
+     * chain are removed from (a copy of) the batch before it is handed to
+     * {@link #appendBatch(List)}.
+     * 
+     * @since 1.4.5
+     */
+    @Override
+    public void doAppendBatch(List<E> events) {
+        // prevent re-entry.
+        if (!guard.enter()) {
+            return;
+        }
+
+        try {
+
+            if (!this.started) {
+                if (statusRepeatCount++ < ALLOWED_REPEATS) {
+                    addStatus(new WarnStatus("Attempted to append to non started appender [" + name + "].", this));
+                }
+                return;
             }
+
+            List<E> accepted = filterBatch(events);
+            if (!accepted.isEmpty()) {
+                this.appendBatch(accepted);
+            }
+        } catch (Exception e) {
+            reportAppendFailure(e);
         } finally {
-            guard.set(Boolean.FALSE);
+            guard.exit();
+        }
+    }
+
+    /**
+     * Returns the events of the batch not denied by the filter chain. The batch
+     * itself is returned, i.e. no copy is made, if no event is denied.
+     */
+    private List<E> filterBatch(List<E> events) {
+        List<E> accepted = null;
+        final int size = events.size();
+        for (int i = 0; i < size; i++) {
+            E event = events.get(i);
+            boolean denied = getFilterChainDecision(event) == FilterReply.DENY;
+            if (denied && accepted == null) {
+                accepted = new ArrayList<E>(events.subList(0, i));
+            } else if (!denied && accepted != null) {
+                accepted.add(event);
+            }
+        }
+        return accepted == null ? events : accepted;
+    }
+
+    private void reportAppendFailure(Exception e) {
+        if (exceptionCount++ < ALLOWED_REPEATS) {
+            addError("Appender [" + name + "] failed to append.", e);
         }
     }
 
     abstract protected void append(E eventObject);
 
+    /**
+     * Append the events of a batch which passed the filter chain. The default
+     * implementation invokes {@link #append(Object)} for each event, a failure to
+     * append one event does not prevent the following ones from being appended.
+     * 
+     * @param events non-empty list of events, not to be retained
+     * @since 1.4.5
+     */
+    protected void appendBatch(List<E> events) {
+        for (E event : events) {
+            try {
+                this.append(event);
+            } catch (Exception e) {
+                reportAppendFailure(e);
+            }
+        }
+    }
+
     /**
      * Set the name of this appender.
      */
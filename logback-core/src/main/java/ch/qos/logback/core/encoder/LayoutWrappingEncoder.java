@@ -13,14 +13,23 @@
  */
 package ch.qos.logback.core.encoder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.Layout;
 import ch.qos.logback.core.OutputStreamAppender;
 import ch.qos.logback.core.spi.ContextAware;
+import ch.qos.logback.core.util.EnvUtil;
+import ch.qos.logback.core.util.ReflectionUtil;
 
-public class LayoutWrappingEncoder<E> extends EncoderBase<E> {
+public class LayoutWrappingEncoder<E> extends EncoderBase<E> implements StreamingEncoder<E> {
 
     protected Layout<E> layout;
 
@@ -35,6 +44,19 @@ public class LayoutWrappingEncoder<E> extends EncoderBase<E> {
     ContextAware parent;
     Boolean immediateFlush = null;
 
+    /**
+     * Buffers with a capacity above this threshold are not retained between
+     * invocations of {@link #encode(Object, OutputStream)}.
+     */
+    static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+    static final int INITIAL_BUFFER_SIZE = 256;
+
+    // computed in start()
+    private boolean encodeOverridden;
+    private boolean layoutIntoBuilderOverridden;
+
+    private final ThreadLocal<EncodingBuffers> threadLocalBuffers = new ThreadLocal<EncodingBuffers>();
+
     public Layout<E> getLayout() {
         return layout;
     }
@@ -115,11 +137,63 @@ public class LayoutWrappingEncoder<E> extends EncoderBase<E> {
         return convertToBytes(txt);
     }
 
+    /**
+     * Lays out the event into a reusable thread-local {@link StringBuilder} and
+     * encodes the result into a reusable thread-local byte buffer, which is then
+     * written into the output stream with a single call. Thus, apart from what
+     * the layout itself allocates, no garbage is created per event.
+     * 
+     * <p>
+     * If a derived class overrides {@link #encode(Object)}, this method delegates
+     * to it so that the behavior of such classes remains unchanged. It does so as
+     * well when invoked by a virtual thread, so that short lived virtual threads
+     * do not each retain a set of buffers.
+     * </p>
+     * 
+     * @since 1.4.5
+     */
+    public void encode(E event, OutputStream outputStream) throws IOException {
+        // virtual threads seldom live long enough to reuse per thread buffers
+        if (encodeOverridden || EnvUtil.isVirtual(Thread.currentThread())) {
+            byte[] bytes = encode(event);
+            if (bytes != null && bytes.length > 0) {
+                outputStream.write(bytes);
+            }
+            return;
+        }
+
+        EncodingBuffers buffers = threadLocalBuffers.get();
+        if (buffers == null) {
+            buffers = new EncodingBuffers(charset == null ? Charset.defaultCharset() : charset);
+            threadLocalBuffers.set(buffers);
+        }
+
+        StringBuilder sb = buffers.stringBuilder;
+        sb.setLength(0);
+        if (layoutIntoBuilderOverridden) {
+            String txt = layout.doLayout(event);
+            if (txt != null) {
+                sb.append(txt);
+            }
+        } else {
+            layout.doLayout(event, sb);
+        }
+
+        ByteBuffer byteBuffer = buffers.encode();
+        if (byteBuffer.position() > 0) {
+            outputStream.write(byteBuffer.array(), 0, byteBuffer.position());
+        }
+        buffers.trimIfOversized();
+    }
+
     public boolean isStarted() {
         return started;
     }
 
     public void start() {
+        encodeOverridden = ReflectionUtil.isOverriddenBelow(getClass(), LayoutWrappingEncoder.class, "encode", 1);
+        layoutIntoBuilderOverridden = layout != null && isLayoutIntoBuilderOverridden(layout.getClass());
+        threadLocalBuffers.remove();
         if (immediateFlush != null) {
             if (parent instanceof OutputStreamAppender) {
                 addWarn("Setting the \"immediateFlush\" property of the enclosing appender to " + immediateFlush);
@@ -137,6 +211,103 @@ public class LayoutWrappingEncoder<E> extends EncoderBase<E> {
         started = false;
     }
 
+    /**
+     * Layouts overriding {@link Layout#doLayout(Object, StringBuilder)} may have
+     * derived classes overriding only {@link Layout#doLayout(Object)}. The latter
+     * needs to be called in that case.
+     */
+    static boolean isLayoutIntoBuilderOverridden(Class<?> layoutClass) {
+        for (Class<?> c = layoutClass; c != null; c = c.getSuperclass()) {
+            if (ReflectionUtil.declaresMethod(c, "doLayout", 2)) {
+                return ReflectionUtil.isOverriddenBelow(layoutClass, c, "doLayout", 1);
+            }
+        }
+        // the default method delegates to doLayout(E)
+        return false;
+    }
+
+    /**
+     * Per thread buffers used by {@link LayoutWrappingEncoder#encode(Object, OutputStream)}.
+     */
+    static class EncodingBuffers {
+        final StringBuilder stringBuilder = new StringBuilder(INITIAL_BUFFER_SIZE);
+        final CharsetEncoder charsetEncoder;
+        char[] chars = new char[INITIAL_BUFFER_SIZE];
+        CharBuffer charBuffer = CharBuffer.wrap(chars);
+        ByteBuffer byteBuffer;
+
+        EncodingBuffers(Charset charset) {
+            // replace malformed input as String.getBytes(Charset) does
+            this.charsetEncoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.byteBuffer = ByteBuffer.allocate(maxBytesFor(INITIAL_BUFFER_SIZE));
+        }
+
+        int maxBytesFor(int charCount) {
+            return (int) Math.ceil(charCount * (double) charsetEncoder.maxBytesPerChar());
+        }
+
+        /**
+         * Encode the contents of the string builder into the byte buffer. Upon
+         * return, the encoded bytes lie between zero and the position of the byte
+         * buffer.
+         */
+        ByteBuffer encode() {
+            int len = stringBuilder.length();
+            if (chars.length < len) {
+                chars = new char[len];
+                charBuffer = CharBuffer.wrap(chars);
+            }
+            stringBuilder.getChars(0, len, chars, 0);
+            charBuffer.clear();
+            charBuffer.limit(len);
+
+            int maxBytes = maxBytesFor(len);
+            if (byteBuffer.capacity() < maxBytes) {
+                byteBuffer = ByteBuffer.allocate(maxBytes);
+            }
+            byteBuffer.clear();
+
+            charsetEncoder.reset();
+            CoderResult result = charsetEncoder.encode(charBuffer, byteBuffer, true);
+            if (!result.isUnderflow()) {
+                // cannot happen given the buffer sizing above, fall back on the JDK
+                return fallbackEncode();
+            }
+            result = charsetEncoder.flush(byteBuffer);
+            if (!result.isUnderflow()) {
+                return fallbackEncode();
+            }
+            return byteBuffer;
+        }
+
+        private ByteBuffer fallbackEncode() {
+            byte[] bytes = stringBuilder.toString().getBytes(charsetEncoder.charset());
+            byteBuffer = ByteBuffer.allocate(bytes.length);
+            byteBuffer.put(bytes);
+            return byteBuffer;
+        }
+
+        /**
+         * Avoid retaining large buffers after an exceptionally large event, e.g. one
+         * with a long stack trace.
+         */
+        void trimIfOversized() {
+            if (stringBuilder.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+                stringBuilder.setLength(0);
+                stringBuilder.trimToSize();
+                stringBuilder.ensureCapacity(INITIAL_BUFFER_SIZE);
+            }
+            if (chars.length > MAX_RETAINED_BUFFER_SIZE) {
+                chars = new char[INITIAL_BUFFER_SIZE];
+                charBuffer = CharBuffer.wrap(chars);
+            }
+            if (byteBuffer.capacity() > maxBytesFor(MAX_RETAINED_BUFFER_SIZE)) {
+                byteBuffer = ByteBuffer.allocate(maxBytesFor(INITIAL_BUFFER_SIZE));
+            }
+        }
+    }
+
     private void appendIfNotNull(StringBuilder sb, String s) {
         if (s != null) {
             sb.append(s);
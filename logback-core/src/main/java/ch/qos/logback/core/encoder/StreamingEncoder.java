@@ -0,0 +1,47 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.encoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An {@link Encoder} capable of writing encoded events directly into an
+ * {@link OutputStream}, thus avoiding the allocation of a new byte array per
+ * event.
+ * 
+ * <p>
+ * {@link ch.qos.logback.core.OutputStreamAppender OutputStreamAppender} will
+ * invoke {@link #encode(Object, OutputStream)} instead of
+ * {@link #encode(Object)} whenever its encoder implements this interface. As
+ * the appender may be invoked concurrently by multiple threads, implementations
+ * must hand over all the bytes of an event in a single call to
+ * {@link OutputStream#write(byte[], int, int)}.
+ * </p>
+ * 
+ * @param <E>
+ * @since 1.4.5
+ */
+public interface StreamingEncoder<E> extends Encoder<E> {
+
+    /**
+     * Encode an event and write the resulting bytes into the output stream passed
+     * as parameter.
+     * 
+     * @param event
+     * @param outputStream
+     * @throws IOException
+     */
+    void encode(E event, OutputStream outputStream) throws IOException;
+}
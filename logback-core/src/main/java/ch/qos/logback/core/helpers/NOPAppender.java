@@ -20,4 +20,9 @@ final public class NOPAppender<E> extends AppenderBase<E> {
     @Override
     protected void append(E eventObject) {
     }
+
+    @Override
+    public boolean isRetainingEvents() {
+        return false;
+    }
 }
@@ -26,6 +26,7 @@ import java.util.List;
 import org.xml.sax.InputSource;
 
 import ch.qos.logback.core.Context;
+import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.joran.event.SaxEvent;
 import ch.qos.logback.core.joran.event.SaxEventRecorder;
 import ch.qos.logback.core.joran.spi.DefaultNestedComponentRegistry;
@@ -36,33 +37,69 @@ import ch.qos.logback.core.joran.spi.RuleStore;
 import ch.qos.logback.core.joran.spi.SaxEventInterpreter;
 import ch.qos.logback.core.joran.spi.SimpleRuleStore;
 import ch.qos.logback.core.joran.util.ConfigurationWatchListUtil;
+import ch.qos.logback.core.joran.util.ModelCache;
 import ch.qos.logback.core.model.Model;
 import ch.qos.logback.core.model.processor.DefaultProcessor;
 import ch.qos.logback.core.model.processor.ModelInterpretationContext;
 import ch.qos.logback.core.spi.ContextAwareBase;
 import ch.qos.logback.core.spi.ErrorCodes;
 import ch.qos.logback.core.status.StatusUtil;
+import ch.qos.logback.core.util.OptionHelper;
 
 public abstract class GenericXMLConfigurator extends ContextAwareBase {
 
     protected SaxEventInterpreter saxEventInterpreter;
     protected ModelInterpretationContext modelInterpretationContext;
 
+    File modelCacheFile;
+
     public ModelInterpretationContext getModelInterpretationContext() {
         return this.modelInterpretationContext;
     }
 
+    /**
+     * The file where the configuration model is cached, if any. See
+     * {@link ModelCache}. Defaults to the value of the
+     * {@link CoreConstants#MODEL_CACHE_FILE_KEY} system property.
+     * 
+     * @since 1.4.5
+     */
+    public File getModelCacheFile() {
+        if (modelCacheFile == null) {
+            String fileName = OptionHelper.getSystemProperty(CoreConstants.MODEL_CACHE_FILE_KEY);
+            if (!OptionHelper.isNullOrEmpty(fileName)) {
+                return new File(fileName);
+            }
+        }
+        return modelCacheFile;
+    }
+
+    public void setModelCacheFile(File modelCacheFile) {
+        this.modelCacheFile = modelCacheFile;
+    }
+
+    private ModelCache buildModelCache() {
+        File cacheFile = getModelCacheFile();
+        return cacheFile == null ? null : new ModelCache(context, cacheFile);
+    }
+
     public final void doConfigure(URL url) throws JoranException {
         InputStream in = null;
         try {
             informContextOfURLUsedForConfiguration(getContext(), url);
+            ModelCache modelCache = buildModelCache();
+            if (modelCache != null && configureFromModelCache(modelCache, url)) {
+                return;
+            }
             URLConnection urlConnection = url.openConnection();
             // per http://jira.qos.ch/browse/LBCORE-105
             // per http://jira.qos.ch/browse/LBCORE-127
             urlConnection.setUseCaches(false);
 
             in = urlConnection.getInputStream();
-            doConfigure(in, url.toExternalForm());
+            InputSource inputSource = new InputSource(in);
+            inputSource.setSystemId(url.toExternalForm());
+            doConfigure(inputSource, modelCache);
         } catch (IOException ioe) {
             String errMsg = "Could not open URL [" + url + "].";
             addError(errMsg, ioe);
@@ -89,8 +126,14 @@ public abstract class GenericXMLConfigurator extends ContextAwareBase {
         try {
             URL url = file.toURI().toURL();
             informContextOfURLUsedForConfiguration(getContext(), url);
+            ModelCache modelCache = buildModelCache();
+            if (modelCache != null && configureFromModelCache(modelCache, url)) {
+                return;
+            }
             fis = new FileInputStream(file);
-            doConfigure(fis, url.toExternalForm());
+            InputSource inputSource = new InputSource(fis);
+            inputSource.setSystemId(url.toExternalForm());
+            doConfigure(inputSource, modelCache);
         } catch (IOException ioe) {
             String errMsg = "Could not open [" + file.getPath() + "].";
             addError(errMsg, ioe);
@@ -153,6 +196,10 @@ public abstract class GenericXMLConfigurator extends ContextAwareBase {
     // this is the most inner form of doConfigure whereto other doConfigure
     // methods ultimately delegate
     public final void doConfigure(final InputSource inputSource) throws JoranException {
+        doConfigure(inputSource, null);
+    }
+
+    private void doConfigure(final InputSource inputSource, ModelCache modelCache) throws JoranException {
 
         long threshold = System.currentTimeMillis();
 
@@ -163,14 +210,67 @@ public abstract class GenericXMLConfigurator extends ContextAwareBase {
             return;
         }
         sanityCheck(top);
+
+        byte[] serializedTop = null;
+        if (modelCache != null) {
+            addInfo("Built configuration model from XML in " + (System.currentTimeMillis() - threshold) + " ms");
+            serializedTop = serializeForModelCache(modelCache, top);
+        }
+
+        long processingStart = System.currentTimeMillis();
         processModel(top);
+        if (modelCache != null) {
+            addInfo("Processed configuration model in " + (System.currentTimeMillis() - processingStart) + " ms");
+        }
 
         // no exceptions a this level
+        StatusUtil statusUtil = new StatusUtil(context);
+        if (statusUtil.noXMLParsingErrorsOccurred(threshold)) {
+            addInfo("Registering current configuration as safe fallback point");
+            registerSafeConfiguration(top);
+            if (serializedTop != null) {
+                modelCache.save(top, serializedTop);
+            }
+        }
+    }
+
+    private byte[] serializeForModelCache(ModelCache modelCache, Model top) {
+        if (!modelCache.isCacheable(top)) {
+            return null;
+        }
+        try {
+            return modelCache.serialize(top);
+        } catch (IOException e) {
+            addWarn("Configuration model cannot be cached.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Configure from the model cached for the given URL, if any.
+     * 
+     * @return true if the cached model was used, false if a full parse is needed
+     */
+    private boolean configureFromModelCache(ModelCache modelCache, URL url) {
+        long threshold = System.currentTimeMillis();
+        Model top = modelCache.load(url);
+        if (top == null) {
+            return false;
+        }
+        addInfo("Loaded configuration model from cache file [" + modelCache.getCacheFile() + "] in "
+                + (System.currentTimeMillis() - threshold) + " ms");
+        sanityCheck(top);
+
+        long processingStart = System.currentTimeMillis();
+        processModel(top);
+        addInfo("Processed configuration model in " + (System.currentTimeMillis() - processingStart) + " ms");
+
         StatusUtil statusUtil = new StatusUtil(context);
         if (statusUtil.noXMLParsingErrorsOccurred(threshold)) {
             addInfo("Registering current configuration as safe fallback point");
             registerSafeConfiguration(top);
         }
+        return true;
     }
 
     public SaxEventRecorder populateSaxEventRecorder(final InputSource inputSource) throws JoranException {
@@ -29,12 +29,15 @@ public class ConfigurationWatchList extends ContextAwareBase {
     URL mainURL;
     List<File> fileWatchList = new ArrayList<File>();
     List<Long> lastModifiedList = new ArrayList<Long>();
+    // all watched URLs, including those which are not files
+    List<URL> urlWatchList = new ArrayList<URL>();
 
     public ConfigurationWatchList buildClone() {
         ConfigurationWatchList out = new ConfigurationWatchList();
         out.mainURL = this.mainURL;
         out.fileWatchList = new ArrayList<File>(this.fileWatchList);
         out.lastModifiedList = new ArrayList<Long>(this.lastModifiedList);
+        out.urlWatchList = new ArrayList<URL>(this.urlWatchList);
         return out;
     }
 
@@ -42,6 +45,7 @@ public class ConfigurationWatchList extends ContextAwareBase {
         this.mainURL = null;
         lastModifiedList.clear();
         fileWatchList.clear();
+        urlWatchList.clear();
     }
 
     /**
@@ -57,6 +61,7 @@ public class ConfigurationWatchList extends ContextAwareBase {
     }
 
     private void addAsFileToWatch(URL url) {
+        urlWatchList.add(url);
         File file = convertToFile(url);
         if (file != null) {
             fileWatchList.add(file);
@@ -76,6 +81,16 @@ public class ConfigurationWatchList extends ContextAwareBase {
         return new ArrayList<File>(fileWatchList);
     }
 
+    /**
+     * The main URL followed by the URLs added to this list, whether they point to
+     * files or not.
+     * 
+     * @since 1.4.5
+     */
+    public List<URL> getCopyOfURLWatchList() {
+        return new ArrayList<URL>(urlWatchList);
+    }
+
     public boolean changeDetected() {
         int len = fileWatchList.size();
         for (int i = 0; i < len; i++) {
@@ -0,0 +1,336 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.joran.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.joran.spi.ConfigurationWatchList;
+import ch.qos.logback.core.model.IncludeModel;
+import ch.qos.logback.core.model.Model;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import ch.qos.logback.core.util.FileUtil;
+import ch.qos.logback.core.util.Loader;
+
+/**
+ * Stores the {@link Model} tree built from a configuration file in a binary
+ * cache file so that a later configuration from the same, unchanged, files can
+ * skip XML parsing altogether.
+ * 
+ * <p>
+ * The cache is keyed by a digest of the contents of every URL in the
+ * {@link ConfigurationWatchList}, i.e. the main configuration file and the
+ * files it includes. A cache file with a different key, or which cannot be
+ * read, is ignored. Optional includes which were absent when the cache file was
+ * written are part of the key as well: the cache file is ignored once any of
+ * them appears.
+ * </p>
+ * 
+ * <p>
+ * The model is cached as it stands before processing. Variable substitution
+ * and conditional processing are thus performed anew each time.
+ * </p>
+ * 
+ * <p>
+ * Included files are however resolved while parsing. A model whose include
+ * elements refer to variables, e.g. <code>&lt;include
+ * file="${CONF_DIR}/included.xml"/&gt;</code>, is thus never cached, as the
+ * variables could designate other files next time.
+ * </p>
+ * 
+ * @since 1.4.5
+ */
+public class ModelCache extends ContextAwareBase {
+
+    // "LBMC" in ASCII
+    static final int MAGIC = 0x4C424D43;
+    static final int FORMAT_VERSION = 3;
+    static final String DIGEST_ALGORITHM = "SHA-256";
+
+    final File cacheFile;
+
+    public ModelCache(Context context, File cacheFile) {
+        setContext(context);
+        this.cacheFile = cacheFile;
+    }
+
+    public File getCacheFile() {
+        return cacheFile;
+    }
+
+    /**
+     * Tell whether the given model may be cached, i.e. whether the files it was
+     * built from do not depend on variables.
+     */
+    public boolean isCacheable(Model model) {
+        if (model instanceof IncludeModel) {
+            IncludeModel includeModel = (IncludeModel) model;
+            for (String attribute : new String[] { includeModel.getFile(), includeModel.getUrl(),
+                    includeModel.getResource() }) {
+                if (attribute != null && attribute.contains("${")) {
+                    addInfo("Not caching configuration model, included [" + attribute + "] depends on variables.");
+                    return false;
+                }
+            }
+        }
+        for (Model subModel : model.getSubModels()) {
+            if (!isCacheable(subModel)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Serialize the given model. To be invoked before the model is processed.
+     */
+    public byte[] serialize(Model model) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(model);
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * Read the model cached for the configuration at the given URL.
+     * 
+     * <p>
+     * On success, the URLs the model was built from are added to the
+     * configuration watch list, as XML parsing would have done.
+     * </p>
+     * 
+     * @param mainURL the URL of the main configuration file
+     * @return the cached model, or null if it is missing or stale
+     */
+    public Model load(URL mainURL) {
+        if (!cacheFile.isFile()) {
+            addInfo("No configuration model cache file [" + cacheFile + "] yet.");
+            return null;
+        }
+
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (dis.readInt() != MAGIC || dis.readInt() != FORMAT_VERSION) {
+                addWarn("Ignoring [" + cacheFile + "] which is not a configuration model cache file of a known format.");
+                return null;
+            }
+            int urlCount = dis.readInt();
+            List<URL> urlList = new ArrayList<URL>(urlCount);
+            for (int i = 0; i < urlCount; i++) {
+                URL url = new URL(dis.readUTF());
+                byte[] digest = new byte[dis.readInt()];
+                dis.readFully(digest);
+                if (i == 0 && !url.toExternalForm().equals(mainURL.toExternalForm())) {
+                    addInfo("Configuration model cache file [" + cacheFile + "] was written for [" + url + "].");
+                    return null;
+                }
+                byte[] currentDigest = digestIfPresent(url);
+                if (digest.length == 0 && currentDigest != null) {
+                    addInfo("[" + url + "] appeared since configuration model cache file [" + cacheFile
+                            + "] was written.");
+                    return null;
+                }
+                if (digest.length != 0 && !Arrays.equals(digest, currentDigest)) {
+                    addInfo("[" + url + "] changed since configuration model cache file [" + cacheFile
+                            + "] was written.");
+                    return null;
+                }
+                urlList.add(url);
+            }
+            int absentResourceCount = dis.readInt();
+            for (int i = 0; i < absentResourceCount; i++) {
+                String resource = dis.readUTF();
+                if (Loader.getResourceBySelfClassLoader(resource) != null) {
+                    addInfo("Resource [" + resource + "] appeared since configuration model cache file ["
+                            + cacheFile + "] was written.");
+                    return null;
+                }
+            }
+            byte[] serializedModel = new byte[dis.readInt()];
+            dis.readFully(serializedModel);
+            Model model = deserialize(serializedModel);
+
+            for (URL url : urlList.subList(1, urlList.size())) {
+                ConfigurationWatchListUtil.addToWatchList(context, url);
+            }
+            return model;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            addWarn("Failed to read configuration model cache file [" + cacheFile + "].", e);
+            return null;
+        }
+    }
+
+    /**
+     * Write the given serialized model to the cache file, keyed by the contents
+     * of the URLs currently in the configuration watch list, absent ones
+     * included, and by the included resources of the model which are absent.
+     * 
+     * @param model           the model
+     * @param serializedModel the model as serialized by {@link #serialize(Model)}
+     */
+    public void save(Model model, byte[] serializedModel) {
+        ConfigurationWatchList cwl = ConfigurationWatchListUtil.getConfigurationWatchList(context);
+        if (cwl == null || cwl.getMainURL() == null) {
+            addWarn("No main configuration URL. Cannot write configuration model cache file [" + cacheFile + "].");
+            return;
+        }
+        FileUtil.createMissingParentDirectories(cacheFile);
+        File tmpFile = new File(cacheFile.getPath() + ".tmp");
+        try {
+            try (DataOutputStream dos = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+                List<URL> urlList = cwl.getCopyOfURLWatchList();
+                dos.writeInt(MAGIC);
+                dos.writeInt(FORMAT_VERSION);
+                dos.writeInt(urlList.size());
+                for (URL url : urlList) {
+                    byte[] digest = digestIfPresent(url);
+                    if (digest == null) {
+                        // an optional include which may appear later
+                        digest = new byte[0];
+                    }
+                    dos.writeUTF(url.toExternalForm());
+                    dos.writeInt(digest.length);
+                    dos.write(digest);
+                }
+                List<String> absentResources = new ArrayList<String>();
+                collectAbsentResources(model, absentResources);
+                dos.writeInt(absentResources.size());
+                for (String resource : absentResources) {
+                    dos.writeUTF(resource);
+                }
+                dos.writeInt(serializedModel.length);
+                dos.write(serializedModel);
+            }
+            // processes starting concurrently must not read a partially written file
+            Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            addInfo("Wrote configuration model cache file [" + cacheFile + "].");
+        } catch (IOException e) {
+            addWarn("Failed to write configuration model cache file [" + cacheFile + "].", e);
+            tmpFile.delete();
+        }
+    }
+
+    /**
+     * Included resources which cannot be found do not make it to the
+     * configuration watch list, as opposed to included files and URLs.
+     */
+    private void collectAbsentResources(Model model, List<String> absentResources) {
+        if (model instanceof IncludeModel) {
+            String resource = ((IncludeModel) model).getResource();
+            if (resource != null && Loader.getResourceBySelfClassLoader(resource) == null) {
+                absentResources.add(resource);
+            }
+        }
+        for (Model subModel : model.getSubModels()) {
+            collectAbsentResources(subModel, absentResources);
+        }
+    }
+
+    /**
+     * @return the digest of the contents of the given URL, or null if there is
+     *         nothing at that URL
+     */
+    byte[] digestIfPresent(URL url) throws IOException {
+        try {
+            return digest(url);
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+    }
+
+    byte[] digest(URL url) throws IOException {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        URLConnection urlConnection = url.openConnection();
+        urlConnection.setUseCaches(false);
+        try (InputStream in = urlConnection.getInputStream()) {
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                messageDigest.update(buf, 0, n);
+            }
+        }
+        return messageDigest.digest();
+    }
+
+    Model deserialize(byte[] serializedModel) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ModelObjectInputStream(new ByteArrayInputStream(serializedModel))) {
+            return (Model) ois.readObject();
+        }
+    }
+
+    /**
+     * Only lets through models, enums nested in models and the few other types a
+     * model tree is made of.
+     */
+    static class ModelObjectInputStream extends ObjectInputStream {
+
+        static final Set<Class<?>> AUTHORIZED_CLASSES = Set.of(String.class, ArrayList.class, Enum.class);
+
+        ModelObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            Class<?> aClass = super.resolveClass(desc);
+            if (!isAuthorized(aClass)) {
+                throw new InvalidClassException("Unauthorized class in configuration model", desc.getName());
+            }
+            return aClass;
+        }
+
+        private boolean isAuthorized(Class<?> aClass) {
+            if (AUTHORIZED_CLASSES.contains(aClass)) {
+                return true;
+            }
+            if (Model.class.isAssignableFrom(aClass)) {
+                return true;
+            }
+            Class<?> enclosingClass = aClass.getEnclosingClass();
+            return aClass.isEnum() && enclosingClass != null && Model.class.isAssignableFrom(enclosingClass);
+        }
+    }
+}
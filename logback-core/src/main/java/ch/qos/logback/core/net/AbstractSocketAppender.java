@@ -20,6 +20,8 @@ import java.net.ConnectException;
 import java.net.InetAddress;
 import java.net.Socket;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -70,6 +72,27 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
      */
     private static final int DEFAULT_EVENT_DELAY_TIMEOUT = 100;
 
+    /**
+     * Events are sent as serialized Java objects, the default.
+     * 
+     * @since 1.4.5
+     */
+    public static final String JAVA_WIRE_FORMAT = "java";
+
+    /**
+     * Events are sent in batches using the compact binary format written by
+     * {@link BinaryEventWriter}.
+     * 
+     * @since 1.4.5
+     */
+    public static final String BINARY_WIRE_FORMAT = "binary";
+
+    /**
+     * The maximum number of events written before the stream is flushed when
+     * using the binary wire format.
+     */
+    static final int MAX_BATCH_SIZE = 256;
+
     private final ObjectWriterFactory objectWriterFactory;
     private final QueueFactory queueFactory;
 
@@ -80,6 +103,8 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
     private int queueSize = DEFAULT_QUEUE_SIZE;
     private int acceptConnectionTimeout = DEFAULT_ACCEPT_CONNECTION_DELAY;
     private Duration eventDelayLimit = new Duration(DEFAULT_EVENT_DELAY_TIMEOUT);
+    private String wireFormat = JAVA_WIRE_FORMAT;
+    private boolean binaryWireFormat;
 
     private BlockingDeque<E> deque;
     private String peerId;
@@ -132,6 +157,18 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
             addError("Queue size must be greater than zero");
         }
 
+        binaryWireFormat = BINARY_WIRE_FORMAT.equalsIgnoreCase(wireFormat);
+        if (binaryWireFormat) {
+            if (getWireCodec() == null) {
+                errorCount++;
+                addError("The binary wire format is not supported by appender " + name);
+            }
+        } else if (!JAVA_WIRE_FORMAT.equalsIgnoreCase(wireFormat)) {
+            errorCount++;
+            addError("Unknown wire format [" + wireFormat + "]. Expected one of " + JAVA_WIRE_FORMAT + " or "
+                    + BINARY_WIRE_FORMAT);
+        }
+
         if (errorCount == 0) {
             try {
                 address = InetAddress.getByName(remoteHost);
@@ -189,9 +226,15 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
         try {
             while (socketConnectionCouldBeEstablished()) {
                 try {
-                    ObjectWriter objectWriter = createObjectWriterForSocket();
-                    addInfo(peerId + "connection established");
-                    dispatchEvents(objectWriter);
+                    if (binaryWireFormat) {
+                        BinaryEventWriter<E> binaryEventWriter = createBinaryEventWriterForSocket();
+                        addInfo(peerId + "connection established");
+                        dispatchEventBatches(binaryEventWriter);
+                    } else {
+                        ObjectWriter objectWriter = createObjectWriterForSocket();
+                        addInfo(peerId + "connection established");
+                        dispatchEvents(objectWriter);
+                    }
                 } catch (javax.net.ssl.SSLHandshakeException she) {
                     // FIXME
                     Thread.sleep(DEFAULT_RECONNECTION_DELAY);
@@ -220,6 +263,13 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
         return objectWriter;
     }
 
+    private BinaryEventWriter<E> createBinaryEventWriterForSocket() throws IOException {
+        socket.setSoTimeout(acceptConnectionTimeout);
+        BinaryEventWriter<E> binaryEventWriter = new BinaryEventWriter<>(socket.getOutputStream(), getWireCodec());
+        socket.setSoTimeout(0);
+        return binaryEventWriter;
+    }
+
     private SocketConnector createConnector(InetAddress address, int port, int initialDelay, long retryDelay) {
         SocketConnector connector = newConnector(address, port, initialDelay, retryDelay);
         connector.setExceptionHandler(this);
@@ -241,6 +291,30 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
         }
     }
 
+    private void dispatchEventBatches(BinaryEventWriter<E> binaryEventWriter)
+            throws InterruptedException, IOException {
+        List<E> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (true) {
+            batch.add(deque.takeFirst());
+            deque.drainTo(batch, MAX_BATCH_SIZE - 1);
+            // events of frames written before a failure are not sent again
+            int writtenCount = 0;
+            try {
+                for (E event : batch) {
+                    postProcessEvent(event);
+                    writtenCount += binaryEventWriter.write(event);
+                }
+                binaryEventWriter.flush();
+            } catch (IOException e) {
+                for (int i = batch.size() - 1; i >= writtenCount; i--) {
+                    tryReAddingEventToFrontOfQueue(batch.get(i));
+                }
+                throw e;
+            }
+            batch.clear();
+        }
+    }
+
     private void tryReAddingEventToFrontOfQueue(E event) {
         final boolean wasInserted = deque.offerFirst(event);
         if (!wasInserted) {
@@ -303,6 +377,18 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
      */
     protected abstract PreSerializationTransformer<E> getPST();
 
+    /**
+     * Get the codec used to encode events when the binary wire format is
+     * selected. Codecs may keep per-connection state, a new instance is
+     * requested for each connection.
+     * 
+     * @return the codec or null if the binary wire format is not supported
+     * @since 1.4.5
+     */
+    protected WireCodec<E> getWireCodec() {
+        return null;
+    }
+
     /**
      * The <b>RemoteHost</b> property takes the name of the host where a
      * corresponding server is running.
@@ -392,6 +478,27 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
         return eventDelayLimit;
     }
 
+    /**
+     * The <b>wireFormat</b> property selects how events are sent to the remote
+     * receiver, either "java" serialization, the default, or "binary", a compact
+     * length-prefixed encoding written in batches with a single flush per batch.
+     * Receivers detect the format of incoming connections.
+     * 
+     * @since 1.4.5
+     */
+    public void setWireFormat(String wireFormat) {
+        this.wireFormat = wireFormat;
+    }
+
+    /**
+     * Returns the value of the <b>wireFormat</b> property.
+     * 
+     * @since 1.4.5
+     */
+    public String getWireFormat() {
+        return wireFormat;
+    }
+
     /**
      * Sets the timeout that controls how long we'll wait for the remote peer to
      * accept our connection attempt.
@@ -0,0 +1,118 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+
+/**
+ * Reads events written by a {@link BinaryEventWriter}.
+ * 
+ * <p>
+ * Unlike Java deserialization, only the types produced by the
+ * {@link WireCodec} can be instantiated. Frames larger than
+ * {@value #MAX_FRAME_SIZE} bytes are rejected.
+ * </p>
+ * 
+ * @param <E>
+ * @since 1.4.5
+ */
+public class BinaryEventReader<E> {
+
+    public static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+
+    private final DataInputStream dataInputStream;
+    private final WireCodec<E> codec;
+    private final WireInput wireInput = new WireInput();
+    private byte[] frameBuffer = new byte[8192];
+    private int remainingEvents;
+
+    /**
+     * Create a reader and check the stream header.
+     */
+    public BinaryEventReader(InputStream inputStream, WireCodec<E> codec) throws IOException {
+        this.dataInputStream = new DataInputStream(inputStream);
+        this.codec = codec;
+        byte[] header = new byte[BinaryEventWriter.HEADER.length];
+        dataInputStream.readFully(header);
+        checkHeader(header);
+    }
+
+    static void checkHeader(byte[] header) throws StreamCorruptedException {
+        if (!Arrays.equals(header, BinaryEventWriter.HEADER)) {
+            throw new StreamCorruptedException("Not a logback binary event stream, or unsupported version");
+        }
+    }
+
+    static void checkFrame(int length, int eventCount) throws StreamCorruptedException {
+        if (length <= 0 || length > MAX_FRAME_SIZE || eventCount <= 0 || eventCount > length) {
+            throw new StreamCorruptedException("Invalid frame of " + length + " bytes and " + eventCount + " events");
+        }
+    }
+
+    /**
+     * Tell whether the given stream starts with the header of the binary wire
+     * format. The stream is left unchanged, it must support
+     * {@link InputStream#mark(int)}.
+     */
+    public static boolean isBinaryStream(InputStream inputStream) throws IOException {
+        byte[] header = new byte[BinaryEventWriter.HEADER.length];
+        inputStream.mark(header.length);
+        try {
+            int read = 0;
+            while (read < header.length) {
+                int n = inputStream.read(header, read, header.length - read);
+                if (n < 0) {
+                    return false;
+                }
+                read += n;
+            }
+            return header[0] == BinaryEventWriter.HEADER[0] && header[1] == BinaryEventWriter.HEADER[1]
+                    && header[2] == BinaryEventWriter.HEADER[2];
+        } finally {
+            inputStream.reset();
+        }
+    }
+
+    /**
+     * Read the next event.
+     * 
+     * @throws java.io.EOFException at the end of the stream
+     */
+    public E read() throws IOException {
+        while (remainingEvents == 0) {
+            readFrame();
+        }
+        E event = codec.decode(wireInput);
+        if (--remainingEvents == 0 && wireInput.hasRemaining()) {
+            throw new StreamCorruptedException("Unexpected bytes at end of frame");
+        }
+        return event;
+    }
+
+    private void readFrame() throws IOException {
+        int length = dataInputStream.readInt();
+        int eventCount = dataInputStream.readInt();
+        checkFrame(length, eventCount);
+        if (frameBuffer.length < length) {
+            frameBuffer = new byte[Math.max(length, frameBuffer.length * 2)];
+        }
+        dataInputStream.readFully(frameBuffer, 0, length);
+        wireInput.setFrame(frameBuffer, length);
+        remainingEvents = eventCount;
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes events to a stream in the compact binary wire format, an alternative
+ * to Java serialization.
+ * 
+ * <p>
+ * The stream starts with a four byte header. Events are then grouped in
+ * frames, each consisting of the frame length and the number of events as
+ * four byte integers followed by the events as encoded by a {@link WireCodec}.
+ * A frame is written and the underlying stream flushed when {@link #flush()}
+ * is called or when the frame grows beyond {@value #FRAME_SIZE_THRESHOLD}
+ * bytes, so that a batch of events costs a single flush of the underlying
+ * stream.
+ * </p>
+ * 
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ * 
+ * @param <E>
+ * @since 1.4.5
+ */
+public class BinaryEventWriter<E> {
+
+    static final byte WIRE_FORMAT_VERSION = 1;
+    static final byte[] HEADER = { 'L', 'B', 'W', WIRE_FORMAT_VERSION };
+
+    static final int FRAME_SIZE_THRESHOLD = 64 * 1024;
+
+    private final OutputStream outputStream;
+    private final WireCodec<E> codec;
+    private final WireOutput wireOutput = new WireOutput();
+    private int eventCount;
+
+    /**
+     * Create a writer and write the stream header.
+     */
+    public BinaryEventWriter(OutputStream outputStream, WireCodec<E> codec) throws IOException {
+        this.outputStream = new BufferedOutputStream(outputStream);
+        this.codec = codec;
+        this.outputStream.write(HEADER);
+        this.outputStream.flush();
+    }
+
+    /**
+     * Add the given event to the current frame, writing the frame if it grows
+     * beyond {@value #FRAME_SIZE_THRESHOLD} bytes.
+     * 
+     * @return the number of events written to the underlying stream by this
+     *         call, i.e. the number of events in the current frame if it was
+     *         written, zero otherwise
+     */
+    public int write(E event) throws IOException {
+        codec.encode(event, wireOutput);
+        eventCount++;
+        if (wireOutput.size() >= FRAME_SIZE_THRESHOLD) {
+            int writtenCount = eventCount;
+            flush();
+            return writtenCount;
+        }
+        return 0;
+    }
+
+    /**
+     * Write pending events and flush the underlying stream.
+     */
+    public void flush() throws IOException {
+        writeFrame();
+        outputStream.flush();
+    }
+
+    private void writeFrame() throws IOException {
+        if (eventCount == 0) {
+            return;
+        }
+        wireOutput.writeFrameTo(outputStream, eventCount);
+        eventCount = 0;
+    }
+}
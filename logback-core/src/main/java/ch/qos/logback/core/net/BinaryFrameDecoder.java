@@ -0,0 +1,117 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * Decodes events written by a {@link BinaryEventWriter} from buffers as they
+ * arrive, for use with non-blocking channels.
+ * 
+ * <p>
+ * Bytes are accumulated until a whole frame is available, then all events of
+ * the frame are decoded at once. As with {@link BinaryEventReader}, frames
+ * larger than {@value BinaryEventReader#MAX_FRAME_SIZE} bytes are rejected.
+ * Instances keep the state of a single connection and are not thread-safe.
+ * </p>
+ * 
+ * @param <E>
+ * @since 1.4.5
+ */
+public class BinaryFrameDecoder<E> {
+
+    private static final int FRAME_HEADER_LENGTH = 8;
+
+    private final WireCodec<E> codec;
+    private final WireInput wireInput = new WireInput();
+
+    private final byte[] streamHeader = new byte[BinaryEventWriter.HEADER.length];
+    private int streamHeaderRead;
+    private final ByteBuffer frameHeader = ByteBuffer.allocate(FRAME_HEADER_LENGTH);
+    private byte[] frameBuffer = new byte[8192];
+    private int frameLength = -1;
+    private int frameRead;
+    private int eventCount;
+
+    public BinaryFrameDecoder(WireCodec<E> codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Consume the remaining bytes of the given buffer, passing each decoded event
+     * to the consumer.
+     * 
+     * @throws StreamCorruptedException if the bytes do not form a valid stream
+     */
+    public void decode(ByteBuffer buffer, Consumer<E> consumer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (streamHeaderRead < streamHeader.length) {
+                readStreamHeader(buffer);
+            } else if (frameLength < 0) {
+                readFrameHeader(buffer);
+            } else {
+                readFrame(buffer, consumer);
+            }
+        }
+    }
+
+    private void readStreamHeader(ByteBuffer buffer) throws StreamCorruptedException {
+        int n = Math.min(buffer.remaining(), streamHeader.length - streamHeaderRead);
+        buffer.get(streamHeader, streamHeaderRead, n);
+        streamHeaderRead += n;
+        if (streamHeaderRead == streamHeader.length) {
+            BinaryEventReader.checkHeader(streamHeader);
+        }
+    }
+
+    private void readFrameHeader(ByteBuffer buffer) throws StreamCorruptedException {
+        while (frameHeader.hasRemaining() && buffer.hasRemaining()) {
+            frameHeader.put(buffer.get());
+        }
+        if (frameHeader.hasRemaining()) {
+            return;
+        }
+        frameHeader.flip();
+        int length = frameHeader.getInt();
+        int count = frameHeader.getInt();
+        frameHeader.clear();
+        BinaryEventReader.checkFrame(length, count);
+        if (frameBuffer.length < length) {
+            frameBuffer = new byte[Math.max(length, frameBuffer.length * 2)];
+        }
+        frameLength = length;
+        frameRead = 0;
+        eventCount = count;
+    }
+
+    private void readFrame(ByteBuffer buffer, Consumer<E> consumer) throws IOException {
+        int n = Math.min(buffer.remaining(), frameLength - frameRead);
+        buffer.get(frameBuffer, frameRead, n);
+        frameRead += n;
+        if (frameRead < frameLength) {
+            return;
+        }
+        wireInput.setFrame(frameBuffer, frameLength);
+        for (int i = 0; i < eventCount; i++) {
+            consumer.accept(codec.decode(wireInput));
+        }
+        if (wireInput.hasRemaining()) {
+            throw new StreamCorruptedException("Unexpected bytes at end of frame");
+        }
+        frameLength = -1;
+    }
+}
@@ -0,0 +1,554 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.Layout;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.util.Duration;
+
+/**
+ * Base class for syslog appenders which do not serialize logging threads on
+ * the appender's monitor.
+ * 
+ * <p>
+ * Messages are encoded by the logging thread into direct {@link ByteBuffer}s
+ * taken from a bounded pool, which are allocated when first needed. With the "udp" transport, the default, each
+ * message is sent as a datagram through a non-blocking {@link DatagramChannel}.
+ * With the "tcp" transport, messages are framed by octet counting as described
+ * in RFC 6587 and RFC 5425, queued and written in batches to a
+ * {@link SocketChannel} by a task running on the context's executor.
+ * </p>
+ * 
+ * <p>
+ * Logging threads never wait for the network. A message is dropped, and
+ * counted as such, when no buffer is available, when the datagram cannot be
+ * sent immediately or when the TCP connection is down.
+ * </p>
+ * 
+ * @param <E>
+ * @since 1.4.5
+ */
+public abstract class SyslogChannelAppenderBase<E> extends UnsynchronizedAppenderBase<E> {
+
+    public static final String UDP_TRANSPORT = "udp";
+    public static final String TCP_TRANSPORT = "tcp";
+
+    public static final int DEFAULT_MAX_MESSAGE_SIZE = 8192;
+    public static final int DEFAULT_BUFFER_POOL_SIZE = 32;
+    public static final int DEFAULT_BATCH_SIZE = 32;
+
+    static final int CONNECTION_TIMEOUT = 5000;
+    static final long MAX_STOP_DELAY = 1000;
+
+    // the message length in decimal digits followed by a space
+    static final int FRAME_HEADER_SIZE = 11;
+
+    // asks the TCP sender to terminate
+    private static final ByteBuffer STOP_SENDING = ByteBuffer.allocate(0);
+
+    Layout<E> layout;
+    String facilityStr;
+    String syslogHost;
+    protected String suffixPattern;
+    int port = SyslogConstants.SYSLOG_PORT;
+    int maxMessageSize = DEFAULT_MAX_MESSAGE_SIZE;
+    Charset charset;
+    String transport = UDP_TRANSPORT;
+    int bufferPoolSize = DEFAULT_BUFFER_POOL_SIZE;
+    int batchSize = DEFAULT_BATCH_SIZE;
+    Duration reconnectionDelay = new Duration(AbstractSocketAppender.DEFAULT_RECONNECTION_DELAY);
+
+    private InetSocketAddress address;
+    private boolean framed;
+    private int bufferCapacity;
+    private ThreadLocal<CharsetEncoder> encoders;
+    private ConcurrentLinkedQueue<ByteBuffer> freeBuffers;
+    private final AtomicInteger allocatedBufferCount = new AtomicInteger();
+
+    // nulled by stop() while logging threads may be sending
+    private volatile DatagramChannel datagramChannel;
+    private BlockingQueue<ByteBuffer> pendingBuffers;
+    private Future<?> tcpSender;
+
+    private final AtomicLong sentMessageCount = new AtomicLong();
+    private final AtomicLong droppedMessageCount = new AtomicLong();
+    private final AtomicInteger dropWarningCount = new AtomicInteger();
+
+    @Override
+    public void start() {
+        int errorCount = 0;
+        if (facilityStr == null) {
+            addError("The Facility option is mandatory");
+            errorCount++;
+        }
+        if (maxMessageSize < 1) {
+            addError("maxMessageSize must be positive");
+            errorCount++;
+        }
+        if (bufferPoolSize < 1) {
+            addError("bufferPoolSize must be positive");
+            errorCount++;
+        }
+        if (batchSize < 1) {
+            addError("batchSize must be positive");
+            errorCount++;
+        }
+
+        if (TCP_TRANSPORT.equalsIgnoreCase(transport)) {
+            framed = true;
+        } else if (UDP_TRANSPORT.equalsIgnoreCase(transport)) {
+            framed = false;
+        } else {
+            addError("Unknown transport [" + transport + "]. Expected one of " + UDP_TRANSPORT + " or "
+                    + TCP_TRANSPORT);
+            errorCount++;
+        }
+
+        if (charset == null) {
+            charset = Charset.defaultCharset();
+        }
+
+        try {
+            address = new InetSocketAddress(InetAddress.getByName(syslogHost), port);
+        } catch (IOException e) {
+            addError("Could not resolve syslog host [" + syslogHost + "]", e);
+            errorCount++;
+        }
+
+        if (errorCount != 0) {
+            return;
+        }
+
+        final Charset encoderCharset = charset;
+        encoders = ThreadLocal.withInitial(() -> encoderCharset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE));
+        bufferCapacity = FRAME_HEADER_SIZE
+                + (int) Math.ceil(maxMessageSize * (double) encoders.get().maxBytesPerChar());
+        freeBuffers = new ConcurrentLinkedQueue<>();
+        allocatedBufferCount.set(0);
+
+        if (framed) {
+            // one extra slot for STOP_SENDING
+            pendingBuffers = new ArrayBlockingQueue<>(bufferPoolSize + 1);
+        } else {
+            try {
+                datagramChannel = DatagramChannel.open();
+                datagramChannel.configureBlocking(false);
+            } catch (IOException e) {
+                addError("Could not open datagram channel", e);
+                return;
+            }
+        }
+
+        if (layout == null) {
+            layout = buildLayout();
+        }
+
+        super.start();
+
+        if (framed) {
+            tcpSender = getContext().getScheduledExecutorService().submit(new TcpSender());
+        }
+    }
+
+    abstract public Layout<E> buildLayout();
+
+    abstract public int getSeverityForEvent(Object eventObject);
+
+    @Override
+    protected void append(E eventObject) {
+        if (!isStarted()) {
+            return;
+        }
+        String msg = layout.doLayout(eventObject);
+        if (msg == null) {
+            return;
+        }
+        send(msg);
+        postProcess(eventObject);
+    }
+
+    /**
+     * Send additional messages for the given event, see {@link #send(String)}.
+     */
+    protected void postProcess(E eventObject) {
+    }
+
+    /**
+     * Send a message to the syslog host, truncated to
+     * <code>maxMessageSize</code> characters.
+     */
+    protected void send(String message) {
+        ByteBuffer buffer = acquireBuffer();
+        if (buffer == null) {
+            messageDropped("no buffer available", null);
+            return;
+        }
+        boolean handedOver = false;
+        try {
+            encode(message, buffer);
+            DatagramChannel channel = datagramChannel;
+            if (framed) {
+                handedOver = pendingBuffers.offer(buffer);
+                if (!handedOver) {
+                    messageDropped("send queue full", null);
+                }
+            } else if (channel == null) {
+                messageDropped("appender stopped", null);
+            } else if (channel.send(buffer, address) == 0) {
+                messageDropped("datagram could not be sent immediately", null);
+            } else {
+                sentMessageCount.incrementAndGet();
+            }
+        } catch (IOException e) {
+            messageDropped("failed to send datagram to " + syslogHost, e);
+        } finally {
+            if (!handedOver) {
+                releaseBuffer(buffer);
+            }
+        }
+    }
+
+    void encode(String message, ByteBuffer buffer) {
+        CharsetEncoder encoder = encoders.get();
+        encoder.reset();
+        int start = framed ? FRAME_HEADER_SIZE : 0;
+        buffer.clear();
+        buffer.position(start);
+        CharBuffer chars = CharBuffer.wrap(message, 0, Math.min(message.length(), maxMessageSize));
+        // the buffer is sized for maxMessageSize characters, no overflow can occur
+        encoder.encode(chars, buffer, true);
+        encoder.flush(buffer);
+        int end = buffer.position();
+        buffer.limit(end);
+        if (framed) {
+            int pos = start - 1;
+            buffer.put(pos, (byte) ' ');
+            int length = end - start;
+            do {
+                buffer.put(--pos, (byte) ('0' + length % 10));
+                length /= 10;
+            } while (length > 0);
+            buffer.position(pos);
+        } else {
+            buffer.position(0);
+        }
+    }
+
+    private ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = freeBuffers.poll();
+        if (buffer != null) {
+            return buffer;
+        }
+        if (allocatedBufferCount.incrementAndGet() > bufferPoolSize) {
+            allocatedBufferCount.decrementAndGet();
+            return null;
+        }
+        return ByteBuffer.allocateDirect(bufferCapacity);
+    }
+
+    private void releaseBuffer(ByteBuffer buffer) {
+        freeBuffers.offer(buffer);
+    }
+
+    private void messageDropped(String reason, Exception e) {
+        droppedMessageCount.incrementAndGet();
+        int count = dropWarningCount.incrementAndGet();
+        if (count < CoreConstants.MAX_ERROR_COUNT) {
+            addWarn("Dropped syslog message: " + reason, e);
+        } else if (count == CoreConstants.MAX_ERROR_COUNT) {
+            addWarn("Dropped syslog message: " + reason + ". Further drops will only be counted.", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        if (tcpSender != null) {
+            pendingBuffers.offer(STOP_SENDING);
+            try {
+                tcpSender.get(MAX_STOP_DELAY, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                // cancelled below
+            }
+            tcpSender.cancel(true);
+            tcpSender = null;
+        }
+        DatagramChannel channel = datagramChannel;
+        if (channel != null) {
+            datagramChannel = null;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                addWarn("Failed to close datagram channel", e);
+            }
+        }
+        addInfo("Sent " + sentMessageCount.get() + " syslog messages, dropped " + droppedMessageCount.get());
+    }
+
+    /**
+     * Writes queued messages to the syslog host, reconnecting as needed.
+     */
+    class TcpSender implements Runnable {
+
+        private SocketChannel channel;
+        private long nextConnectionAttempt = 0;
+
+        @Override
+        public void run() {
+            List<ByteBuffer> batch = new ArrayList<>(batchSize);
+            ByteBuffer[] batchArray = new ByteBuffer[batchSize];
+            boolean stopping = false;
+            while (!stopping) {
+                try {
+                    batch.add(pendingBuffers.take());
+                } catch (InterruptedException e) {
+                    break;
+                }
+                pendingBuffers.drainTo(batch, batchSize - 1);
+                if (batch.remove(STOP_SENDING)) {
+                    stopping = true;
+                }
+                int count = batch.size();
+                if (count > 0) {
+                    batchArray = batch.toArray(batchArray);
+                    writeBatch(batchArray, count);
+                    for (int i = 0; i < count; i++) {
+                        releaseBuffer(batchArray[i]);
+                        batchArray[i] = null;
+                    }
+                }
+                batch.clear();
+            }
+            closeChannel();
+        }
+
+        private void writeBatch(ByteBuffer[] buffers, int count) {
+            try {
+                if (channel == null && !connect()) {
+                    droppedMessageCount.addAndGet(count);
+                    return;
+                }
+                while (buffers[count - 1].hasRemaining()) {
+                    channel.write(buffers, 0, count);
+                }
+                sentMessageCount.addAndGet(count);
+            } catch (IOException e) {
+                addWarn("Failed to write to " + address + ", dropped " + count + " messages", e);
+                droppedMessageCount.addAndGet(count);
+                closeChannel();
+                nextConnectionAttempt = System.currentTimeMillis() + reconnectionDelay.getMilliseconds();
+            }
+        }
+
+        private boolean connect() throws IOException {
+            if (System.currentTimeMillis() < nextConnectionAttempt) {
+                return false;
+            }
+            SocketChannel newChannel = SocketChannel.open();
+            try {
+                newChannel.socket().connect(address, CONNECTION_TIMEOUT);
+            } catch (IOException e) {
+                newChannel.close();
+                throw e;
+            }
+            channel = newChannel;
+            addInfo("Connected to syslog host " + address);
+            return true;
+        }
+
+        private void closeChannel() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    // nothing we can do
+                }
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of messages handed over to the network.
+     */
+    public long getSentMessageCount() {
+        return sentMessageCount.get();
+    }
+
+    /**
+     * Returns the number of messages which were dropped instead of being sent.
+     */
+    public long getDroppedMessageCount() {
+        return droppedMessageCount.get();
+    }
+
+    public String getSyslogHost() {
+        return syslogHost;
+    }
+
+    /**
+     * The name of the syslog host where log output should go.
+     */
+    public void setSyslogHost(String syslogHost) {
+        this.syslogHost = syslogHost;
+    }
+
+    public String getFacility() {
+        return facilityStr;
+    }
+
+    /**
+     * See {@link SyslogAppenderBase#setFacility(String)}.
+     */
+    public void setFacility(String facilityStr) {
+        if (facilityStr != null) {
+            facilityStr = facilityStr.trim();
+        }
+        this.facilityStr = facilityStr;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * The port number on the syslog server to connect to. The default value is
+     * 514.
+     */
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public int getMaxMessageSize() {
+        return maxMessageSize;
+    }
+
+    /**
+     * Maximum size for the syslog message, in characters. Longer messages are
+     * truncated. The default is {@value #DEFAULT_MAX_MESSAGE_SIZE}.
+     */
+    public void setMaxMessageSize(int maxMessageSize) {
+        this.maxMessageSize = maxMessageSize;
+    }
+
+    public Layout<E> getLayout() {
+        return layout;
+    }
+
+    public void setLayout(Layout<E> layout) {
+        addWarn("The layout of a SyslogAppender cannot be set directly. See also "
+                + SyslogAppenderBase.SYSLOG_LAYOUT_URL);
+    }
+
+    public String getSuffixPattern() {
+        return suffixPattern;
+    }
+
+    /**
+     * The <b>suffixPattern</b> option specifies the format of the non-standardized
+     * part of the message sent to the syslog server.
+     */
+    public void setSuffixPattern(String suffixPattern) {
+        this.suffixPattern = suffixPattern;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * The Charset to use when encoding messages into byte sequences.
+     */
+    public void setCharset(Charset charset) {
+        this.charset = charset;
+    }
+
+    public String getTransport() {
+        return transport;
+    }
+
+    /**
+     * Either "udp", the default, or "tcp".
+     */
+    public void setTransport(String transport) {
+        this.transport = transport;
+    }
+
+    public int getBufferPoolSize() {
+        return bufferPoolSize;
+    }
+
+    /**
+     * The maximum number of message buffers, which bounds the number of messages
+     * being encoded or waiting to be sent. Each buffer holds
+     * <code>maxMessageSize</code> characters in direct memory and is only
+     * allocated when needed. The default is {@value #DEFAULT_BUFFER_POOL_SIZE}.
+     */
+    public void setBufferPoolSize(int bufferPoolSize) {
+        this.bufferPoolSize = bufferPoolSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * The maximum number of messages written at once over TCP. The default is
+     * {@value #DEFAULT_BATCH_SIZE}.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getReconnectionDelay() {
+        return reconnectionDelay;
+    }
+
+    /**
+     * How long to wait before connecting again after a TCP connection failure.
+     * Messages logged in the meantime are dropped. The default is 30 seconds.
+     */
+    public void setReconnectionDelay(Duration reconnectionDelay) {
+        this.reconnectionDelay = reconnectionDelay;
+    }
+}
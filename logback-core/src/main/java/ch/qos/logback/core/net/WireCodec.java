@@ -0,0 +1,36 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import java.io.IOException;
+
+/**
+ * Encodes events of type E into the compact binary wire format written by
+ * {@link BinaryEventWriter} and decodes them back for {@link BinaryEventReader}.
+ * 
+ * <p>
+ * Implementations must decode fields in the order they were encoded. Strings
+ * which repeat from one event to the next, e.g. logger or thread names, should
+ * be written with {@link WireOutput#writeDictionaryString(String)}.
+ * </p>
+ * 
+ * @param <E>
+ * @since 1.4.5
+ */
+public interface WireCodec<E> {
+
+    void encode(E event, WireOutput out) throws IOException;
+
+    E decode(WireInput in) throws IOException;
+}
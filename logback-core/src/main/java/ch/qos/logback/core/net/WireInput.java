@@ -0,0 +1,166 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads back the values written by {@link WireOutput}, one frame at a time.
+ * All lengths and dictionary references are checked against the frame so that
+ * a corrupt or malicious stream results in a {@link StreamCorruptedException}.
+ * 
+ * @since 1.4.5
+ */
+public class WireInput {
+
+    private final List<String> dictionary = new ArrayList<>();
+    private byte[] buf = new byte[0];
+    private int pos;
+    private int limit;
+
+    void setFrame(byte[] buf, int length) {
+        this.buf = buf;
+        this.pos = 0;
+        this.limit = length;
+    }
+
+    boolean hasRemaining() {
+        return pos < limit;
+    }
+
+    private void require(int n) throws StreamCorruptedException {
+        if (n < 0 || limit - pos < n) {
+            throw new StreamCorruptedException("Unexpected end of frame");
+        }
+    }
+
+    public int readByte() throws IOException {
+        require(1);
+        return buf[pos++] & 0xFF;
+    }
+
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    public int readInt() throws IOException {
+        require(4);
+        int i = ((buf[pos] & 0xFF) << 24) | ((buf[pos + 1] & 0xFF) << 16) | ((buf[pos + 2] & 0xFF) << 8)
+                | (buf[pos + 3] & 0xFF);
+        pos += 4;
+        return i;
+    }
+
+    public long readLong() throws IOException {
+        require(8);
+        long l = 0;
+        for (int i = 0; i < 8; i++) {
+            l = (l << 8) | (buf[pos++] & 0xFF);
+        }
+        return l;
+    }
+
+    public int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Malformed variable length integer");
+    }
+
+    /**
+     * Read a size written by {@link WireOutput#writeSize(int, boolean)}.
+     * 
+     * @return the size or -1 for null
+     */
+    public int readSize() throws IOException {
+        int size = readVarInt() - 1;
+        // each element takes at least one byte
+        if (size > limit - pos) {
+            throw new StreamCorruptedException("Size " + size + " exceeds frame");
+        }
+        return size;
+    }
+
+    public String readString() throws IOException {
+        int tag = readByte();
+        switch (tag) {
+        case WireOutput.NULL_STRING:
+            return null;
+        case WireOutput.LITERAL_STRING:
+            return readUTF8();
+        default:
+            throw new StreamCorruptedException("Unexpected string tag " + tag);
+        }
+    }
+
+    public String readDictionaryString() throws IOException {
+        int tag = readByte();
+        switch (tag) {
+        case WireOutput.NULL_STRING:
+            return null;
+        case WireOutput.LITERAL_STRING:
+            return readUTF8();
+        case WireOutput.NEW_DICTIONARY_STRING:
+            if (dictionary.size() >= WireOutput.MAX_DICTIONARY_SIZE) {
+                throw new StreamCorruptedException("Dictionary overflow");
+            }
+            String s = readUTF8();
+            dictionary.add(s);
+            return s;
+        case WireOutput.DICTIONARY_REFERENCE:
+            int index = readVarInt();
+            if (index >= dictionary.size()) {
+                throw new StreamCorruptedException("Unknown dictionary reference " + index);
+            }
+            return dictionary.get(index);
+        default:
+            throw new StreamCorruptedException("Unexpected string tag " + tag);
+        }
+    }
+
+    public Map<String, String> readStringMap() throws IOException {
+        int size = readSize();
+        if (size < 0) {
+            return null;
+        }
+        Map<String, String> map = new HashMap<>(size * 4 / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            String key = readDictionaryString();
+            map.put(key, readString());
+        }
+        return map;
+    }
+
+    private String readUTF8() throws IOException {
+        int length = readVarInt();
+        require(length);
+        String s = new String(buf, pos, length, StandardCharsets.UTF_8);
+        pos += length;
+        return s;
+    }
+}
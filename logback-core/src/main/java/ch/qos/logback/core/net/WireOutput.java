@@ -0,0 +1,210 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Accumulates encoded events into a frame of the binary wire format.
+ * 
+ * <p>
+ * Integers are written in big-endian order, variable length integers as LEB128
+ * and strings as their UTF-8 encoding preceded by its length. Strings written
+ * with {@link #writeDictionaryString(String)} are sent once per connection and
+ * referred to by index afterwards.
+ * </p>
+ * 
+ * @since 1.4.5
+ */
+public class WireOutput {
+
+    static final int NULL_STRING = 0;
+    static final int LITERAL_STRING = 1;
+    static final int NEW_DICTIONARY_STRING = 2;
+    static final int DICTIONARY_REFERENCE = 3;
+
+    /**
+     * Strings are no longer added to the dictionary once it holds this many
+     * entries.
+     */
+    public static final int MAX_DICTIONARY_SIZE = 4096;
+
+    private final FrameBuffer frame = new FrameBuffer(8192);
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final byte[] scratch = new byte[8];
+
+    public void writeByte(int b) {
+        frame.write(b);
+    }
+
+    public void writeBoolean(boolean b) {
+        frame.write(b ? 1 : 0);
+    }
+
+    public void writeInt(int i) {
+        scratch[0] = (byte) (i >>> 24);
+        scratch[1] = (byte) (i >>> 16);
+        scratch[2] = (byte) (i >>> 8);
+        scratch[3] = (byte) i;
+        frame.write(scratch, 0, 4);
+    }
+
+    public void writeLong(long l) {
+        for (int i = 0; i < 8; i++) {
+            scratch[i] = (byte) (l >>> (56 - 8 * i));
+        }
+        frame.write(scratch, 0, 8);
+    }
+
+    /**
+     * Write a non-negative integer using one byte per 7 bits.
+     */
+    public void writeVarInt(int i) {
+        if (i < 0) {
+            throw new IllegalArgumentException("Negative value " + i);
+        }
+        while ((i & ~0x7F) != 0) {
+            frame.write((i & 0x7F) | 0x80);
+            i >>>= 7;
+        }
+        frame.write(i);
+    }
+
+    /**
+     * Write the size of a collection which may be null.
+     */
+    public void writeSize(int size, boolean isNull) {
+        writeVarInt(isNull ? 0 : size + 1);
+    }
+
+    /**
+     * Write a string, possibly null, as is.
+     */
+    public void writeString(String s) {
+        if (s == null) {
+            frame.write(NULL_STRING);
+            return;
+        }
+        frame.write(LITERAL_STRING);
+        writeUTF8(s);
+    }
+
+    /**
+     * Write a string, possibly null, which is likely to be repeated in later
+     * events of the same connection.
+     */
+    public void writeDictionaryString(String s) {
+        if (s == null) {
+            frame.write(NULL_STRING);
+            return;
+        }
+        Integer index = dictionary.get(s);
+        if (index != null) {
+            frame.write(DICTIONARY_REFERENCE);
+            writeVarInt(index);
+        } else if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+            dictionary.put(s, dictionary.size());
+            frame.write(NEW_DICTIONARY_STRING);
+            writeUTF8(s);
+        } else {
+            frame.write(LITERAL_STRING);
+            writeUTF8(s);
+        }
+    }
+
+    /**
+     * Write a map, possibly null, whose keys are dictionary strings.
+     */
+    public void writeStringMap(Map<String, String> map) {
+        writeSize(map == null ? 0 : map.size(), map == null);
+        if (map == null) {
+            return;
+        }
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            writeDictionaryString(entry.getKey());
+            writeString(entry.getValue());
+        }
+    }
+
+    private void writeUTF8(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        frame.write(bytes, 0, bytes.length);
+    }
+
+    int size() {
+        return frame.size();
+    }
+
+    /**
+     * Write the accumulated bytes, preceded by their length, and start a new
+     * frame.
+     */
+    void writeFrameTo(OutputStream os, int eventCount) throws IOException {
+        byte[] header = new byte[8];
+        int length = frame.size();
+        for (int i = 0; i < 4; i++) {
+            header[i] = (byte) (length >>> (24 - 8 * i));
+            header[4 + i] = (byte) (eventCount >>> (24 - 8 * i));
+        }
+        os.write(header);
+        frame.writeTo(os);
+        frame.reset();
+    }
+
+    // a ByteArrayOutputStream without synchronization
+    static class FrameBuffer extends ByteArrayOutputStream {
+        FrameBuffer(int size) {
+            super(size);
+        }
+
+        @Override
+        public void write(int b) {
+            if (count == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length << 1);
+            }
+            buf[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (count + len > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, count + len));
+            }
+            System.arraycopy(b, off, buf, count, len);
+            count += len;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            out.write(buf, 0, count);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+
+        @Override
+        public void reset() {
+            count = 0;
+        }
+    }
+}
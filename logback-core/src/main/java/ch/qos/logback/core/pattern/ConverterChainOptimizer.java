@@ -0,0 +1,58 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.pattern;
+
+import ch.qos.logback.core.Context;
+
+/**
+ * Rewrites a compiled converter chain so that it is cheaper to execute while
+ * producing the same output. Adjacent {@link LiteralConverter}s, including
+ * those within composite converters, are merged into a single one.
+ * 
+ * <p>
+ * {@link PatternLayoutBase} applies this processor after the
+ * {@link PostCompileProcessor} set by the layout, if any.
+ * </p>
+ * 
+ * @since 1.4.5
+ */
+public class ConverterChainOptimizer<E> implements PostCompileProcessor<E> {
+
+    @Override
+    public void process(Context context, Converter<E> head) {
+        Converter<E> c = head;
+        while (c != null) {
+            if (c instanceof LiteralConverter) {
+                mergeFollowingLiterals((LiteralConverter<E>) c);
+            } else if (c instanceof CompositeConverter) {
+                process(context, ((CompositeConverter<E>) c).childConverter);
+            }
+            c = c.next;
+        }
+    }
+
+    private void mergeFollowingLiterals(LiteralConverter<E> literalConverter) {
+        Converter<E> next = literalConverter.next;
+        if (!(next instanceof LiteralConverter)) {
+            return;
+        }
+        StringBuilder merged = new StringBuilder(literalConverter.literal);
+        while (next instanceof LiteralConverter) {
+            merged.append(((LiteralConverter<E>) next).literal);
+            next = next.next;
+        }
+        literalConverter.literal = merged.toString();
+        literalConverter.next = next;
+    }
+}
@@ -33,13 +33,13 @@ abstract public class FormattingConverter<E> extends Converter<E> {
 
     @Override
     final public void write(StringBuilder buf, E event) {
-        String s = convert(event);
-
         if (formattingInfo == null) {
-            buf.append(s);
+            writeUnformatted(buf, event);
             return;
         }
 
+        String s = convert(event);
+
         int min = formattingInfo.getMin();
         int max = formattingInfo.getMax();
 
@@ -67,4 +67,16 @@ abstract public class FormattingConverter<E> extends Converter<E> {
             buf.append(s);
         }
     }
+
+    /**
+     * Append the conversion of the event to the buffer, in the absence of any
+     * formatting information. By default, the result of {@link #convert(Object)}
+     * is appended. Converters able to write their output without creating an
+     * intermediary string may override this method.
+     * 
+     * @since 1.4.5
+     */
+    protected void writeUnformatted(StringBuilder buf, E event) {
+        buf.append(convert(event));
+    }
 }
@@ -25,4 +25,9 @@ public final class LiteralConverter<E> extends Converter<E> {
         return literal;
     }
 
+    @Override
+    public void write(StringBuilder buf, E event) {
+        buf.append(literal);
+    }
+
 }
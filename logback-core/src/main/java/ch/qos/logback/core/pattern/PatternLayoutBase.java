@@ -28,6 +28,8 @@ import ch.qos.logback.core.status.StatusManager;
 abstract public class PatternLayoutBase<E> extends LayoutBase<E> {
 
     static final int INTIAL_STRING_BUILDER_SIZE = 256;
+    // outputs longer than this, e.g. with stack traces, do not grow the estimate
+    static final int MAX_ESTIMATED_OUTPUT_LENGTH = 4096;
     Converter<E> head;
     String pattern;
     protected PostCompileProcessor<E> postCompileProcessor;
@@ -35,6 +37,10 @@ abstract public class PatternLayoutBase<E> extends LayoutBase<E> {
     Map<String, String> instanceConverterMap = new HashMap<String, String>();
     protected boolean outputPatternAsHeader = false;
 
+    // The initial capacity of string builders, grown after the longest output
+    // observed so far. Racy updates are harmless as this is only a hint.
+    int estimatedOutputLength = INTIAL_STRING_BUILDER_SIZE;
+
     /**
      * Concrete implementations of this class are responsible for elaborating the
      * mapping between pattern words and converters.
@@ -86,6 +92,7 @@ abstract public class PatternLayoutBase<E> extends LayoutBase<E> {
             if (postCompileProcessor != null) {
                 postCompileProcessor.process(context, head);
             }
+            new ConverterChainOptimizer<E>().process(context, head);
             ConverterUtil.setContextForConverters(getContext(), head);
             ConverterUtil.startConverters(this.head);
             super.start();
@@ -99,6 +106,16 @@ abstract public class PatternLayoutBase<E> extends LayoutBase<E> {
         this.postCompileProcessor = postCompileProcessor;
     }
 
+    /**
+     * Returns the first converter of the chain compiled from the pattern, null
+     * if this layout has not been started.
+     * 
+     * @since 1.4.5
+     */
+    protected Converter<E> getHeadConverter() {
+        return head;
+    }
+
     /**
      *
      * @param head
@@ -110,13 +127,28 @@ abstract public class PatternLayoutBase<E> extends LayoutBase<E> {
     }
 
     protected String writeLoopOnConverters(E event) {
-        StringBuilder strBuilder = new StringBuilder(INTIAL_STRING_BUILDER_SIZE);
+        StringBuilder strBuilder = new StringBuilder(estimatedOutputLength);
+        writeLoopOnConverters(strBuilder, event);
+        int length = strBuilder.length();
+        if (length > estimatedOutputLength && length <= MAX_ESTIMATED_OUTPUT_LENGTH) {
+            // leave some room for slightly longer outputs
+            estimatedOutputLength = Math.min(length + (length >> 3), MAX_ESTIMATED_OUTPUT_LENGTH);
+        }
+        return strBuilder.toString();
+    }
+
+    /**
+     * Write the output of the converter chain for the given event into the
+     * {@link StringBuilder} passed as parameter.
+     * 
+     * @since 1.4.5
+     */
+    protected void writeLoopOnConverters(StringBuilder strBuilder, E event) {
         Converter<E> c = head;
         while (c != null) {
             c.write(strBuilder, event);
             c = c.getNext();
         }
-        return strBuilder.toString();
     }
 
     public String getPattern() {
@@ -99,8 +99,7 @@ public class FixedWindowRollingPolicy extends RollingPolicyBase {
             String zipEntryFileNamePatternStr = transformFileNamePatternFromInt2Date(fileNamePatternStr);
             zipEntryFileNamePattern = new FileNamePattern(zipEntryFileNamePatternStr, context);
         }
-        compressor = new Compressor(compressionMode);
-        compressor.setContext(this.context);
+        compressor = newCompressor();
         super.start();
     }
 
@@ -150,13 +149,13 @@ public class FixedWindowRollingPolicy extends RollingPolicyBase {
             case NONE:
                 util.rename(getActiveFileName(), fileNamePattern.convertInt(minIndex));
                 break;
-            case GZ:
-                compressor.compress(getActiveFileName(), fileNamePattern.convertInt(minIndex), null);
-                break;
             case ZIP:
                 compressor.compress(getActiveFileName(), fileNamePattern.convertInt(minIndex),
                         zipEntryFileNamePattern.convert(new Date()));
                 break;
+            default:
+                compressor.compress(getActiveFileName(), fileNamePattern.convertInt(minIndex), null);
+                break;
             }
         }
     }
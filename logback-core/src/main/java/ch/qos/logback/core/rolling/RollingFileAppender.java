@@ -18,6 +18,7 @@ import static ch.qos.logback.core.CoreConstants.MORE_INFO_PREFIX;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -240,6 +241,34 @@ public class RollingFileAppender<E> extends FileAppender<E> {
         super.subAppend(event);
     }
 
+    /**
+     * As for single events, the roll-over check is made for each event of the
+     * batch before it is written. Events preceding a triggering event are written
+     * to the currently active file, the others to the file opened by the
+     * roll-over. Note that triggering policies looking at the size of the active
+     * file do not see the events of the batch which are yet to be written.
+     * 
+     * @since 1.4.5
+     */
+    @Override
+    protected void subAppendBatch(List<E> events) {
+        int from = 0;
+        final int size = events.size();
+        for (int i = 0; i < size; i++) {
+            synchronized (triggeringPolicy) {
+                if (triggeringPolicy.isTriggeringEvent(currentlyActiveFile, events.get(i))) {
+                    if (i > from) {
+                        super.subAppendBatch(events.subList(from, i));
+                    }
+                    from = i;
+                    rollover();
+                }
+            }
+        }
+
+        super.subAppendBatch(from == 0 ? events : events.subList(from, size));
+    }
+
     public RollingPolicy getRollingPolicy() {
         return rollingPolicy;
     }
@@ -0,0 +1,89 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import ch.qos.logback.core.MemoryMappedFileAppender;
+import ch.qos.logback.core.util.FileSize;
+import ch.qos.logback.core.util.MappedFileOutputStream;
+
+/**
+ * A {@link RollingFileAppender} writing into memory mapped regions of the
+ * active file, see {@link MemoryMappedFileAppender}. Upon roll-over, the active
+ * file is truncated to its actual length before being renamed or compressed by
+ * the {@link RollingPolicy}.
+ * 
+ * <p>
+ * As the active file is padded up to the end of the current region, triggering
+ * policies are passed a file whose length is the number of bytes actually
+ * written.
+ * 
+ * @since 1.4.5
+ */
+public class RollingMemoryMappedFileAppender<E> extends RollingFileAppender<E> {
+
+    private FileSize regionLength = new FileSize(MemoryMappedFileAppender.DEFAULT_REGION_LENGTH);
+
+    @Override
+    public void start() {
+        if (!MemoryMappedFileAppender.checkMemoryMappingConstraints(this, regionLength)) {
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    protected OutputStream createOutputStream(File file) throws IOException {
+        MappedFileOutputStream mappedFos = new MappedFileOutputStream(file, append, regionLength.getSize());
+        currentlyActiveFile = new MappedActiveFile(file, mappedFos);
+        return mappedFos;
+    }
+
+    public FileSize getRegionLength() {
+        return regionLength;
+    }
+
+    /**
+     * The length of each memory mapped region of the active file. Defaults to 32MB.
+     */
+    public void setRegionLength(FileSize regionLength) {
+        this.regionLength = regionLength;
+    }
+
+    /**
+     * The active file as seen by triggering policies.
+     */
+    static class MappedActiveFile extends File {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient MappedFileOutputStream mappedFos;
+
+        MappedActiveFile(File file, MappedFileOutputStream mappedFos) {
+            super(file.getPath());
+            this.mappedFos = mappedFos;
+        }
+
+        @Override
+        public long length() {
+            if (mappedFos != null && mappedFos.isOpen()) {
+                return mappedFos.position();
+            }
+            return super.length();
+        }
+    }
+}
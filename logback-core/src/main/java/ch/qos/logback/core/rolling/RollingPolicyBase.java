@@ -14,7 +14,9 @@
 package ch.qos.logback.core.rolling;
 
 import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.rolling.helper.CompressionCodec;
 import ch.qos.logback.core.rolling.helper.CompressionMode;
+import ch.qos.logback.core.rolling.helper.Compressor;
 import ch.qos.logback.core.rolling.helper.FileNamePattern;
 import ch.qos.logback.core.spi.ContextAwareBase;
 
@@ -26,6 +28,7 @@ import ch.qos.logback.core.spi.ContextAwareBase;
  */
 public abstract class RollingPolicyBase extends ContextAwareBase implements RollingPolicy {
     protected CompressionMode compressionMode = CompressionMode.NONE;
+    protected CompressionCodec compressionCodec;
 
     FileNamePattern fileNamePattern;
     // fileNamePatternStr is always slashified, see setter
@@ -40,23 +43,80 @@ public abstract class RollingPolicyBase extends ContextAwareBase implements Roll
     /**
      * Given the FileNamePattern string, this method determines the compression mode
      * depending on last letters of the fileNamePatternStr. Patterns ending with .gz
-     * imply GZIP compression, endings with '.zip' imply ZIP compression. Otherwise
-     * and by default, there is no compression.
+     * imply GZIP compression, endings with '.zip' imply ZIP compression and
+     * endings with '.lz4' imply LZ4 compression. Patterns ending with the suffix of
+     * the codec set via {@link #setCompressionCodec(CompressionCodec)} imply
+     * compression by that codec. Otherwise and by default, there is no
+     * compression.
      * 
      */
     protected void determineCompressionMode() {
-        if (fileNamePatternStr.endsWith(".gz")) {
+        if (compressionCodec != null && fileNamePatternStr.endsWith(compressionCodec.getFileNameSuffix())) {
+            compressionMode = builtInModeForSuffix(compressionCodec.getFileNameSuffix());
+            addInfo("Will use compression codec " + compressionCodec.getClass().getName());
+        } else if (fileNamePatternStr.endsWith(".gz")) {
             addInfo("Will use gz compression");
             compressionMode = CompressionMode.GZ;
         } else if (fileNamePatternStr.endsWith(".zip")) {
             addInfo("Will use zip compression");
             compressionMode = CompressionMode.ZIP;
+        } else if (fileNamePatternStr.endsWith(".lz4")) {
+            addInfo("Will use lz4 compression");
+            compressionMode = CompressionMode.LZ4;
         } else {
+            if (compressionCodec != null) {
+                addWarn("FileNamePattern [" + fileNamePatternStr + "] does not end with ["
+                        + compressionCodec.getFileNameSuffix() + "], ignoring compression codec");
+            }
             addInfo("No compression will be used");
             compressionMode = CompressionMode.NONE;
         }
     }
 
+    private static CompressionMode builtInModeForSuffix(String suffix) {
+        for (CompressionMode mode : CompressionMode.values()) {
+            if (mode.getSuffix() != null && mode.getSuffix().equals(suffix)) {
+                return mode;
+            }
+        }
+        return CompressionMode.CUSTOM;
+    }
+
+    /**
+     * @return the compressor for the compression mode, using the compression codec
+     *         if one applies
+     * @since 1.4.5
+     */
+    protected Compressor newCompressor() {
+        CompressionCodec codec = null;
+        if (compressionCodec != null && fileNamePatternStr.endsWith(compressionCodec.getFileNameSuffix())) {
+            codec = compressionCodec;
+        }
+        Compressor compressor = new Compressor(compressionMode, codec);
+        compressor.setContext(context);
+        return compressor;
+    }
+
+    /**
+     * @return the file name pattern without the compression suffix, if any
+     * @since 1.4.5
+     */
+    protected String fileNamePatternStrWithoutCompSuffix() {
+        return Compressor.computeFileNameStrWithoutCompSuffix(fileNamePatternStr, compressionSuffix());
+    }
+
+    /**
+     * @return the suffix appended to archives by compression, or the empty string
+     *         if archives are not compressed
+     * @since 1.4.5
+     */
+    protected String compressionSuffix() {
+        if (compressionMode == CompressionMode.CUSTOM) {
+            return compressionCodec.getFileNameSuffix();
+        }
+        return compressionMode.getSuffix() == null ? "" : compressionMode.getSuffix();
+    }
+
     public void setFileNamePattern(String fnp) {
         fileNamePatternStr = fnp;
     }
@@ -69,6 +129,25 @@ public abstract class RollingPolicyBase extends ContextAwareBase implements Roll
         return compressionMode;
     }
 
+    /**
+     * @since 1.4.5
+     */
+    public CompressionCodec getCompressionCodec() {
+        return compressionCodec;
+    }
+
+    /**
+     * Set the codec used to compress archived files whose name ends with the
+     * codec's suffix, e.g. a {@link ch.qos.logback.core.rolling.helper.GZipCodec
+     * GZipCodec} with a parallelism greater than one or a codec for a format not
+     * supported by logback.
+     * 
+     * @since 1.4.5
+     */
+    public void setCompressionCodec(CompressionCodec compressionCodec) {
+        this.compressionCodec = compressionCodec;
+    }
+
     public boolean isStarted() {
         return started;
     }
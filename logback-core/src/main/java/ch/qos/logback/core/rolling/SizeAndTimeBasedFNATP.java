@@ -24,6 +24,7 @@ import ch.qos.logback.core.rolling.helper.ArchiveRemover;
 import ch.qos.logback.core.rolling.helper.CompressionMode;
 import ch.qos.logback.core.rolling.helper.FileFilterUtil;
 import ch.qos.logback.core.rolling.helper.SizeAndTimeBasedArchiveRemover;
+import ch.qos.logback.core.rolling.helper.TimeBasedArchiveRemover;
 import ch.qos.logback.core.util.FileSize;
 import ch.qos.logback.core.util.DefaultInvocationGate;
 import ch.qos.logback.core.util.InvocationGate;
@@ -112,10 +113,15 @@ public class SizeAndTimeBasedFNATP<E> extends TimeBasedFileNamingAndTriggeringPo
     }
 
     void computeCurrentPeriodsHighestCounterValue(final String stemRegex) {
-        File file = new File(getCurrentPeriodsFileNameWithoutCompressionSuffix());
-        File parentDir = file.getParentFile();
-
-        File[] matchingFileArray = FileFilterUtil.filesInFolderMatchingStemRegex(parentDir, stemRegex);
+        File[] matchingFileArray;
+        if (archiveRemover instanceof TimeBasedArchiveRemover) {
+            // seeds the remover's archive index with the current period
+            matchingFileArray = ((TimeBasedArchiveRemover) archiveRemover).getArchivesInPeriod(dateInCurrentPeriod);
+        } else {
+            File file = new File(getCurrentPeriodsFileNameWithoutCompressionSuffix());
+            File parentDir = file.getParentFile();
+            matchingFileArray = FileFilterUtil.filesInFolderMatchingStemRegex(parentDir, stemRegex);
+        }
 
         if (matchingFileArray == null || matchingFileArray.length == 0) {
             currentPeriodsCounter = 0;
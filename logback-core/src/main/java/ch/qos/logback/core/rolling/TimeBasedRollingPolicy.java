@@ -75,12 +75,10 @@ public class TimeBasedRollingPolicy<E> extends RollingPolicyBase implements Trig
             throw new IllegalStateException(FNP_NOT_SET + CoreConstants.SEE_FNP_NOT_SET);
         }
 
-        compressor = new Compressor(compressionMode);
-        compressor.setContext(context);
+        compressor = newCompressor();
 
         // wcs : without compression suffix
-        fileNamePatternWithoutCompSuffix = new FileNamePattern(
-                Compressor.computeFileNameStrWithoutCompSuffix(fileNamePatternStr, compressionMode), this.context);
+        fileNamePatternWithoutCompSuffix = new FileNamePattern(fileNamePatternStrWithoutCompSuffix(), this.context);
 
         addInfo("Will use the pattern " + fileNamePatternWithoutCompSuffix + " for the active file");
 
@@ -183,6 +181,7 @@ public class TimeBasedRollingPolicy<E> extends RollingPolicyBase implements Trig
         }
 
         if (archiveRemover != null) {
+            archiveRemover.archiveCreated(new File(elapsedPeriodsFileName + compressionSuffix()));
             Date now = new Date(timeBasedFileNamingAndTriggeringPolicy.getCurrentTime());
             this.cleanUpFuture = archiveRemover.cleanAsynchronously(now);
         }
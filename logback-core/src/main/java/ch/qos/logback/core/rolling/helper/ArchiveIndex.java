@@ -0,0 +1,243 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory index of archived log files, grouped by rollover period.
+ * 
+ * <p>
+ * A period is scanned on disk the first time it is looked up. Afterwards, the
+ * index is kept up to date incrementally as archives are created (see
+ * {@link #add(File)}) and deleted (see {@link #remove(File)}), so that periodic
+ * clean up and total size cap enforcement cost in proportion to the number of
+ * changes instead of the number of archives.
+ * </p>
+ * 
+ * <p>
+ * The size of an archive is read from disk when the archive is first indexed,
+ * and the total size of indexed archives is kept up to date as archives are
+ * added and removed. Archives recorded by {@link #add(File)} may still be
+ * growing, e.g. while being compressed. Their size is read on each lookup until
+ * the next archive is added, at which point it is read one last time.
+ * </p>
+ * 
+ * <p>
+ * Archives created or deleted by other processes after a period was scanned
+ * are not seen by the index.
+ * </p>
+ * 
+ * @since 1.4.5
+ */
+public class ArchiveIndex {
+
+    /**
+     * Discovers the archives of a period on disk.
+     */
+    public interface PeriodScanner {
+
+        /**
+         * @param period the start of the period
+         * @return the archives of the given period, newest first
+         */
+        File[] scan(Date period);
+
+        /**
+         * @param period the start of the period
+         * @return a filter accepting exactly the archives of the given period
+         */
+        FileFilter filterFor(Date period);
+    }
+
+    static class Period {
+        final FileFilter filter;
+        // newest first
+        final List<File> archives = new ArrayList<>();
+
+        Period(FileFilter filter) {
+            this.filter = filter;
+        }
+    }
+
+    private final PeriodScanner scanner;
+    private final NavigableMap<Long, Period> periods = new TreeMap<>();
+    // sizes of indexed archives, except pending ones
+    private final Map<File, Long> sizes = new HashMap<>();
+    // indexed archives which may still be growing
+    private final Set<File> pending = new LinkedHashSet<>();
+    private long settledTotalSize = 0;
+    private int scanCount = 0;
+
+    public ArchiveIndex(PeriodScanner scanner) {
+        this.scanner = scanner;
+    }
+
+    /**
+     * Returns the archives of the given period, newest first. The period is
+     * scanned on disk only if it is not indexed yet.
+     * 
+     * @param period the start of the period
+     */
+    public synchronized File[] getFilesInPeriod(Date period) {
+        return lookup(period).archives.toArray(new File[0]);
+    }
+
+    private Period lookup(Date period) {
+        Long key = period.getTime();
+        Period p = periods.get(key);
+        if (p == null) {
+            p = new Period(scanner.filterFor(period));
+            File[] found = scanner.scan(period);
+            scanCount++;
+            if (found != null) {
+                for (File f : found) {
+                    File absolute = f.getAbsoluteFile();
+                    p.archives.add(absolute);
+                    settle(absolute);
+                }
+            }
+            periods.put(key, p);
+        }
+        return p;
+    }
+
+    /**
+     * Record a newly created archive. The archive is attached to the most recent
+     * indexed period accepting it. If there is no such period, the archive will
+     * be found when its period is scanned.
+     * 
+     * <p>
+     * The archive need not exist yet, e.g. while it is being compressed.
+     * Previously added archives are assumed to be complete by now.
+     * </p>
+     * 
+     * @param archive
+     */
+    public synchronized void add(File archive) {
+        for (File f : pending) {
+            settle(f);
+        }
+        pending.clear();
+
+        File absolute = archive.getAbsoluteFile();
+        for (Period p : periods.descendingMap().values()) {
+            if (p.filter.accept(absolute)) {
+                if (p.archives.remove(absolute)) {
+                    forgetSize(absolute);
+                }
+                p.archives.add(0, absolute);
+                pending.add(absolute);
+                return;
+            }
+        }
+    }
+
+    private void settle(File absolute) {
+        long size = absolute.length();
+        Long previous = sizes.put(absolute, size);
+        settledTotalSize += size - (previous == null ? 0 : previous);
+    }
+
+    private void forgetSize(File absolute) {
+        Long size = sizes.remove(absolute);
+        if (size != null) {
+            settledTotalSize -= size;
+        }
+        pending.remove(absolute);
+    }
+
+    /**
+     * Forget the given archive, typically after deleting it.
+     * 
+     * @param archive
+     */
+    public synchronized void remove(File archive) {
+        File absolute = archive.getAbsoluteFile();
+        for (Period p : periods.values()) {
+            if (p.archives.remove(absolute)) {
+                forgetSize(absolute);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the size of the given archive, zero if it does not exist (yet). The
+     * size is read from disk only for archives which are not indexed or may still
+     * be growing.
+     * 
+     * @param archive
+     */
+    public synchronized long sizeOf(File archive) {
+        File absolute = archive.getAbsoluteFile();
+        Long size = sizes.get(absolute);
+        return size != null ? size : absolute.length();
+    }
+
+    /**
+     * Returns the total size of the indexed archives.
+     */
+    public synchronized long getTotalSize() {
+        long total = settledTotalSize;
+        for (File f : pending) {
+            total += f.length();
+        }
+        return total;
+    }
+
+    /**
+     * Drop the periods starting before the given date from the index. Their
+     * archives are expected to have been deleted.
+     * 
+     * @param date
+     */
+    public synchronized void evictPeriodsBefore(Date date) {
+        NavigableMap<Long, Period> evicted = periods.headMap(date.getTime(), false);
+        for (Period p : evicted.values()) {
+            for (File f : p.archives) {
+                forgetSize(f);
+            }
+        }
+        evicted.clear();
+    }
+
+    /**
+     * Drop all indexed periods. They will be scanned again when next looked up.
+     */
+    public synchronized void clear() {
+        periods.clear();
+        sizes.clear();
+        pending.clear();
+        settledTotalSize = 0;
+    }
+
+    synchronized int getIndexedPeriodCount() {
+        return periods.size();
+    }
+
+    synchronized int getScanCount() {
+        return scanCount;
+    }
+}
@@ -13,6 +13,7 @@
  */
 package ch.qos.logback.core.rolling.helper;
 
+import java.io.File;
 import java.util.Date;
 import java.util.concurrent.Future;
 
@@ -31,4 +32,15 @@ public interface ArchiveRemover extends ContextAware {
     void setTotalSizeCap(long totalSizeCap);
 
     Future<?> cleanAsynchronously(Date now);
+
+    /**
+     * Notify this remover that a new archive was created, typically at rollover.
+     * Removers which keep track of existing archives should take it into account.
+     * 
+     * @param archive the new archive, which may still be in the process of being
+     *                written, e.g. compressed
+     * @since 1.4.5
+     */
+    default void archiveCreated(File archive) {
+    }
 }
\ No newline at end of file
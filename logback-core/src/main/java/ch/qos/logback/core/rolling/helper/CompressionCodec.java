@@ -0,0 +1,58 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.io.File;
+import java.io.IOException;
+
+import ch.qos.logback.core.spi.ContextAware;
+
+/**
+ * A compression codec used by {@link Compressor} in order to compress archived
+ * log files.
+ * 
+ * <p>
+ * Besides the built-in codecs, see {@link CompressionMode#newCodec()}, a codec
+ * can be set on rolling policies via the <b>compressionCodec</b> property. The
+ * codec is then used for file name patterns ending with its suffix.
+ * 
+ * @since 1.4.5
+ */
+public interface CompressionCodec extends ContextAware {
+
+    /**
+     * The suffix of compressed files including the leading dot, e.g. ".gz".
+     */
+    String getFileNameSuffix();
+
+    /**
+     * Whether the codec requires the name of the file as nested within the
+     * compressed archive, as is the case for ZIP.
+     */
+    default boolean isInnerEntryNameRequired() {
+        return false;
+    }
+
+    /**
+     * Compress <code>source</code> into <code>target</code>. The caller ensures
+     * that <code>source</code> exists and that <code>target</code> does not. The
+     * source file is deleted by the caller.
+     * 
+     * @param source         the file to compress
+     * @param target         the compressed file to create
+     * @param innerEntryName the name of the file within the archive, may be null
+     *                       unless {@link #isInnerEntryNameRequired()} returns true
+     */
+    void compress(File source, File target, String innerEntryName) throws IOException;
+}
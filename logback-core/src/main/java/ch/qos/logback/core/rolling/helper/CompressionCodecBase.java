@@ -0,0 +1,87 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import ch.qos.logback.core.spi.ContextAwareBase;
+import ch.qos.logback.core.util.FileSize;
+
+/**
+ * Base class for {@link CompressionCodec} implementations. Provides a copy
+ * loop reporting progress on large files.
+ * 
+ * @since 1.4.5
+ */
+public abstract class CompressionCodecBase extends ContextAwareBase implements CompressionCodec {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Progress is reported for files at least this large.
+     */
+    static final long PROGRESS_REPORT_THRESHOLD = 64 * FileSize.MB_COEFFICIENT;
+    static final int PROGRESS_REPORT_PERCENT_STEP = 10;
+
+    /**
+     * Copy <code>in</code> into <code>out</code>, reporting progress against the
+     * length of <code>source</code>.
+     */
+    protected void copy(InputStream in, OutputStream out, File source) throws IOException {
+        ProgressReporter progress = new ProgressReporter(source);
+        byte[] inbuf = new byte[BUFFER_SIZE];
+        int n;
+        while ((n = in.read(inbuf)) != -1) {
+            out.write(inbuf, 0, n);
+            progress.advance(n);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getName();
+    }
+
+    /**
+     * Reports, as info statuses, each {@link #PROGRESS_REPORT_PERCENT_STEP}
+     * percent of a large file being compressed.
+     */
+    protected class ProgressReporter {
+        final File source;
+        final long total;
+        long done;
+        int lastReportedPercent;
+
+        protected ProgressReporter(File source) {
+            this.source = source;
+            this.total = source.length();
+        }
+
+        public void advance(long byteCount) {
+            done += byteCount;
+            if (total < PROGRESS_REPORT_THRESHOLD) {
+                return;
+            }
+            int percent = (int) (Math.min(done, total) * 100 / total);
+            if (percent >= lastReportedPercent + PROGRESS_REPORT_PERCENT_STEP) {
+                lastReportedPercent = percent - percent % PROGRESS_REPORT_PERCENT_STEP;
+                addInfo("Compressed " + new FileSize(done) + " of " + new FileSize(total) + " (" + lastReportedPercent
+                        + "%) of [" + source + "]");
+            }
+        }
+    }
+}
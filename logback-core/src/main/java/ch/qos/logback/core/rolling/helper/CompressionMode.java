@@ -13,6 +13,58 @@
  */
 package ch.qos.logback.core.rolling.helper;
 
+/**
+ * The compression applied to archived log files, as determined by the suffix of
+ * the file name pattern.
+ */
 public enum CompressionMode {
-    NONE, GZ, ZIP;
+    NONE(null), GZ(".gz"), ZIP(".zip"),
+
+    /**
+     * LZ4 frame format, see {@link LZ4FrameCodec}.
+     * 
+     * @since 1.4.5
+     */
+    LZ4(".lz4"),
+
+    /**
+     * Compression performed by a user supplied {@link CompressionCodec}, the suffix
+     * being that of the codec.
+     * 
+     * @since 1.4.5
+     */
+    CUSTOM(null);
+
+    private final String suffix;
+
+    private CompressionMode(String suffix) {
+        this.suffix = suffix;
+    }
+
+    /**
+     * @return the file name suffix of the built-in mode, null for {@link #NONE}
+     *         and {@link #CUSTOM}
+     * @since 1.4.5
+     */
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * @return a new instance of the codec implementing this built-in mode, null
+     *         for {@link #NONE} and {@link #CUSTOM}
+     * @since 1.4.5
+     */
+    public CompressionCodec newCodec() {
+        switch (this) {
+        case GZ:
+            return new GZipCodec();
+        case ZIP:
+            return new ZipCodec();
+        case LZ4:
+            return new LZ4FrameCodec();
+        default:
+            return null;
+        }
+    }
 }
@@ -13,15 +13,10 @@
  */
 package ch.qos.logback.core.rolling.helper;
 
-import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 import ch.qos.logback.core.rolling.RolloverFailure;
 import ch.qos.logback.core.spi.ContextAwareBase;
@@ -30,19 +25,29 @@ import ch.qos.logback.core.status.WarnStatus;
 import ch.qos.logback.core.util.FileUtil;
 
 /**
- * The <code>Compression</code> class implements ZIP and GZ file
- * compression/decompression methods.
+ * The <code>Compression</code> class compresses files using the
+ * {@link CompressionCodec} of the compression mode, or a user supplied codec.
  *
  * @author Ceki G&uuml;lc&uuml;
  */
 public class Compressor extends ContextAwareBase {
 
     final CompressionMode compressionMode;
-
-    static final int BUFFER_SIZE = 8192;
+    final CompressionCodec codec;
 
     public Compressor(CompressionMode compressionMode) {
+        this(compressionMode, null);
+    }
+
+    /**
+     * @param compressionMode
+     * @param codec           the codec to use, if null the built-in codec of the
+     *                        compression mode is used
+     * @since 1.4.5
+     */
+    public Compressor(CompressionMode compressionMode, CompressionCodec codec) {
         this.compressionMode = compressionMode;
+        this.codec = codec != null ? codec : compressionMode.newCodec();
     }
 
     /**
@@ -52,161 +57,87 @@ public class Compressor extends ContextAwareBase {
      *                             ZIP compression.
      */
     public void compress(String nameOfFile2Compress, String nameOfCompressedFile, String innerEntryName) {
-        switch (compressionMode) {
-        case GZ:
-            gzCompress(nameOfFile2Compress, nameOfCompressedFile);
-            break;
-        case ZIP:
-            zipCompress(nameOfFile2Compress, nameOfCompressedFile, innerEntryName);
-            break;
-        case NONE:
+        if (compressionMode == CompressionMode.NONE) {
             throw new UnsupportedOperationException("compress method called in NONE compression mode");
         }
-    }
-
-    private void zipCompress(String nameOfFile2zip, String nameOfZippedFile, String innerEntryName) {
-        File file2zip = new File(nameOfFile2zip);
+        if (codec == null) {
+            throw new IllegalStateException("No codec available for compression mode " + compressionMode);
+        }
+        if (codec.getContext() == null) {
+            codec.setContext(context);
+        }
 
-        if (!file2zip.exists()) {
-            addStatus(new WarnStatus("The file to compress named [" + nameOfFile2zip + "] does not exist.", this));
+        File file2Compress = new File(nameOfFile2Compress);
 
+        if (!file2Compress.exists()) {
+            addStatus(new WarnStatus("The file to compress named [" + nameOfFile2Compress + "] does not exist.", this));
             return;
         }
 
-        if (innerEntryName == null) {
+        if (codec.isInnerEntryNameRequired() && innerEntryName == null) {
             addStatus(new WarnStatus("The innerEntryName parameter cannot be null", this));
             return;
         }
 
-        if (!nameOfZippedFile.endsWith(".zip")) {
-            nameOfZippedFile = nameOfZippedFile + ".zip";
+        String suffix = codec.getFileNameSuffix();
+        if (!nameOfCompressedFile.endsWith(suffix)) {
+            nameOfCompressedFile = nameOfCompressedFile + suffix;
         }
 
-        File zippedFile = new File(nameOfZippedFile);
-
-        if (zippedFile.exists()) {
-            addStatus(
-                    new WarnStatus("The target compressed file named [" + nameOfZippedFile + "] exist already.", this));
+        File compressedFile = new File(nameOfCompressedFile);
 
+        if (compressedFile.exists()) {
+            addWarn("The target compressed file named [" + nameOfCompressedFile
+                    + "] exist already. Aborting file compression.");
             return;
         }
 
-        addInfo("ZIP compressing [" + file2zip + "] as [" + zippedFile + "]");
-        createMissingTargetDirsIfNecessary(zippedFile);
-
-        try (BufferedInputStream bis = new BufferedInputStream(new FileInputStream(nameOfFile2zip));
-                ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(nameOfZippedFile))) {
+        String description = compressionMode == CompressionMode.CUSTOM ? codec.getClass().getSimpleName()
+                : compressionMode.name();
+        addInfo(description + " compressing [" + file2Compress + "] as [" + compressedFile + "]");
+        createMissingTargetDirsIfNecessary(compressedFile);
 
-            ZipEntry zipEntry = computeZipEntry(innerEntryName);
-            zos.putNextEntry(zipEntry);
-
-            byte[] inbuf = new byte[BUFFER_SIZE];
-            int n;
-
-            while ((n = bis.read(inbuf)) != -1) {
-                zos.write(inbuf, 0, n);
-            }
-
-            addInfo("Done ZIP compressing [" + file2zip + "] as [" + zippedFile + "]");
+        try {
+            codec.compress(file2Compress, compressedFile, innerEntryName);
+            addInfo("Done " + description + " compressing [" + file2Compress + "] as [" + compressedFile + "]");
         } catch (Exception e) {
-            addStatus(new ErrorStatus(
-                    "Error occurred while compressing [" + nameOfFile2zip + "] into [" + nameOfZippedFile + "].", this,
-                    e));
+            addStatus(new ErrorStatus("Error occurred while compressing [" + nameOfFile2Compress + "] into ["
+                    + nameOfCompressedFile + "].", this, e));
+            // keep the source, a partially written target is useless
+            if (compressedFile.exists() && !compressedFile.delete()) {
+                addWarn("Could not delete partially compressed file [" + nameOfCompressedFile + "].");
+            }
+            return;
         }
-        if (!file2zip.delete()) {
-            addStatus(new WarnStatus("Could not delete [" + nameOfFile2zip + "].", this));
+
+        if (!file2Compress.delete()) {
+            addStatus(new WarnStatus("Could not delete [" + nameOfFile2Compress + "].", this));
         }
     }
 
-    // http://jira.qos.ch/browse/LBCORE-98
-    // The name of the compressed file as nested within the zip archive
-    //
-    // Case 1: RawFile = null, Pattern = foo-%d.zip
-    // nestedFilename = foo-${current-date}
-    //
-    // Case 2: RawFile = hello.txt, Pattern = = foo-%d.zip
-    // nestedFilename = foo-${current-date}
-    //
-    // in both cases, the strategy consisting of removing the compression
-    // suffix of zip file works reasonably well. The alternative strategy
-    // whereby the nested file name was based on the value of the raw file name
-    // (applicable to case 2 only) has the disadvantage of the nested files
-    // all having the same name, which could make it harder for the user
-    // to unzip the file without collisions
     ZipEntry computeZipEntry(File zippedFile) {
         return computeZipEntry(zippedFile.getName());
     }
 
     ZipEntry computeZipEntry(String filename) {
-        String nameOfFileNestedWithinArchive = computeFileNameStrWithoutCompSuffix(filename, compressionMode);
-        return new ZipEntry(nameOfFileNestedWithinArchive);
-    }
-
-    private void gzCompress(String nameOfFile2gz, String nameOfgzedFile) {
-        File file2gz = new File(nameOfFile2gz);
-
-        if (!file2gz.exists()) {
-            addStatus(new WarnStatus("The file to compress named [" + nameOfFile2gz + "] does not exist.", this));
-
-            return;
-        }
-
-        if (!nameOfgzedFile.endsWith(".gz")) {
-            nameOfgzedFile = nameOfgzedFile + ".gz";
-        }
-
-        File gzedFile = new File(nameOfgzedFile);
-
-        if (gzedFile.exists()) {
-            addWarn("The target compressed file named [" + nameOfgzedFile
-                    + "] exist already. Aborting file compression.");
-            return;
-        }
-
-        addInfo("GZ compressing [" + file2gz + "] as [" + gzedFile + "]");
-        createMissingTargetDirsIfNecessary(gzedFile);
-
-        try (BufferedInputStream bis = new BufferedInputStream(new FileInputStream(nameOfFile2gz));
-                GZIPOutputStream gzos = new GZIPOutputStream(new FileOutputStream(nameOfgzedFile))) {
-
-            byte[] inbuf = new byte[BUFFER_SIZE];
-            int n;
-
-            while ((n = bis.read(inbuf)) != -1) {
-                gzos.write(inbuf, 0, n);
-            }
-
-            addInfo("Done ZIP compressing [" + file2gz + "] as [" + gzedFile + "]");
-        } catch (Exception e) {
-            addStatus(new ErrorStatus(
-                    "Error occurred while compressing [" + nameOfFile2gz + "] into [" + nameOfgzedFile + "].", this,
-                    e));
-        }
-
-        if (!file2gz.delete()) {
-            addStatus(new WarnStatus("Could not delete [" + nameOfFile2gz + "].", this));
-        }
-
+        return new ZipCodec().computeZipEntry(filename);
     }
 
     static public String computeFileNameStrWithoutCompSuffix(String fileNamePatternStr,
             CompressionMode compressionMode) {
-        int len = fileNamePatternStr.length();
-        switch (compressionMode) {
-        case GZ:
-            if (fileNamePatternStr.endsWith(".gz"))
-                return fileNamePatternStr.substring(0, len - 3);
-            else
-                return fileNamePatternStr;
-        case ZIP:
-            if (fileNamePatternStr.endsWith(".zip"))
-                return fileNamePatternStr.substring(0, len - 4);
-            else
-                return fileNamePatternStr;
-        case NONE:
-            return fileNamePatternStr;
+        return computeFileNameStrWithoutCompSuffix(fileNamePatternStr, compressionMode.getSuffix());
+    }
+
+    /**
+     * @param fileNamePatternStr
+     * @param suffix             the compression suffix to remove, may be null
+     * @since 1.4.5
+     */
+    static public String computeFileNameStrWithoutCompSuffix(String fileNamePatternStr, String suffix) {
+        if (suffix != null && fileNamePatternStr.endsWith(suffix)) {
+            return fileNamePatternStr.substring(0, fileNamePatternStr.length() - suffix.length());
         }
-        throw new IllegalStateException("Execution should not reach this point");
+        return fileNamePatternStr;
     }
 
     void createMissingTargetDirsIfNecessary(File file) {
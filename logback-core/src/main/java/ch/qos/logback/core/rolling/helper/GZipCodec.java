@@ -0,0 +1,230 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPOutputStream;
+
+import ch.qos.logback.core.spi.LifeCycle;
+import ch.qos.logback.core.util.ExecutorServiceUtil;
+import ch.qos.logback.core.util.FileSize;
+
+/**
+ * GZIP compression.
+ * 
+ * <p>
+ * With a <b>parallelism</b> greater than one, the source file is cut into
+ * blocks of <b>blockSize</b> bytes which are compressed independently by a
+ * bounded pool of that many threads, each block yielding a gzip member of its
+ * own. The members are written in order, their concatenation being a valid
+ * gzip file as per RFC 1952. The pool is distinct from the context's executor,
+ * on which compression itself may run. It is created upon the first parallel
+ * compression, its threads terminate when idle, and it is shut down when the
+ * codec is stopped, at the latest when the context is reset.
+ * 
+ * @since 1.4.5
+ */
+public class GZipCodec extends CompressionCodecBase implements LifeCycle {
+
+    public static final int DEFAULT_PARALLELISM = 1;
+    public static final long DEFAULT_BLOCK_SIZE = FileSize.MB_COEFFICIENT;
+
+    private int parallelism = DEFAULT_PARALLELISM;
+    private FileSize blockSize = new FileSize(DEFAULT_BLOCK_SIZE);
+
+    private boolean started;
+    // guarded by this
+    private ExecutorService executor;
+
+    @Override
+    public String getFileNameSuffix() {
+        return CompressionMode.GZ.getSuffix();
+    }
+
+    @Override
+    public void compress(File source, File target, String innerEntryName) throws IOException {
+        try (InputStream in = new FileInputStream(source); OutputStream out = new FileOutputStream(target)) {
+            if (parallelism > 1) {
+                parallelCompress(in, out, source);
+            } else {
+                try (BufferedInputStream bis = new BufferedInputStream(in, BUFFER_SIZE);
+                        GZIPOutputStream gzos = new GZIPOutputStream(out, BUFFER_SIZE)) {
+                    copy(bis, gzos, source);
+                }
+            }
+        }
+    }
+
+    private void parallelCompress(InputStream in, OutputStream out, File source) throws IOException {
+        if (blockSize == null || blockSize.getSize() <= 0) {
+            throw new IOException("Invalid blockSize [" + blockSize + "]");
+        }
+        final int blockLength = (int) Math.min(blockSize.getSize(), Integer.MAX_VALUE - 8);
+        // bounds the memory held by blocks read but not yet written
+        final int maxBlocksInFlight = 2 * parallelism;
+        addInfo("Compressing [" + source + "] in blocks of " + blockSize + " using " + parallelism + " threads");
+
+        ProgressReporter progress = new ProgressReporter(source);
+        ExecutorService executorService = getExecutor();
+        Deque<Future<byte[]>> inFlight = new ArrayDeque<>(maxBlocksInFlight);
+        try {
+            byte[] block;
+            while ((block = readBlock(in, blockLength)) != null) {
+                final byte[] uncompressed = block;
+                inFlight.addLast(submit(executorService, () -> compressBlock(uncompressed)));
+                if (inFlight.size() >= maxBlocksInFlight) {
+                    progress.advance(writeMember(inFlight.removeFirst(), out));
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                progress.advance(writeMember(inFlight.removeFirst(), out));
+            }
+        } finally {
+            for (Future<byte[]> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static Future<byte[]> submit(ExecutorService executorService, Callable<byte[]> task)
+            throws IOException {
+        try {
+            return executorService.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new IOException("Codec stopped while compressing", e);
+        }
+    }
+
+    synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = ExecutorServiceUtil.newFixedThreadPool(parallelism);
+            if (context != null) {
+                context.register(this);
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * @return the block read, shorter than <code>blockLength</code> at the end of
+     *         the stream, or null if the end of the stream is reached
+     */
+    private static byte[] readBlock(InputStream in, int blockLength) throws IOException {
+        byte[] block = new byte[blockLength];
+        int count = 0;
+        int n;
+        while (count < blockLength && (n = in.read(block, count, blockLength - count)) != -1) {
+            count += n;
+        }
+        if (count == 0) {
+            return null;
+        }
+        return count == blockLength ? block : Arrays.copyOf(block, count);
+    }
+
+    /**
+     * Compress a block into a complete gzip member.
+     */
+    static byte[] compressBlock(byte[] block) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(block.length / 4 + 64);
+        try (GZIPOutputStream gzos = new GZIPOutputStream(baos, BUFFER_SIZE)) {
+            gzos.write(block);
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * @return the uncompressed length of the member as given in its trailer
+     */
+    private static long writeMember(Future<byte[]> future, OutputStream out) throws IOException {
+        byte[] member;
+        try {
+            member = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw (cause instanceof IOException) ? (IOException) cause : new IOException(cause);
+        }
+        out.write(member);
+        // ISIZE, the last four bytes of the member, little endian
+        int n = member.length;
+        return ((member[n - 4] & 0xFFL) | (member[n - 3] & 0xFFL) << 8 | (member[n - 2] & 0xFFL) << 16
+                | (member[n - 1] & 0xFFL) << 24);
+    }
+
+    @Override
+    public void start() {
+        started = true;
+    }
+
+    /**
+     * Shut down the pool of parallel mode, if any.
+     */
+    @Override
+    public void stop() {
+        synchronized (this) {
+            if (executor != null) {
+                ExecutorServiceUtil.shutdown(executor);
+                executor = null;
+            }
+        }
+        started = false;
+    }
+
+    @Override
+    public boolean isStarted() {
+        return started;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * The number of threads compressing blocks concurrently. Values less than or
+     * equal to one select sequential compression, which is the default.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public FileSize getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * The size of the blocks compressed independently in parallel mode. Defaults
+     * to 1MB.
+     */
+    public void setBlockSize(FileSize blockSize) {
+        this.blockSize = blockSize;
+    }
+}
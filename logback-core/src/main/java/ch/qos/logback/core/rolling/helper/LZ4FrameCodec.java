@@ -0,0 +1,43 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Fast compression into the LZ4 frame format, see {@link LZ4FrameOutputStream}.
+ * Selected for file name patterns ending with ".lz4".
+ * 
+ * @since 1.4.5
+ */
+public class LZ4FrameCodec extends CompressionCodecBase {
+
+    @Override
+    public String getFileNameSuffix() {
+        return CompressionMode.LZ4.getSuffix();
+    }
+
+    @Override
+    public void compress(File source, File target, String innerEntryName) throws IOException {
+        try (InputStream in = new FileInputStream(source);
+                OutputStream out = new LZ4FrameOutputStream(new FileOutputStream(target))) {
+            copy(in, out, source);
+        }
+    }
+}
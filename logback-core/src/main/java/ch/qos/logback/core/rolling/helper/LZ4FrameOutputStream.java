@@ -0,0 +1,267 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Pure Java encoder of the <a href=
+ * "https://github.com/lz4/lz4/blob/dev/doc/lz4_Frame_format.md">LZ4 frame
+ * format</a>. Input is cut into independent blocks of 64KB, each compressed with
+ * a greedy single pass matcher in the manner of LZ4's fast mode. The frame ends
+ * with a checksum of the content. The output can be decompressed by the
+ * <code>lz4</code> command line tool, among others.
+ * 
+ * <p>
+ * Compression ratios are lower than those of gzip, but compression is several
+ * times faster.
+ * 
+ * @since 1.4.5
+ */
+public class LZ4FrameOutputStream extends FilterOutputStream {
+
+    static final int MAGIC = 0x184D2204;
+    // version 01, independent blocks, content checksum
+    static final int FLG = 0x64;
+    // maximum block size 64KB
+    static final int BD = 0x40;
+    static final int BLOCK_SIZE = 64 * 1024;
+    static final int UNCOMPRESSED_FLAG = 0x80000000;
+
+    static final int MIN_MATCH = 4;
+    static final int LAST_LITERALS = 5;
+    static final int MF_LIMIT = 12;
+    static final int MAX_DISTANCE = 65535;
+    static final int HASH_LOG = 12;
+    static final int SKIP_TRIGGER = 6;
+
+    private final byte[] block = new byte[BLOCK_SIZE];
+    private int blockLength;
+    // worst case expansion of incompressible input
+    private final byte[] compressed = new byte[BLOCK_SIZE + BLOCK_SIZE / 255 + 16];
+    private final int[] hashTable = new int[1 << HASH_LOG];
+    private final XXHash32 contentChecksum = new XXHash32(0);
+    private boolean finished;
+
+    public LZ4FrameOutputStream(OutputStream out) throws IOException {
+        super(out);
+        writeHeader();
+    }
+
+    private void writeHeader() throws IOException {
+        byte[] header = new byte[7];
+        writeIntLE(header, 0, MAGIC);
+        header[4] = (byte) FLG;
+        header[5] = (byte) BD;
+        header[6] = (byte) ((XXHash32.hash(header, 4, 2) >> 8) & 0xFF);
+        out.write(header);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureNotFinished();
+        block[blockLength++] = (byte) b;
+        if (blockLength == BLOCK_SIZE) {
+            flushBlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureNotFinished();
+        while (len > 0) {
+            int n = Math.min(len, BLOCK_SIZE - blockLength);
+            System.arraycopy(b, off, block, blockLength, n);
+            blockLength += n;
+            off += n;
+            len -= n;
+            if (blockLength == BLOCK_SIZE) {
+                flushBlock();
+            }
+        }
+    }
+
+    /**
+     * Writes the pending input as a block, which lowers the compression ratio if
+     * called frequently.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (!finished) {
+            flushBlock();
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes the pending input, the end mark and the content checksum. The
+     * underlying stream is left open.
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        flushBlock();
+        byte[] trailer = new byte[8];
+        writeIntLE(trailer, 0, 0);
+        writeIntLE(trailer, 4, contentChecksum.getValue());
+        out.write(trailer);
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void ensureNotFinished() throws IOException {
+        if (finished) {
+            throw new IOException("Stream finished");
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockLength == 0) {
+            return;
+        }
+        contentChecksum.update(block, 0, blockLength);
+        int compressedLength = compressBlock(block, blockLength, compressed, hashTable);
+        byte[] sizeBytes = new byte[4];
+        if (compressedLength < blockLength) {
+            writeIntLE(sizeBytes, 0, compressedLength);
+            out.write(sizeBytes);
+            out.write(compressed, 0, compressedLength);
+        } else {
+            writeIntLE(sizeBytes, 0, blockLength | UNCOMPRESSED_FLAG);
+            out.write(sizeBytes);
+            out.write(block, 0, blockLength);
+        }
+        blockLength = 0;
+    }
+
+    /**
+     * Compress <code>src[0..srcLength)</code> into <code>dst</code> as an LZ4
+     * block.
+     * 
+     * @return the length of the compressed block
+     */
+    static int compressBlock(byte[] src, int srcLength, byte[] dst, int[] hashTable) {
+        int dp = 0;
+        int anchor = 0;
+
+        if (srcLength >= MF_LIMIT + 1) {
+            // positions are stored plus one, zero meaning empty
+            java.util.Arrays.fill(hashTable, 0);
+            final int matchLimit = srcLength - MF_LIMIT;
+            final int extendLimit = srcLength - LAST_LITERALS;
+            int ip = 0;
+
+            while (true) {
+                // find a match
+                int ref = -1;
+                int searchCount = 1 << SKIP_TRIGGER;
+                while (ip < matchLimit) {
+                    int sequence = XXHash32.readIntLE(src, ip);
+                    int h = hash(sequence);
+                    int candidate = hashTable[h] - 1;
+                    hashTable[h] = ip + 1;
+                    if (candidate >= 0 && ip - candidate <= MAX_DISTANCE
+                            && XXHash32.readIntLE(src, candidate) == sequence) {
+                        ref = candidate;
+                        break;
+                    }
+                    // accelerate on incompressible data
+                    ip += searchCount++ >>> SKIP_TRIGGER;
+                }
+                if (ref < 0) {
+                    break;
+                }
+
+                // extend backwards
+                while (ip > anchor && ref > 0 && src[ip - 1] == src[ref - 1]) {
+                    ip--;
+                    ref--;
+                }
+
+                // extend forwards
+                int matchLength = MIN_MATCH;
+                while (ip + matchLength < extendLimit && src[ip + matchLength] == src[ref + matchLength]) {
+                    matchLength++;
+                }
+
+                dp = writeSequence(src, anchor, ip - anchor, ip - ref, matchLength, dst, dp);
+                ip += matchLength;
+                anchor = ip;
+            }
+        }
+
+        // last literals
+        return writeLastLiterals(src, anchor, srcLength - anchor, dst, dp);
+    }
+
+    private static int hash(int sequence) {
+        return (sequence * XXHash32.PRIME1) >>> (32 - HASH_LOG);
+    }
+
+    private static int writeSequence(byte[] src, int literalStart, int literalLength, int offset, int matchLength,
+            byte[] dst, int dp) {
+        int tokenPos = dp++;
+        int token = Math.min(literalLength, 15) << 4;
+        if (literalLength >= 15) {
+            dp = writeLength(literalLength - 15, dst, dp);
+        }
+        System.arraycopy(src, literalStart, dst, dp, literalLength);
+        dp += literalLength;
+        dst[dp++] = (byte) offset;
+        dst[dp++] = (byte) (offset >>> 8);
+        int ml = matchLength - MIN_MATCH;
+        token |= Math.min(ml, 15);
+        if (ml >= 15) {
+            dp = writeLength(ml - 15, dst, dp);
+        }
+        dst[tokenPos] = (byte) token;
+        return dp;
+    }
+
+    private static int writeLastLiterals(byte[] src, int literalStart, int literalLength, byte[] dst, int dp) {
+        dst[dp++] = (byte) (Math.min(literalLength, 15) << 4);
+        if (literalLength >= 15) {
+            dp = writeLength(literalLength - 15, dst, dp);
+        }
+        System.arraycopy(src, literalStart, dst, dp, literalLength);
+        return dp + literalLength;
+    }
+
+    private static int writeLength(int length, byte[] dst, int dp) {
+        while (length >= 255) {
+            dst[dp++] = (byte) 255;
+            length -= 255;
+        }
+        dst[dp++] = (byte) length;
+        return dp;
+    }
+
+    static void writeIntLE(byte[] b, int off, int value) {
+        b[off] = (byte) value;
+        b[off + 1] = (byte) (value >>> 8);
+        b[off + 2] = (byte) (value >>> 16);
+        b[off + 3] = (byte) (value >>> 24);
+    }
+}
@@ -14,6 +14,7 @@
 package ch.qos.logback.core.rolling.helper;
 
 import java.io.File;
+import java.io.FileFilter;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Date;
@@ -36,6 +37,14 @@ public class SizeAndTimeBasedArchiveRemover extends TimeBasedArchiveRemover {
         return matchingFileArray;
     }
 
+    @Override
+    protected FileFilter createPeriodFilter(Date period) {
+        File archive0 = new File(fileNamePattern.convertMultipleArguments(period, 0));
+        final File parentDir = getParentDir(archive0);
+        final Pattern stemPattern = Pattern.compile(createStemRegex(period));
+        return f -> parentDir.equals(getParentDir(f)) && stemPattern.matcher(f.getName()).matches();
+    }
+
     private String createStemRegex(final Date dateOfPeriodToClean) {
         String regex = fileNamePattern.toRegexForFixedDate(dateOfPeriodToClean);
         return FileFilterUtil.afterLastSlash(regex);
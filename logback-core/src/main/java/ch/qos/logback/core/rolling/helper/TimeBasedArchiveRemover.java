@@ -16,6 +16,7 @@ package ch.qos.logback.core.rolling.helper;
 import static ch.qos.logback.core.CoreConstants.UNBOUNDED_TOTAL_SIZE_CAP;
 
 import java.io.File;
+import java.io.FileFilter;
 import java.util.Date;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -40,6 +41,19 @@ public class TimeBasedArchiveRemover extends ContextAwareBase implements Archive
     private long totalSizeCap = CoreConstants.UNBOUNDED_TOTAL_SIZE_CAP;
     final boolean parentClean;
     long lastHeartBeat = UNINITIALIZED;
+    final ArchiveIndex archiveIndex = new ArchiveIndex(new ArchiveIndex.PeriodScanner() {
+        @Override
+        public File[] scan(Date period) {
+            File[] files = getFilesInPeriod(period);
+            descendingSort(files, period);
+            return files;
+        }
+
+        @Override
+        public FileFilter filterFor(Date period) {
+            return createPeriodFilter(period);
+        }
+    });
 
     public TimeBasedArchiveRemover(FileNamePattern fileNamePattern, RollingCalendar rc) {
         this.fileNamePattern = fileNamePattern;
@@ -65,8 +79,18 @@ public class TimeBasedArchiveRemover extends ContextAwareBase implements Archive
             Date dateOfPeriodToClean = rc.getEndOfNextNthPeriod(now, offset);
             cleanPeriod(dateOfPeriodToClean);
         }
+        // periods up to the deletion target are now empty, no need to track them
+        archiveIndex.evictPeriodsBefore(rc.getEndOfNextNthPeriod(now, getPeriodOffsetForDeletionTarget() + 1));
     }
 
+    /**
+     * Scans the disk for the archives of the given period. Note that archives are
+     * looked up through the {@link ArchiveIndex} which calls this method at most
+     * once per period.
+     * 
+     * @param dateOfPeriodToClean
+     * @return the archives of the period, in no particular order
+     */
     protected File[] getFilesInPeriod(Date dateOfPeriodToClean) {
         String filenameToDelete = fileNamePattern.convert(dateOfPeriodToClean);
         File file2Delete = new File(filenameToDelete);
@@ -82,12 +106,40 @@ public class TimeBasedArchiveRemover extends ContextAwareBase implements Archive
         return file2Delete.exists() && file2Delete.isFile();
     }
 
+    /**
+     * Returns a filter accepting the archives of the given period, and only
+     * those.
+     * 
+     * @param period the start of the period
+     * @since 1.4.5
+     */
+    protected FileFilter createPeriodFilter(Date period) {
+        final File archive = new File(fileNamePattern.convert(period)).getAbsoluteFile();
+        return f -> archive.equals(f.getAbsoluteFile());
+    }
+
+    /**
+     * Returns the archives of the period containing the given date, newest first.
+     * 
+     * @param date
+     * @since 1.4.5
+     */
+    public File[] getArchivesInPeriod(Date date) {
+        return archiveIndex.getFilesInPeriod(rc.getEndOfNextNthPeriod(date, 0));
+    }
+
+    @Override
+    public void archiveCreated(File archive) {
+        archiveIndex.add(archive);
+    }
+
     public void cleanPeriod(Date dateOfPeriodToClean) {
-        File[] matchingFileArray = getFilesInPeriod(dateOfPeriodToClean);
+        File[] matchingFileArray = archiveIndex.getFilesInPeriod(dateOfPeriodToClean);
 
         for (File f : matchingFileArray) {
             addInfo("deleting " + f);
             f.delete();
+            archiveIndex.remove(f);
         }
 
         if (parentClean && matchingFileArray.length > 0) {
@@ -97,20 +149,27 @@ public class TimeBasedArchiveRemover extends ContextAwareBase implements Archive
     }
 
     void capTotalSize(Date now) {
-        long totalSize = 0;
-        long totalRemoved = 0;
+        File[][] archivesByPeriod = new File[maxHistory][];
         for (int offset = 0; offset < maxHistory; offset++) {
             Date date = rc.getEndOfNextNthPeriod(now, -offset);
-            File[] matchingFileArray = getFilesInPeriod(date);
-            descendingSort(matchingFileArray, date);
-            for (File f : matchingFileArray) {
-                long size = f.length();
-                if (totalSize + size > totalSizeCap) {
-                    addInfo("Deleting [" + f + "]" + " of size " + new FileSize(size));
-                    totalRemoved += size;
-                    f.delete();
+            archivesByPeriod[offset] = archiveIndex.getFilesInPeriod(date);
+        }
+        long totalRemoved = 0;
+        // the index covers at least the periods above, nothing to remove if its
+        // total is within the cap
+        if (archiveIndex.getTotalSize() > totalSizeCap) {
+            long totalSize = 0;
+            for (File[] matchingFileArray : archivesByPeriod) {
+                for (File f : matchingFileArray) {
+                    long size = archiveIndex.sizeOf(f);
+                    if (totalSize + size > totalSizeCap) {
+                        addInfo("Deleting [" + f + "]" + " of size " + new FileSize(size));
+                        totalRemoved += size;
+                        f.delete();
+                        archiveIndex.remove(f);
+                    }
+                    totalSize += size;
                 }
-                totalSize += size;
             }
         }
         addInfo("Removed  " + new FileSize(totalRemoved) + " of files");
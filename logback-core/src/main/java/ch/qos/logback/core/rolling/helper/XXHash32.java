@@ -0,0 +1,122 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+/**
+ * Streaming implementation of the 32 bit variant of the xxHash algorithm, as
+ * required by the LZ4 frame format.
+ * 
+ * @since 1.4.5
+ */
+class XXHash32 {
+
+    static final int PRIME1 = 0x9E3779B1;
+    static final int PRIME2 = 0x85EBCA77;
+    static final int PRIME3 = 0xC2B2AE3D;
+    static final int PRIME4 = 0x27D4EB2F;
+    static final int PRIME5 = 0x165667B1;
+
+    private final int seed;
+    private int v1, v2, v3, v4;
+    private final byte[] pending = new byte[16];
+    private int pendingCount;
+    private long totalLength;
+
+    XXHash32(int seed) {
+        this.seed = seed;
+        reset();
+    }
+
+    void reset() {
+        v1 = seed + PRIME1 + PRIME2;
+        v2 = seed + PRIME2;
+        v3 = seed;
+        v4 = seed - PRIME1;
+        pendingCount = 0;
+        totalLength = 0;
+    }
+
+    void update(byte[] b, int off, int len) {
+        totalLength += len;
+        if (pendingCount > 0) {
+            int n = Math.min(len, 16 - pendingCount);
+            System.arraycopy(b, off, pending, pendingCount, n);
+            pendingCount += n;
+            off += n;
+            len -= n;
+            if (pendingCount < 16) {
+                return;
+            }
+            processStripe(pending, 0);
+            pendingCount = 0;
+        }
+        final int end = off + len;
+        for (; off + 16 <= end; off += 16) {
+            processStripe(b, off);
+        }
+        pendingCount = end - off;
+        System.arraycopy(b, off, pending, 0, pendingCount);
+    }
+
+    private void processStripe(byte[] b, int off) {
+        v1 = round(v1, readIntLE(b, off));
+        v2 = round(v2, readIntLE(b, off + 4));
+        v3 = round(v3, readIntLE(b, off + 8));
+        v4 = round(v4, readIntLE(b, off + 12));
+    }
+
+    int getValue() {
+        int h;
+        if (totalLength >= 16) {
+            h = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7) + Integer.rotateLeft(v3, 12)
+                    + Integer.rotateLeft(v4, 18);
+        } else {
+            h = seed + PRIME5;
+        }
+        h += (int) totalLength;
+
+        int i = 0;
+        for (; i + 4 <= pendingCount; i += 4) {
+            h += readIntLE(pending, i) * PRIME3;
+            h = Integer.rotateLeft(h, 17) * PRIME4;
+        }
+        for (; i < pendingCount; i++) {
+            h += (pending[i] & 0xFF) * PRIME5;
+            h = Integer.rotateLeft(h, 11) * PRIME1;
+        }
+
+        h ^= h >>> 15;
+        h *= PRIME2;
+        h ^= h >>> 13;
+        h *= PRIME3;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static int round(int acc, int input) {
+        acc += input * PRIME2;
+        acc = Integer.rotateLeft(acc, 13);
+        return acc * PRIME1;
+    }
+
+    static int readIntLE(byte[] b, int off) {
+        return (b[off] & 0xFF) | (b[off + 1] & 0xFF) << 8 | (b[off + 2] & 0xFF) << 16 | (b[off + 3] & 0xFF) << 24;
+    }
+
+    static int hash(byte[] b, int off, int len) {
+        XXHash32 xxHash32 = new XXHash32(0);
+        xxHash32.update(b, off, len);
+        return xxHash32.getValue();
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * ZIP compression, the archive containing a single entry.
+ * 
+ * @since 1.4.5
+ */
+public class ZipCodec extends CompressionCodecBase {
+
+    @Override
+    public String getFileNameSuffix() {
+        return CompressionMode.ZIP.getSuffix();
+    }
+
+    @Override
+    public boolean isInnerEntryNameRequired() {
+        return true;
+    }
+
+    @Override
+    public void compress(File source, File target, String innerEntryName) throws IOException {
+        try (BufferedInputStream bis = new BufferedInputStream(new FileInputStream(source), BUFFER_SIZE);
+                ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(target))) {
+            zos.putNextEntry(computeZipEntry(innerEntryName));
+            copy(bis, zos, source);
+        }
+    }
+
+    // http://jira.qos.ch/browse/LBCORE-98
+    // The name of the compressed file as nested within the zip archive
+    //
+    // Case 1: RawFile = null, Pattern = foo-%d.zip
+    // nestedFilename = foo-${current-date}
+    //
+    // Case 2: RawFile = hello.txt, Pattern = = foo-%d.zip
+    // nestedFilename = foo-${current-date}
+    //
+    // in both cases, the strategy consisting of removing the compression
+    // suffix of zip file works reasonably well. The alternative strategy
+    // whereby the nested file name was based on the value of the raw file name
+    // (applicable to case 2 only) has the disadvantage of the nested files
+    // all having the same name, which could make it harder for the user
+    // to unzip the file without collisions
+    ZipEntry computeZipEntry(String filename) {
+        String nameOfFileNestedWithinArchive = Compressor.computeFileNameStrWithoutCompSuffix(filename,
+                CompressionMode.ZIP);
+        return new ZipEntry(nameOfFileNestedWithinArchive);
+    }
+}
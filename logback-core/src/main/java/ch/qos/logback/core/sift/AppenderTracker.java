@@ -13,18 +13,29 @@
  */
 package ch.qos.logback.core.sift;
 
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Consumer;
+
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.Context;
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.helpers.NOPAppender;
 import ch.qos.logback.core.joran.spi.JoranException;
 import ch.qos.logback.core.spi.AbstractComponentTracker;
+import ch.qos.logback.core.spi.ConcurrentComponentTracker;
 import ch.qos.logback.core.spi.ContextAwareImpl;
 
 /**
  * Track appenders by key. When an appender is not used for longer than
  * {@link #DEFAULT_TIMEOUT} it is stopped and removed.
  *
+ * <p>
+ * Appenders are looked up without locking. Tracking is delegated to a
+ * {@link ConcurrentComponentTracker}, none of the state inherited from
+ * {@link AbstractComponentTracker} is used.
+ * </p>
+ *
  * @author Tommy Becker
  * @author Ceki Gulcu
  * @author David Roussel
@@ -36,6 +47,7 @@ public class AppenderTracker<E> extends AbstractComponentTracker<Appender<E>> {
     final Context context;
     final AppenderFactory<E> appenderFactory;
     final ContextAwareImpl contextAware;
+    final ConcurrentComponentTracker<Appender<E>> delegate = new DelegateTracker();
 
     public AppenderTracker(Context context, AppenderFactory<E> appenderFactory) {
         super();
@@ -44,6 +56,72 @@ public class AppenderTracker<E> extends AbstractComponentTracker<Appender<E>> {
         this.contextAware = new ContextAwareImpl(context, this);
     }
 
+    @Override
+    public int getComponentCount() {
+        return delegate.getComponentCount();
+    }
+
+    @Override
+    public Appender<E> find(String key) {
+        return delegate.find(key);
+    }
+
+    @Override
+    public Appender<E> getOrCreate(String key, long timestamp) {
+        return delegate.getOrCreate(key, timestamp);
+    }
+
+    /**
+     * Hand the appender for the given key to <code>action</code>, creating the
+     * appender if need be. The appender is not stopped by
+     * {@link #removeStaleComponents(long)} before <code>action</code> returns.
+     *
+     * @since 1.4.5
+     */
+    public void withComponent(String key, long timestamp, Consumer<Appender<E>> action) {
+        delegate.withComponent(key, timestamp, action);
+    }
+
+    @Override
+    public void endOfLife(String key) {
+        delegate.endOfLife(key);
+    }
+
+    @Override
+    public void removeStaleComponents(long now) {
+        delegate.removeStaleComponents(now);
+    }
+
+    @Override
+    public Set<String> allKeys() {
+        return delegate.allKeys();
+    }
+
+    @Override
+    public Collection<Appender<E>> allComponents() {
+        return delegate.allComponents();
+    }
+
+    @Override
+    public long getTimeout() {
+        return delegate.getTimeout();
+    }
+
+    @Override
+    public void setTimeout(long timeout) {
+        delegate.setTimeout(timeout);
+    }
+
+    @Override
+    public int getMaxComponents() {
+        return delegate.getMaxComponents();
+    }
+
+    @Override
+    public void setMaxComponents(int maxComponents) {
+        delegate.setMaxComponents(maxComponents);
+    }
+
     @Override
     protected void processPriorToRemoval(Appender<E> component) {
         component.stop();
@@ -80,4 +158,21 @@ public class AppenderTracker<E> extends AbstractComponentTracker<Appender<E>> {
         return !appender.isStarted();
     }
 
+    private class DelegateTracker extends ConcurrentComponentTracker<Appender<E>> {
+        @Override
+        protected void processPriorToRemoval(Appender<E> component) {
+            AppenderTracker.this.processPriorToRemoval(component);
+        }
+
+        @Override
+        protected Appender<E> buildComponent(String key) {
+            return AppenderTracker.this.buildComponent(key);
+        }
+
+        @Override
+        protected boolean isComponentStale(Appender<E> appender) {
+            return AppenderTracker.this.isComponentStale(appender);
+        }
+    }
+
 }
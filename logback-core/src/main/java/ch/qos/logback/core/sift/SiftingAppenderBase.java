@@ -13,10 +13,16 @@
  */
 package ch.qos.logback.core.sift;
 
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.AppenderBase;
 import ch.qos.logback.core.model.SiftModel;
+import ch.qos.logback.core.spi.FilterReply;
+import ch.qos.logback.core.status.WarnStatus;
 import ch.qos.logback.core.util.Duration;
+import ch.qos.logback.core.util.ReentryGuard;
 
 /**
  * This appender serves as the base class for actual SiftingAppenders
@@ -26,18 +32,32 @@ import ch.qos.logback.core.util.Duration;
  * processed. The appender to build (dynamically) is specified as part of a
  * configuration file.
  *
+ * <p>
+ * Events are appended without holding a lock on this appender, so that events
+ * for distinct discriminating values are appended in parallel. Nested appenders
+ * handle their own synchronization.
+ * </p>
+ *
  * @author Ceki G&uuml;lc&uuml;
  */
 public abstract class SiftingAppenderBase<E> extends AppenderBase<E> {
 
+    static final int ALLOWED_REPEATS = 5;
+
     protected AppenderTracker<E> appenderTracker;
     AppenderFactory<E> appenderFactory;
     Duration timeout = new Duration(AppenderTracker.DEFAULT_TIMEOUT);
     int maxAppenderCount = AppenderTracker.DEFAULT_MAX_COMPONENTS;
+    boolean backgroundRemoval = false;
+    ScheduledFuture<?> removalFuture;
 
     SiftModel siftModel;
     Discriminator<E> discriminator;
 
+    private final ReentryGuard guard = new ReentryGuard();
+    private int statusRepeatCount = 0;
+    private int exceptionCount = 0;
+
     public Duration getTimeout() {
         return timeout;
     }
@@ -62,6 +82,21 @@ public abstract class SiftingAppenderBase<E> extends AppenderBase<E> {
         this.maxAppenderCount = maxAppenderCount;
     }
 
+    public boolean isBackgroundRemoval() {
+        return backgroundRemoval;
+    }
+
+    /**
+     * When true, stale nested appenders are removed by a periodic background task
+     * based on the current time, instead of by the logging threads based on event
+     * timestamps. Default is false.
+     * 
+     * @since 1.4.5
+     */
+    public void setBackgroundRemoval(boolean backgroundRemoval) {
+        this.backgroundRemoval = backgroundRemoval;
+    }
+
     /**
      * This setter is intended to be invoked by SiftModelHandler. Users have no 
      * reason to invoke this method directly.
@@ -90,6 +125,12 @@ public abstract class SiftingAppenderBase<E> extends AppenderBase<E> {
             appenderTracker.setTimeout(timeout.getMilliseconds());
         }
         if (errors == 0) {
+            if (backgroundRemoval) {
+                long period = AppenderTracker.WAIT_BETWEEN_SUCCESSIVE_REMOVAL_ITERATIONS;
+                removalFuture = context.getScheduledExecutorService().scheduleAtFixedRate(new StaleAppenderRemover(),
+                        period, period, TimeUnit.MILLISECONDS);
+                context.addScheduledFuture(removalFuture);
+            }
             super.start();
         }
     }
@@ -98,6 +139,12 @@ public abstract class SiftingAppenderBase<E> extends AppenderBase<E> {
     public void stop() {
         if(!isStarted())
             return;
+        // logging threads creating an appender from now on stop it themselves
+        super.stop();
+        if (removalFuture != null) {
+            removalFuture.cancel(false);
+            removalFuture = null;
+        }
         for (Appender<E> appender : appenderTracker.allComponents()) {
             appender.stop();
         }
@@ -105,6 +152,40 @@ public abstract class SiftingAppenderBase<E> extends AppenderBase<E> {
 
     abstract protected long getTimestamp(E event);
 
+    /**
+     * Same as {@link AppenderBase#doAppend(Object)} except that this appender's
+     * monitor is not held. The appender tracker and the nested appenders are
+     * thread-safe.
+     */
+    @Override
+    public void doAppend(E event) {
+        // prevent re-entry.
+        if (!guard.enter()) {
+            return;
+        }
+
+        try {
+            if (!isStarted()) {
+                if (statusRepeatCount++ < ALLOWED_REPEATS) {
+                    addStatus(new WarnStatus("Attempted to append to non started appender [" + name + "].", this));
+                }
+                return;
+            }
+
+            if (getFilterChainDecision(event) == FilterReply.DENY) {
+                return;
+            }
+
+            this.append(event);
+        } catch (Exception e) {
+            if (exceptionCount++ < ALLOWED_REPEATS) {
+                addError("Appender [" + name + "] failed to append.", e);
+            }
+        } finally {
+            guard.exit();
+        }
+    }
+
     @Override
     protected void append(E event) {
         if (!isStarted()) {
@@ -113,13 +194,21 @@ public abstract class SiftingAppenderBase<E> extends AppenderBase<E> {
         String discriminatingValue = discriminator.getDiscriminatingValue(event);
         long timestamp = getTimestamp(event);
 
-        Appender<E> appender = appenderTracker.getOrCreate(discriminatingValue, timestamp);
+        // the nested appender cannot be removed while the event is appended
+        appenderTracker.withComponent(discriminatingValue, timestamp, appender -> {
+            appender.doAppend(event);
+            // the appender may have been created after stop() stopped all appenders
+            if (!isStarted()) {
+                appender.stop();
+            }
+        });
         // marks the appender for removal as specified by the user
         if (eventMarksEndOfLife(event)) {
             appenderTracker.endOfLife(discriminatingValue);
         }
-        appenderTracker.removeStaleComponents(timestamp);
-        appender.doAppend(event);
+        if (!backgroundRemoval) {
+            appenderTracker.removeStaleComponents(timestamp);
+        }
     }
 
     protected abstract boolean eventMarksEndOfLife(E event);
@@ -152,4 +241,11 @@ public abstract class SiftingAppenderBase<E> extends AppenderBase<E> {
             return null;
         }
     }
+
+    class StaleAppenderRemover implements Runnable {
+        @Override
+        public void run() {
+            appenderTracker.removeStaleComponents(System.currentTimeMillis());
+        }
+    }
 }
@@ -14,6 +14,7 @@
 package ch.qos.logback.core.spi;
 
 import java.util.Iterator;
+import java.util.List;
 
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.util.COWArrayList;
@@ -42,13 +43,41 @@ public class AppenderAttachableImpl<E> implements AppenderAttachable<E> {
 
     /**
      * Call the <code>doAppend</code> method on all attached appenders.
+     * 
+     * <p>
+     * If the event is a {@link RecyclableEvent} about to be reused, appenders
+     * retaining events are handed its retainable copy.
+     * </p>
      */
+    @SuppressWarnings("unchecked")
     public int appendLoopOnAppenders(E e) {
+        int size = 0;
+        final Appender<E>[] appenderArray = appenderList.asTypedArray();
+        final int len = appenderArray.length;
+        final boolean recyclable = e instanceof RecyclableEvent && ((RecyclableEvent<?>) e).isRecyclable();
+        for (int i = 0; i < len; i++) {
+            final Appender<E> appender = appenderArray[i];
+            if (recyclable && appender.isRetainingEvents()) {
+                appender.doAppend(((RecyclableEvent<E>) e).getRetainableCopy());
+            } else {
+                appender.doAppend(e);
+            }
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Call the <code>doAppendBatch</code> method on all attached appenders.
+     * 
+     * @since 1.4.5
+     */
+    public int appendBatchLoopOnAppenders(List<E> events) {
         int size = 0;
         final Appender<E>[] appenderArray = appenderList.asTypedArray();
         final int len = appenderArray.length;
         for (int i = 0; i < len; i++) {
-            appenderArray[i].doAppend(e);
+            appenderArray[i].doAppendBatch(events);
             size++;
         }
         return size;
@@ -0,0 +1,370 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.spi;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * A {@link ComponentTracker} for components which are looked up by many
+ * threads, as an alternative to {@link AbstractComponentTracker}.
+ * 
+ * <p>
+ * Looking up an existing component does not take any lock. Creating a component
+ * is serialized on a lock which is only taken when the key is not found.
+ * Removal iterations run at most once every
+ * {@link #WAIT_BETWEEN_SUCCESSIVE_REMOVAL_ITERATIONS} milliseconds; a thread
+ * calling {@link #removeStaleComponents(long)} while another thread is removing
+ * components returns immediately instead of waiting.
+ * </p>
+ * 
+ * <p>
+ * Components are ordered by the timestamp of their last access rather than by
+ * the order of accesses, so that eviction in excess of
+ * {@link #getMaxComponents() maxComponents} approximates least-recently-used
+ * order.
+ * </p>
+ * 
+ * <p>
+ * A component handed to {@link #withComponent(String, long, Consumer)} is not
+ * processed for removal while the action runs. A component in use is skipped by
+ * removal iterations and reconsidered by the next one.
+ * </p>
+ *
+ * @param <C> component type
+ * @since 1.4.5
+ */
+abstract public class ConcurrentComponentTracker<C> implements ComponentTracker<C> {
+
+    // Components in lingering state last 10 seconds
+    final public static long LINGERING_TIMEOUT = AbstractComponentTracker.LINGERING_TIMEOUT;
+
+    /**
+     * The minimum amount of time that has to elapse between successive removal
+     * iterations.
+     */
+    final public static long WAIT_BETWEEN_SUCCESSIVE_REMOVAL_ITERATIONS = AbstractComponentTracker.WAIT_BETWEEN_SUCCESSIVE_REMOVAL_ITERATIONS;
+
+    protected int maxComponents = DEFAULT_MAX_COMPONENTS;
+    protected long timeout = DEFAULT_TIMEOUT;
+
+    final Map<String, Entry<C>> liveMap = new ConcurrentHashMap<>();
+    final Map<String, Entry<C>> lingerersMap = new ConcurrentHashMap<>();
+
+    private final Object creationLock = new Object();
+    private final ReentrantLock removalLock = new ReentrantLock();
+    private volatile long lastCheck = 0;
+
+    /**
+     * Stop or clean the component.
+     *
+     * @param component
+     */
+    abstract protected void processPriorToRemoval(C component);
+
+    /**
+     * Build a component based on the key.
+     *
+     * @param key
+     * @return
+     */
+    abstract protected C buildComponent(String key);
+
+    /**
+     * Components can declare themselves stale. Such components may be removed
+     * before they time out.
+     *
+     * @param c
+     * @return
+     */
+    protected abstract boolean isComponentStale(C c);
+
+    public int getComponentCount() {
+        return liveMap.size() + lingerersMap.size();
+    }
+
+    private Entry<C> getFromEitherMap(String key) {
+        Entry<C> entry = liveMap.get(key);
+        if (entry != null)
+            return entry;
+        else {
+            return lingerersMap.get(key);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public C find(String key) {
+        Entry<C> entry = getFromEitherMap(key);
+        if (entry == null)
+            return null;
+        else
+            return entry.component;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * At most one component is built for a given key, even if several threads ask
+     * for it at the same time.
+     * </p>
+     */
+    public C getOrCreate(String key, long timestamp) {
+        Entry<C> entry = acquire(key, timestamp);
+        entry.release();
+        return entry.component;
+    }
+
+    /**
+     * Same as {@link #getOrCreate(String, long)}, except that the component is
+     * handed to <code>action</code>. The component is not processed for removal
+     * before <code>action</code> returns.
+     *
+     * @param key
+     * @param timestamp
+     * @param action
+     */
+    public void withComponent(String key, long timestamp, Consumer<C> action) {
+        Entry<C> entry = acquire(key, timestamp);
+        try {
+            action.accept(entry.component);
+        } finally {
+            entry.release();
+        }
+    }
+
+    private Entry<C> acquire(String key, long timestamp) {
+        while (true) {
+            Entry<C> entry = getFromEitherMap(key);
+            if (entry == null) {
+                synchronized (creationLock) {
+                    entry = getFromEitherMap(key);
+                    if (entry == null) {
+                        C c = buildComponent(key);
+                        entry = new Entry<C>(key, c, timestamp);
+                        entry.acquire();
+                        // new entries go into the main map
+                        liveMap.put(key, entry);
+                        return entry;
+                    }
+                }
+            }
+            if (entry.acquire()) {
+                entry.touch(timestamp);
+                return entry;
+            }
+            // the entry is being removed, make way for a new one
+            discard(entry);
+        }
+    }
+
+    /**
+     * Mark component identified by 'key' as having reached its end-of-life.
+     *
+     * @param key
+     */
+    public void endOfLife(String key) {
+        Entry<C> entry = liveMap.get(key);
+        if (entry == null)
+            return;
+        // add before removing so that concurrent lookups always find the entry
+        lingerersMap.put(key, entry);
+        liveMap.remove(key, entry);
+        // the entry may have been retired before it was added
+        if (entry.isRetired()) {
+            lingerersMap.remove(key, entry);
+        }
+    }
+
+    /**
+     * Clear (and detach) components which are stale. Components which have not
+     * been accessed for more than a user-specified duration are deemed stale.
+     *
+     * @param now
+     */
+    public void removeStaleComponents(long now) {
+        if (lastCheck + WAIT_BETWEEN_SUCCESSIVE_REMOVAL_ITERATIONS > now) {
+            return;
+        }
+        if (!removalLock.tryLock()) {
+            return;
+        }
+        try {
+            if (lastCheck + WAIT_BETWEEN_SUCCESSIVE_REMOVAL_ITERATIONS > now) {
+                return;
+            }
+            lastCheck = now;
+            removeExcedentComponents();
+            for (Entry<C> entry : liveMap.values()) {
+                if (isEntryStale(entry, now)) {
+                    remove(entry);
+                }
+            }
+            for (Entry<C> entry : lingerersMap.values()) {
+                if (isEntryDoneLingering(entry, now)) {
+                    remove(entry);
+                }
+            }
+        } finally {
+            removalLock.unlock();
+        }
+    }
+
+    private void removeExcedentComponents() {
+        int excess = liveMap.size() - maxComponents;
+        if (excess <= 0) {
+            return;
+        }
+        List<Entry<C>> entries = new ArrayList<Entry<C>>(liveMap.values());
+        entries.sort(Comparator.comparingLong(e -> e.timestamp));
+        for (int i = 0; i < entries.size() && excess > 0; i++) {
+            if (remove(entries.get(i))) {
+                excess--;
+            }
+        }
+    }
+
+    /**
+     * Remove the entry unless its component is in use.
+     */
+    private boolean remove(Entry<C> entry) {
+        if (!entry.retire()) {
+            return false;
+        }
+        discard(entry);
+        processPriorToRemoval(entry.component);
+        return true;
+    }
+
+    private void discard(Entry<C> entry) {
+        liveMap.remove(entry.key, entry);
+        lingerersMap.remove(entry.key, entry);
+    }
+
+    private boolean isEntryStale(Entry<C> entry, long now) {
+        // stopped or improperly started appenders are considered stale
+        // see also http://jira.qos.ch/browse/LBCLASSIC-316
+        C c = entry.component;
+        if (isComponentStale(c))
+            return true;
+
+        return ((entry.timestamp + timeout) < now);
+    }
+
+    private boolean isEntryDoneLingering(Entry<C> entry, long now) {
+        return ((entry.timestamp + LINGERING_TIMEOUT) < now);
+    }
+
+    public Set<String> allKeys() {
+        HashSet<String> allKeys = new HashSet<String>(liveMap.keySet());
+        allKeys.addAll(lingerersMap.keySet());
+        return allKeys;
+    }
+
+    public Collection<C> allComponents() {
+        List<C> allComponents = new ArrayList<C>();
+        for (Entry<C> e : liveMap.values())
+            allComponents.add(e.component);
+        for (Entry<C> e : lingerersMap.values()) {
+            // an entry moving to the lingerers map may briefly be in both maps
+            if (!allComponents.contains(e.component))
+                allComponents.add(e.component);
+        }
+        return allComponents;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    public int getMaxComponents() {
+        return maxComponents;
+    }
+
+    public void setMaxComponents(int maxComponents) {
+        this.maxComponents = maxComponents;
+    }
+
+    // ================================================================
+    private static class Entry<C> {
+        // value of 'users' once the entry is removed
+        private static final int RETIRED = -1;
+
+        final String key;
+        final C component;
+        volatile long timestamp;
+        // number of threads currently using the component
+        final AtomicInteger users = new AtomicInteger();
+
+        Entry(String k, C c, long timestamp) {
+            this.key = k;
+            this.component = c;
+            this.timestamp = timestamp;
+        }
+
+        void touch(long timestamp) {
+            // avoid writing to a shared cache line when nothing changes
+            if (this.timestamp != timestamp) {
+                this.timestamp = timestamp;
+            }
+        }
+
+        boolean acquire() {
+            int n;
+            do {
+                n = users.get();
+                if (n == RETIRED) {
+                    return false;
+                }
+            } while (!users.compareAndSet(n, n + 1));
+            return true;
+        }
+
+        void release() {
+            users.decrementAndGet();
+        }
+
+        /**
+         * Succeeds only if the component is not in use. Once retired, an entry can no
+         * longer be acquired.
+         */
+        boolean retire() {
+            return users.compareAndSet(0, RETIRED);
+        }
+
+        boolean isRetired() {
+            return users.get() == RETIRED;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + key + ", " + component + ")";
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.spi;
+
+/**
+ * Implemented by events whose instances may be reused, i.e. overwritten, once
+ * the appenders they are dispatched to return.
+ * 
+ * <p>
+ * Appenders which keep references to events, as reported by
+ * {@link ch.qos.logback.core.Appender#isRetainingEvents()}, are handed a
+ * retainable copy of such events instead of the events themselves.
+ * </p>
+ * 
+ * @param <E> the type of the retainable copy
+ * @since 1.4.5
+ */
+public interface RecyclableEvent<E> {
+
+    /**
+     * @return true if this instance will be reused once dispatched
+     */
+    boolean isRecyclable();
+
+    /**
+     * Returns a copy of this event which is safe to keep after dispatching
+     * returns. The copy is created at most once per use of this instance.
+     */
+    E getRetainableCopy();
+}
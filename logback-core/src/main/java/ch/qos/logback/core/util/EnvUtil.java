@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.core.util;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.module.ModuleDescriptor;
 import java.util.Optional;
 
@@ -21,9 +24,40 @@ import java.util.Optional;
  */
 public class EnvUtil {
 
+    /**
+     * Handle on Thread.isVirtual(), null on JDK versions prior to 21.
+     */
+    static private final MethodHandle IS_VIRTUAL_HANDLE = findIsVirtualHandle();
+
     private EnvUtil() {
     }
 
+    static private MethodHandle findIsVirtualHandle() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual",
+                    MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns true if the given thread is a virtual thread. Always returns false
+     * on JDK versions prior to 21.
+     *
+     * @since 1.4.5
+     */
+    static public boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL_HANDLE == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL_HANDLE.invokeExact(thread);
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
     /**
      * <p>Returns the current version of logback, or null if data is not
      * available.
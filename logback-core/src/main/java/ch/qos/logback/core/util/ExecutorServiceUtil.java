@@ -14,6 +14,7 @@
 package ch.qos.logback.core.util;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -62,6 +63,21 @@ public class ExecutorServiceUtil {
                 TimeUnit.MILLISECONDS, new SynchronousQueue<Runnable>(), THREAD_FACTORY);
     }
 
+    /**
+     * Creates a pool of at most <code>nThreads</code> daemon threads, for
+     * components needing to spread work over a bounded number of threads. Threads
+     * are started on demand and terminate after being idle for a minute, so that
+     * a pool used once in a while can be kept without holding threads.
+     * 
+     * @since 1.4.5
+     */
+    static public ExecutorService newFixedThreadPool(int nThreads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(nThreads, nThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), THREAD_FACTORY);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     /**
      * Shuts down an executor service.
      * <p>
@@ -0,0 +1,206 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.util;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A date formatter caching the formatted text for the duration of a second.
+ * 
+ * <p>
+ * The pattern is decomposed into the text preceding the fraction-of-second
+ * field, e.g. "SSS", and the text following it. Both are formatted once per
+ * second whereas the fraction-of-second digits are computed for each
+ * timestamp. {@link #format(long, StringBuilder)} appends the result to the
+ * given buffer without creating any intermediary object as long as the second
+ * does not change.
+ * </p>
+ * 
+ * <p>
+ * Patterns which cannot be decomposed, e.g. containing optional sections, more
+ * than one fraction-of-second field or fields finer than a second other than
+ * the fraction-of-second, are delegated to a {@link CachingDateFormatter}.
+ * </p>
+ * 
+ * @since 1.4.5
+ */
+public class IncrementalDateFormatter {
+
+    static final String FINER_THAN_SECOND_LETTERS = "nNA";
+    static final String SECTION_CHARS = "[]{}#";
+    static final int MAX_FRACTION_DIGITS = 9;
+
+    final ZoneId zoneId;
+    final DateTimeFormatter prefixFormatter;
+    final DateTimeFormatter suffixFormatter;
+    final int fractionDigits;
+    final CachingDateFormatter fallback;
+
+    volatile CachedSecond cachedSecond = new CachedSecond(Long.MIN_VALUE, null, null);
+
+    static class CachedSecond {
+        final long epochSecond;
+        final String prefix;
+        final String suffix;
+
+        CachedSecond(long epochSecond, String prefix, String suffix) {
+            this.epochSecond = epochSecond;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+    }
+
+    public IncrementalDateFormatter(String pattern) {
+        this(pattern, null);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public IncrementalDateFormatter(String pattern, ZoneId aZoneId) {
+        this.zoneId = aZoneId == null ? ZoneId.systemDefault() : aZoneId;
+
+        // validate the whole pattern
+        DateTimeFormatter.ofPattern(pattern);
+
+        int[] fractionRun = findFractionRun(pattern);
+        if (fractionRun == null) {
+            this.prefixFormatter = null;
+            this.suffixFormatter = null;
+            this.fractionDigits = 0;
+            this.fallback = new CachingDateFormatter(pattern, zoneId);
+        } else {
+            int start = fractionRun[0];
+            int length = fractionRun[1];
+            this.prefixFormatter = makeFormatter(pattern.substring(0, start));
+            this.suffixFormatter = makeFormatter(pattern.substring(start + length));
+            this.fractionDigits = length;
+            this.fallback = null;
+        }
+    }
+
+    private DateTimeFormatter makeFormatter(String pattern) {
+        if (pattern.isEmpty()) {
+            return null;
+        }
+        return DateTimeFormatter.ofPattern(pattern).withZone(zoneId);
+    }
+
+    /**
+     * Find the fraction-of-second field in the given pattern.
+     * 
+     * @return the start and length of the fraction-of-second field, a length of
+     *         zero if there is none, or null if the pattern cannot be decomposed
+     */
+    static int[] findFractionRun(String pattern) {
+        int fractionStart = -1;
+        int fractionLength = 0;
+        int len = pattern.length();
+        int i = 0;
+        while (i < len) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                int closing = pattern.indexOf('\'', i + 1);
+                if (closing == -1) {
+                    return null;
+                }
+                i = closing + 1;
+            } else if (SECTION_CHARS.indexOf(c) != -1 || FINER_THAN_SECOND_LETTERS.indexOf(c) != -1) {
+                return null;
+            } else if (c == 'S') {
+                if (fractionStart != -1) {
+                    return null;
+                }
+                fractionStart = i;
+                while (i < len && pattern.charAt(i) == 'S') {
+                    i++;
+                }
+                fractionLength = i - fractionStart;
+                if (fractionLength > MAX_FRACTION_DIGITS) {
+                    return null;
+                }
+            } else {
+                i++;
+            }
+        }
+        if (fractionStart == -1) {
+            return new int[] { len, 0 };
+        }
+        return new int[] { fractionStart, fractionLength };
+    }
+
+    /**
+     * Whether the pattern was decomposed. If false, formatting is delegated to
+     * a {@link CachingDateFormatter}.
+     */
+    public boolean isIncremental() {
+        return fallback == null;
+    }
+
+    public final String format(long timestamp) {
+        if (fallback != null) {
+            return fallback.format(timestamp);
+        }
+        StringBuilder buf = new StringBuilder(32);
+        format(timestamp, buf);
+        return buf.toString();
+    }
+
+    /**
+     * Append the formatted timestamp to the given buffer.
+     * 
+     * @param timestamp milliseconds since the epoch
+     * @param buf the buffer to append to
+     */
+    public final void format(long timestamp, StringBuilder buf) {
+        if (fallback != null) {
+            buf.append(fallback.format(timestamp));
+            return;
+        }
+        long epochSecond = Math.floorDiv(timestamp, 1000L);
+        CachedSecond localCachedSecond = cachedSecond;
+        if (localCachedSecond.epochSecond != epochSecond) {
+            localCachedSecond = formatSecond(epochSecond);
+            cachedSecond = localCachedSecond;
+        }
+        buf.append(localCachedSecond.prefix);
+        if (fractionDigits > 0) {
+            appendFraction(buf, (int) Math.floorMod(timestamp, 1000L));
+        }
+        buf.append(localCachedSecond.suffix);
+    }
+
+    private CachedSecond formatSecond(long epochSecond) {
+        Instant instant = Instant.ofEpochSecond(epochSecond);
+        String prefix = prefixFormatter == null ? "" : prefixFormatter.format(instant);
+        String suffix = suffixFormatter == null ? "" : suffixFormatter.format(instant);
+        return new CachedSecond(epochSecond, prefix, suffix);
+    }
+
+    private void appendFraction(StringBuilder buf, int millis) {
+        // the first fractionDigits digits of the zero padded 3 digit millisecond
+        // value, followed by zeros if more than 3 digits are required
+        int divisor = 100;
+        for (int i = 0; i < fractionDigits; i++) {
+            if (divisor == 0) {
+                buf.append('0');
+            } else {
+                buf.append((char) ('0' + (millis / divisor) % 10));
+                divisor /= 10;
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * An {@link OutputStream} writing into successive memory mapped regions of a
+ * file. Each region is <code>regionLength</code> bytes long and the next one is
+ * mapped when the current one is full. Upon {@link #close()}, the file is
+ * truncated to the number of bytes actually written.
+ * 
+ * <p>
+ * Writes are plain memory copies. The written bytes are visible to readers of
+ * the file immediately and survive a crash of the JVM, but not necessarily a
+ * crash of the operating system. Until the stream is closed, the file may be
+ * padded with zeros up to the end of the current region. Such padding, left
+ * behind when the stream could not be closed, is removed when the file is
+ * opened again in append mode. Trailing zero bytes are thus not preserved,
+ * which excludes encodings such as UTF-16LE.
+ * 
+ * <p>
+ * This class is not thread safe. Callers such as
+ * {@link ch.qos.logback.core.OutputStreamAppender OutputStreamAppender} are
+ * expected to synchronize access.
+ * 
+ * @since 1.4.5
+ */
+public class MappedFileOutputStream extends OutputStream {
+
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (Exception | LinkageError e) {
+            // mapped regions will be released by the garbage collector
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private static final int PADDING_SCAN_BUFFER_SIZE = 8192;
+
+    private final File file;
+    private final RandomAccessFile randomAccessFile;
+    private final FileChannel channel;
+    private final long regionLength;
+
+    private MappedByteBuffer mappedBuffer;
+    /**
+     * Offset in the file of the start of the current region.
+     */
+    private long regionStart;
+
+    public MappedFileOutputStream(File file, boolean append, long regionLength) throws IOException {
+        if (regionLength <= 0 || regionLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Region length must be between 1 and " + Integer.MAX_VALUE);
+        }
+        this.file = file;
+        this.regionLength = regionLength;
+        this.randomAccessFile = new RandomAccessFile(file, "rw");
+        this.channel = randomAccessFile.getChannel();
+        try {
+            long position = 0;
+            if (append) {
+                position = lengthWithoutPadding();
+                channel.truncate(position);
+            } else {
+                channel.truncate(0);
+            }
+            mapRegion(position);
+        } catch (IOException e) {
+            randomAccessFile.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the length of the file once trailing zero bytes, i.e. the padding
+     *         of the region which was current when the file was last written, are
+     *         excluded
+     */
+    private long lengthWithoutPadding() throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(PADDING_SCAN_BUFFER_SIZE);
+        long end = channel.size();
+        while (end > 0) {
+            long start = Math.max(0, end - PADDING_SCAN_BUFFER_SIZE);
+            buf.clear();
+            buf.limit((int) (end - start));
+            while (buf.hasRemaining()) {
+                if (channel.read(buf, start + buf.position()) < 0) {
+                    throw new IOException("File [" + file + "] shrank while being opened");
+                }
+            }
+            for (int i = buf.limit() - 1; i >= 0; i--) {
+                if (buf.get(i) != 0) {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+    private void mapRegion(long start) throws IOException {
+        MappedByteBuffer previous = mappedBuffer;
+        mappedBuffer = null;
+        if (previous != null) {
+            unmap(previous);
+        }
+        mappedBuffer = channel.map(FileChannel.MapMode.READ_WRITE, start, regionLength);
+        regionStart = start;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (!mappedBuffer.hasRemaining()) {
+            mapRegion(position());
+        }
+        mappedBuffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (!mappedBuffer.hasRemaining()) {
+                mapRegion(position());
+            }
+            int chunk = Math.min(len, mappedBuffer.remaining());
+            mappedBuffer.put(b, off, chunk);
+            off += chunk;
+            len -= chunk;
+        }
+    }
+
+    /**
+     * Does nothing as written bytes are already in the operating system's page
+     * cache. See {@link #force()} in order to write them to the storage device.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+    }
+
+    /**
+     * Force the bytes written so far to the storage device.
+     */
+    public void force() throws IOException {
+        ensureOpen();
+        mappedBuffer.force();
+    }
+
+    /**
+     * Unmap the current region and truncate the file to the number of bytes
+     * actually written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (mappedBuffer == null) {
+            return;
+        }
+        long length = position();
+        try {
+            MappedByteBuffer last = mappedBuffer;
+            mappedBuffer = null;
+            unmap(last);
+            channel.truncate(length);
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    /**
+     * @return the number of bytes in the file, excluding the padding of the current
+     *         region
+     */
+    public long position() {
+        MappedByteBuffer buffer = mappedBuffer;
+        return regionStart + (buffer == null ? 0 : buffer.position());
+    }
+
+    public boolean isOpen() {
+        return mappedBuffer != null;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getRegionLength() {
+        return regionLength;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (mappedBuffer == null) {
+            throw new IOException("Stream for file [" + file + "] is closed");
+        }
+    }
+
+    /**
+     * Tell whether mapped regions can be released eagerly, which requires access
+     * to <code>sun.misc.Unsafe</code>.
+     */
+    public static boolean isUnmappingSupported() {
+        return INVOKE_CLEANER != null;
+    }
+
+    /**
+     * Release the mapping eagerly instead of waiting for the buffer to be garbage
+     * collected. Some platforms do not allow mapped files to be truncated or
+     * renamed. The buffer must not be accessed afterwards.
+     */
+    static void unmap(MappedByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (Exception e) {
+            // leave it to the garbage collector
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "c.q.l.c.util.MappedFileOutputStream@" + System.identityHashCode(this);
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.util;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Detects re-entry of the current thread into a guarded section, e.g. an
+ * appender logging from within its own append method.
+ * 
+ * <p>
+ * Platform threads are tracked by a {@link ThreadLocal}. Virtual threads are
+ * typically numerous and short lived, a thread local would burden each of them
+ * with a thread local map for as long as it lives. Virtual threads are thus
+ * tracked by a set holding only the threads which are currently inside the
+ * guarded section.
+ * </p>
+ * 
+ * @since 1.4.5
+ */
+public class ReentryGuard {
+
+    private final ThreadLocal<Boolean> platformThreadGuard = new ThreadLocal<Boolean>();
+    private final Set<Thread> enteredVirtualThreads = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Enter the guarded section.
+     * 
+     * @return false if the current thread is already inside the guarded section,
+     *         in which case {@link #exit()} must not be invoked
+     */
+    public boolean enter() {
+        Thread current = Thread.currentThread();
+        if (EnvUtil.isVirtual(current)) {
+            return enteredVirtualThreads.add(current);
+        }
+        if (Boolean.TRUE.equals(platformThreadGuard.get())) {
+            return false;
+        }
+        platformThreadGuard.set(Boolean.TRUE);
+        return true;
+    }
+
+    /**
+     * Leave the guarded section after a successful {@link #enter()}.
+     */
+    public void exit() {
+        Thread current = Thread.currentThread();
+        if (EnvUtil.isVirtual(current)) {
+            enteredVirtualThreads.remove(current);
+        } else {
+            platformThreadGuard.set(Boolean.FALSE);
+        }
+    }
+}
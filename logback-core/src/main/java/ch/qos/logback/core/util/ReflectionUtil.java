@@ -0,0 +1,53 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.util;
+
+import java.lang.reflect.Method;
+
+/**
+ * Helper methods for inspecting class hierarchies, typically in order to
+ * determine whether a fast path can be taken without bypassing methods
+ * overridden by user supplied sub-classes.
+ * 
+ * @since 1.4.5
+ */
+public class ReflectionUtil {
+
+    /**
+     * Returns true if a class in the hierarchy starting at <code>clazz</code> and
+     * ending just before <code>base</code> declares a method named
+     * <code>methodName</code> taking <code>paramCount</code> parameters.
+     */
+    public static boolean isOverriddenBelow(Class<?> clazz, Class<?> base, String methodName, int paramCount) {
+        for (Class<?> c = clazz; c != null && c != base; c = c.getSuperclass()) {
+            if (declaresMethod(c, methodName, paramCount)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if <code>c</code> itself declares a non-bridge method named
+     * <code>methodName</code> taking <code>paramCount</code> parameters.
+     */
+    public static boolean declaresMethod(Class<?> c, String methodName, int paramCount) {
+        for (Method m : c.getDeclaredMethods()) {
+            if (!m.isBridge() && m.getName().equals(methodName) && m.getParameterCount() == paramCount) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,291 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.util;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded, pre-allocated, lock-free multi-producer single-consumer queue.
+ * 
+ * <p>
+ * Each slot of the ring carries a sequence number telling whether the slot is
+ * free for the producer claiming a given position or holds an element ready
+ * for the consumer. Producers claim positions with a single CAS on the tail
+ * whereas the consumer advances the head without any atomic read-modify-write
+ * operation. Producers and the consumer never take a lock.
+ * </p>
+ * 
+ * <p>
+ * Waiting, i.e. in {@link #put(Object)} when the queue is full or in
+ * {@link #take()} when it is empty, is done according to a
+ * {@link WaitStrategy}. With {@link WaitStrategy#PARK} an idle consumer parks
+ * until a producer signals the availability of new elements.
+ * </p>
+ * 
+ * <p>
+ * <b>Only a single thread may remove elements</b> from this queue, e.g. via
+ * {@link #poll()}, {@link #take()} or {@link #drainTo(Collection)}. Iterators
+ * are read-only and operate on a snapshot of the queue.
+ * </p>
+ * 
+ * @param <E>
+ * @since 1.4.5
+ */
+public class RingBufferQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    /**
+     * Maximum time a parked consumer sleeps before re-checking the queue by
+     * itself, in case of a missed signal.
+     */
+    static final long MAX_CONSUMER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    final int capacity;
+    final Object[] buffer;
+    final AtomicLongArray sequences;
+    final WaitStrategy waitStrategy;
+
+    final AtomicLong tail = new AtomicLong();
+    // written by the consumer thread only
+    volatile long head;
+
+    volatile Thread parkedConsumer;
+
+    public RingBufferQueue(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive, was " + capacity);
+        }
+        this.capacity = capacity;
+        this.buffer = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.waitStrategy = Objects.requireNonNull(waitStrategy);
+    }
+
+    private int index(long position) {
+        return (int) (position % capacity);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e);
+        while (true) {
+            long position = tail.get();
+            int index = index(position);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer[index] = e;
+                    // publish the element
+                    sequences.set(index, position + 1);
+                    signalConsumer();
+                    return true;
+                }
+            } else if (difference < 0) {
+                // the slot still holds the element put one lap earlier
+                return false;
+            }
+            // else another producer claimed the position, try again
+        }
+    }
+
+    private void signalConsumer() {
+        Thread consumer = parkedConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        int counter = 0;
+        while (!offer(e)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            waitStrategy.idle(counter++);
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int counter = 0;
+        while (!offer(e)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            waitStrategy.idle(counter++);
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long position = head;
+        int index = index(position);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E e = (E) buffer[index];
+        buffer[index] = null;
+        // hand the slot over to the producer of the next lap
+        sequences.lazySet(index, position + capacity);
+        head = position + 1;
+        return e;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        int counter = 0;
+        E e;
+        while ((e = poll()) == null) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            awaitElements(counter++, MAX_CONSUMER_PARK_NANOS);
+        }
+        return e;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int counter = 0;
+        E e;
+        while ((e = poll()) == null) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            awaitElements(counter++, Math.min(remaining, MAX_CONSUMER_PARK_NANOS));
+        }
+        return e;
+    }
+
+    private void awaitElements(int counter, long maxParkNanos) {
+        if (waitStrategy != WaitStrategy.PARK || counter < WaitStrategy.SPIN_TRIES) {
+            waitStrategy.idle(counter);
+            return;
+        }
+        parkedConsumer = Thread.currentThread();
+        try {
+            // re-check after registering so that a concurrent offer is not missed
+            if (isEmpty()) {
+                LockSupport.parkNanos(this, maxParkNanos);
+            }
+        } finally {
+            parkedConsumer = null;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        long position = head;
+        int index = index(position);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        return (E) buffer[index];
+    }
+
+    /**
+     * Remove at most {@code capacity} elements, so that the caller is not kept
+     * draining forever by producers which refill the queue as fast as it is
+     * drained.
+     */
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, capacity);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int count = 0;
+        E e;
+        while (count < maxElements && (e = poll()) != null) {
+            c.add(e);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int size() {
+        long size = tail.get() - head;
+        if (size < 0) {
+            return 0;
+        }
+        return (int) Math.min(size, capacity);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    /**
+     * Returns a read-only iterator over a snapshot of the elements present in the
+     * queue.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+        List<E> snapshot = new ArrayList<E>();
+        long limit = tail.get();
+        for (long position = head; position < limit; position++) {
+            int index = index(position);
+            if (sequences.get(index) == position + 1) {
+                Object o = buffer[index];
+                if (o != null) {
+                    snapshot.add((E) o);
+                }
+            }
+        }
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+}
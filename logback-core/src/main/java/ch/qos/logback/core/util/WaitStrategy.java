@@ -0,0 +1,109 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.util;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The ways a thread may wait for a condition, typically space or data in a
+ * {@link RingBufferQueue}, to become true.
+ * 
+ * @since 1.4.5
+ */
+public enum WaitStrategy {
+
+    /**
+     * Busy spin. Lowest latency, but keeps a core busy while waiting. The
+     * processor is yielded once in a while so that a waiting thread cannot starve
+     * the thread it waits on when there are more runnable threads than cores.
+     */
+    SPIN("spin") {
+        @Override
+        public void idle(int counter) {
+            if ((counter & SPIN_YIELD_MASK) == SPIN_YIELD_MASK) {
+                Thread.yield();
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    },
+
+    /**
+     * Spin for a short while, then yield the processor.
+     */
+    YIELD("yield") {
+        @Override
+        public void idle(int counter) {
+            if (counter < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+
+    /**
+     * Spin, then yield and then park the thread for short periods. Consumes the
+     * least CPU.
+     */
+    PARK("park") {
+        @Override
+        public void idle(int counter) {
+            if (counter < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (counter < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    };
+
+    static final int SPIN_YIELD_MASK = 0x3FF;
+    static final int SPIN_TRIES = 100;
+    static final int YIELD_TRIES = 100;
+    static final long PARK_NANOS = 50_000L;
+
+    private final String name;
+
+    private WaitStrategy(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Wait a little before re-checking the awaited condition.
+     * 
+     * @param counter the number of times the condition was checked in vain so far
+     */
+    public abstract void idle(int counter);
+
+    /**
+     * Find the strategy for the given name, ignoring case.
+     * 
+     * @param name
+     * @return the corresponding strategy or null if none matches
+     */
+    public static WaitStrategy findByName(String name) {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            if (strategy.name.equalsIgnoreCase(name)) {
+                return strategy;
+            }
+        }
+        return null;
+    }
+}
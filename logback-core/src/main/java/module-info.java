@@ -5,6 +5,9 @@ module ch.qos.logback.core {
     // required by the optional SMTPAppenderBase component
     requires static java.naming;
 
+    // sun.misc.Unsafe releases memory mapped regions, see MappedFileOutputStream
+    requires static jdk.unsupported;
+
     requires static janino;
     requires static commons.compiler;
 
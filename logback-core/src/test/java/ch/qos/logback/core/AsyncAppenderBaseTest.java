@@ -182,6 +182,79 @@ public class AsyncAppenderBaseTest {
         verify(delayingListAppender, loopLen);
     }
 
+    @Test
+    @Timeout(value=2, unit = TimeUnit.SECONDS)
+    public void ringBufferNoEventLoss() {
+        int bufferSize = 10;
+        int loopLen = bufferSize * 2;
+        asyncAppenderBase.addAppender(delayingListAppender);
+        asyncAppenderBase.setQueueType(AsyncAppenderBase.RING_BUFFER_QUEUE_TYPE);
+        asyncAppenderBase.setQueueSize(bufferSize);
+        asyncAppenderBase.setMaxFlushTime(2000);
+        asyncAppenderBase.start();
+        for (int i = 0; i < loopLen; i++) {
+            asyncAppenderBase.doAppend(i);
+        }
+
+        asyncAppenderBase.stop();
+        verify(delayingListAppender, loopLen);
+    }
+
+    @Test
+    @Timeout(value=2, unit = TimeUnit.SECONDS)
+    public void ringBufferEventLossIfNeverBlock() {
+        int bufferSize = 10;
+        int loopLen = bufferSize * 200;
+        delayingListAppender.setDelay(5);
+        asyncAppenderBase.addAppender(delayingListAppender);
+        asyncAppenderBase.setQueueType(AsyncAppenderBase.RING_BUFFER_QUEUE_TYPE);
+        asyncAppenderBase.setWaitStrategy("yield");
+        asyncAppenderBase.setQueueSize(bufferSize);
+        asyncAppenderBase.setNeverBlock(true);
+        asyncAppenderBase.start();
+        for (int i = 0; i < loopLen; i++) {
+            asyncAppenderBase.doAppend(i);
+        }
+        asyncAppenderBase.stop();
+        statusChecker.assertIsErrorFree();
+    }
+
+    @Test
+    @Timeout(value=2, unit = TimeUnit.SECONDS)
+    public void ringBufferLossyAppenderShouldOnlyLoseCertainEvents() {
+        int bufferSize = 5;
+        int loopLen = bufferSize * 2;
+        lossyAsyncAppender.addAppender(delayingListAppender);
+        lossyAsyncAppender.setQueueType(AsyncAppenderBase.RING_BUFFER_QUEUE_TYPE);
+        lossyAsyncAppender.setQueueSize(bufferSize);
+        lossyAsyncAppender.setDiscardingThreshold(1);
+        lossyAsyncAppender.start();
+        for (int i = 0; i < loopLen; i++) {
+            lossyAsyncAppender.doAppend(i);
+        }
+        lossyAsyncAppender.stop();
+        verify(delayingListAppender, loopLen - 2);
+    }
+
+    @Test
+    public void invalidQueueTypeShouldResultInNonStartedAppender() {
+        asyncAppenderBase.addAppender(new NOPAppender<Integer>());
+        asyncAppenderBase.setQueueType("linked");
+        asyncAppenderBase.start();
+        Assertions.assertFalse(asyncAppenderBase.isStarted());
+        statusChecker.assertContainsMatch("Unknown queueType");
+    }
+
+    @Test
+    public void invalidWaitStrategyShouldResultInNonStartedAppender() {
+        asyncAppenderBase.addAppender(new NOPAppender<Integer>());
+        asyncAppenderBase.setQueueType(AsyncAppenderBase.RING_BUFFER_QUEUE_TYPE);
+        asyncAppenderBase.setWaitStrategy("sleep");
+        asyncAppenderBase.start();
+        Assertions.assertFalse(asyncAppenderBase.isStarted());
+        statusChecker.assertContainsMatch("Unknown waitStrategy");
+    }
+
     @Test
     public void invalidQueueCapacityShouldResultInNonStartedAppender() {
         asyncAppenderBase.addAppender(new NOPAppender<Integer>());
@@ -0,0 +1,111 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core;
+
+import static ch.qos.logback.core.BasicStatusManager.MAX_HEADER_COUNT;
+import static ch.qos.logback.core.BasicStatusManager.TAIL_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.core.status.ErrorStatus;
+import ch.qos.logback.core.status.InfoStatus;
+import ch.qos.logback.core.status.OnConsoleStatusListener;
+import ch.qos.logback.core.status.Status;
+import ch.qos.logback.core.status.WarnStatus;
+
+public class ConcurrentStatusManagerTest {
+
+    ConcurrentStatusManager csm = new ConcurrentStatusManager();
+
+    @Test
+    public void many() {
+        int margin = 300;
+        int len = MAX_HEADER_COUNT + TAIL_SIZE + margin;
+        for (int i = 0; i < len; i++) {
+            csm.add(new ErrorStatus("" + i, this));
+        }
+        assertEquals(len, csm.getCount());
+        assertEquals(Status.ERROR, csm.getLevel());
+
+        List<Status> statusList = csm.getCopyOfStatusList();
+        List<Status> witness = new ArrayList<Status>();
+        for (int i = 0; i < MAX_HEADER_COUNT; i++) {
+            witness.add(new ErrorStatus("" + i, this));
+        }
+        for (int i = 0; i < TAIL_SIZE; i++) {
+            witness.add(new ErrorStatus("" + (MAX_HEADER_COUNT + margin + i), this));
+        }
+        assertEquals(witness, statusList);
+
+        csm.clear();
+        assertEquals(0, csm.getCount());
+        assertTrue(csm.getCopyOfStatusList().isEmpty());
+    }
+
+    @Test
+    public void repeatedStatusesAreAggregated() {
+        csm.setRepeatWindow(60_000);
+        for (int i = 0; i < 10; i++) {
+            csm.add(new WarnStatus("Dropping event", this));
+        }
+        csm.add(new InfoStatus("other", this));
+        assertEquals(11, csm.getCount());
+
+        List<Status> statusList = csm.getCopyOfStatusList();
+        assertEquals(2, statusList.size());
+        assertEquals("Dropping event", statusList.get(0).getMessage());
+
+        // report the repeats as if the window were over
+        csm.reportExpiredRepeats(System.currentTimeMillis() + 60_000);
+        statusList = csm.getCopyOfStatusList();
+        assertEquals(3, statusList.size());
+        Status summary = statusList.get(2);
+        assertEquals(Status.WARN, summary.getLevel());
+        assertTrue(summary.getMessage().startsWith("Previous status repeated 9 more times"),
+                summary.getMessage());
+    }
+
+    @Test
+    public void listenersAreNotifiedAsynchronously() throws InterruptedException {
+        List<Status> received = new CopyOnWriteArrayList<>();
+        csm.add(received::add);
+        int len = 100;
+        for (int i = 0; i < len; i++) {
+            csm.add(new InfoStatus("" + i, this));
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (received.size() < len && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(len, received.size());
+        for (int i = 0; i < len; i++) {
+            assertEquals("" + i, received.get(i).getMessage());
+        }
+    }
+
+    @Test
+    public void duplicateInstallationsOfOnConsoleListener() {
+        assertTrue(csm.add(new OnConsoleStatusListener()));
+        assertFalse(csm.add(new OnConsoleStatusListener()));
+        assertEquals(1, csm.getCopyOfStatusListenerList().size());
+    }
+
+}
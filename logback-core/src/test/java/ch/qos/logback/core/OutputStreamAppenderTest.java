@@ -14,14 +14,26 @@
 package ch.qos.logback.core;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import ch.qos.logback.core.boolex.EvaluationException;
+import ch.qos.logback.core.boolex.EventEvaluatorBase;
+import ch.qos.logback.core.encoder.EchoEncoder;
 import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+import ch.qos.logback.core.filter.Filter;
 import ch.qos.logback.core.pattern.parser.SamplePatternLayout;
+import ch.qos.logback.core.spi.FilterReply;
+import ch.qos.logback.core.status.Status;
+import ch.qos.logback.core.status.testUtil.StatusChecker;
+import ch.qos.logback.core.util.Duration;
+import ch.qos.logback.core.util.FileSize;
 
 public class OutputStreamAppenderTest {
 
@@ -115,6 +127,154 @@ public class OutputStreamAppenderTest {
         Assertions.assertTrue(result.endsWith(expectedFooter), result);
     }
 
+    @Test
+    public void batchIsWrittenAtOnce() {
+        CountingOutputStream cos = new CountingOutputStream();
+        OutputStreamAppender<Object> appender = new OutputStreamAppender<Object>();
+        startEchoAppender(appender, cos);
+
+        appender.doAppendBatch(Arrays.asList("a", "b", "c"));
+
+        Assertions.assertEquals("a" + CoreConstants.LINE_SEPARATOR + "b" + CoreConstants.LINE_SEPARATOR + "c"
+                + CoreConstants.LINE_SEPARATOR, cos.toString());
+        Assertions.assertEquals(1, cos.writeCount);
+        Assertions.assertEquals(1, cos.flushCount);
+    }
+
+    @Test
+    public void batchSkipsDeniedEvents() {
+        CountingOutputStream cos = new CountingOutputStream();
+        OutputStreamAppender<Object> appender = new OutputStreamAppender<Object>();
+        appender.addFilter(new Filter<Object>() {
+            @Override
+            public FilterReply decide(Object event) {
+                return "b".equals(event) ? FilterReply.DENY : FilterReply.NEUTRAL;
+            }
+        });
+        startEchoAppender(appender, cos);
+
+        List<Object> batch = Arrays.asList("a", "b", "c");
+        appender.doAppendBatch(batch);
+
+        Assertions.assertEquals("a" + CoreConstants.LINE_SEPARATOR + "c" + CoreConstants.LINE_SEPARATOR,
+                cos.toString());
+        Assertions.assertEquals(Arrays.asList("a", "b", "c"), batch);
+    }
+
+    @Test
+    public void batchIsAppendedEventByEventIfSubAppendIsOverridden() {
+        CountingOutputStream cos = new CountingOutputStream();
+        OutputStreamAppender<Object> appender = new OutputStreamAppender<Object>() {
+            @Override
+            protected void subAppend(Object event) {
+                super.subAppend("[" + event + "]");
+            }
+        };
+        startEchoAppender(appender, cos);
+
+        appender.doAppendBatch(Arrays.asList("a", "b"));
+
+        Assertions.assertEquals("[a]" + CoreConstants.LINE_SEPARATOR + "[b]" + CoreConstants.LINE_SEPARATOR,
+                cos.toString());
+        Assertions.assertEquals(2, cos.writeCount);
+    }
+
+    @Test
+    public void groupCommitFlushesOnceBufferSizeIsReached() {
+        CountingOutputStream cos = new CountingOutputStream();
+        OutputStreamAppender<Object> appender = new OutputStreamAppender<Object>();
+        appender.setImmediateFlush(false);
+        appender.setFlushBufferSize(new FileSize(12));
+        startEchoAppender(appender, cos);
+
+        appender.doAppend("1234");
+        appender.doAppend("1234");
+        Assertions.assertEquals(0, cos.flushCount);
+        appender.doAppend("1234");
+        Assertions.assertEquals(1, cos.flushCount);
+        appender.doAppend("1234");
+        Assertions.assertEquals(1, cos.flushCount);
+    }
+
+    @Test
+    public void groupCommitFlushesAfterMaxLatency() throws InterruptedException {
+        CountingOutputStream cos = new CountingOutputStream();
+        OutputStreamAppender<Object> appender = new OutputStreamAppender<Object>();
+        appender.setImmediateFlush(false);
+        appender.setMaxFlushLatency(Duration.buildByMilliseconds(5));
+        startEchoAppender(appender, cos);
+
+        appender.doAppend("a");
+        appender.doAppend("b");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cos.flushCount == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        Assertions.assertEquals(1, cos.flushCount);
+    }
+
+    @Test
+    public void groupCommitFlushesAfterTriggeringEvent() {
+        CountingOutputStream cos = new CountingOutputStream();
+        OutputStreamAppender<Object> appender = new OutputStreamAppender<Object>();
+        appender.setImmediateFlush(false);
+        appender.setFlushEvaluator(new EventEvaluatorBase<Object>() {
+            @Override
+            public boolean evaluate(Object event) throws NullPointerException, EvaluationException {
+                return "error".equals(event);
+            }
+        });
+        startEchoAppender(appender, cos);
+
+        appender.doAppend("info");
+        Assertions.assertEquals(0, cos.flushCount);
+        appender.doAppend("error");
+        Assertions.assertEquals(1, cos.flushCount);
+        appender.doAppendBatch(Arrays.asList("info", "error", "info"));
+        Assertions.assertEquals(2, cos.flushCount);
+    }
+
+    @Test
+    public void groupCommitIsIgnoredWithImmediateFlush() {
+        CountingOutputStream cos = new CountingOutputStream();
+        OutputStreamAppender<Object> appender = new OutputStreamAppender<Object>();
+        appender.setFlushBufferSize(new FileSize(1024));
+        startEchoAppender(appender, cos);
+
+        appender.doAppend("a");
+        Assertions.assertEquals(1, cos.flushCount);
+        StatusChecker checker = new StatusChecker(context);
+        checker.assertContainsMatch(Status.WARN, "The flushBufferSize, maxFlushLatency and flushEvaluator properties");
+    }
+
+    void startEchoAppender(OutputStreamAppender<Object> appender, CountingOutputStream cos) {
+        appender.setContext(context);
+        EchoEncoder<Object> encoder = new EchoEncoder<Object>();
+        encoder.setContext(context);
+        encoder.start();
+        appender.setEncoder(encoder);
+        appender.setOutputStream(cos);
+        appender.start();
+        cos.writeCount = 0;
+        cos.flushCount = 0;
+    }
+
+    static class CountingOutputStream extends ByteArrayOutputStream {
+        int writeCount;
+        volatile int flushCount;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            writeCount++;
+            super.write(b, off, len);
+        }
+
+        @Override
+        public synchronized void flush() throws IOException {
+            flushCount++;
+        }
+    }
+
     String emtptyIfNull(String s) {
         return s == null ? "" : s;
     }
@@ -0,0 +1,88 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.appender;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.MemoryMappedFileAppender;
+import ch.qos.logback.core.encoder.EchoEncoder;
+import ch.qos.logback.core.encoder.NopEncoder;
+import ch.qos.logback.core.status.Status;
+import ch.qos.logback.core.status.testUtil.StatusChecker;
+import ch.qos.logback.core.testUtil.CoreTestConstants;
+import ch.qos.logback.core.testUtil.RandomUtil;
+import ch.qos.logback.core.util.FileSize;
+
+public class MemoryMappedFileAppenderTest extends AbstractAppenderTest<Object> {
+
+    int diff = RandomUtil.getPositiveInt();
+
+    protected Appender<Object> getAppender() {
+        return new MemoryMappedFileAppender<Object>();
+    }
+
+    protected Appender<Object> getConfiguredAppender() {
+        MemoryMappedFileAppender<Object> appender = new MemoryMappedFileAppender<Object>();
+        appender.setEncoder(new NopEncoder<Object>());
+        appender.setFile(CoreTestConstants.OUTPUT_DIR_PREFIX + "mmfa-temp-" + diff + ".log");
+        appender.setName("test");
+        appender.setContext(context);
+        appender.start();
+        return appender;
+    }
+
+    @Test
+    public void smoke() throws IOException {
+        String filename = CoreTestConstants.OUTPUT_DIR_PREFIX + "mmfa-smoke-" + diff + ".log";
+
+        MemoryMappedFileAppender<Object> appender = new MemoryMappedFileAppender<Object>();
+        appender.setEncoder(new EchoEncoder<Object>());
+        appender.setAppend(false);
+        appender.setFile(filename);
+        appender.setRegionLength(new FileSize(64));
+        appender.setName("smoke");
+        appender.setContext(context);
+        appender.start();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            appender.doAppend("event " + i);
+            expected.append("event " + i).append(CoreConstants.LINE_SEPARATOR);
+        }
+        appender.stop();
+
+        File file = new File(filename);
+        Assertions.assertEquals(expected.toString(), new String(Files.readAllBytes(file.toPath())));
+        Assertions.assertTrue(file.delete(), "failed to delete " + file.getAbsolutePath());
+    }
+
+    @Test
+    public void prudentModeIsNotSupported() {
+        MemoryMappedFileAppender<Object> appender = new MemoryMappedFileAppender<Object>();
+        appender.setEncoder(new NopEncoder<Object>());
+        appender.setFile(CoreTestConstants.OUTPUT_DIR_PREFIX + "mmfa-prudent-" + diff + ".log");
+        appender.setPrudent(true);
+        appender.setContext(context);
+        appender.start();
+
+        Assertions.assertFalse(appender.isStarted());
+        new StatusChecker(context).assertContainsMatch(Status.ERROR, "Prudent mode is not supported");
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.encoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.layout.EchoLayout;
+
+public class LayoutWrappingEncoderTest {
+
+    Context context = new ContextBase();
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+    LayoutWrappingEncoder<Object> buildEncoder(LayoutWrappingEncoder<Object> encoder, Charset charset) {
+        EchoLayout<Object> layout = new EchoLayout<>();
+        layout.setContext(context);
+        layout.start();
+        encoder.setContext(context);
+        encoder.setLayout(layout);
+        encoder.setCharset(charset);
+        encoder.start();
+        return encoder;
+    }
+
+    @Test
+    public void streamingEncodeMatchesEncode() throws IOException {
+        LayoutWrappingEncoder<Object> encoder = buildEncoder(new LayoutWrappingEncoder<>(), StandardCharsets.UTF_8);
+        String msg = "hello \u03b1\u03b2\u03b3 world";
+        encoder.encode(msg, baos);
+        assertArrayEquals(encoder.encode(msg), baos.toByteArray());
+    }
+
+    @Test
+    public void unmappableCharactersAreReplaced() throws IOException {
+        LayoutWrappingEncoder<Object> encoder = buildEncoder(new LayoutWrappingEncoder<>(),
+                StandardCharsets.US_ASCII);
+        String msg = "\u03b1 and \ud800";
+        encoder.encode(msg, baos);
+        assertArrayEquals(encoder.encode(msg), baos.toByteArray());
+    }
+
+    @Test
+    public void largeEventsAreNotTruncated() throws IOException {
+        LayoutWrappingEncoder<Object> encoder = buildEncoder(new LayoutWrappingEncoder<>(), StandardCharsets.UTF_8);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 2 * LayoutWrappingEncoder.MAX_RETAINED_BUFFER_SIZE; i++) {
+            sb.append((char) ('a' + (i % 26)));
+        }
+        String large = sb.toString();
+        encoder.encode(large, baos);
+        encoder.encode("small", baos);
+
+        String expected = new String(encoder.encode(large), StandardCharsets.UTF_8)
+                + new String(encoder.encode("small"), StandardCharsets.UTF_8);
+        assertEquals(expected, baos.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void overriddenEncodeIsHonored() throws IOException {
+        LayoutWrappingEncoder<Object> encoder = buildEncoder(new LayoutWrappingEncoder<Object>() {
+            @Override
+            public byte[] encode(Object event) {
+                return "overridden".getBytes(StandardCharsets.UTF_8);
+            }
+        }, StandardCharsets.UTF_8);
+
+        encoder.encode("hello", baos);
+        assertEquals("overridden", baos.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void layoutOverridingOnlyDoLayoutIsHonored() throws IOException {
+        assertFalse(LayoutWrappingEncoder.isLayoutIntoBuilderOverridden(IntoBuilderLayout.class));
+        assertTrue(LayoutWrappingEncoder.isLayoutIntoBuilderOverridden(DerivedLayout.class));
+
+        LayoutWrappingEncoder<Object> encoder = new LayoutWrappingEncoder<>();
+        DerivedLayout layout = new DerivedLayout();
+        layout.setContext(context);
+        layout.start();
+        encoder.setContext(context);
+        encoder.setLayout(layout);
+        encoder.start();
+        encoder.encode("hello", baos);
+        assertEquals("derived", baos.toString());
+    }
+
+    static class IntoBuilderLayout extends EchoLayout<Object> {
+        @Override
+        public void doLayout(Object event, StringBuilder sb) {
+            sb.append(event);
+        }
+    }
+
+    static class DerivedLayout extends IntoBuilderLayout {
+        @Override
+        public String doLayout(Object event) {
+            return "derived";
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.joran.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Stack;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.joran.TrivialConfigurator;
+import ch.qos.logback.core.joran.action.Action;
+import ch.qos.logback.core.joran.action.IncludeAction;
+import ch.qos.logback.core.joran.action.TopElementAction;
+import ch.qos.logback.core.joran.action.ext.StackAction;
+import ch.qos.logback.core.joran.spi.ElementSelector;
+import ch.qos.logback.core.joran.spi.JoranException;
+import ch.qos.logback.core.model.IncludeModel;
+import ch.qos.logback.core.model.StackModel;
+import ch.qos.logback.core.model.TopModel;
+import ch.qos.logback.core.model.conditional.IfModel;
+import ch.qos.logback.core.model.processor.DefaultProcessor;
+import ch.qos.logback.core.model.processor.NOPModelHandler;
+import ch.qos.logback.core.model.processor.StackModelHandler;
+import ch.qos.logback.core.status.testUtil.StatusChecker;
+import ch.qos.logback.core.testUtil.CoreTestConstants;
+import ch.qos.logback.core.testUtil.RandomUtil;
+
+public class ModelCacheTest {
+
+    int diff = RandomUtil.getPositiveInt();
+    File dir = new File(CoreTestConstants.OUTPUT_DIR_PREFIX + "modelCache-" + diff);
+    File topFile = new File(dir, "top.xml");
+    File includedFile = new File(dir, "included.xml");
+    File cacheFile = new File(dir, "model.cache");
+
+    Context context;
+    StatusChecker statusChecker;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        dir.mkdirs();
+        write(topFile, "<x><stack name='A'/><include file='" + includedFile.getAbsolutePath() + "'/></x>");
+        write(includedFile, "<included><stack name='IA'/></included>");
+    }
+
+    void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void configure() throws JoranException {
+        context = new ContextBase();
+        statusChecker = new StatusChecker(context);
+
+        HashMap<ElementSelector, Supplier<Action>> rulesMap = new HashMap<>();
+        rulesMap.put(new ElementSelector("x"), () -> new TopElementAction());
+        rulesMap.put(new ElementSelector("x/include"), () -> new IncludeAction());
+        rulesMap.put(new ElementSelector("x/stack"), () -> new StackAction());
+
+        TrivialConfigurator tc = new TrivialConfigurator(rulesMap) {
+            @Override
+            protected void addModelHandlerAssociations(DefaultProcessor defaultProcessor) {
+                defaultProcessor.addHandler(TopModel.class, NOPModelHandler::makeInstance);
+                defaultProcessor.addHandler(IncludeModel.class, NOPModelHandler::makeInstance);
+                defaultProcessor.addHandler(StackModel.class, StackModelHandler::makeInstance);
+            }
+        };
+        tc.setContext(context);
+        tc.setModelCacheFile(cacheFile);
+        tc.doConfigure(topFile);
+    }
+
+    void verifyStack(String... expected) {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Stack<String> aStack = (Stack) context.getObject(StackModelHandler.STACK_TEST);
+        Stack<String> witness = new Stack<String>();
+        witness.addAll(Arrays.asList(expected));
+        assertEquals(witness, aStack);
+    }
+
+    @Test
+    public void cachedModelIsReused() throws JoranException {
+        configure();
+        verifyStack("A", "IA");
+        statusChecker.assertContainsMatch("Built configuration model from XML");
+        statusChecker.assertContainsMatch("Wrote configuration model cache file");
+        assertTrue(cacheFile.isFile());
+
+        configure();
+        verifyStack("A", "IA");
+        statusChecker.assertContainsMatch("Loaded configuration model from cache file");
+        statusChecker.assertNoMatch("Built configuration model from XML");
+        // the included file is watched as if it had been parsed
+        assertEquals(2, ConfigurationWatchListUtil.getConfigurationWatchList(context).getCopyOfFileWatchList().size());
+    }
+
+    @Test
+    public void changedIncludeInvalidatesCache() throws JoranException, IOException {
+        configure();
+        write(includedFile, "<included><stack name='IB'/></included>");
+
+        configure();
+        verifyStack("A", "IB");
+        statusChecker.assertContainsMatch(".* changed since configuration model cache file");
+        statusChecker.assertContainsMatch("Built configuration model from XML");
+
+        configure();
+        verifyStack("A", "IB");
+        statusChecker.assertContainsMatch("Loaded configuration model from cache file");
+    }
+
+    @Test
+    public void appearingOptionalIncludeInvalidatesCache() throws JoranException, IOException {
+        File optionalFile = new File(dir, "optional.xml");
+        write(topFile, "<x><stack name='A'/><include optional='true' file='" + optionalFile.getAbsolutePath()
+                + "'/></x>");
+        configure();
+        verifyStack("A");
+        statusChecker.assertContainsMatch("Wrote configuration model cache file");
+
+        write(optionalFile, "<included><stack name='OA'/></included>");
+        configure();
+        verifyStack("A", "OA");
+        statusChecker.assertContainsMatch(".* appeared since configuration model cache file");
+        statusChecker.assertContainsMatch("Built configuration model from XML");
+
+        configure();
+        verifyStack("A", "OA");
+        statusChecker.assertContainsMatch("Loaded configuration model from cache file");
+    }
+
+    @Test
+    public void corruptCacheFileIsIgnored() throws JoranException, IOException {
+        write(cacheFile, "not a cache");
+        configure();
+        verifyStack("A", "IA");
+        statusChecker.assertContainsMatch("Ignoring .* not a configuration model cache file");
+        statusChecker.assertContainsMatch("Wrote configuration model cache file");
+    }
+
+    @Test
+    public void includeDependingOnVariablesIsNotCached() throws JoranException, IOException {
+        String key = "modelCacheTest.dir." + diff;
+        System.setProperty(key, dir.getAbsolutePath());
+        try {
+            write(topFile, "<x><stack name='A'/><include file='${" + key + "}/included.xml'/></x>");
+            configure();
+            verifyStack("A", "IA");
+            statusChecker.assertContainsMatch("Not caching configuration model");
+            assertFalse(cacheFile.exists());
+        } finally {
+            System.clearProperty(key);
+        }
+    }
+
+    @Test
+    public void onlyModelTypesAreDeserialized() throws IOException, ClassNotFoundException {
+        ModelCache modelCache = new ModelCache(new ContextBase(), cacheFile);
+        IfModel ifModel = new IfModel();
+        ifModel.setBranchState(IfModel.BranchState.ELSE_BRANCH);
+        ifModel.addSubModel(new StackModel());
+        assertEquals(ifModel, modelCache.deserialize(modelCache.serialize(ifModel)));
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(new HashMap<>());
+        }
+        assertThrows(InvalidClassException.class, () -> modelCache.deserialize(baos.toByteArray()));
+    }
+}
@@ -0,0 +1,237 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class BinaryEventReaderTest {
+
+    static class Sample {
+        String name;
+        String category;
+        int intValue;
+        long longValue;
+        Map<String, String> map;
+
+        Sample(String name, String category, int intValue, long longValue, Map<String, String> map) {
+            this.name = name;
+            this.category = category;
+            this.intValue = intValue;
+            this.longValue = longValue;
+            this.map = map;
+        }
+    }
+
+    static class SampleCodec implements WireCodec<Sample> {
+        @Override
+        public void encode(Sample sample, WireOutput out) {
+            out.writeString(sample.name);
+            out.writeDictionaryString(sample.category);
+            out.writeVarInt(sample.intValue & Integer.MAX_VALUE);
+            out.writeInt(sample.intValue);
+            out.writeLong(sample.longValue);
+            out.writeStringMap(sample.map);
+        }
+
+        @Override
+        public Sample decode(WireInput in) throws IOException {
+            String name = in.readString();
+            String category = in.readDictionaryString();
+            int varInt = in.readVarInt();
+            int intValue = in.readInt();
+            assertEquals(intValue & Integer.MAX_VALUE, varInt);
+            return new Sample(name, category, intValue, in.readLong(), in.readStringMap());
+        }
+    }
+
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+
+    BinaryEventReader<Sample> newReader() throws IOException {
+        return new BinaryEventReader<>(new ByteArrayInputStream(bos.toByteArray()), new SampleCodec());
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        Map<String, String> map = new LinkedHashMap<>();
+        map.put("k", "v");
+        map.put("été", null);
+
+        BinaryEventWriter<Sample> writer = new BinaryEventWriter<>(bos, new SampleCodec());
+        writer.write(new Sample("a", "cat", 0, Long.MIN_VALUE, map));
+        writer.write(new Sample(null, null, -1, Long.MAX_VALUE, null));
+        writer.flush();
+        writer.write(new Sample("日本", "cat", Integer.MIN_VALUE, 7, new LinkedHashMap<>()));
+        writer.flush();
+
+        BinaryEventReader<Sample> reader = newReader();
+        Sample s = reader.read();
+        assertEquals("a", s.name);
+        assertEquals("cat", s.category);
+        assertEquals(0, s.intValue);
+        assertEquals(Long.MIN_VALUE, s.longValue);
+        assertEquals(map, s.map);
+
+        s = reader.read();
+        assertNull(s.name);
+        assertNull(s.category);
+        assertEquals(-1, s.intValue);
+        assertNull(s.map);
+
+        s = reader.read();
+        assertEquals("日本", s.name);
+        assertEquals("cat", s.category);
+        assertEquals(Integer.MIN_VALUE, s.intValue);
+        assertTrue(s.map.isEmpty());
+
+        assertThrows(EOFException.class, reader::read);
+    }
+
+    @Test
+    public void largeBatchesAreSplitInFrames() throws IOException {
+        int count = 20_000;
+        BinaryEventWriter<Sample> writer = new BinaryEventWriter<>(bos, new SampleCodec());
+        for (int i = 0; i < count; i++) {
+            writer.write(new Sample("event " + i, "category" + (i % (WireOutput.MAX_DICTIONARY_SIZE + 10)), i, i, null));
+        }
+        writer.flush();
+        assertTrue(bos.size() > 2 * BinaryEventWriter.FRAME_SIZE_THRESHOLD);
+
+        BinaryEventReader<Sample> reader = newReader();
+        for (int i = 0; i < count; i++) {
+            Sample s = reader.read();
+            assertEquals("event " + i, s.name);
+            assertEquals("category" + (i % (WireOutput.MAX_DICTIONARY_SIZE + 10)), s.category);
+            assertEquals(i, s.intValue);
+        }
+        assertThrows(EOFException.class, reader::read);
+    }
+
+    @Test
+    public void writtenEventsAreCountedWhenTheStreamFails() throws IOException {
+        int limit = 3 * BinaryEventWriter.FRAME_SIZE_THRESHOLD;
+        OutputStream failingStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                int accepted = Math.min(len, limit - bos.size());
+                bos.write(b, off, accepted);
+                if (accepted < len) {
+                    throw new IOException("connection reset");
+                }
+            }
+        };
+
+        BinaryEventWriter<Sample> writer = new BinaryEventWriter<>(failingStream, new SampleCodec());
+        int writtenCount = 0;
+        int i = 0;
+        IOException failure = null;
+        while (failure == null) {
+            try {
+                writtenCount += writer.write(new Sample("event " + i, "cat", i, i, null));
+                i++;
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        assertTrue(writtenCount > 0);
+
+        // exactly the events reported as written made it to the stream
+        BinaryEventReader<Sample> reader = newReader();
+        for (int j = 0; j < writtenCount; j++) {
+            assertEquals("event " + j, reader.read().name);
+        }
+        assertThrows(EOFException.class, reader::read);
+    }
+
+    @Test
+    public void formatDetection() throws IOException {
+        new BinaryEventWriter<>(bos, new SampleCodec());
+        BufferedInputStream bis = new BufferedInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        assertTrue(BinaryEventReader.isBinaryStream(bis));
+        // the stream is left unchanged
+        byte[] header = new byte[BinaryEventWriter.HEADER.length];
+        assertEquals(header.length, bis.read(header));
+        assertArrayEquals(BinaryEventWriter.HEADER, header);
+
+        ByteArrayOutputStream javaBos = new ByteArrayOutputStream();
+        new ObjectOutputStream(javaBos).close();
+        bis = new BufferedInputStream(new ByteArrayInputStream(javaBos.toByteArray()));
+        assertFalse(BinaryEventReader.isBinaryStream(bis));
+        assertFalse(BinaryEventReader.isBinaryStream(new BufferedInputStream(new ByteArrayInputStream(new byte[1]))));
+    }
+
+    @Test
+    public void invalidFramesAreRejected() throws IOException {
+        DataOutputStream dos = new DataOutputStream(bos);
+        dos.write(BinaryEventWriter.HEADER);
+        dos.writeInt(BinaryEventReader.MAX_FRAME_SIZE + 1);
+        dos.writeInt(1);
+        assertThrows(StreamCorruptedException.class, () -> newReader().read());
+
+        bos.reset();
+        dos.write(BinaryEventWriter.HEADER);
+        dos.writeInt(2);
+        dos.writeInt(1);
+        // a literal string longer than the frame
+        dos.write(new byte[] { 1, 100 });
+        assertThrows(StreamCorruptedException.class, () -> newReader().read());
+
+        bos.reset();
+        dos.write(BinaryEventWriter.HEADER);
+        dos.writeInt(3);
+        dos.writeInt(1);
+        // reference to an unknown dictionary entry
+        dos.write(new byte[] { 0, 3, 5 });
+        assertThrows(StreamCorruptedException.class, () -> newReader().read());
+
+        bos.reset();
+        dos.write(new byte[] { 'L', 'B', 'W', 99 });
+        assertThrows(StreamCorruptedException.class, this::newReader);
+    }
+
+    @Test
+    public void truncatedStream() throws IOException {
+        BinaryEventWriter<Sample> writer = new BinaryEventWriter<>(bos, new SampleCodec());
+        writer.write(new Sample("a", "b", 1, 2, null));
+        writer.flush();
+        byte[] bytes = bos.toByteArray();
+        bos.reset();
+        bos.write(Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(EOFException.class, () -> newReader().read());
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.pattern.parser.Node;
+import ch.qos.logback.core.pattern.parser.Parser;
+import ch.qos.logback.core.spi.ScanException;
+
+public class ConverterChainOptimizerTest {
+
+    Map<String, String> converterMap = new HashMap<String, String>();
+    Context context = new ContextBase();
+    ConverterChainOptimizer<Object> optimizer = new ConverterChainOptimizer<Object>();
+
+    @BeforeEach
+    public void setUp() {
+        converterMap.put("OTT", Converter123.class.getName());
+        converterMap.put("hello", ConverterHello.class.getName());
+        converterMap.putAll(Parser.DEFAULT_COMPOSITE_CONVERTER_MAP);
+    }
+
+    Converter<Object> compile(String pattern) throws ScanException {
+        Parser<Object> p = new Parser<Object>(pattern);
+        p.setContext(context);
+        Node t = p.parse();
+        Converter<Object> head = p.compile(t, converterMap);
+        ConverterUtil.startConverters(head);
+        return head;
+    }
+
+    String write(Converter<Object> head) {
+        StringBuilder buf = new StringBuilder();
+        for (Converter<Object> c = head; c != null; c = c.getNext()) {
+            c.write(buf, null);
+        }
+        return buf.toString();
+    }
+
+    int countLiterals(Converter<Object> head) {
+        int count = 0;
+        for (Converter<Object> c = head; c != null; c = c.getNext()) {
+            if (c instanceof LiteralConverter) {
+                count++;
+            } else if (c instanceof CompositeConverter) {
+                count += countLiterals(((CompositeConverter<Object>) c).getChildConverter());
+            }
+        }
+        return count;
+    }
+
+    void verify(String pattern, int expectedLiteralCount) throws ScanException {
+        Converter<Object> head = compile(pattern);
+        String witness = write(head);
+        optimizer.process(context, head);
+        assertEquals(witness, write(head), pattern);
+        assertEquals(expectedLiteralCount, countLiterals(head), pattern);
+    }
+
+    @Test
+    public void outputIsPreserved() throws ScanException {
+        verify("abc", 1);
+        verify("a\\%b\\%c %hello", 1);
+        verify("%hello a\\%b %OTT c\\%\\%d", 2);
+        verify("%(a\\%b %hello) x\\%y", 2);
+    }
+
+    @Test
+    public void unknownCompositeKeyword() throws ScanException {
+        // compiles to a literal error message between two other literals
+        verify("a %hello(b) c", 1);
+    }
+
+    @Test
+    public void chainWithoutLiterals() throws ScanException {
+        verify("%hello%OTT", 0);
+    }
+}
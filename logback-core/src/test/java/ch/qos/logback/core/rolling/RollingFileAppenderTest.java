@@ -13,6 +13,11 @@
  */
 package ch.qos.logback.core.rolling;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,8 +26,13 @@ import org.junit.jupiter.api.Test;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.Context;
 import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.appender.AbstractAppenderTest;
 import ch.qos.logback.core.encoder.DummyEncoder;
+import ch.qos.logback.core.encoder.EchoEncoder;
+import ch.qos.logback.core.rolling.helper.CompressionMode;
+import ch.qos.logback.core.rolling.helper.GZipCodec;
+import ch.qos.logback.core.rolling.helper.ZipCodec;
 import ch.qos.logback.core.status.Status;
 import ch.qos.logback.core.testUtil.CoreTestConstants;
 import ch.qos.logback.core.testUtil.RandomUtil;
@@ -105,6 +115,32 @@ public class RollingFileAppenderTest extends AbstractAppenderTest<Object> {
         Assertions.assertEquals(Status.ERROR, checker.getHighestLevel(0));
     }
 
+    @Test
+    public void compressionModeFollowsFileNamePatternSuffix() {
+        tbrp.setFileNamePattern(CoreTestConstants.OUTPUT_DIR_PREFIX + "toto-%d.log.lz4");
+        tbrp.start();
+        Assertions.assertEquals(CompressionMode.LZ4, tbrp.getCompressionMode());
+    }
+
+    @Test
+    public void customCompressionCodecIsSelectedBySuffix() {
+        GZipCodec parallelGZip = new GZipCodec();
+        parallelGZip.setParallelism(2);
+        tbrp.setCompressionCodec(parallelGZip);
+        tbrp.setFileNamePattern(CoreTestConstants.OUTPUT_DIR_PREFIX + "toto-%d.log.gz");
+        tbrp.start();
+        Assertions.assertEquals(CompressionMode.GZ, tbrp.getCompressionMode());
+
+        TimeBasedRollingPolicy<Object> other = new TimeBasedRollingPolicy<Object>();
+        other.setContext(context);
+        other.setParent(rfa);
+        other.setCompressionCodec(new ZipCodec());
+        other.setFileNamePattern(CoreTestConstants.OUTPUT_DIR_PREFIX + "toto-%d.log");
+        other.start();
+        Assertions.assertEquals(CompressionMode.NONE, other.getCompressionMode());
+        new StatusChecker(context).assertContainsMatch(Status.WARN, "FileNamePattern .* does not end with");
+    }
+
     @Test
     public void testFilePropertyAfterRollingPolicy() {
         rfa.setContext(context);
@@ -260,4 +296,39 @@ public class RollingFileAppenderTest extends AbstractAppenderTest<Object> {
         checker.assertContainsMatch(Status.ERROR, "'FileNamePattern' option has the same value");
     }
 
+    @Test
+    public void batchRollsOverAtTriggeringEvent() throws IOException {
+        String activeFile = randomOutputDir + "batch.log";
+        rfa.setContext(context);
+        rfa.setEncoder(new EchoEncoder<Object>());
+        rfa.setFile(activeFile);
+
+        FixedWindowRollingPolicy fwRollingPolicy = new FixedWindowRollingPolicy();
+        fwRollingPolicy.setContext(context);
+        fwRollingPolicy.setFileNamePattern(randomOutputDir + "batch-%i.log");
+        fwRollingPolicy.setParent(rfa);
+        fwRollingPolicy.start();
+        TriggeringPolicyBase<Object> triggeringPolicy = new TriggeringPolicyBase<Object>() {
+            @Override
+            public boolean isTriggeringEvent(File activeFile, Object event) {
+                return "roll".equals(event);
+            }
+        };
+        triggeringPolicy.start();
+
+        rfa.setRollingPolicy(fwRollingPolicy);
+        rfa.setTriggeringPolicy(triggeringPolicy);
+        rfa.start();
+
+        rfa.doAppendBatch(Arrays.asList("a", "b", "roll", "c"));
+        rfa.stop();
+
+        String nl = CoreConstants.LINE_SEPARATOR;
+        Assertions.assertEquals("a" + nl + "b" + nl, readFile(randomOutputDir + "batch-1.log"));
+        Assertions.assertEquals("roll" + nl + "c" + nl, readFile(activeFile));
+    }
+
+    String readFile(String path) throws IOException {
+        return new String(Files.readAllBytes(new File(path).toPath()));
+    }
 }
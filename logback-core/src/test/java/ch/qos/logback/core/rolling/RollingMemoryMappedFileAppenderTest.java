@@ -0,0 +1,82 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.encoder.EchoEncoder;
+import ch.qos.logback.core.testUtil.CoreTestConstants;
+import ch.qos.logback.core.testUtil.RandomUtil;
+import ch.qos.logback.core.util.FileSize;
+
+public class RollingMemoryMappedFileAppenderTest {
+
+    Context context = new ContextBase();
+    int diff = RandomUtil.getPositiveInt();
+    String randomOutputDir = CoreTestConstants.OUTPUT_DIR_PREFIX + diff + "/";
+
+    @Test
+    public void sizeBasedRollover() throws IOException {
+        String activeFile = randomOutputDir + "mmap.log";
+        RollingMemoryMappedFileAppender<Object> rfa = new RollingMemoryMappedFileAppender<Object>();
+        rfa.setContext(context);
+        rfa.setName("mmap");
+        rfa.setEncoder(new EchoEncoder<Object>());
+        rfa.setFile(activeFile);
+        // much larger than maxFileSize so that padding would trigger a roll-over
+        rfa.setRegionLength(new FileSize(4096));
+
+        FixedWindowRollingPolicy fwRollingPolicy = new FixedWindowRollingPolicy();
+        fwRollingPolicy.setContext(context);
+        fwRollingPolicy.setFileNamePattern(randomOutputDir + "mmap-%i.log");
+        fwRollingPolicy.setParent(rfa);
+        fwRollingPolicy.start();
+        // same check as SizeBasedTriggeringPolicy, without its invocation gate
+        TriggeringPolicyBase<Object> sbTriggeringPolicy = new TriggeringPolicyBase<Object>() {
+            @Override
+            public boolean isTriggeringEvent(File activeFile, Object event) {
+                return activeFile.length() >= 20;
+            }
+        };
+        sbTriggeringPolicy.start();
+
+        rfa.setRollingPolicy(fwRollingPolicy);
+        rfa.setTriggeringPolicy(sbTriggeringPolicy);
+        rfa.start();
+        Assertions.assertTrue(rfa.isStarted());
+
+        String nl = CoreConstants.LINE_SEPARATOR;
+        String line = "0123456789";
+        rfa.doAppend(line);
+        Assertions.assertEquals(line.length() + nl.length(), rfa.currentlyActiveFile.length());
+        rfa.doAppend(line);
+        rfa.doAppend("last");
+        rfa.stop();
+
+        Assertions.assertEquals(line + nl + line + nl, readFile(randomOutputDir + "mmap-1.log"));
+        Assertions.assertEquals("last" + nl, readFile(activeFile));
+    }
+
+    String readFile(String path) throws IOException {
+        return new String(Files.readAllBytes(new File(path).toPath()));
+    }
+}
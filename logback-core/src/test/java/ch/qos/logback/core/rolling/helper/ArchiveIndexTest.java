@@ -0,0 +1,172 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Date;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.testUtil.CoreTestConstants;
+import ch.qos.logback.core.testUtil.RandomUtil;
+
+public class ArchiveIndexTest {
+
+    Context context = new ContextBase();
+    RollingCalendar rc = new RollingCalendar("yyyy-MM-dd");
+    String outputDir;
+    SizeAndTimeBasedArchiveRemover remover;
+
+    // 2022-11-01 12:00 UTC
+    Date now = new Date(1667304000000L);
+    Date today = rc.getEndOfNextNthPeriod(now, 0);
+    Date yesterday = rc.getEndOfNextNthPeriod(now, -1);
+
+    @BeforeEach
+    public void setUp() {
+        outputDir = CoreTestConstants.OUTPUT_DIR_PREFIX + "archiveIndex-" + RandomUtil.getPositiveInt() + "/";
+        new File(outputDir).mkdirs();
+        FileNamePattern fileNamePattern = new FileNamePattern(outputDir + "app-%d{yyyy-MM-dd}.%i.log", context);
+        remover = new SizeAndTimeBasedArchiveRemover(fileNamePattern, rc);
+        remover.setContext(context);
+    }
+
+    File archive(Date period, int index, int size) throws IOException {
+        File f = new File(String.format("%sapp-%tF.%d.log", outputDir, period, index));
+        Files.write(f.toPath(), new byte[size]);
+        return f;
+    }
+
+    @Test
+    public void periodIsScannedOnce() throws IOException {
+        archive(yesterday, 0, 10);
+        archive(yesterday, 1, 10);
+        archive(today, 0, 10);
+
+        File[] files = remover.getArchivesInPeriod(yesterday);
+        Assertions.assertEquals(2, files.length);
+        // newest first
+        Assertions.assertTrue(files[0].getName().endsWith(".1.log"));
+
+        remover.getArchivesInPeriod(new Date(yesterday.getTime() + 1000));
+        remover.getArchivesInPeriod(today);
+        remover.getArchivesInPeriod(today);
+        Assertions.assertEquals(2, remover.archiveIndex.getScanCount());
+    }
+
+    @Test
+    public void createdArchivesAreIndexedWithoutScanning() throws IOException {
+        archive(today, 0, 10);
+        Assertions.assertEquals(1, remover.getArchivesInPeriod(today).length);
+
+        File created = archive(today, 1, 20);
+        remover.archiveCreated(created);
+        // archive of a period not indexed yet is ignored
+        remover.archiveCreated(archive(yesterday, 0, 10));
+
+        File[] files = remover.getArchivesInPeriod(today);
+        Assertions.assertEquals(2, files.length);
+        Assertions.assertEquals(created.getAbsoluteFile(), files[0]);
+        Assertions.assertEquals(1, remover.archiveIndex.getScanCount());
+        Assertions.assertEquals(1, remover.getArchivesInPeriod(yesterday).length);
+    }
+
+    @Test
+    public void sizesAreReadOnceSettled() throws IOException {
+        ArchiveIndex index = remover.archiveIndex;
+        File f = archive(today, 0, 10);
+        remover.getArchivesInPeriod(today);
+        Files.write(f.toPath(), new byte[30]);
+        // read when the period was scanned
+        Assertions.assertEquals(10, index.sizeOf(f));
+
+        // e.g. still being compressed asynchronously
+        File pending = new File(outputDir + "app-" + String.format("%tF", now) + ".1.log");
+        remover.archiveCreated(pending);
+        Assertions.assertEquals(0, index.sizeOf(pending));
+        Assertions.assertEquals(10, index.getTotalSize());
+        Files.write(pending.toPath(), new byte[5]);
+        Assertions.assertEquals(5, index.sizeOf(pending));
+        Assertions.assertEquals(15, index.getTotalSize());
+
+        // the next archive settles the previous one
+        remover.archiveCreated(archive(today, 2, 1));
+        Files.write(pending.toPath(), new byte[50]);
+        Assertions.assertEquals(5, index.sizeOf(pending));
+        Assertions.assertEquals(16, index.getTotalSize());
+    }
+
+    @Test
+    public void totalSizeFollowsRemovalAndEviction() throws IOException {
+        ArchiveIndex index = remover.archiveIndex;
+        archive(yesterday, 0, 10);
+        File f = archive(today, 0, 20);
+        archive(today, 1, 40);
+        remover.getArchivesInPeriod(yesterday);
+        remover.getArchivesInPeriod(today);
+        Assertions.assertEquals(70, index.getTotalSize());
+
+        index.remove(f);
+        Assertions.assertEquals(50, index.getTotalSize());
+        index.evictPeriodsBefore(today);
+        Assertions.assertEquals(40, index.getTotalSize());
+        index.clear();
+        Assertions.assertEquals(0, index.getTotalSize());
+    }
+
+    @Test
+    public void cleanDeletesAndEvictsOldPeriods() throws IOException {
+        remover.setMaxHistory(1);
+        Date old = rc.getEndOfNextNthPeriod(now, -2);
+        File oldArchive = archive(old, 0, 10);
+        File recentArchive = archive(yesterday, 0, 10);
+
+        // simulate a live appender
+        remover.lastHeartBeat = rc.getEndOfNextNthPeriod(now, -1).getTime();
+        remover.clean(now);
+
+        Assertions.assertFalse(oldArchive.exists());
+        Assertions.assertTrue(recentArchive.exists());
+        Assertions.assertEquals(0, remover.archiveIndex.getIndexedPeriodCount());
+    }
+
+    @Test
+    public void capTotalSizeUsesIndex() throws IOException {
+        remover.setMaxHistory(3);
+        remover.setTotalSizeCap(25);
+        File older = archive(yesterday, 0, 10);
+        File newer = archive(yesterday, 1, 10);
+        File current = archive(today, 0, 10);
+
+        remover.capTotalSize(now);
+        Assertions.assertTrue(current.exists());
+        Assertions.assertTrue(newer.exists());
+        Assertions.assertFalse(older.exists());
+        int scans = remover.archiveIndex.getScanCount();
+
+        File next = archive(today, 1, 10);
+        remover.archiveCreated(next);
+        remover.capTotalSize(now);
+        Assertions.assertTrue(next.exists());
+        Assertions.assertTrue(current.exists());
+        Assertions.assertFalse(newer.exists());
+        Assertions.assertEquals(scans, remover.archiveIndex.getScanCount());
+    }
+}
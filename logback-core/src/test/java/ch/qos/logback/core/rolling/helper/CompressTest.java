@@ -19,6 +19,9 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,6 +32,7 @@ import ch.qos.logback.core.ContextBase;
 import ch.qos.logback.core.testUtil.CoreTestConstants;
 import ch.qos.logback.core.status.testUtil.StatusChecker;
 import ch.qos.logback.core.util.Compare;
+import ch.qos.logback.core.util.FileSize;
 
 /**
  * @author Ceki Gulcu
@@ -110,6 +114,96 @@ public class CompressTest {
         // + "witness/compress3.txt.zip"));
     }
 
+    @Test
+    public void lz4() throws Exception {
+        Compressor compressor = new Compressor(CompressionMode.LZ4);
+        compressor.setContext(context);
+        String target = CoreTestConstants.OUTPUT_DIR_PREFIX + "compress1.txt.lz4";
+        new File(target).delete();
+        byte[] original = Files.readAllBytes(new File(CoreTestConstants.TEST_SRC_PREFIX + "input/compress1.txt").toPath());
+        compressor.compress(CoreTestConstants.TEST_SRC_PREFIX + "input/compress1.txt",
+                CoreTestConstants.OUTPUT_DIR_PREFIX + "compress1.txt", null);
+
+        StatusChecker checker = new StatusChecker(context);
+        Assertions.assertTrue(checker.isErrorFree(0));
+        byte[] frame = Files.readAllBytes(new File(target).toPath());
+        Assertions.assertArrayEquals(original, LZ4FrameDecoder.decode(frame));
+    }
+
+    @Test
+    public void parallelGZip() throws Exception {
+        File source = new File(CoreTestConstants.OUTPUT_DIR_PREFIX + "parallelGZip-" + System.nanoTime() + ".txt");
+        byte[] original = LZ4FrameOutputStreamTest.randomText(100_000, 7);
+        Files.write(source.toPath(), original);
+
+        GZipCodec codec = new GZipCodec();
+        codec.setParallelism(3);
+        codec.setBlockSize(new FileSize(4096));
+        Compressor compressor = new Compressor(CompressionMode.GZ, codec);
+        compressor.setContext(context);
+        compressor.compress(source.getPath(), source.getPath(), null);
+
+        StatusChecker checker = new StatusChecker(context);
+        Assertions.assertTrue(checker.isErrorFree(0));
+        Assertions.assertFalse(source.exists());
+        // GZIPInputStream reads concatenated members transparently
+        try (InputStream in = new GZIPInputStream(new FileInputStream(source.getPath() + ".gz"))) {
+            Assertions.assertArrayEquals(original, in.readAllBytes());
+        }
+    }
+
+    @Test
+    public void parallelGZipPoolIsSharedUntilContextReset() throws Exception {
+        GZipCodec codec = new GZipCodec();
+        codec.setContext(context);
+        codec.setParallelism(2);
+        codec.setBlockSize(new FileSize(4096));
+        codec.start();
+
+        ExecutorService executor = null;
+        for (int i = 0; i < 2; i++) {
+            File source = new File(CoreTestConstants.OUTPUT_DIR_PREFIX + "sharedPool-" + i + "-" + System.nanoTime()
+                    + ".txt");
+            Files.write(source.toPath(), LZ4FrameOutputStreamTest.randomText(20_000, i));
+            codec.compress(source, new File(source.getPath() + ".gz"), null);
+            if (executor == null) {
+                executor = codec.getExecutor();
+            }
+            Assertions.assertSame(executor, codec.getExecutor());
+        }
+
+        ((ContextBase) context).reset();
+        Assertions.assertTrue(executor.isShutdown());
+        Assertions.assertFalse(codec.isStarted());
+    }
+
+    @Test
+    public void customCodecFailureIsReported() throws Exception {
+        File source = new File(CoreTestConstants.OUTPUT_DIR_PREFIX + "customCodec-" + System.nanoTime() + ".txt");
+        source.getParentFile().mkdirs();
+        Files.write(source.toPath(), new byte[] { 1, 2, 3 });
+
+        CompressionCodec failingCodec = new CompressionCodecBase() {
+            @Override
+            public String getFileNameSuffix() {
+                return ".failing";
+            }
+
+            @Override
+            public void compress(File source, File target, String innerEntryName) throws IOException {
+                throw new IOException("simulated failure");
+            }
+        };
+        Compressor compressor = new Compressor(CompressionMode.CUSTOM, failingCodec);
+        compressor.setContext(context);
+        compressor.compress(source.getPath(), source.getPath(), null);
+
+        StatusChecker checker = new StatusChecker(context);
+        checker.assertContainsException(IOException.class, "simulated failure");
+        // the source must survive a failed compression
+        Assertions.assertTrue(source.exists());
+    }
+
     private void copy(File src, File dst) throws IOException {
         InputStream in = new FileInputStream(src);
         OutputStream out = new FileOutputStream(dst);
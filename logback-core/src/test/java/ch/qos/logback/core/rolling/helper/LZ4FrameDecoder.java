@@ -0,0 +1,113 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Minimal decoder of the LZ4 frame format as written by
+ * {@link LZ4FrameOutputStream}, for testing purposes.
+ */
+public class LZ4FrameDecoder {
+
+    public static byte[] decode(byte[] frame) throws IOException {
+        int p = 0;
+        if (XXHash32.readIntLE(frame, p) != LZ4FrameOutputStream.MAGIC) {
+            throw new IOException("bad magic number");
+        }
+        p += 4;
+        int flg = frame[p] & 0xFF;
+        int bd = frame[p + 1] & 0xFF;
+        int hc = frame[p + 2] & 0xFF;
+        if (hc != ((XXHash32.hash(frame, p, 2) >> 8) & 0xFF)) {
+            throw new IOException("bad header checksum");
+        }
+        if (flg != LZ4FrameOutputStream.FLG || bd != LZ4FrameOutputStream.BD) {
+            throw new IOException("unsupported frame descriptor");
+        }
+        p += 3;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        while (true) {
+            int blockSize = XXHash32.readIntLE(frame, p);
+            p += 4;
+            if (blockSize == 0) {
+                break;
+            }
+            int length = blockSize & ~LZ4FrameOutputStream.UNCOMPRESSED_FLAG;
+            if (length > LZ4FrameOutputStream.BLOCK_SIZE + LZ4FrameOutputStream.BLOCK_SIZE / 255 + 16) {
+                throw new IOException("block too large");
+            }
+            if ((blockSize & LZ4FrameOutputStream.UNCOMPRESSED_FLAG) != 0) {
+                out.write(frame, p, length);
+            } else {
+                out.write(decodeBlock(frame, p, length));
+            }
+            p += length;
+        }
+        byte[] content = out.toByteArray();
+        if (XXHash32.readIntLE(frame, p) != XXHash32.hash(content, 0, content.length)) {
+            throw new IOException("bad content checksum");
+        }
+        if (p + 4 != frame.length) {
+            throw new IOException("trailing bytes");
+        }
+        return content;
+    }
+
+    static byte[] decodeBlock(byte[] src, int start, int length) throws IOException {
+        byte[] dst = new byte[LZ4FrameOutputStream.BLOCK_SIZE];
+        int dp = 0;
+        int p = start;
+        final int end = start + length;
+        while (true) {
+            int token = src[p++] & 0xFF;
+            int literalLength = token >>> 4;
+            if (literalLength == 15) {
+                int b;
+                do {
+                    b = src[p++] & 0xFF;
+                    literalLength += b;
+                } while (b == 255);
+            }
+            System.arraycopy(src, p, dst, dp, literalLength);
+            p += literalLength;
+            dp += literalLength;
+            if (p == end) {
+                break;
+            }
+            int offset = (src[p] & 0xFF) | (src[p + 1] & 0xFF) << 8;
+            p += 2;
+            if (offset == 0 || offset > dp) {
+                throw new IOException("bad offset " + offset);
+            }
+            int matchLength = (token & 0x0F);
+            if (matchLength == 15) {
+                int b;
+                do {
+                    b = src[p++] & 0xFF;
+                    matchLength += b;
+                } while (b == 255);
+            }
+            matchLength += LZ4FrameOutputStream.MIN_MATCH;
+            for (int i = 0; i < matchLength; i++) {
+                dst[dp] = dst[dp - offset];
+                dp++;
+            }
+        }
+        return Arrays.copyOf(dst, dp);
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LZ4FrameOutputStreamTest {
+
+    @Test
+    public void xxHash32ReferenceValues() {
+        Assertions.assertEquals(0x02CC5D05, XXHash32.hash(new byte[0], 0, 0));
+        Assertions.assertEquals(0x550D7456, XXHash32.hash(bytes("a"), 0, 1));
+        Assertions.assertEquals(0x32D153FF, XXHash32.hash(bytes("abc"), 0, 3));
+    }
+
+    @Test
+    public void xxHash32StreamingMatchesOneShot() {
+        byte[] data = randomText(1000, 1);
+        XXHash32 streaming = new XXHash32(0);
+        for (int off = 0; off < data.length; off += 7) {
+            streaming.update(data, off, Math.min(7, data.length - off));
+        }
+        Assertions.assertEquals(XXHash32.hash(data, 0, data.length), streaming.getValue());
+    }
+
+    @Test
+    public void headerMatchesReferenceImplementation() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new LZ4FrameOutputStream(baos).close();
+        byte[] frame = baos.toByteArray();
+        // as output by the lz4 command line tool for an empty input with content
+        // checksum and 64KB blocks
+        Assertions.assertArrayEquals(
+                new byte[] { 0x04, 0x22, 0x4D, 0x18, 0x64, 0x40, (byte) 0xA7, 0, 0, 0, 0, 0x05, 0x5D, (byte) 0xCC, 0x02 },
+                frame);
+    }
+
+    @Test
+    public void roundTripOfCompressibleData() throws IOException {
+        byte[] data = randomText(300 * 1024, 2);
+        byte[] frame = compress(data);
+        Assertions.assertTrue(frame.length < data.length / 2, "poor compression " + frame.length);
+        Assertions.assertArrayEquals(data, LZ4FrameDecoder.decode(frame));
+    }
+
+    @Test
+    public void roundTripOfIncompressibleData() throws IOException {
+        byte[] data = new byte[100 * 1024 + 17];
+        new Random(3).nextBytes(data);
+        Assertions.assertArrayEquals(data, LZ4FrameDecoder.decode(compress(data)));
+    }
+
+    @Test
+    public void roundTripOfSmallAndRepetitiveInputs() throws IOException {
+        for (int length : new int[] { 0, 1, 5, 12, 13, 16, 64, 1000 }) {
+            byte[] zeros = new byte[length];
+            Assertions.assertArrayEquals(zeros, LZ4FrameDecoder.decode(compress(zeros)), "length " + length);
+            byte[] text = randomText(length, length);
+            Assertions.assertArrayEquals(text, LZ4FrameDecoder.decode(compress(text)), "length " + length);
+        }
+    }
+
+    static byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (LZ4FrameOutputStream lz4os = new LZ4FrameOutputStream(baos)) {
+            // uneven writes crossing block boundaries
+            int off = 0;
+            int chunk = 1;
+            while (off < data.length) {
+                int n = Math.min(chunk, data.length - off);
+                lz4os.write(data, off, n);
+                off += n;
+                chunk = chunk * 3 + 1;
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    static byte[] randomText(int length, long seed) {
+        String[] words = { "INFO", "DEBUG", "c.q.l.c.rolling", "user", "logged in", "request", "took", "ms", "\n" };
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < length) {
+            sb.append(words[random.nextInt(words.length)]).append(' ').append(random.nextInt(100));
+        }
+        return Arrays.copyOf(bytes(sb.toString()), length);
+    }
+
+    static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -25,6 +25,8 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Relatively straightforward unit tests for AppenderTracker.
@@ -138,10 +140,53 @@ public class AppenderTrackerTest {
         }
     }
 
+    @Test
+    public void concurrentLookupsBuildASingleAppender() throws InterruptedException {
+        int threadCount = 8;
+        int keyCount = 50;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 1000; i++) {
+                    appenderTracker.getOrCreate(key + "-" + (i % keyCount), now + i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assertions.assertEquals(keyCount, appenderTracker.getComponentCount());
+        Assertions.assertEquals(keyCount, listAppenderFactory.buildCount.get());
+    }
+
+    @Test
+    public void lingeringAppenderRemainsVisibleWhileMoving() {
+        Appender<Object> a = appenderTracker.getOrCreate(key, now);
+        appenderTracker.endOfLife(key);
+        Assertions.assertSame(a, appenderTracker.find(key));
+        Assertions.assertEquals(1, appenderTracker.allComponents().size());
+        // lingering appenders do not count against maxComponents
+        appenderTracker.setMaxComponents(0);
+        appenderTracker.removeStaleComponents(now);
+        Assertions.assertTrue(a.isStarted());
+    }
+
     // ======================================================================
     static class ListAppenderFactory implements AppenderFactory<Object> {
 
+        AtomicInteger buildCount = new AtomicInteger();
+
         public Appender<Object> buildAppender(Context context, String discriminatingValue) throws JoranException {
+            buildCount.incrementAndGet();
             ListAppender<Object> la = new ListAppender<Object>();
             la.setContext(context);
             la.setName(discriminatingValue);
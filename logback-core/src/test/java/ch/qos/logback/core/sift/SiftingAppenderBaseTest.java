@@ -0,0 +1,198 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.sift;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.util.Duration;
+
+public class SiftingAppenderBaseTest {
+
+    Context context = new ContextBase();
+    CyclicBarrier barrier = new CyclicBarrier(2);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    StringSiftingAppender sa = new StringSiftingAppender();
+
+    /**
+     * Uses the event itself as discriminating value.
+     */
+    static class StringSiftingAppender extends SiftingAppenderBase<String> {
+        @Override
+        protected long getTimestamp(String event) {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        protected boolean eventMarksEndOfLife(String event) {
+            return false;
+        }
+    }
+
+    /**
+     * Waits, while appending, for another thread to append at the same time.
+     */
+    class RendezvousAppender extends AppenderBase<String> {
+        @Override
+        protected void append(String event) {
+            try {
+                barrier.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+    }
+
+    /**
+     * Advances the clock enough on each event for every event to trigger a
+     * removal iteration.
+     */
+    static class FastClockSiftingAppender extends StringSiftingAppender {
+        final AtomicLong clock = new AtomicLong();
+
+        @Override
+        protected long getTimestamp(String event) {
+            return clock.addAndGet(AppenderTracker.WAIT_BETWEEN_SUCCESSIVE_REMOVAL_ITERATIONS);
+        }
+    }
+
+    /**
+     * Counts appended events.
+     */
+    static class CountingAppender extends AppenderBase<String> {
+        final AtomicInteger count;
+
+        CountingAppender(AtomicInteger count) {
+            this.count = count;
+        }
+
+        @Override
+        protected void append(String event) {
+            count.incrementAndGet();
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        setUp(sa, (context, discriminatingValue) -> {
+            Appender<String> appender = new RendezvousAppender();
+            appender.setContext(context);
+            appender.setName(discriminatingValue);
+            appender.start();
+            return appender;
+        });
+        sa.start();
+    }
+
+    void setUp(SiftingAppenderBase<String> sa, AppenderFactory<String> appenderFactory) {
+        AbstractDiscriminator<String> discriminator = new AbstractDiscriminator<String>() {
+            @Override
+            public String getDiscriminatingValue(String event) {
+                return event;
+            }
+
+            @Override
+            public String getKey() {
+                return "value";
+            }
+        };
+        discriminator.start();
+        sa.setContext(context);
+        sa.setDiscriminator(discriminator);
+        sa.setAppenderFactory(appenderFactory);
+    }
+
+    @Test
+    public void distinctValuesAreAppendedInParallel() throws InterruptedException {
+        Thread a = new Thread(() -> sa.doAppend("a"));
+        Thread b = new Thread(() -> sa.doAppend("b"));
+        a.start();
+        b.start();
+        a.join();
+        b.join();
+
+        // with a lock held around each event, the barrier would time out
+        assertNull(failure.get());
+        assertEquals(2, sa.getAppenderTracker().getComponentCount());
+    }
+
+    @Test
+    public void stopStopsNestedAppenders() throws InterruptedException {
+        barrier = new CyclicBarrier(1);
+        sa.doAppend("a");
+        Appender<String> appender = sa.getAppenderTracker().find("a");
+        assertTrue(appender.isStarted());
+
+        sa.stop();
+        assertFalse(sa.isStarted());
+        assertFalse(appender.isStarted());
+
+        sa.doAppend("b");
+        assertNull(sa.getAppenderTracker().find("b"));
+    }
+
+    @Test
+    public void noEventIsLostWhileAppendersAreEvicted() throws InterruptedException {
+        AtomicInteger appended = new AtomicInteger();
+        FastClockSiftingAppender fsa = new FastClockSiftingAppender();
+        setUp(fsa, (context, discriminatingValue) -> {
+            Appender<String> appender = new CountingAppender(appended);
+            appender.setContext(context);
+            appender.setName(discriminatingValue);
+            appender.start();
+            return appender;
+        });
+        // both the size and the time limits are exceeded all the time
+        fsa.setMaxAppenderCount(2);
+        fsa.setTimeout(new Duration(AppenderTracker.WAIT_BETWEEN_SUCCESSIVE_REMOVAL_ITERATIONS));
+        fsa.start();
+
+        int threadCount = 4;
+        int eventsPerThread = 20000;
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            final int offset = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < eventsPerThread; i++) {
+                    fsa.doAppend("k" + ((i + offset) % 8));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(threadCount * eventsPerThread, appended.get());
+    }
+}
@@ -21,6 +21,7 @@ import org.junit.jupiter.api.BeforeEach;
 
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.helpers.NOPAppender;
+import ch.qos.logback.core.read.ListAppender;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -156,8 +157,49 @@ public class AppenderAttachableImplTest {
         Assertions.assertFalse(aai.detachAppender("test1"));
     }
 
+    @Test
+    public void retainingAppendersGetCopiesOfRecyclableEvents() throws Exception {
+        AppenderAttachableImpl<TestEvent> recyclingAai = new AppenderAttachableImpl<TestEvent>();
+        ListAppender<TestEvent> retaining = new ListAppender<TestEvent>();
+        retaining.start();
+        recyclingAai.addAppender(retaining);
+        ListAppender<TestEvent> nonRetaining = new ListAppender<TestEvent>() {
+            @Override
+            public boolean isRetainingEvents() {
+                return false;
+            }
+        };
+        nonRetaining.start();
+        recyclingAai.addAppender(nonRetaining);
+
+        RecyclableTestEvent event = new RecyclableTestEvent();
+        event.recyclable = true;
+        recyclingAai.appendLoopOnAppenders(event);
+        Assertions.assertSame(event.copy, retaining.list.get(0));
+        Assertions.assertSame(event, nonRetaining.list.get(0));
+
+        event.recyclable = false;
+        recyclingAai.appendLoopOnAppenders(event);
+        Assertions.assertSame(event, retaining.list.get(1));
+    }
+
     private static class TestEvent {
 
     }
 
+    private static class RecyclableTestEvent extends TestEvent implements RecyclableEvent<TestEvent> {
+        boolean recyclable;
+        final TestEvent copy = new TestEvent();
+
+        @Override
+        public boolean isRecyclable() {
+            return recyclable;
+        }
+
+        @Override
+        public TestEvent getRetainableCopy() {
+            return copy;
+        }
+    }
+
 }
@@ -0,0 +1,97 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.core.CoreConstants;
+
+public class IncrementalDateFormatterTest {
+
+    ZoneId parisZone = ZoneId.of("Europe/Paris");
+
+    void verify(String pattern, boolean incremental) {
+        IncrementalDateFormatter idf = new IncrementalDateFormatter(pattern, parisZone);
+        assertEquals(incremental, idf.isIncremental(), pattern);
+        DateTimeFormatter dtf = DateTimeFormatter.ofPattern(pattern).withZone(parisZone);
+
+        // 2022-10-30T00:59:58Z, two seconds before the end of daylight saving time
+        long start = 1667091598000L;
+        Random random = new Random(start);
+        long timestamp = start;
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            timestamp += random.nextInt(5);
+            String witness = dtf.format(Instant.ofEpochMilli(timestamp));
+            assertEquals(witness, idf.format(timestamp), pattern);
+            buf.setLength(0);
+            buf.append('>');
+            idf.format(timestamp, buf);
+            assertEquals(">" + witness, buf.toString(), pattern);
+        }
+    }
+
+    @Test
+    public void decomposablePatterns() {
+        verify(CoreConstants.ISO8601_PATTERN, true);
+        verify("HH:mm:ss.SSS", true);
+        verify("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", true);
+        verify("HH:mm:ss.S", true);
+        verify("HH:mm:ss.SS", true);
+        verify("HH:mm:ss.SSSSSS", true);
+        verify("SSS' ms past 'HH:mm:ss", true);
+        verify("dd/MMM/yyyy:HH:mm:ss Z", true);
+        verify("yyyy-MM-dd'S'", true);
+    }
+
+    @Test
+    public void otherPatternsFallBack() {
+        verify("HH:mm:ss.SSS[ VV]", false);
+        verify("HH:mm:ss.SSS A", false);
+        verify("SSS ss.SSS", false);
+        verify("HH:mm:ss.nnnnnnnnn", false);
+    }
+
+    @Test
+    public void timestampsBeforeTheEpoch() {
+        IncrementalDateFormatter idf = new IncrementalDateFormatter("yyyy-MM-dd HH:mm:ss.SSS", ZoneId.of("UTC"));
+        assertEquals("1969-12-31 23:59:59.999", idf.format(-1));
+        assertEquals("1970-01-01 00:00:00.000", idf.format(0));
+    }
+
+    @Test
+    public void invalidPattern() {
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalDateFormatter("HH:mm:ss.SSS 'unclosed"));
+    }
+
+    @Test
+    public void findFractionRun() {
+        assertEquals(5, IncrementalDateFormatter.findFractionRun("HH:mm")[0]);
+        assertEquals(0, IncrementalDateFormatter.findFractionRun("HH:mm")[1]);
+        assertEquals(9, IncrementalDateFormatter.findFractionRun("HH:mm:ss.SSS")[0]);
+        assertEquals(3, IncrementalDateFormatter.findFractionRun("HH:mm:ss.SSS")[1]);
+        assertTrue(IncrementalDateFormatter.findFractionRun("'SS' HH") != null);
+        assertFalse(IncrementalDateFormatter.findFractionRun("SSSSSSSSSS") != null);
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.core.testUtil.CoreTestConstants;
+import ch.qos.logback.core.testUtil.RandomUtil;
+
+public class MappedFileOutputStreamTest {
+
+    int diff = RandomUtil.getPositiveInt();
+    String outputDir = CoreTestConstants.OUTPUT_DIR_PREFIX + "mfos-" + diff + "/";
+
+    File newFile(String name) {
+        File file = new File(outputDir + name);
+        FileUtil.createMissingParentDirectories(file);
+        return file;
+    }
+
+    @Test
+    public void fileIsTruncatedToWrittenLengthOnClose() throws IOException {
+        File file = newFile("truncate.log");
+        MappedFileOutputStream mfos = new MappedFileOutputStream(file, false, 1024);
+        mfos.write("hello".getBytes());
+        Assertions.assertEquals(1024, file.length());
+        Assertions.assertEquals(5, mfos.position());
+        mfos.close();
+
+        Assertions.assertEquals("hello", readFile(file));
+        Assertions.assertFalse(mfos.isOpen());
+    }
+
+    @Test
+    public void writesSpanningSeveralRegions() throws IOException {
+        File file = newFile("regions.log");
+        StringBuilder expected = new StringBuilder();
+        MappedFileOutputStream mfos = new MappedFileOutputStream(file, false, 16);
+        for (int i = 0; i < 20; i++) {
+            String line = "line " + i + "\n";
+            expected.append(line);
+            mfos.write(line.getBytes());
+        }
+        mfos.write('!');
+        expected.append('!');
+        byte[] large = new byte[100];
+        java.util.Arrays.fill(large, (byte) 'x');
+        mfos.write(large);
+        expected.append(new String(large));
+        mfos.close();
+
+        Assertions.assertEquals(expected.toString(), readFile(file));
+    }
+
+    @Test
+    public void appendToExistingFile() throws IOException {
+        File file = newFile("append.log");
+        MappedFileOutputStream mfos = new MappedFileOutputStream(file, false, 64);
+        mfos.write("abc".getBytes());
+        mfos.close();
+
+        mfos = new MappedFileOutputStream(file, true, 64);
+        mfos.write("def".getBytes());
+        mfos.close();
+        Assertions.assertEquals("abcdef", readFile(file));
+
+        mfos = new MappedFileOutputStream(file, false, 64);
+        mfos.write("ghi".getBytes());
+        mfos.close();
+        Assertions.assertEquals("ghi", readFile(file));
+    }
+
+    @Test
+    public void appendAfterUncleanClose() throws IOException {
+        File file = newFile("unclean.log");
+        File crashedFile = newFile("crashed.log");
+        MappedFileOutputStream mfos = new MappedFileOutputStream(file, false, 64);
+        mfos.write("abc".getBytes());
+        // the file as left behind by a crash, padded up to the end of the region
+        Files.copy(file.toPath(), crashedFile.toPath());
+        mfos.close();
+        Assertions.assertEquals(64, crashedFile.length());
+
+        mfos = new MappedFileOutputStream(crashedFile, true, 64);
+        Assertions.assertEquals(3, mfos.position());
+        mfos.write("def".getBytes());
+        mfos.close();
+        Assertions.assertEquals("abcdef", readFile(crashedFile));
+    }
+
+    @Test
+    public void appendAfterUncleanCloseSpanningSeveralScanBuffers() throws IOException {
+        File file = newFile("uncleanLarge.log");
+        byte[] crashed = new byte[20000];
+        crashed[0] = 'a';
+        crashed[1] = 'b';
+        Files.write(file.toPath(), crashed);
+
+        MappedFileOutputStream mfos = new MappedFileOutputStream(file, true, 64);
+        mfos.write("c".getBytes());
+        mfos.close();
+        Assertions.assertEquals("abc", readFile(file));
+    }
+
+    @Test
+    public void writeAfterCloseFails() throws IOException {
+        File file = newFile("closed.log");
+        MappedFileOutputStream mfos = new MappedFileOutputStream(file, false, 64);
+        mfos.close();
+        Assertions.assertThrows(IOException.class, () -> mfos.write(1));
+    }
+
+    String readFile(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()));
+    }
+}
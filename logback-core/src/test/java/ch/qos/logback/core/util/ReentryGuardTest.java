@@ -0,0 +1,88 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class ReentryGuardTest {
+
+    ReentryGuard guard = new ReentryGuard();
+
+    void checkReentry() {
+        assertTrue(guard.enter());
+        try {
+            assertFalse(guard.enter());
+        } finally {
+            guard.exit();
+        }
+        assertTrue(guard.enter());
+        guard.exit();
+    }
+
+    @Test
+    public void platformThread() {
+        assertFalse(EnvUtil.isVirtual(Thread.currentThread()));
+        checkReentry();
+    }
+
+    @Test
+    public void threadsAreGuardedIndependently() throws InterruptedException {
+        assertTrue(guard.enter());
+        try {
+            AtomicReference<Boolean> enteredByOther = new AtomicReference<>();
+            Thread other = new Thread(() -> {
+                enteredByOther.set(guard.enter());
+                guard.exit();
+            });
+            other.start();
+            other.join();
+            assertTrue(enteredByOther.get());
+        } finally {
+            guard.exit();
+        }
+    }
+
+    static Method findStartVirtualThread() {
+        try {
+            return Thread.class.getMethod("startVirtualThread", Runnable.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    @Test
+    public void virtualThread() throws Exception {
+        Method startVirtualThread = findStartVirtualThread();
+        assumeTrue(startVirtualThread != null, "virtual threads require JDK 21 or later");
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread thread = (Thread) startVirtualThread.invoke(null, (Runnable) () -> {
+            try {
+                assertTrue(EnvUtil.isVirtual(Thread.currentThread()));
+                checkReentry();
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        thread.join();
+        assertNull(failure.get());
+    }
+}
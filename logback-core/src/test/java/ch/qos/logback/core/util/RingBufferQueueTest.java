@@ -0,0 +1,181 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+public class RingBufferQueueTest {
+
+    @Test
+    public void fifoOrderAcrossLaps() {
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(3, WaitStrategy.PARK);
+        for (int lap = 0; lap < 5; lap++) {
+            assertTrue(queue.offer(lap * 10 + 1));
+            assertTrue(queue.offer(lap * 10 + 2));
+            assertTrue(queue.offer(lap * 10 + 3));
+            assertFalse(queue.offer(-1));
+            assertEquals(0, queue.remainingCapacity());
+            assertEquals(3, queue.size());
+
+            assertEquals(Integer.valueOf(lap * 10 + 1), queue.poll());
+            assertEquals(Integer.valueOf(lap * 10 + 2), queue.peek());
+            assertEquals(Integer.valueOf(lap * 10 + 2), queue.poll());
+            assertEquals(Integer.valueOf(lap * 10 + 3), queue.poll());
+            assertNull(queue.poll());
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void drainTo() {
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(8, WaitStrategy.YIELD);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(i);
+        }
+        List<Integer> list = new ArrayList<>();
+        assertEquals(2, queue.drainTo(list, 2));
+        assertEquals(3, queue.drainTo(list));
+        assertEquals(List.of(0, 1, 2, 3, 4), list);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    public void drainToIsBoundedWhileProducersKeepOffering() throws InterruptedException {
+        final int capacity = 16;
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(capacity, WaitStrategy.YIELD);
+
+        // a producer refilling the queue as soon as an element is drained
+        List<Integer> list = new ArrayList<Integer>() {
+            @Override
+            public boolean add(Integer e) {
+                queue.offer(e);
+                return super.add(e);
+            }
+        };
+        for (int i = 0; i < capacity; i++) {
+            queue.offer(i);
+        }
+        assertEquals(capacity, queue.drainTo(list));
+        assertEquals(capacity, queue.size());
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            Thread t = new Thread(() -> {
+                while (running.get()) {
+                    queue.offer(1);
+                }
+            });
+            producers.add(t);
+            t.start();
+        }
+        try {
+            for (int i = 0; i < 1000; i++) {
+                List<Integer> drained = new ArrayList<>();
+                int count = queue.drainTo(drained);
+                assertTrue(count <= capacity, "drained " + count + " elements");
+                assertEquals(count, drained.size());
+            }
+        } finally {
+            running.set(false);
+            for (Thread t : producers) {
+                t.join();
+            }
+        }
+    }
+
+    @Test
+    public void iteratorIsASnapshot() {
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(4, WaitStrategy.SPIN);
+        queue.offer(1);
+        queue.offer(2);
+        List<Integer> list = new ArrayList<>();
+        queue.iterator().forEachRemaining(list::add);
+        assertEquals(List.of(1, 2), list);
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    @Timeout(value = 2, unit = TimeUnit.SECONDS)
+    public void pollWithTimeoutReturnsNullWhenEmpty() throws InterruptedException {
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(4, WaitStrategy.PARK);
+        assertNull(queue.poll(20, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @Timeout(value = 2, unit = TimeUnit.SECONDS)
+    public void takeIsInterruptible() {
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(4, WaitStrategy.PARK);
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedException.class, () -> queue.take());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    public void multipleProducersSingleConsumer() throws InterruptedException {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            checkMultipleProducers(strategy);
+        }
+    }
+
+    void checkMultipleProducers(WaitStrategy strategy) throws InterruptedException {
+        final int producerCount = 8;
+        final int perProducer = 20_000;
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(64, strategy);
+
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            final int base = p * perProducer;
+            Thread t = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    try {
+                        queue.put(base + i);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+            producers.add(t);
+            t.start();
+        }
+
+        // each producer's elements must be seen in order
+        int[] lastSeen = new int[producerCount];
+        Arrays.fill(lastSeen, -1);
+        for (int n = 0; n < producerCount * perProducer; n++) {
+            int value = queue.take();
+            int producer = value / perProducer;
+            assertTrue(value > lastSeen[producer], strategy + ": out of order value " + value);
+            lastSeen[producer] = value;
+        }
+        for (Thread t : producers) {
+            t.join();
+        }
+        assertTrue(queue.isEmpty());
+    }
+}